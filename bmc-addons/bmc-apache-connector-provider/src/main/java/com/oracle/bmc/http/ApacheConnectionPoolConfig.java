@@ -5,8 +5,13 @@
 package com.oracle.bmc.http;
 
 import lombok.Data;
+import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /** The configurable parameters for a client's connection pool */
@@ -35,17 +40,48 @@ public class ApacheConnectionPoolConfig {
     private final int defaultMaxConnectionsPerRoute;
     /** The time to live per connection. */
     private final Pair<Integer, TimeUnit> ttl;
+    /** The time after which idle connections are closed by the pool monitor. */
+    private final Pair<Integer, TimeUnit> idleTimeout;
+    /** The interval of the pool monitor. */
+    private final Pair<Integer, TimeUnit> monitorInterval;
+    /** The listener that receives the statistics of the pool from the pool monitor. */
+    private final ApacheConnectionPoolListener poolListener;
+    /** Whether all clients configured by the same decorator share one connection pool. */
+    private final boolean sharedConnectionManager;
+    /** The max number of connections per host name, overriding the default max per route. */
+    private final Map<String, Integer> maxConnectionsPerHost;
 
     private ApacheConnectionPoolConfig(final Builder builder) {
         totalOpenConnections = builder.totalOpenConnections;
         defaultMaxConnectionsPerRoute = builder.defaultMaxConnectionsPerRoute;
         ttl = builder.ttl;
+        idleTimeout = builder.idleTimeout;
+        monitorInterval = builder.monitorInterval;
+        poolListener = builder.poolListener;
+        sharedConnectionManager = builder.sharedConnectionManager;
+        maxConnectionsPerHost =
+                Collections.unmodifiableMap(new HashMap<>(builder.maxConnectionsPerHost));
+    }
+
+    /**
+     * Whether the connection pool is watched by an {@code ApacheConnectionPoolMonitor}, which is the case
+     * if an idle timeout, a monitor interval or a pool listener is configured.
+     *
+     * @return true if the pool is monitored
+     */
+    public boolean isMonitored() {
+        return idleTimeout != null || monitorInterval != null || poolListener != null;
     }
 
     public final static class Builder {
         private int totalOpenConnections;
         private int defaultMaxConnectionsPerRoute;
         private Pair<Integer, TimeUnit> ttl;
+        private Pair<Integer, TimeUnit> idleTimeout;
+        private Pair<Integer, TimeUnit> monitorInterval;
+        private ApacheConnectionPoolListener poolListener;
+        private boolean sharedConnectionManager;
+        private final Map<String, Integer> maxConnectionsPerHost = new HashMap<>();
 
         public Builder() {}
 
@@ -69,6 +105,53 @@ public class ApacheConnectionPoolConfig {
             return this;
         }
 
+        /**
+         * Closes connections that have been idle for longer than the given time.  Enables the pool monitor.
+         */
+        public Builder idleTimeout(final int idleTimeout, final TimeUnit idleTimeoutTimeUnit) {
+            this.idleTimeout = Pair.of(idleTimeout, idleTimeoutTimeUnit);
+            return this;
+        }
+
+        /**
+         * Sets the interval in which the pool monitor closes idle and expired connections and reports the
+         * statistics of the pool, default 5 seconds.  Enables the pool monitor.
+         */
+        public Builder monitorInterval(final int interval, final TimeUnit intervalTimeUnit) {
+            this.monitorInterval = Pair.of(interval, intervalTimeUnit);
+            return this;
+        }
+
+        /**
+         * Sets a listener that receives the statistics of the pool in every interval of the pool monitor.
+         * Enables the pool monitor.
+         */
+        public Builder poolListener(final ApacheConnectionPoolListener poolListener) {
+            this.poolListener = poolListener;
+            return this;
+        }
+
+        /**
+         * Shares one connection pool between all clients configured by the same
+         * {@code ApacheConnectionPoolingClientConfigDecorator}, instead of creating a pool per client.  Closing
+         * a client does not shut down the shared pool.
+         */
+        public Builder sharedConnectionManager(final boolean sharedConnectionManager) {
+            this.sharedConnectionManager = sharedConnectionManager;
+            return this;
+        }
+
+        /**
+         * Sets the max number of connections to each route to the given host, overriding the default max
+         * number of connections per route.
+         */
+        public Builder maxConnectionsPerHost(final String host, final int maxConnections) {
+            Validate.notBlank(host, "host must not be blank");
+            Validate.isTrue(maxConnections > 0, "maxConnections must be greater than 0");
+            this.maxConnectionsPerHost.put(host.toLowerCase(Locale.ROOT), maxConnections);
+            return this;
+        }
+
         public ApacheConnectionPoolConfig build() {
             return new ApacheConnectionPoolConfig(this);
         }
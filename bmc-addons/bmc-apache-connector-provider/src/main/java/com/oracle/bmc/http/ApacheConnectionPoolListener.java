@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+/**
+ * Receives the statistics of a connection pool from the {@code ApacheConnectionPoolMonitor}.
+ *
+ * @see ApacheConnectionPoolConfig.Builder#poolListener(ApacheConnectionPoolListener)
+ */
+public interface ApacheConnectionPoolListener {
+    /**
+     * Called by the monitor thread after every eviction of idle and expired connections.  Should return
+     * quickly, the monitor thread is shared by all connection pools.
+     *
+     * @param stats the statistics of the connection pool
+     */
+    void poolStatsUpdated(ApacheConnectionPoolStats stats);
+}
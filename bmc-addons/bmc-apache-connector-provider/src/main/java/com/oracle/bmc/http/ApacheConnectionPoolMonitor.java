@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.PoolStats;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the connection pool of a client.
+ * <p>
+ * In every interval, the monitor closes expired connections and connections that have been idle for
+ * longer than the idle timeout, so requests do not fail on connections the server has already closed.
+ * It logs a warning if requests are waiting for a connection because the pool is exhausted, and
+ * passes the statistics of the pool to the listener, if there is one.  The interval is 5 seconds,
+ * unless configured otherwise.
+ * <p>
+ * All monitors share one daemon thread.  The monitor of a client's own connection pool stops when the
+ * connection manager is shut down, which happens when the client is closed.  The monitor of a shared
+ * connection pool stops when the last client sharing the pool is closed, and starts again with the next
+ * client using the pool.  The monitor only weakly references the pool from the monitor thread, so it
+ * also stops once the pool of a client that was never closed has been garbage collected.
+ *
+ * @see ApacheConnectionPoolConfig
+ */
+@Slf4j
+public class ApacheConnectionPoolMonitor {
+    private static final ScheduledExecutorService MONITOR_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("apache-connection-pool-monitor-%d")
+                            .setDaemon(true)
+                            .build());
+
+    private static final Pair<Integer, TimeUnit> DEFAULT_MONITOR_INTERVAL =
+            Pair.of(5, TimeUnit.SECONDS);
+
+    private final MonitoredPoolingHttpClientConnectionManager connectionManager;
+    private final Pair<Integer, TimeUnit> idleTimeout;
+    private final ApacheConnectionPoolListener listener;
+    private final ScheduledFuture<?> scheduledRun;
+
+    ApacheConnectionPoolMonitor(
+            MonitoredPoolingHttpClientConnectionManager connectionManager,
+            ApacheConnectionPoolConfig config) {
+        this.connectionManager = connectionManager;
+        this.idleTimeout = config.getIdleTimeout();
+        this.listener = config.getPoolListener();
+
+        connectionManager.setMonitor(this);
+        Pair<Integer, TimeUnit> interval =
+                config.getMonitorInterval() != null
+                        ? config.getMonitorInterval()
+                        : DEFAULT_MONITOR_INTERVAL;
+        ScheduledRun run = new ScheduledRun(this);
+        this.scheduledRun =
+                MONITOR_EXECUTOR.scheduleWithFixedDelay(
+                        run, interval.getLeft(), interval.getLeft(), interval.getRight());
+        run.scheduledRun = scheduledRun;
+    }
+
+    /**
+     * Gets the current statistics of the connection pool.
+     * <p>
+     * The lease wait times of the returned statistics cover the time since the previous statistics were
+     * taken, by this method or by the monitor for its listener.
+     *
+     * @return the statistics of the connection pool
+     */
+    public ApacheConnectionPoolStats getStats() {
+        Map<HttpRoute, MonitoredPoolingHttpClientConnectionManager.LeaseWaitStats> leaseWaits =
+                connectionManager.drainLeaseWaits();
+        Set<HttpRoute> routes = new HashSet<>(connectionManager.getRoutes());
+        routes.addAll(leaseWaits.keySet());
+
+        Map<HttpRoute, ApacheConnectionPoolStats.RouteStats> routeStats = new HashMap<>();
+        for (HttpRoute route : routes) {
+            PoolStats stats = connectionManager.getStats(route);
+            MonitoredPoolingHttpClientConnectionManager.LeaseWaitStats waits =
+                    leaseWaits.get(route);
+            long leaseRequests = waits != null ? waits.count : 0L;
+            routeStats.put(
+                    route,
+                    new ApacheConnectionPoolStats.RouteStats(
+                            stats.getLeased(),
+                            stats.getAvailable(),
+                            stats.getPending(),
+                            stats.getMax(),
+                            leaseRequests,
+                            leaseRequests > 0 ? toMillis(waits.totalNanos) / leaseRequests : 0.0,
+                            leaseRequests > 0 ? toMillis(waits.maxNanos) : 0.0));
+        }
+
+        PoolStats total = connectionManager.getTotalStats();
+        return new ApacheConnectionPoolStats(
+                total.getLeased(),
+                total.getAvailable(),
+                total.getPending(),
+                total.getMax(),
+                Collections.unmodifiableMap(routeStats));
+    }
+
+    /**
+     * Stops the monitor.  Called automatically when the connection manager is shut down, and when the
+     * last client sharing the connection pool is closed.
+     */
+    public void close() {
+        scheduledRun.cancel(false);
+    }
+
+    boolean isClosed() {
+        return scheduledRun.isCancelled();
+    }
+
+    @VisibleForTesting
+    void runOnce() {
+        try {
+            connectionManager.closeExpiredConnections();
+            if (idleTimeout != null) {
+                connectionManager.closeIdleConnections(
+                        idleTimeout.getLeft(), idleTimeout.getRight());
+            }
+
+            PoolStats total = connectionManager.getTotalStats();
+            if (total.getPending() > 0) {
+                LOG.warn(
+                        "Connection pool exhausted, {} requests waiting for one of {} connections",
+                        total.getPending(),
+                        total.getMax());
+            }
+            if (listener != null) {
+                listener.poolStatsUpdated(getStats());
+            }
+        } catch (RuntimeException e) {
+            // keep monitoring, an exception would cancel the scheduled runs
+            LOG.warn("Failed to monitor connection pool", e);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    /**
+     * Runs the monitor as long as it is reachable.  The shared executor must not keep the monitor, and
+     * with it the connection pool, from being garbage collected.
+     */
+    private static final class ScheduledRun implements Runnable {
+        private final WeakReference<ApacheConnectionPoolMonitor> monitor;
+        private volatile ScheduledFuture<?> scheduledRun;
+
+        private ScheduledRun(ApacheConnectionPoolMonitor monitor) {
+            this.monitor = new WeakReference<>(monitor);
+        }
+
+        @Override
+        public void run() {
+            ApacheConnectionPoolMonitor currentMonitor = monitor.get();
+            if (currentMonitor != null) {
+                currentMonitor.runOnce();
+            } else if (scheduledRun != null) {
+                LOG.debug("Connection pool no longer referenced, stopping its monitor");
+                scheduledRun.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import lombok.Value;
+import org.apache.http.conn.routing.HttpRoute;
+
+import java.util.Map;
+
+/**
+ * A snapshot of the statistics of a connection pool.
+ */
+@Value
+public class ApacheConnectionPoolStats {
+    /** The number of connections in use, over all routes. */
+    private int leased;
+    /** The number of idle connections that can be reused, over all routes. */
+    private int available;
+    /** The number of requests waiting for a connection, over all routes. */
+    private int pending;
+    /** The max total number of connections. */
+    private int max;
+    /** The statistics per route. */
+    private Map<HttpRoute, RouteStats> routes;
+
+    /**
+     * The statistics of the connections to one route.
+     */
+    @Value
+    public static class RouteStats {
+        /** The number of connections in use. */
+        private int leased;
+        /** The number of idle connections that can be reused. */
+        private int available;
+        /** The number of requests waiting for a connection. */
+        private int pending;
+        /** The max number of connections. */
+        private int max;
+        /** The number of connection requests completed since the previous snapshot. */
+        private long leaseRequests;
+        /** The average time in milliseconds a connection request waited since the previous snapshot. */
+        private double averageLeaseWaitMillis;
+        /** The longest time in milliseconds a connection request waited since the previous snapshot. */
+        private double maxLeaseWaitMillis;
+    }
+}
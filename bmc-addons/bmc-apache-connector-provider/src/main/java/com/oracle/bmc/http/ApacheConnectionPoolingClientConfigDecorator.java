@@ -12,6 +12,7 @@ import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.glassfish.jersey.apache.connector.ApacheClientProperties;
 import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientLifecycleListener;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
 
 import java.util.concurrent.TimeUnit;
@@ -19,13 +20,19 @@ import java.util.concurrent.TimeUnit;
 /**
  * A {@code ClientConfigDecorator} implementation that configure a connection pool for the client for a given
  * {@code ApacheConnectionPoolConfig}.
+ * <p>
+ * If the {@code ApacheConnectionPoolConfig} enables a shared connection manager, all clients configured by the
+ * same decorator share one connection pool.  Use the same decorator, and thus the same {@code ApacheConfigurator},
+ * for all clients that should share the pool.
  *
  * @see ApacheConnectionPoolConfig
  */
 @Slf4j
 public class ApacheConnectionPoolingClientConfigDecorator implements ClientConfigDecorator {
     private final ApacheConnectionPoolConfig config;
-    private PoolingHttpClientConnectionManager poolConnectionManager;
+    private volatile PoolingHttpClientConnectionManager poolConnectionManager;
+    private volatile ApacheConnectionPoolMonitor poolMonitor;
+    private int openSharingClients = 0; // guarded by this
 
     /** Creates a new {@code ApacheConnectionPoolingClientConfigDecorator} object. */
     public ApacheConnectionPoolingClientConfigDecorator(
@@ -36,7 +43,8 @@ public class ApacheConnectionPoolingClientConfigDecorator implements ClientConfi
     /**
      * Gets the underlying {@code PoolingHttpClientConnectionManager} for the
      * {@code ApacheConnectionPoolingClientConfigDecorator}.  If the client has yet to be initialized and configured,
-     * then the {@code PoolingHttpClientConnectionManager} can be {@code null}.
+     * then the {@code PoolingHttpClientConnectionManager} can be {@code null}.  If the connection manager is not
+     * shared, this is the connection manager of the client configured last.
      *
      * @return the configured PoolingHttpClientConnectionManager
      */
@@ -44,8 +52,19 @@ public class ApacheConnectionPoolingClientConfigDecorator implements ClientConfi
         return poolConnectionManager;
     }
 
+    /**
+     * Gets the {@code ApacheConnectionPoolMonitor} watching the connection pool.  This is {@code null} if the
+     * {@code ApacheConnectionPoolConfig} does not enable monitoring, or the client has yet to be initialized and
+     * configured.
+     *
+     * @return the pool monitor
+     */
+    public ApacheConnectionPoolMonitor getPoolMonitor() {
+        return poolMonitor;
+    }
+
     @Override
-    public void customizeClientConfig(ClientConfig clientConfig) {
+    public synchronized void customizeClientConfig(ClientConfig clientConfig) {
         Validate.notNull(clientConfig, "ClientConfig must not be null");
 
         // Only configure ApacheConnectorProvider types
@@ -59,14 +78,77 @@ public class ApacheConnectionPoolingClientConfigDecorator implements ClientConfi
 
         LOG.info("ApacheConnectionPoolConfig: {}", config);
 
+        if (!config.isSharedConnectionManager() || poolConnectionManager == null) {
+            createConnectionManager();
+        }
+
+        clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER, poolConnectionManager);
+        if (config.isSharedConnectionManager()) {
+            // the clients must not shut down the pool they share when they are closed
+            clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
+            clientConfig.register(new SharedConnectionManagerListener());
+        }
+    }
+
+    private void createConnectionManager() {
         final Pair<Integer, TimeUnit> ttl = config.getTtl();
-        poolConnectionManager =
-                (ttl != null)
-                        ? new PoolingHttpClientConnectionManager(ttl.getLeft(), ttl.getRight())
-                        : new PoolingHttpClientConnectionManager();
+        if (config.isMonitored() || !config.getMaxConnectionsPerHost().isEmpty()) {
+            final MonitoredPoolingHttpClientConnectionManager monitoredConnectionManager =
+                    (ttl != null)
+                            ? new MonitoredPoolingHttpClientConnectionManager(
+                                    ttl.getLeft(),
+                                    ttl.getRight(),
+                                    config.getMaxConnectionsPerHost())
+                            : new MonitoredPoolingHttpClientConnectionManager(
+                                    config.getMaxConnectionsPerHost());
+            poolConnectionManager = monitoredConnectionManager;
+            poolMonitor =
+                    config.isMonitored()
+                            ? new ApacheConnectionPoolMonitor(monitoredConnectionManager, config)
+                            : null;
+        } else {
+            poolConnectionManager =
+                    (ttl != null)
+                            ? new PoolingHttpClientConnectionManager(ttl.getLeft(), ttl.getRight())
+                            : new PoolingHttpClientConnectionManager();
+            poolMonitor = null;
+        }
         poolConnectionManager.setMaxTotal(config.getTotalOpenConnections());
         poolConnectionManager.setDefaultMaxPerRoute(config.getDefaultMaxConnectionsPerRoute());
+    }
 
-        clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER, poolConnectionManager);
+    /**
+     * Counts the open clients sharing the connection pool.  When the last of them is closed, closes the idle
+     * connections of the pool and stops its monitor.  The pool itself stays usable for clients created later,
+     * and the monitor starts again with the next of them.
+     */
+    private class SharedConnectionManagerListener implements ClientLifecycleListener {
+        @Override
+        public void onInit() {
+            synchronized (ApacheConnectionPoolingClientConfigDecorator.this) {
+                if (++openSharingClients == 1 && poolMonitor != null && poolMonitor.isClosed()) {
+                    LOG.debug("Client sharing the connection pool opened, restarting the pool monitor");
+                    poolMonitor =
+                            new ApacheConnectionPoolMonitor(
+                                    (MonitoredPoolingHttpClientConnectionManager)
+                                            poolConnectionManager,
+                                    config);
+                }
+            }
+        }
+
+        @Override
+        public void onClose() {
+            synchronized (ApacheConnectionPoolingClientConfigDecorator.this) {
+                if (--openSharingClients == 0) {
+                    LOG.debug(
+                            "Last client sharing the connection pool closed, closing idle connections");
+                    poolConnectionManager.closeIdleConnections(0L, TimeUnit.MILLISECONDS);
+                    if (poolMonitor != null) {
+                        poolMonitor.close();
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code PoolingHttpClientConnectionManager} that records how long connection requests wait for a
+ * connection, per route, applies the max number of connections per host to new routes, and stops its
+ * monitor when it is shut down.
+ */
+class MonitoredPoolingHttpClientConnectionManager extends PoolingHttpClientConnectionManager {
+    private final ConcurrentMap<HttpRoute, LeaseWaits> leaseWaits = new ConcurrentHashMap<>();
+    private final Set<HttpRoute> configuredRoutes =
+            Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
+    private final Map<String, Integer> maxConnectionsPerHost;
+    private volatile ApacheConnectionPoolMonitor monitor;
+
+    MonitoredPoolingHttpClientConnectionManager(Map<String, Integer> maxConnectionsPerHost) {
+        super();
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    MonitoredPoolingHttpClientConnectionManager(
+            long timeToLive, TimeUnit timeUnit, Map<String, Integer> maxConnectionsPerHost) {
+        super(timeToLive, timeUnit);
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    void setMonitor(ApacheConnectionPoolMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        if (!maxConnectionsPerHost.isEmpty() && configuredRoutes.add(route)) {
+            Integer max =
+                    maxConnectionsPerHost.get(
+                            route.getTargetHost().getHostName().toLowerCase(Locale.ROOT));
+            if (max != null) {
+                setMaxPerRoute(route, max);
+            }
+        }
+        final long requestedNanos = System.nanoTime();
+        final ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException,
+                            ConnectionPoolTimeoutException {
+                try {
+                    return request.get(timeout, timeUnit);
+                } finally {
+                    // also record requests that timed out, they waited the longest
+                    recordLeaseWait(route, System.nanoTime() - requestedNanos);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        ApacheConnectionPoolMonitor currentMonitor = monitor;
+        if (currentMonitor != null) {
+            currentMonitor.close();
+        }
+        super.shutdown();
+    }
+
+    /**
+     * Returns the lease waits per route since the previous call, and starts recording anew.
+     */
+    Map<HttpRoute, LeaseWaitStats> drainLeaseWaits() {
+        Map<HttpRoute, LeaseWaitStats> result = new HashMap<>();
+        for (Map.Entry<HttpRoute, LeaseWaits> entry : leaseWaits.entrySet()) {
+            LeaseWaitStats stats = entry.getValue().drain();
+            if (stats.count > 0) {
+                result.put(entry.getKey(), stats);
+            }
+        }
+        return result;
+    }
+
+    private void recordLeaseWait(HttpRoute route, long waitNanos) {
+        LeaseWaits waits = leaseWaits.get(route);
+        if (waits == null) {
+            LeaseWaits newWaits = new LeaseWaits();
+            waits = leaseWaits.putIfAbsent(route, newWaits);
+            if (waits == null) {
+                waits = newWaits;
+            }
+        }
+        waits.record(waitNanos);
+    }
+
+    static final class LeaseWaitStats {
+        final long count;
+        final long totalNanos;
+        final long maxNanos;
+
+        private LeaseWaitStats(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+    }
+
+    private static final class LeaseWaits {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long waitNanos) {
+            count.increment();
+            totalNanos.add(waitNanos);
+            maxNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        private LeaseWaitStats drain() {
+            // not atomic, a concurrent lease may be counted in the next snapshot
+            return new LeaseWaitStats(
+                    count.sumThenReset(), totalNanos.sumThenReset(), maxNanos.getAndSet(0L));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ApacheConnectionPoolMonitor}, with a real connection pool of connections to a local
+ * socket.
+ */
+public class ApacheConnectionPoolMonitorTest {
+    private ServerSocket server;
+    private HttpRoute route;
+    private HttpRoute otherRoute;
+    private MonitoredPoolingHttpClientConnectionManager connectionManager;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        route = new HttpRoute(new HttpHost("localhost", server.getLocalPort()));
+        otherRoute = new HttpRoute(new HttpHost("127.0.0.1", server.getLocalPort()));
+        connectionManager =
+                new MonitoredPoolingHttpClientConnectionManager(
+                        Collections.<String, Integer>emptyMap());
+        connectionManager.setMaxTotal(10);
+        connectionManager.setDefaultMaxPerRoute(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connectionManager.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void runOnce_closesExpiredConnections() throws Exception {
+        final ApacheConnectionPoolMonitor monitor =
+                createMonitor(ApacheConnectionPoolConfig.builder());
+        final HttpClientConnection expiring = lease(route);
+        final HttpClientConnection keptAlive = lease(route);
+        connectionManager.releaseConnection(expiring, null, 1L, TimeUnit.MILLISECONDS);
+        connectionManager.releaseConnection(keptAlive, null, 0L, TimeUnit.MILLISECONDS);
+        Thread.sleep(20L);
+        assertEquals(2, connectionManager.getTotalStats().getAvailable());
+
+        monitor.runOnce();
+
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void runOnce_closesIdleConnections() throws Exception {
+        final ApacheConnectionPoolMonitor monitor =
+                createMonitor(
+                        ApacheConnectionPoolConfig.builder()
+                                .idleTimeout(100, TimeUnit.MILLISECONDS));
+        final HttpClientConnection idle = lease(route);
+        final HttpClientConnection recentlyUsed = lease(route);
+        connectionManager.releaseConnection(idle, null, 0L, TimeUnit.MILLISECONDS);
+        Thread.sleep(200L);
+        connectionManager.releaseConnection(recentlyUsed, null, 0L, TimeUnit.MILLISECONDS);
+        assertEquals(2, connectionManager.getTotalStats().getAvailable());
+
+        monitor.runOnce();
+
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void getStats_reportsConnectionsPerRoute() throws Exception {
+        final ApacheConnectionPoolMonitor monitor =
+                createMonitor(ApacheConnectionPoolConfig.builder());
+        connectionManager.setMaxPerRoute(otherRoute, 3);
+        lease(route);
+        connectionManager.releaseConnection(lease(route), null, 0L, TimeUnit.MILLISECONDS);
+        lease(otherRoute);
+
+        final ApacheConnectionPoolStats stats = monitor.getStats();
+
+        assertEquals(2, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+        assertEquals(0, stats.getPending());
+        assertEquals(10, stats.getMax());
+        assertEquals(2, stats.getRoutes().size());
+        assertEquals(
+                new ApacheConnectionPoolStats.RouteStats(
+                        1,
+                        1,
+                        0,
+                        2,
+                        2L,
+                        stats.getRoutes().get(route).getAverageLeaseWaitMillis(),
+                        stats.getRoutes().get(route).getMaxLeaseWaitMillis()),
+                stats.getRoutes().get(route));
+        assertEquals(1, stats.getRoutes().get(otherRoute).getLeased());
+        assertEquals(0, stats.getRoutes().get(otherRoute).getAvailable());
+        assertEquals(3, stats.getRoutes().get(otherRoute).getMax());
+        assertEquals(1L, stats.getRoutes().get(otherRoute).getLeaseRequests());
+    }
+
+    @Test(timeout = 10000L)
+    public void getStats_reportsPendingRequestsAndLeaseWaits() throws Exception {
+        final ApacheConnectionPoolMonitor monitor =
+                createMonitor(ApacheConnectionPoolConfig.builder());
+        connectionManager.setMaxPerRoute(route, 1);
+        final HttpClientConnection leased = lease(route);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<HttpClientConnection> waiting =
+                    executor.submit(
+                            new Callable<HttpClientConnection>() {
+                                @Override
+                                public HttpClientConnection call() throws Exception {
+                                    return lease(route);
+                                }
+                            });
+            while (connectionManager.getTotalStats().getPending() == 0) {
+                Thread.sleep(10L);
+            }
+
+            final ApacheConnectionPoolStats whilePending = monitor.getStats();
+            assertEquals(1, whilePending.getPending());
+            assertEquals(1, whilePending.getRoutes().get(route).getPending());
+            // only the first lease has completed yet
+            assertEquals(1L, whilePending.getRoutes().get(route).getLeaseRequests());
+
+            Thread.sleep(100L);
+            connectionManager.releaseConnection(leased, null, 0L, TimeUnit.MILLISECONDS);
+            waiting.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final ApacheConnectionPoolStats.RouteStats afterWait =
+                monitor.getStats().getRoutes().get(route);
+        assertEquals(1L, afterWait.getLeaseRequests());
+        assertTrue(afterWait.getMaxLeaseWaitMillis() >= 100.0);
+        assertEquals(
+                afterWait.getMaxLeaseWaitMillis(), afterWait.getAverageLeaseWaitMillis(), 0.0);
+
+        // the lease waits of the previous snapshot are not reported again
+        final ApacheConnectionPoolStats.RouteStats nextWindow =
+                monitor.getStats().getRoutes().get(route);
+        assertEquals(0L, nextWindow.getLeaseRequests());
+        assertEquals(0.0, nextWindow.getAverageLeaseWaitMillis(), 0.0);
+        assertEquals(0.0, nextWindow.getMaxLeaseWaitMillis(), 0.0);
+    }
+
+    @Test
+    public void runOnce_passesStatsToListener() throws Exception {
+        final ApacheConnectionPoolListener listener = mock(ApacheConnectionPoolListener.class);
+        final ApacheConnectionPoolMonitor monitor =
+                createMonitor(ApacheConnectionPoolConfig.builder().poolListener(listener));
+        lease(route);
+
+        monitor.runOnce();
+
+        final ArgumentCaptor<ApacheConnectionPoolStats> stats =
+                ArgumentCaptor.forClass(ApacheConnectionPoolStats.class);
+        verify(listener).poolStatsUpdated(stats.capture());
+        assertEquals(1, stats.getValue().getLeased());
+        assertEquals(1L, stats.getValue().getRoutes().get(route).getLeaseRequests());
+    }
+
+    @Test
+    public void shutdown_closesMonitor() {
+        final ApacheConnectionPoolMonitor monitor =
+                createMonitor(ApacheConnectionPoolConfig.builder());
+        assertFalse(monitor.isClosed());
+
+        connectionManager.shutdown();
+
+        assertTrue(monitor.isClosed());
+    }
+
+    private ApacheConnectionPoolMonitor createMonitor(ApacheConnectionPoolConfig.Builder config) {
+        // the tests run the monitor themselves
+        return new ApacheConnectionPoolMonitor(
+                connectionManager, config.monitorInterval(1, TimeUnit.HOURS).build());
+    }
+
+    private HttpClientConnection lease(HttpRoute route) throws Exception {
+        final HttpClientConnection connection =
+                connectionManager.requestConnection(route, null).get(5L, TimeUnit.SECONDS);
+        if (!connection.isOpen()) {
+            final HttpClientContext context = HttpClientContext.create();
+            connectionManager.connect(connection, route, 1000, context);
+            connectionManager.routeComplete(connection, route, context);
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientLifecycleListener;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ApacheConnectionPoolingClientConfigDecorator}.
+ */
+public class ApacheConnectionPoolingClientConfigDecoratorTest {
+    private final List<PoolingHttpClientConnectionManager> connectionManagers = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (PoolingHttpClientConnectionManager connectionManager : connectionManagers) {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    public void customizeClientConfig_notShared_connectionManagerPerClient() {
+        final ApacheConnectionPoolingClientConfigDecorator decorator =
+                new ApacheConnectionPoolingClientConfigDecorator(
+                        ApacheConnectionPoolConfig.newDefault());
+
+        final ClientConfig first = customize(decorator);
+        final ClientConfig second = customize(decorator);
+
+        assertNotSame(connectionManager(first), connectionManager(second));
+        assertSame(connectionManager(second), decorator.getPoolingHttpClientConnectionManager());
+        assertNull(first.getProperty(ApacheClientProperties.CONNECTION_MANAGER_SHARED));
+        assertNull(sharedConnectionManagerListener(first));
+    }
+
+    @Test
+    public void customizeClientConfig_shared_oneConnectionManager() {
+        final ApacheConnectionPoolingClientConfigDecorator decorator =
+                new ApacheConnectionPoolingClientConfigDecorator(
+                        ApacheConnectionPoolConfig.builder()
+                                .totalOpenConnections(20)
+                                .defaultMaxConnectionsPerRoute(5)
+                                .sharedConnectionManager(true)
+                                .build());
+
+        final ClientConfig first = customize(decorator);
+        final ClientConfig second = customize(decorator);
+
+        assertSame(connectionManager(first), connectionManager(second));
+        assertSame(connectionManager(first), decorator.getPoolingHttpClientConnectionManager());
+        assertEquals(20, connectionManager(first).getMaxTotal());
+        assertEquals(5, connectionManager(first).getDefaultMaxPerRoute());
+        // the clients must not shut down the shared pool when they are closed
+        assertEquals(
+                Boolean.TRUE, first.getProperty(ApacheClientProperties.CONNECTION_MANAGER_SHARED));
+        assertEquals(
+                Boolean.TRUE, second.getProperty(ApacheClientProperties.CONNECTION_MANAGER_SHARED));
+    }
+
+    @Test
+    public void customizeClientConfig_maxConnectionsPerHost() throws Exception {
+        final ApacheConnectionPoolingClientConfigDecorator decorator =
+                new ApacheConnectionPoolingClientConfigDecorator(
+                        ApacheConnectionPoolConfig.builder()
+                                .totalOpenConnections(20)
+                                .defaultMaxConnectionsPerRoute(5)
+                                .maxConnectionsPerHost("ObjectStorage.example.com", 15)
+                                .build());
+        final PoolingHttpClientConnectionManager connectionManager =
+                connectionManager(customize(decorator));
+        final HttpRoute configuredRoute =
+                new HttpRoute(new HttpHost("objectstorage.example.com", 443, "https"));
+        final HttpRoute otherRoute = new HttpRoute(new HttpHost("other.example.com", 443, "https"));
+
+        // the max is applied when a connection to the route is requested for the first time
+        connectionManager.requestConnection(configuredRoute, null).cancel();
+        connectionManager.requestConnection(otherRoute, null).cancel();
+
+        assertEquals(15, connectionManager.getMaxPerRoute(configuredRoute));
+        assertEquals(5, connectionManager.getMaxPerRoute(otherRoute));
+    }
+
+    @Test
+    public void sharedConnectionManager_lastClientClosed_stopsMonitorUntilNextClient() {
+        final ApacheConnectionPoolingClientConfigDecorator decorator =
+                new ApacheConnectionPoolingClientConfigDecorator(
+                        ApacheConnectionPoolConfig.builder()
+                                .totalOpenConnections(20)
+                                .defaultMaxConnectionsPerRoute(5)
+                                .sharedConnectionManager(true)
+                                .monitorInterval(1, TimeUnit.HOURS)
+                                .build());
+        final ClientLifecycleListener first =
+                sharedConnectionManagerListener(customize(decorator));
+        final ClientLifecycleListener second =
+                sharedConnectionManagerListener(customize(decorator));
+        final ApacheConnectionPoolMonitor monitor = decorator.getPoolMonitor();
+        assertNotNull(monitor);
+
+        first.onInit();
+        second.onInit();
+        first.onClose();
+        assertFalse(monitor.isClosed());
+
+        second.onClose();
+        assertTrue(monitor.isClosed());
+
+        // the pool stays usable for clients created later, and is monitored again
+        final ClientConfig third = customize(decorator);
+        sharedConnectionManagerListener(third).onInit();
+        assertNotSame(monitor, decorator.getPoolMonitor());
+        assertFalse(decorator.getPoolMonitor().isClosed());
+        assertSame(decorator.getPoolingHttpClientConnectionManager(), connectionManager(third));
+    }
+
+    private ClientConfig customize(ApacheConnectionPoolingClientConfigDecorator decorator) {
+        final ClientConfig clientConfig =
+                new ClientConfig().connectorProvider(new ApacheConnectorProvider());
+        decorator.customizeClientConfig(clientConfig);
+        connectionManagers.add(connectionManager(clientConfig));
+        return clientConfig;
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(ClientConfig clientConfig) {
+        return (PoolingHttpClientConnectionManager)
+                clientConfig.getProperty(ApacheClientProperties.CONNECTION_MANAGER);
+    }
+
+    private static ClientLifecycleListener sharedConnectionManagerListener(
+            ClientConfig clientConfig) {
+        for (Object instance : clientConfig.getInstances()) {
+            if (instance instanceof ClientLifecycleListener) {
+                return (ClientLifecycleListener) instance;
+            }
+        }
+        return null;
+    }
+}
@@ -24,11 +24,37 @@ import com.oracle.bmc.analytics.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190331")
-@lombok.RequiredArgsConstructor
 public class AnalyticsPaginators {
     private final Analytics client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public AnalyticsPaginators(Analytics client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public AnalyticsPaginators(
+            Analytics client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAnalyticsInstances operation. This iterable
@@ -79,7 +105,8 @@ public class AnalyticsPaginators {
                             ListAnalyticsInstancesRequest request) {
                         return client.listAnalyticsInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -143,7 +170,8 @@ public class AnalyticsPaginators {
                             apply(ListAnalyticsInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -195,7 +223,8 @@ public class AnalyticsPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -258,7 +287,8 @@ public class AnalyticsPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -309,7 +339,8 @@ public class AnalyticsPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -371,7 +402,8 @@ public class AnalyticsPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -421,7 +453,8 @@ public class AnalyticsPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -483,6 +516,7 @@ public class AnalyticsPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.apigateway.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190501")
-@lombok.RequiredArgsConstructor
 public class WorkRequestsPaginators {
     private final WorkRequests client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public WorkRequestsPaginators(WorkRequests client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public WorkRequestsPaginators(
+            WorkRequests client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listWorkRequestErrors operation. This iterable
@@ -79,7 +105,8 @@ public class WorkRequestsPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -142,7 +169,8 @@ public class WorkRequestsPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getWorkRequestErrorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -193,7 +221,8 @@ public class WorkRequestsPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -255,7 +284,8 @@ public class WorkRequestsPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getWorkRequestLogCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -305,7 +335,8 @@ public class WorkRequestsPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -367,6 +398,7 @@ public class WorkRequestsPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.applicationmigration.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20191031")
-@lombok.RequiredArgsConstructor
 public class ApplicationMigrationPaginators {
     private final ApplicationMigration client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public ApplicationMigrationPaginators(ApplicationMigration client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public ApplicationMigrationPaginators(
+            ApplicationMigration client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listMigrations operation. This iterable
@@ -77,7 +103,8 @@ public class ApplicationMigrationPaginators {
                     public ListMigrationsResponse apply(ListMigrationsRequest request) {
                         return client.listMigrations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -141,7 +168,8 @@ public class ApplicationMigrationPaginators {
                             apply(ListMigrationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -193,7 +221,8 @@ public class ApplicationMigrationPaginators {
                             ListSourceApplicationsRequest request) {
                         return client.listSourceApplications(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -261,7 +290,8 @@ public class ApplicationMigrationPaginators {
                             apply(ListSourceApplicationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -310,7 +340,8 @@ public class ApplicationMigrationPaginators {
                     public ListSourcesResponse apply(ListSourcesRequest request) {
                         return client.listSources(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -371,7 +402,8 @@ public class ApplicationMigrationPaginators {
                             apply(ListSourcesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -423,7 +455,8 @@ public class ApplicationMigrationPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -489,7 +522,8 @@ public class ApplicationMigrationPaginators {
                             apply(ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -540,7 +574,8 @@ public class ApplicationMigrationPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -605,7 +640,8 @@ public class ApplicationMigrationPaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -655,7 +691,8 @@ public class ApplicationMigrationPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -719,6 +756,7 @@ public class ApplicationMigrationPaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
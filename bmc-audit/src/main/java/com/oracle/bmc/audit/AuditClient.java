@@ -410,6 +410,43 @@ public class AuditClient implements Audit {
                 });
     }
 
+    /**
+     * Calls listEvents, and returns the events of the response as a stream that is parsed one event
+     * at a time, instead of reading them into a list.  Used by {@link AuditPaginators#listEventsRecordStream}.
+     */
+    com.oracle.bmc.http.internal.WithHeaders<
+                    com.oracle.bmc.http.internal.JsonRecordIterator<
+                            com.oracle.bmc.audit.model.AuditEvent>>
+            listEventsRecordStream(ListEventsRequest request) {
+        LOG.trace("Called listEventsRecordStream");
+        final ListEventsRequest interceptedRequest = ListEventsConverter.interceptRequest(request);
+        com.oracle.bmc.http.internal.WrappedInvocationBuilder ib =
+                ListEventsConverter.fromRequest(client, interceptedRequest);
+        com.google.common.base.Function<
+                        javax.ws.rs.core.Response,
+                        com.oracle.bmc.http.internal.WithHeaders<
+                                com.oracle.bmc.http.internal.JsonRecordIterator<
+                                        com.oracle.bmc.audit.model.AuditEvent>>>
+                transformer = ListEventsConverter.fromResponseAsRecordStream();
+
+        final com.oracle.bmc.retrier.BmcGenericRetrier retrier =
+                com.oracle.bmc.retrier.Retriers.createPreferredRetrier(
+                        interceptedRequest.getRetryConfiguration(), retryConfiguration);
+        return retrier.execute(
+                interceptedRequest,
+                retryRequest -> {
+                    final com.oracle.bmc.retrier.TokenRefreshRetrier tokenRefreshRetrier =
+                            new com.oracle.bmc.retrier.TokenRefreshRetrier(
+                                    authenticationDetailsProvider);
+                    return tokenRefreshRetrier.execute(
+                            retryRequest,
+                            retriedRequest -> {
+                                javax.ws.rs.core.Response response = client.get(ib, retriedRequest);
+                                return transformer.apply(response);
+                            });
+                });
+    }
+
     @Override
     public UpdateConfigurationResponse updateConfiguration(UpdateConfigurationRequest request) {
         LOG.trace("Called updateConfiguration");
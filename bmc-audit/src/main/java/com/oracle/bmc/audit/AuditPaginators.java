@@ -24,11 +24,37 @@ import com.oracle.bmc.audit.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190901")
-@lombok.RequiredArgsConstructor
 public class AuditPaginators {
     private final Audit client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public AuditPaginators(Audit client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public AuditPaginators(
+            Audit client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listEvents operation. This iterable
@@ -76,7 +102,8 @@ public class AuditPaginators {
                     public ListEventsResponse apply(ListEventsRequest request) {
                         return client.listEvents(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,6 +164,89 @@ public class AuditPaginators {
                             ListEventsResponse response) {
                         return response.getItems();
                     }
+                },
+                prefetchConfiguration);
+    }
+
+    /**
+     * Creates a new iterable which will iterate over the {@link com.oracle.bmc.audit.model.AuditEvent} objects
+     * contained in responses from the listEvents operation, parsing each event from the response when the caller
+     * needs it instead of reading whole pages into memory, so memory use stays constant however many events
+     * there are. Pages are fetched when the caller needs them; the prefetch configuration is not used.
+     * <p>
+     * Iterators that are not iterated to the end must be closed to release the connection of the current page,
+     * for example with try-with-resources. If the client is not an {@link AuditClient}, the iterable returns the
+     * same records as {@link #listEventsRecordIterator(ListEventsRequest)}, and closing its iterators has no effect.
+     *
+     * @param request a request which can be sent to the service operation
+     * @return a {@link com.oracle.bmc.paginator.CloseableRecordIterable} which can be used to iterate over the
+     * {@link com.oracle.bmc.audit.model.AuditEvent} objects contained in responses received from the service.
+     */
+    public com.oracle.bmc.paginator.CloseableRecordIterable<com.oracle.bmc.audit.model.AuditEvent>
+            listEventsRecordStream(final ListEventsRequest request) {
+        if (!(client instanceof AuditClient)) {
+            return com.oracle.bmc.paginator.CloseableRecordIterable.of(
+                    listEventsRecordIterator(request));
+        }
+        final AuditClient auditClient = (AuditClient) client;
+        return new com.oracle.bmc.paginator.internal.StreamingRecordIterable<
+                ListEventsRequest.Builder, ListEventsRequest,
+                com.oracle.bmc.audit.model.AuditEvent>(
+                new com.google.common.base.Supplier<ListEventsRequest.Builder>() {
+                    @Override
+                    public ListEventsRequest.Builder get() {
+                        return ListEventsRequest.builder().copy(request);
+                    }
+                },
+                new com.google.common.base.Function<
+                        com.oracle.bmc.http.internal.WithHeaders<
+                                com.oracle.bmc.http.internal.JsonRecordIterator<
+                                        com.oracle.bmc.audit.model.AuditEvent>>,
+                        String>() {
+                    @Override
+                    public String apply(
+                            com.oracle.bmc.http.internal.WithHeaders<
+                                            com.oracle.bmc.http.internal.JsonRecordIterator<
+                                                    com.oracle.bmc.audit.model.AuditEvent>>
+                                    page) {
+                        com.google.common.base.Optional<java.util.List<String>> opcNextPageHeader =
+                                com.oracle.bmc.http.internal.HeaderUtils.get(
+                                        page.getHeaders(), "opc-next-page");
+                        return opcNextPageHeader.isPresent()
+                                ? opcNextPageHeader.get().get(0)
+                                : null;
+                    }
+                },
+                new com.google.common.base.Function<
+                        com.oracle.bmc.paginator.internal.RequestBuilderAndToken<
+                                ListEventsRequest.Builder>,
+                        ListEventsRequest>() {
+                    @Override
+                    public ListEventsRequest apply(
+                            com.oracle.bmc.paginator.internal.RequestBuilderAndToken<
+                                            ListEventsRequest.Builder>
+                                    input) {
+                        if (input.getToken() == null) {
+                            return input.getRequestBuilder().build();
+                        } else {
+                            return input.getRequestBuilder()
+                                    .page(input.getToken().orNull())
+                                    .build();
+                        }
+                    }
+                },
+                new com.google.common.base.Function<
+                        ListEventsRequest,
+                        com.oracle.bmc.http.internal.WithHeaders<
+                                com.oracle.bmc.http.internal.JsonRecordIterator<
+                                        com.oracle.bmc.audit.model.AuditEvent>>>() {
+                    @Override
+                    public com.oracle.bmc.http.internal.WithHeaders<
+                                    com.oracle.bmc.http.internal.JsonRecordIterator<
+                                            com.oracle.bmc.audit.model.AuditEvent>>
+                            apply(ListEventsRequest request) {
+                        return auditClient.listEventsRecordStream(request);
+                    }
                 });
     }
 }
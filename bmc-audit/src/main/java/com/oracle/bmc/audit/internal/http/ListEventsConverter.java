@@ -138,4 +138,29 @@ public class ListEventsConverter {
                         };
         return transformer;
     }
+
+    /**
+     * Creates a transformer which returns the events of the response as a stream, parsed one event
+     * at a time, instead of reading them into a list.
+     */
+    public static com.google.common.base.Function<
+                    javax.ws.rs.core.Response,
+                    com.oracle.bmc.http.internal.WithHeaders<
+                            com.oracle.bmc.http.internal.JsonRecordIterator<AuditEvent>>>
+            fromResponseAsRecordStream() {
+        return new com.google.common.base.Function<
+                javax.ws.rs.core.Response,
+                com.oracle.bmc.http.internal.WithHeaders<
+                        com.oracle.bmc.http.internal.JsonRecordIterator<AuditEvent>>>() {
+            @Override
+            public com.oracle.bmc.http.internal.WithHeaders<
+                            com.oracle.bmc.http.internal.JsonRecordIterator<AuditEvent>>
+                    apply(javax.ws.rs.core.Response rawResponse) {
+                LOG.trace("Record stream transform function invoked for AuditEvent");
+                ResponseHelper.throwIfNotSuccessful(rawResponse);
+                return com.oracle.bmc.http.internal.JsonRecordIterator.fromResponse(
+                        rawResponse, AuditEvent.class);
+            }
+        };
+    }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.bds.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190531")
-@lombok.RequiredArgsConstructor
 public class BdsPaginators {
     private final Bds client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public BdsPaginators(Bds client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public BdsPaginators(
+            Bds client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listBdsInstances operation. This iterable
@@ -77,7 +103,8 @@ public class BdsPaginators {
                     public ListBdsInstancesResponse apply(ListBdsInstancesRequest request) {
                         return client.listBdsInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -139,7 +166,8 @@ public class BdsPaginators {
                             ListBdsInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -191,7 +219,8 @@ public class BdsPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -254,7 +283,8 @@ public class BdsPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -305,7 +335,8 @@ public class BdsPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -367,7 +398,8 @@ public class BdsPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -417,7 +449,8 @@ public class BdsPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -479,6 +512,7 @@ public class BdsPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.blockchain.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20191010")
-@lombok.RequiredArgsConstructor
 public class BlockchainPlatformPaginators {
     private final BlockchainPlatform client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public BlockchainPlatformPaginators(BlockchainPlatform client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public BlockchainPlatformPaginators(
+            BlockchainPlatform client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listBlockchainPlatforms operation. This iterable
@@ -79,7 +105,8 @@ public class BlockchainPlatformPaginators {
                             ListBlockchainPlatformsRequest request) {
                         return client.listBlockchainPlatforms(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -144,7 +171,8 @@ public class BlockchainPlatformPaginators {
                             apply(ListBlockchainPlatformsResponse response) {
                         return response.getBlockchainPlatformCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -192,7 +220,8 @@ public class BlockchainPlatformPaginators {
                     public ListOsnsResponse apply(ListOsnsRequest request) {
                         return client.listOsns(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -253,7 +282,8 @@ public class BlockchainPlatformPaginators {
                             ListOsnsResponse response) {
                         return response.getOsnCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -301,7 +331,8 @@ public class BlockchainPlatformPaginators {
                     public ListPeersResponse apply(ListPeersRequest request) {
                         return client.listPeers(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -362,7 +393,8 @@ public class BlockchainPlatformPaginators {
                             ListPeersResponse response) {
                         return response.getPeerCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -414,7 +446,8 @@ public class BlockchainPlatformPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -477,7 +510,8 @@ public class BlockchainPlatformPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getWorkRequestErrorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -528,7 +562,8 @@ public class BlockchainPlatformPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -590,7 +625,8 @@ public class BlockchainPlatformPaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getWorkRequestLogEntryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -640,7 +676,8 @@ public class BlockchainPlatformPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -702,6 +739,7 @@ public class BlockchainPlatformPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
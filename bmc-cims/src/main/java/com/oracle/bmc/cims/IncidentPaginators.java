@@ -24,11 +24,37 @@ import com.oracle.bmc.cims.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20181231")
-@lombok.RequiredArgsConstructor
 public class IncidentPaginators {
     private final Incident client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public IncidentPaginators(Incident client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public IncidentPaginators(
+            Incident client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listIncidentResourceTypes operation. This iterable
@@ -79,7 +105,8 @@ public class IncidentPaginators {
                             ListIncidentResourceTypesRequest request) {
                         return client.listIncidentResourceTypes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -143,7 +170,8 @@ public class IncidentPaginators {
                             ListIncidentResourceTypesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -192,7 +220,8 @@ public class IncidentPaginators {
                     public ListIncidentsResponse apply(ListIncidentsRequest request) {
                         return client.listIncidents(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -253,6 +282,7 @@ public class IncidentPaginators {
                             ListIncidentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
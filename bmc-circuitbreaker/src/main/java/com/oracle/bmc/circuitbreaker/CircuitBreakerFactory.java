@@ -5,6 +5,7 @@
 package com.oracle.bmc.circuitbreaker;
 
 import com.oracle.bmc.circuitbreaker.internal.JaxRsCircuitBreakerImpl;
+import com.oracle.bmc.circuitbreaker.internal.RegistryJaxRsCircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 
 /**
@@ -24,4 +25,37 @@ public class CircuitBreakerFactory {
         }
         return circuitBreaker;
     }
+
+    /**
+     * Creates a JaxRsCircuitBreaker that guards calls with separate circuit breakers, one for each key
+     * returned by the key function, e.g. {@link CircuitBreakerKeyFunction#HOST_AND_OPERATION}.  The
+     * circuit breakers are kept in the {@link CircuitBreakerRegistry#getDefault() default registry} and
+     * shared with all clients in the JVM that use the same keys.
+     *
+     * @param cbConfig    custom JaxRs CircuitBreaker configuration
+     * @param keyFunction function to determine the circuit breaker for a call
+     */
+    public static JaxRsCircuitBreaker build(
+            CircuitBreakerConfiguration cbConfig, CircuitBreakerKeyFunction keyFunction) {
+        return build(cbConfig, keyFunction, CircuitBreakerRegistry.getDefault());
+    }
+
+    /**
+     * Creates a JaxRsCircuitBreaker that guards calls with separate circuit breakers, one for each key
+     * returned by the key function, kept in the given registry.
+     *
+     * @param cbConfig    custom JaxRs CircuitBreaker configuration
+     * @param keyFunction function to determine the circuit breaker for a call
+     * @param registry    registry of the circuit breakers
+     */
+    public static JaxRsCircuitBreaker build(
+            CircuitBreakerConfiguration cbConfig,
+            CircuitBreakerKeyFunction keyFunction,
+            CircuitBreakerRegistry registry) {
+        JaxRsCircuitBreaker circuitBreaker = null;
+        if (cbConfig != null) {
+            circuitBreaker = new RegistryJaxRsCircuitBreaker(registry, cbConfig, keyFunction);
+        }
+        return circuitBreaker;
+    }
 }
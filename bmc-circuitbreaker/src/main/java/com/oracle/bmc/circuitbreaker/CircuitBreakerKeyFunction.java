@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.circuitbreaker;
+
+import java.net.URI;
+
+/**
+ * Determines which circuit breaker of a {@link CircuitBreakerRegistry} guards a call.  Calls with
+ * the same key share a circuit breaker.
+ */
+@FunctionalInterface
+public interface CircuitBreakerKeyFunction {
+    /**
+     * One circuit breaker per host, e.g. per service and region.
+     */
+    CircuitBreakerKeyFunction HOST = (requestUri, operation) -> String.valueOf(host(requestUri));
+
+    /**
+     * One circuit breaker per host and operation, e.g. "objectstorage.us-phoenix-1.oraclecloud.com/ListObjects".
+     */
+    CircuitBreakerKeyFunction HOST_AND_OPERATION =
+            (requestUri, operation) -> host(requestUri) + "/" + operation;
+
+    /**
+     * Returns the key of the circuit breaker for a call.
+     *
+     * @param requestUri the URI of the request
+     * @param operation  the name of the operation, e.g. "ListObjects"
+     * @return the key, used as name of the circuit breaker
+     */
+    String apply(URI requestUri, String operation);
+
+    /**
+     * Returns the host of the URI, or null if unknown.
+     *
+     * @param requestUri the URI of the request, may be null
+     * @return the host
+     */
+    static String host(URI requestUri) {
+        return requestUri == null ? null : requestUri.getHost();
+    }
+}
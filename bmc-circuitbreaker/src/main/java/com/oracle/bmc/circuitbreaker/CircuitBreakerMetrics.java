@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.circuitbreaker;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Snapshot of the state and metrics of a circuit breaker.
+ */
+@Value
+@Builder
+public class CircuitBreakerMetrics {
+    /**
+     * The name of the circuit breaker.
+     */
+    private final String name;
+    /**
+     * The state of the circuit breaker, e.g. CLOSED, OPEN or HALF_OPEN.
+     */
+    private final String state;
+    /**
+     * The failure rate in percentage, or -1 if the minimum number of calls was not recorded yet.
+     */
+    private final float failureRate;
+    /**
+     * The slow call rate in percentage, or -1 if the minimum number of calls was not recorded yet.
+     */
+    private final float slowCallRate;
+    /**
+     * The number of calls recorded in the sliding window.
+     */
+    private final int numberOfBufferedCalls;
+    /**
+     * The number of failed calls recorded in the sliding window.
+     */
+    private final int numberOfFailedCalls;
+    /**
+     * The number of successful calls recorded in the sliding window.
+     */
+    private final int numberOfSuccessfulCalls;
+    /**
+     * The number of slow calls recorded in the sliding window.
+     */
+    private final int numberOfSlowCalls;
+    /**
+     * The number of calls that were not permitted since the circuit breaker was created.
+     */
+    private final long numberOfNotPermittedCalls;
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.circuitbreaker;
+
+import com.google.common.base.Optional;
+import com.oracle.bmc.circuitbreaker.internal.JaxRsCircuitBreakerImpl;
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of named circuit breakers.
+ * <p>
+ * The circuit breakers of a registry are shared by all clients that use it; the first configuration used
+ * for a name creates the circuit breaker, later lookups of the same name return it as is.  The
+ * {@link #getDefault() default} registry is shared across the JVM.
+ */
+public class CircuitBreakerRegistry {
+    private static final CircuitBreakerRegistry DEFAULT = new CircuitBreakerRegistry();
+
+    private final ConcurrentMap<String, JaxRsCircuitBreakerImpl> circuitBreakers =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registry shared across the JVM.
+     *
+     * @return the default registry
+     */
+    public static CircuitBreakerRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the circuit breaker with the given name, creating it from the configuration if it does
+     * not exist yet.
+     *
+     * @param name          the name of the circuit breaker
+     * @param configuration the configuration to create the circuit breaker with
+     * @return the circuit breaker
+     */
+    public JaxRsCircuitBreaker getOrCreate(
+            @NonNull String name, @NonNull CircuitBreakerConfiguration configuration) {
+        JaxRsCircuitBreakerImpl circuitBreaker = circuitBreakers.get(name);
+        if (circuitBreaker != null) {
+            return circuitBreaker;
+        }
+        return circuitBreakers.computeIfAbsent(
+                name, n -> new JaxRsCircuitBreakerImpl(n, configuration));
+    }
+
+    /**
+     * Returns the names of the circuit breakers in this registry.
+     *
+     * @return the names
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(circuitBreakers.keySet());
+    }
+
+    /**
+     * Returns the state and metrics of the circuit breaker with the given name.
+     *
+     * @param name the name of the circuit breaker
+     * @return the metrics, or absent if there is no circuit breaker with that name
+     */
+    public Optional<CircuitBreakerMetrics> getMetrics(@NonNull String name) {
+        JaxRsCircuitBreakerImpl circuitBreaker = circuitBreakers.get(name);
+        return circuitBreaker == null
+                ? Optional.<CircuitBreakerMetrics>absent()
+                : Optional.of(circuitBreaker.getMetrics());
+    }
+
+    /**
+     * Returns the state and metrics of all circuit breakers in this registry, sorted by name.
+     *
+     * @return the metrics by name
+     */
+    public Map<String, CircuitBreakerMetrics> getAllMetrics() {
+        Map<String, CircuitBreakerMetrics> metrics = new TreeMap<>();
+        for (Map.Entry<String, JaxRsCircuitBreakerImpl> entry : circuitBreakers.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().getMetrics());
+        }
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Removes the circuit breaker with the given name.  Clients that already use it keep doing so
+     * for calls in progress; later calls create a new circuit breaker.
+     *
+     * @param name the name of the circuit breaker
+     */
+    public void remove(@NonNull String name) {
+        circuitBreakers.remove(name);
+    }
+}
@@ -4,6 +4,7 @@
  */
 package com.oracle.bmc.circuitbreaker;
 
+import java.net.URI;
 import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -40,4 +41,17 @@ public interface JaxRsCircuitBreaker {
      * @return a supplier which is decorated by the JaxRsCircuitBreaker.
      */
     Supplier<Future<Response>> decorateFuture(Supplier<Future<Response>> supplier);
+
+    /**
+     * Returns the circuit breaker that guards a specific call.  By default, a circuit breaker guards
+     * all calls itself; circuit breakers backed by a {@link CircuitBreakerRegistry} return the one
+     * registered for the call.
+     *
+     * @param requestUri the URI of the request
+     * @param operation  the name of the operation, e.g. "ListObjects"
+     * @return the circuit breaker to decorate the call with
+     */
+    default JaxRsCircuitBreaker forCall(URI requestUri, String operation) {
+        return this;
+    }
 }
@@ -7,6 +7,7 @@ package com.oracle.bmc.circuitbreaker.internal;
 import com.google.common.annotations.VisibleForTesting;
 import com.oracle.bmc.circuitbreaker.CallNotAllowedException;
 import com.oracle.bmc.circuitbreaker.CircuitBreakerConfiguration;
+import com.oracle.bmc.circuitbreaker.CircuitBreakerMetrics;
 import com.oracle.bmc.circuitbreaker.JaxRsCircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
@@ -34,6 +35,16 @@ public class JaxRsCircuitBreakerImpl implements JaxRsCircuitBreaker {
      * @param configuration custom JaxRs CircuitBreaker configuration
      */
     public JaxRsCircuitBreakerImpl(CircuitBreakerConfiguration configuration) {
+        this("default", configuration);
+    }
+
+    /**
+     * Creates a named {@link JaxRsCircuitBreakerImpl}
+     *
+     * @param name          name of the circuit breaker
+     * @param configuration custom JaxRs CircuitBreaker configuration
+     */
+    public JaxRsCircuitBreakerImpl(String name, CircuitBreakerConfiguration configuration) {
 
         CircuitBreakerConfig.Builder custom = CircuitBreakerConfig.custom();
         custom.enableAutomaticTransitionFromOpenToHalfOpen();
@@ -60,7 +71,7 @@ public class JaxRsCircuitBreakerImpl implements JaxRsCircuitBreaker {
 
         custom.waitDurationInOpenState(configuration.getWaitDurationInOpenState());
 
-        this.circuitBreaker = CircuitBreaker.of("default", custom.build());
+        this.circuitBreaker = CircuitBreaker.of(name, custom.build());
         this.recordHttpStatuses = configuration.getRecordHttpStatuses();
     }
 
@@ -128,6 +139,26 @@ public class JaxRsCircuitBreakerImpl implements JaxRsCircuitBreaker {
                         circuitBreaker.getCircuitBreakerConfig().isWritableStackTraceEnabled());
     }
 
+    /**
+     * Returns a snapshot of the state and metrics of this circuit breaker.
+     *
+     * @return the metrics
+     */
+    public CircuitBreakerMetrics getMetrics() {
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        return CircuitBreakerMetrics.builder()
+                .name(circuitBreaker.getName())
+                .state(circuitBreaker.getState().name())
+                .failureRate(metrics.getFailureRate())
+                .slowCallRate(metrics.getSlowCallRate())
+                .numberOfBufferedCalls(metrics.getNumberOfBufferedCalls())
+                .numberOfFailedCalls(metrics.getNumberOfFailedCalls())
+                .numberOfSuccessfulCalls(metrics.getNumberOfSuccessfulCalls())
+                .numberOfSlowCalls(metrics.getNumberOfSlowCalls())
+                .numberOfNotPermittedCalls(metrics.getNumberOfNotPermittedCalls())
+                .build();
+    }
+
     @VisibleForTesting
     CircuitBreaker getInternalCircuitBreaker() {
         return circuitBreaker;
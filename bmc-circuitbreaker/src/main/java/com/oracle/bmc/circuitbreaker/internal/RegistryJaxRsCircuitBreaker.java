@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.circuitbreaker.internal;
+
+import com.oracle.bmc.circuitbreaker.CircuitBreakerConfiguration;
+import com.oracle.bmc.circuitbreaker.CircuitBreakerKeyFunction;
+import com.oracle.bmc.circuitbreaker.CircuitBreakerRegistry;
+import com.oracle.bmc.circuitbreaker.JaxRsCircuitBreaker;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.Response;
+
+/**
+ * {@link JaxRsCircuitBreaker} that guards each call with the circuit breaker of a
+ * {@link CircuitBreakerRegistry} selected by a {@link CircuitBreakerKeyFunction}.
+ * <p>
+ * Calls decorated without going through {@link #forCall(URI, String)} share the circuit breaker named
+ * "default".
+ */
+@RequiredArgsConstructor
+public class RegistryJaxRsCircuitBreaker implements JaxRsCircuitBreaker {
+    private static final String DEFAULT_NAME = "default";
+
+    @NonNull private final CircuitBreakerRegistry registry;
+    @NonNull private final CircuitBreakerConfiguration configuration;
+    @NonNull private final CircuitBreakerKeyFunction keyFunction;
+
+    @Override
+    public Supplier<Response> decorateSupplier(Supplier<Response> supplier) {
+        return defaultCircuitBreaker().decorateSupplier(supplier);
+    }
+
+    @Override
+    public Function<Invocation, Response> decorateFunction(
+            Function<Invocation, Response> function) {
+        return defaultCircuitBreaker().decorateFunction(function);
+    }
+
+    @Override
+    public Supplier<Future<Response>> decorateFuture(Supplier<Future<Response>> supplier) {
+        return defaultCircuitBreaker().decorateFuture(supplier);
+    }
+
+    @Override
+    public JaxRsCircuitBreaker forCall(URI requestUri, String operation) {
+        return registry.getOrCreate(keyFunction.apply(requestUri, operation), configuration);
+    }
+
+    private JaxRsCircuitBreaker defaultCircuitBreaker() {
+        return registry.getOrCreate(DEFAULT_NAME, configuration);
+    }
+}
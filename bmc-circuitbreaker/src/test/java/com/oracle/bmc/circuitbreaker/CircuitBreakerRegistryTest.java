@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.circuitbreaker;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.URI;
+import java.time.Duration;
+import javax.ws.rs.core.Response;
+
+public class CircuitBreakerRegistryTest {
+    private static final URI HOST_A = URI.create("https://a.example.com/n/ns/b/bucket/o");
+    private static final URI HOST_B = URI.create("https://b.example.com/n/ns/b/bucket/o");
+
+    private CircuitBreakerRegistry registry;
+    private JaxRsCircuitBreaker circuitBreaker;
+    private Response response200;
+    private Response response503;
+
+    @Before
+    public void setup() {
+        CircuitBreakerConfiguration config =
+                CircuitBreakerConfiguration.builder()
+                        .failureRateThreshold(50)
+                        .slidingWindowSize(4)
+                        .minimumNumberOfCalls(4)
+                        .waitDurationInOpenState(Duration.ofSeconds(60))
+                        .build();
+        registry = new CircuitBreakerRegistry();
+        circuitBreaker =
+                CircuitBreakerFactory.build(
+                        config, CircuitBreakerKeyFunction.HOST_AND_OPERATION, registry);
+
+        response200 = mock(Response.class);
+        Mockito.when(response200.getStatus()).thenReturn(200);
+        response503 = mock(Response.class);
+        Mockito.when(response503.getStatus()).thenReturn(503);
+    }
+
+    @Test
+    public void unhealthyOperationDoesNotOpenOtherBreakers() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.forCall(HOST_A, "ListObjects").decorateSupplier(() -> response503).get();
+            circuitBreaker.forCall(HOST_A, "GetObject").decorateSupplier(() -> response200).get();
+        }
+
+        try {
+            circuitBreaker.forCall(HOST_A, "ListObjects").decorateSupplier(() -> response200).get();
+            fail("Should have thrown");
+        } catch (CallNotAllowedException e) {
+            // expected
+        }
+        assertEquals(
+                200,
+                circuitBreaker
+                        .forCall(HOST_A, "GetObject")
+                        .decorateSupplier(() -> response200)
+                        .get()
+                        .getStatus());
+        assertEquals(
+                200,
+                circuitBreaker
+                        .forCall(HOST_B, "ListObjects")
+                        .decorateSupplier(() -> response200)
+                        .get()
+                        .getStatus());
+
+        assertEquals("OPEN", registry.getMetrics("a.example.com/ListObjects").get().getState());
+        assertEquals("CLOSED", registry.getMetrics("a.example.com/GetObject").get().getState());
+        assertEquals("CLOSED", registry.getMetrics("b.example.com/ListObjects").get().getState());
+    }
+
+    @Test
+    public void metrics() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.forCall(HOST_A, "GetObject").decorateSupplier(() -> response200).get();
+        }
+        circuitBreaker.forCall(HOST_A, "GetObject").decorateSupplier(() -> response503).get();
+
+        CircuitBreakerMetrics metrics = registry.getAllMetrics().get("a.example.com/GetObject");
+        assertEquals("a.example.com/GetObject", metrics.getName());
+        assertEquals("CLOSED", metrics.getState());
+        assertEquals(4, metrics.getNumberOfBufferedCalls());
+        assertEquals(1, metrics.getNumberOfFailedCalls());
+        assertEquals(3, metrics.getNumberOfSuccessfulCalls());
+        assertEquals(25.0f, metrics.getFailureRate(), 0.01f);
+        assertFalse(registry.getMetrics("unknown").isPresent());
+    }
+
+    @Test
+    public void sharedAcrossClients() {
+        JaxRsCircuitBreaker other =
+                CircuitBreakerFactory.build(
+                        CircuitBreakerConfiguration.builder().build(),
+                        CircuitBreakerKeyFunction.HOST,
+                        registry);
+
+        assertSame(
+                registry.getOrCreate("a.example.com", CircuitBreakerConfiguration.builder().build()),
+                other.forCall(HOST_A, "GetObject"));
+        assertSame(other.forCall(HOST_A, "GetObject"), other.forCall(HOST_A, "ListObjects"));
+        assertEquals(1, registry.getNames().size());
+    }
+}
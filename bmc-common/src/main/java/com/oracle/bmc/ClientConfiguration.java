@@ -5,6 +5,7 @@
 package com.oracle.bmc;
 
 import com.oracle.bmc.circuitbreaker.JaxRsCircuitBreaker;
+import com.oracle.bmc.ratelimiter.RateLimiterConfiguration;
 import com.oracle.bmc.retrier.RetryConfiguration;
 import com.oracle.bmc.circuitbreaker.CircuitBreakerConfiguration;
 
@@ -21,6 +22,7 @@ public class ClientConfiguration {
     private static final int CONNECTION_TIMEOUT_MILLIS = 10000;
     private static final int READ_TIMEOUT_MILLIS = 60000;
     private static final int MAX_ASYNC_THREADS = 50;
+    private static final int MAX_IN_FLIGHT_ASYNC_REQUESTS = 0;
 
     /**
      * The max time to wait for a connection, in millis.  Default is 10000.
@@ -34,12 +36,23 @@ public class ClientConfiguration {
      * The max number of async threads to use.  Default is 50;
      */
     private final int maxAsyncThreads;
+    /**
+     * The max number of asynchronous requests that may be in flight at the same time.  Once reached,
+     * further asynchronous calls block until a request completes, instead of queuing in front of the
+     * async threads.  Default is 0, no limit.
+     */
+    private final int maxInFlightAsyncRequests;
 
     /**
      * The retry configuration to use.  Default is no retry.
      */
     private final RetryConfiguration retryConfiguration;
 
+    /**
+     * The configuration of the adaptive client-side rate limiter to use.  Default is no rate limiter.
+     */
+    private final RateLimiterConfiguration rateLimiterConfiguration;
+
     /**
      * The circuit-breaker configuration to use. Default is no circuit-breaker.
      */
@@ -50,16 +63,27 @@ public class ClientConfiguration {
      */
     private final JaxRsCircuitBreaker circuitBreaker;
 
+    /**
+     * Whether to bind JSON responses with an ObjectMapper that has the Jackson Afterburner module
+     * registered, which replaces the reflective calls to model accessors and builder methods with
+     * generated bytecode.  Requires com.fasterxml.jackson.module:jackson-module-afterburner on the
+     * classpath.  Default is false.
+     */
+    private final boolean fastJsonBinding;
+
     // Explicit @Builder on constructor so we can enforce default values.
     @Builder
     private ClientConfiguration(
             Integer connectionTimeoutMillis,
             Integer readTimeoutMillis,
             Integer maxAsyncThreads,
+            Integer maxInFlightAsyncRequests,
             Boolean disableDataBufferingOnUpload,
             RetryConfiguration retryConfiguration,
+            RateLimiterConfiguration rateLimiterConfiguration,
             CircuitBreakerConfiguration circuitBreakerConfiguration,
-            JaxRsCircuitBreaker circuitBreaker) {
+            JaxRsCircuitBreaker circuitBreaker,
+            Boolean fastJsonBinding) {
 
         if (circuitBreakerConfiguration != null && circuitBreaker != null) {
             throw new IllegalArgumentException(
@@ -70,9 +94,18 @@ public class ClientConfiguration {
                 getOrDefault(connectionTimeoutMillis, CONNECTION_TIMEOUT_MILLIS);
         this.readTimeoutMillis = getOrDefault(readTimeoutMillis, READ_TIMEOUT_MILLIS);
         this.maxAsyncThreads = getOrDefault(maxAsyncThreads, MAX_ASYNC_THREADS);
+        this.maxInFlightAsyncRequests =
+                getOrDefault(maxInFlightAsyncRequests, MAX_IN_FLIGHT_ASYNC_REQUESTS);
+        if (this.maxInFlightAsyncRequests < 0) {
+            throw new IllegalArgumentException(
+                    "maxInFlightAsyncRequests must not be negative: "
+                            + this.maxInFlightAsyncRequests);
+        }
         this.retryConfiguration = retryConfiguration;
+        this.rateLimiterConfiguration = rateLimiterConfiguration;
         this.circuitBreakerConfiguration = circuitBreakerConfiguration;
         this.circuitBreaker = circuitBreaker;
+        this.fastJsonBinding = getOrDefault(fastJsonBinding, false);
     }
 
     private static <T> T getOrDefault(T value, T defaultValue) {
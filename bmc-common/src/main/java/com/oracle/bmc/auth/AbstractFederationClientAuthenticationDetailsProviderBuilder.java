@@ -11,6 +11,7 @@ import com.oracle.bmc.Realm;
 import com.oracle.bmc.Region;
 import com.oracle.bmc.auth.internal.AuthUtils;
 import com.oracle.bmc.auth.internal.FederationClient;
+import com.oracle.bmc.auth.internal.StagingSessionKeySupplier;
 import com.oracle.bmc.auth.internal.X509FederationClient;
 
 import com.oracle.bmc.circuitbreaker.CircuitBreakerConfiguration;
@@ -32,6 +33,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.util.HashSet;
+import java.util.function.Supplier;
 
 /**
  * Abstract builder base class for authentication details provider extending
@@ -102,6 +104,8 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
 
     private String purpose = null;
 
+    private Double proactiveRefreshFraction = null;
+
     /**
      * Detected region.
      */
@@ -152,6 +156,19 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
         return (B) this;
     }
 
+    /**
+     * Configures the security token and session keys to be refreshed in the background, once the
+     * given fraction of the token's lifetime has passed, e.g. 0.5.  Requests then only wait for the
+     * federation service if the token has expired.  Disabled by default.
+     * <p>
+     * Note, with a custom {@link SessionKeySupplier}, requests may still wait while the token for
+     * the new keys is requested.
+     */
+    public B proactiveRefreshFraction(Double proactiveRefreshFraction) {
+        this.proactiveRefreshFraction = proactiveRefreshFraction;
+        return (B) this;
+    }
+
     /**
      * Build a new AuthenticationDetailsProvider that uses the FederationClient.
      *
@@ -173,7 +190,19 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
                         ? circuitBreakerConfiguration
                         : CircuitBreakerUtils.getDefaultCircuitBreakerConfig();
 
-        if (purpose != null) {
+        if (proactiveRefreshFraction != null) {
+            return new X509FederationClient(
+                    federationEndpoint,
+                    tenancyId,
+                    leafCertificateSupplier,
+                    sessionKeySupplier,
+                    intermediateCertificateSuppliers,
+                    federationClientConfigurator,
+                    additionalFederationClientConfigurators,
+                    circuitBreakerConfig,
+                    purpose,
+                    proactiveRefreshFraction);
+        } else if (purpose != null) {
             return new X509FederationClient(
                     federationEndpoint,
                     tenancyId,
@@ -349,11 +378,12 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
      * This is a helper class to generate in-memory temporary session keys.
      * <p>
      * The thread safety of this class is ensured through the Caching class above
-     * which synchronizes on all methods.
+     * which synchronizes on all methods, and the key pair being replaced atomically.
      */
-    private static class SessionKeySupplierImpl implements SessionKeySupplier {
+    private static class SessionKeySupplierImpl implements StagingSessionKeySupplier {
         private final static KeyPairGenerator GENERATOR;
-        private KeyPair keyPair = null;
+        private volatile KeyPair keyPair = null;
+        private volatile Supplier<KeyPair> keyPairSource = null;
 
         static {
             try {
@@ -365,12 +395,13 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
         }
 
         private SessionKeySupplierImpl() {
-            this.keyPair = GENERATOR.generateKeyPair();
+            this.keyPair = generateKeyPair();
         }
 
         @Override
         public KeyPair getKeyPair() {
-            return keyPair;
+            final Supplier<KeyPair> source = keyPairSource;
+            return source != null ? source.get() : keyPair;
         }
 
         /**
@@ -381,7 +412,7 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
         @Override
         @Deprecated
         public RSAPublicKey getPublicKey() {
-            return (RSAPublicKey) keyPair.getPublic();
+            return (RSAPublicKey) getKeyPair().getPublic();
         }
 
         /**
@@ -392,12 +423,24 @@ public abstract class AbstractFederationClientAuthenticationDetailsProviderBuild
         @Override
         @Deprecated
         public RSAPrivateKey getPrivateKey() {
-            return (RSAPrivateKey) keyPair.getPrivate();
+            return (RSAPrivateKey) getKeyPair().getPrivate();
         }
 
         @Override
         public void refreshKeys() {
-            this.keyPair = GENERATOR.generateKeyPair();
+            this.keyPair = generateKeyPair();
+        }
+
+        @Override
+        public KeyPair generateKeyPair() {
+            synchronized (GENERATOR) {
+                return GENERATOR.generateKeyPair();
+            }
+        }
+
+        @Override
+        public void setKeyPairSource(Supplier<KeyPair> keyPairSource) {
+            this.keyPairSource = keyPairSource;
         }
     }
 }
@@ -21,9 +21,11 @@ class SecurityTokenAdapter {
     private final JWTClaimsSet jwt;
     private final SessionKeySupplier sessionKeySupplier;
     @Getter private final String securityToken;
+    private final long createdAtMillis;
 
     SecurityTokenAdapter(String securityToken, SessionKeySupplier sessionKeySupplier) {
         this.securityToken = securityToken;
+        this.createdAtMillis = System.currentTimeMillis();
         if (securityToken == null || securityToken.isEmpty()) {
             jwt = null;
         } else {
@@ -95,6 +97,22 @@ class SecurityTokenAdapter {
         return false;
     }
 
+    /**
+     * Gets the time at which the given fraction of the token's lifetime has passed.  The lifetime
+     * starts at the issue time of the token, or when it was received if it has no issue time.
+     * @param lifetimeFraction the fraction of the lifetime, between 0 and 1
+     * @return the time in milliseconds, or null if the token does not expire
+     */
+    Long getRefreshTimeMillis(double lifetimeFraction) {
+        if (jwt == null || jwt.getExpirationTime() == null) {
+            return null;
+        }
+        long start =
+                jwt.getIssueTime() != null ? jwt.getIssueTime().getTime() : createdAtMillis;
+        long end = jwt.getExpirationTime().getTime();
+        return start + (long) ((end - start) * lifetimeFraction);
+    }
+
     /**
      * Checks if two public keys are equal
      * @param a one public key
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.auth.internal;
+
+import java.security.KeyPair;
+import java.util.function.Supplier;
+
+import com.oracle.bmc.auth.SessionKeySupplier;
+
+/**
+ * A {@link SessionKeySupplier} that can generate new keys without making them current.
+ * <p>
+ * This allows the federation client to get a security token for the new keys first, and then
+ * publish the new keys and token together, while requests keep using the current ones.
+ */
+public interface StagingSessionKeySupplier extends SessionKeySupplier {
+
+    /**
+     * Generates a new RSA key pair, without changing the current key pair.
+     * @return The new key pair.
+     */
+    KeyPair generateKeyPair();
+
+    /**
+     * Makes the current key pair the one of the given source from now on, e.g. the key pair of the
+     * security token the federation client currently uses.  {@link #refreshKeys()} has no effect
+     * afterwards, new key pairs come from {@link #generateKeyPair()}.
+     * @param keyPairSource The source of the current key pair.
+     */
+    void setKeyPairSource(Supplier<KeyPair> keyPairSource);
+}
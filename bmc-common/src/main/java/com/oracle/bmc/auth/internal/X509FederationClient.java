@@ -11,6 +11,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.oracle.bmc.auth.SessionKeySupplier;
 import com.oracle.bmc.auth.X509CertificateSupplier;
 import com.oracle.bmc.circuitbreaker.CircuitBreakerConfiguration;
@@ -32,21 +33,43 @@ import javax.security.auth.Refreshable;
 import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
+import java.lang.ref.WeakReference;
 import java.security.KeyPair;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.security.interfaces.RSAPublicKey;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class gets a security token from the auth service by signing the request with a PKI issued leaf certificate,
  * passing along a temporary public key that is bounded to the the security token, and the leaf certificate.
+ * <p>
+ * Optionally, the security token and session keys can be refreshed proactively in the background, once a
+ * fraction of the token's lifetime has passed, until the client is closed.  If the session key supplier is a {@link StagingSessionKeySupplier},
+ * the token for the new keys is requested before they are used, so requests never wait for the federation
+ * service unless the token has expired.
  */
 @Slf4j
-public class X509FederationClient implements FederationClient {
+public class X509FederationClient implements FederationClient, AutoCloseable {
     private static final Function<Response, WithHeaders<SecurityToken>> SECURITY_TOKEN_FN =
             new ResponseConversionFunctionFactory().create(SecurityToken.class);
+    @VisibleForTesting static final long PROACTIVE_REFRESH_RETRY_DELAY_MILLIS = 30000L;
+
+    /**
+     * Shared by all clients, the refresh tasks only hold weak references to their client.
+     */
+    private static final ScheduledExecutorService PROACTIVE_REFRESH_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("x509-federation-token-refresh-%d")
+                            .setDaemon(true)
+                            .build());
+
     private static final String DEFAULT_PURPOSE = "DEFAULT";
 
     @Getter private final X509CertificateSupplier leafCertificateSupplier;
@@ -54,12 +77,18 @@ public class X509FederationClient implements FederationClient {
     private final Set<X509CertificateSupplier> intermediateCertificateSuppliers;
     private final SessionKeySupplier sessionKeySupplier;
     private final String purpose;
+    private final Double proactiveRefreshFraction;
+    private final ScheduledExecutorService proactiveRefreshExecutor;
 
     private final RestClient federationHttpClient;
 
+    // guarded by this
+    private ScheduledFuture<?> proactiveRefresh = null;
+    private boolean closed = false;
+
     // needs to be volatile to make double-checked locking work
     // see https://www.cs.umd.edu/~pugh/java/memoryModel/DoubleCheckedLocking.html
-    private volatile SecurityTokenAdapter securityTokenAdapter = null;
+    private volatile Session session = null;
 
     /**
      * Same as {@link #X509FederationClient(String, String, X509CertificateSupplier, SessionKeySupplier, Set, ClientConfigurator, List, String)}
@@ -107,19 +136,86 @@ public class X509FederationClient implements FederationClient {
             List<ClientConfigurator> additionalClientConfigurators,
             CircuitBreakerConfiguration circuitBreakerConfig,
             String purpose) {
+        this(
+                federationEndpoint,
+                tenancyId,
+                leafCertificateSupplier,
+                sessionKeySupplier,
+                intermediateCertificateSuppliers,
+                clientConfigurator,
+                additionalClientConfigurators,
+                circuitBreakerConfig,
+                Preconditions.checkNotNull(purpose),
+                null);
+    }
+
+    /**
+     * Same as {@link #X509FederationClient(String, String, X509CertificateSupplier, SessionKeySupplier, Set, ClientConfigurator, List, CircuitBreakerConfiguration, String)}
+     * but with proactive refresh of the security token.
+     * @param purpose The purpose that will be configured for each request, or null for the default purpose.
+     * @param proactiveRefreshFraction The fraction of the token's lifetime after which the token and session keys are
+     *                                 refreshed in the background, between 0 and 1, or null to only refresh them once
+     *                                 the token has expired.
+     */
+    public X509FederationClient(
+            String federationEndpoint,
+            String tenancyId,
+            X509CertificateSupplier leafCertificateSupplier,
+            SessionKeySupplier sessionKeySupplier,
+            Set<X509CertificateSupplier> intermediateCertificateSuppliers,
+            ClientConfigurator clientConfigurator,
+            List<ClientConfigurator> additionalClientConfigurators,
+            CircuitBreakerConfiguration circuitBreakerConfig,
+            String purpose,
+            Double proactiveRefreshFraction) {
+        this(
+                federationClient ->
+                        RestClientUtils.createRestClient(
+                                federationEndpoint,
+                                clientConfigurator,
+                                additionalClientConfigurators,
+                                federationClient,
+                                circuitBreakerConfig),
+                tenancyId,
+                leafCertificateSupplier,
+                sessionKeySupplier,
+                intermediateCertificateSuppliers,
+                purpose,
+                proactiveRefreshFraction,
+                PROACTIVE_REFRESH_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    X509FederationClient(
+            Function<X509FederationClient, RestClient> federationHttpClientFactory,
+            String tenancyId,
+            X509CertificateSupplier leafCertificateSupplier,
+            SessionKeySupplier sessionKeySupplier,
+            Set<X509CertificateSupplier> intermediateCertificateSuppliers,
+            String purpose,
+            Double proactiveRefreshFraction,
+            ScheduledExecutorService proactiveRefreshExecutor) {
+        Preconditions.checkArgument(
+                proactiveRefreshFraction == null
+                        || (proactiveRefreshFraction > 0 && proactiveRefreshFraction < 1),
+                "proactiveRefreshFraction must be between 0 and 1 (exclusive)");
         this.leafCertificateSupplier = Preconditions.checkNotNull(leafCertificateSupplier);
         this.sessionKeySupplier = Preconditions.checkNotNull(sessionKeySupplier);
         this.intermediateCertificateSuppliers = intermediateCertificateSuppliers;
         this.tenancyId = Preconditions.checkNotNull(tenancyId);
-        this.federationHttpClient =
-                RestClientUtils.createRestClient(
-                        federationEndpoint,
-                        clientConfigurator,
-                        additionalClientConfigurators,
-                        this,
-                        circuitBreakerConfig);
-        this.securityTokenAdapter = new SecurityTokenAdapter(null, sessionKeySupplier);
-        this.purpose = Preconditions.checkNotNull(purpose);
+        this.federationHttpClient = federationHttpClientFactory.apply(this);
+        this.session =
+                new Session(
+                        new SecurityTokenAdapter(null, sessionKeySupplier),
+                        sessionKeySupplier.getKeyPair());
+        if (sessionKeySupplier instanceof StagingSessionKeySupplier) {
+            // the key pair changes together with the security token
+            ((StagingSessionKeySupplier) sessionKeySupplier)
+                    .setKeyPairSource(() -> session.getKeyPair());
+        }
+        this.purpose = purpose != null ? purpose : DEFAULT_PURPOSE;
+        this.proactiveRefreshFraction = proactiveRefreshFraction;
+        this.proactiveRefreshExecutor = proactiveRefreshExecutor;
     }
 
     /**
@@ -133,6 +229,7 @@ public class X509FederationClient implements FederationClient {
      */
     @Override
     public String getSecurityToken() {
+        final SecurityTokenAdapter securityTokenAdapter = session.getSecurityTokenAdapter();
         if (securityTokenAdapter.isValid()) {
             return securityTokenAdapter.getSecurityToken();
         }
@@ -148,7 +245,7 @@ public class X509FederationClient implements FederationClient {
     @Override
     public String getStringClaim(String key) {
         refreshAndGetSecurityTokenInner(true);
-        return securityTokenAdapter.getStringClaim(key);
+        return session.getSecurityTokenAdapter().getStringClaim(key);
     }
 
     @Override
@@ -163,63 +260,145 @@ public class X509FederationClient implements FederationClient {
         // not respond and this call times out, throwing exception
         synchronized (this) {
             // Check again to see if the JWT is still invalid, unless we want to skip that check
-            if (!doFinalTokenValidityCheck || !securityTokenAdapter.isValid()) {
+            if (!doFinalTokenValidityCheck || !session.getSecurityTokenAdapter().isValid()) {
                 LOG.info("Refreshing session keys.");
-                sessionKeySupplier.refreshKeys();
-
-                if (leafCertificateSupplier instanceof Refreshable) {
-                    try {
-                        ((Refreshable) leafCertificateSupplier).refresh();
-                    } catch (RefreshFailedException ex) {
-                        throw new BmcException(
-                                false, "Can't refresh the leaf certification!", ex, null);
-                    }
-                    // When using default purpose (ex, instance principals), the token request should always be signed with the same tenant id as the certificate.
-                    // For other purposes, the tenant id can be different.
-                    if (this.purpose.equals(DEFAULT_PURPOSE)) {
-                        String newTenancyId =
-                                AuthUtils.getTenantIdFromCertificate(
-                                        leafCertificateSupplier
-                                                .getCertificateAndKeyPair()
-                                                .getCertificate());
-
-                        if (!this.tenancyId.equals(newTenancyId)) {
-                            throw new IllegalArgumentException(
-                                    "The tenancy id should never be changed in cert file!");
-                        }
-                    }
-                }
+                session = newSession();
+                scheduleProactiveRefresh();
+            }
 
-                for (X509CertificateSupplier supplier : intermediateCertificateSuppliers) {
-                    if (supplier instanceof Refreshable) {
-                        try {
-                            ((Refreshable) supplier).refresh();
-                        } catch (RefreshFailedException ex) {
-                            throw new BmcException(
-                                    false,
-                                    "Can't refresh the intermediate certification!",
-                                    ex,
-                                    null);
-                        }
-                    }
+            return session.getSecurityTokenAdapter().getSecurityToken();
+        }
+    }
+
+    /**
+     * Refreshes the session keys and the security token before the token expires.  Requests keep
+     * using the current token and keys until both have been replaced.
+     */
+    private void refreshProactively() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            LOG.info("Proactively refreshing session keys and security token.");
+            try {
+                session = newSession();
+                scheduleProactiveRefresh();
+            } catch (RuntimeException e) {
+                if (session.getSecurityTokenAdapter().isValid()) {
+                    LOG.warn(
+                            "Failed to refresh security token, retrying in {} ms",
+                            PROACTIVE_REFRESH_RETRY_DELAY_MILLIS,
+                            e);
+                    schedule(PROACTIVE_REFRESH_RETRY_DELAY_MILLIS);
+                } else {
+                    // the next request refreshes the token
+                    LOG.warn("Failed to refresh security token", e);
                 }
+            }
+        }
+    }
 
-                securityTokenAdapter = getSecurityTokenFromServer();
-                return securityTokenAdapter.getSecurityToken();
+    /**
+     * Gets a security token for new session keys.  A {@link StagingSessionKeySupplier} only
+     * switches to the new keys once the returned session is published, other suppliers switch
+     * immediately, and requests wait for the new token.
+     */
+    // guarded by this
+    private Session newSession() {
+        final KeyPair keyPair;
+        if (sessionKeySupplier instanceof StagingSessionKeySupplier) {
+            keyPair = ((StagingSessionKeySupplier) sessionKeySupplier).generateKeyPair();
+        } else {
+            sessionKeySupplier.refreshKeys();
+            keyPair = sessionKeySupplier.getKeyPair();
+        }
+        refreshCertificates();
+        return new Session(getSecurityTokenFromServer(keyPair), keyPair);
+    }
+
+    // guarded by this
+    private void scheduleProactiveRefresh() {
+        if (proactiveRefreshFraction == null || closed) {
+            return;
+        }
+        Long refreshTimeMillis =
+                session.getSecurityTokenAdapter().getRefreshTimeMillis(proactiveRefreshFraction);
+        if (refreshTimeMillis == null) {
+            return;
+        }
+        schedule(Math.max(0L, refreshTimeMillis - System.currentTimeMillis()));
+    }
+
+    // guarded by this
+    private void schedule(long delayMillis) {
+        if (proactiveRefresh != null) {
+            proactiveRefresh.cancel(false);
+        }
+        LOG.debug("Scheduling proactive refresh of security token in {} ms", delayMillis);
+        proactiveRefresh =
+                proactiveRefreshExecutor.schedule(
+                        new ProactiveRefreshTask(this), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops refreshing the security token and session keys in the background.  They are still
+     * refreshed once the token has expired.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (proactiveRefresh != null) {
+                proactiveRefresh.cancel(false);
+                proactiveRefresh = null;
             }
+        }
+    }
 
-            return securityTokenAdapter.getSecurityToken();
+    // guarded by this
+    private void refreshCertificates() {
+        if (leafCertificateSupplier instanceof Refreshable) {
+            try {
+                ((Refreshable) leafCertificateSupplier).refresh();
+            } catch (RefreshFailedException ex) {
+                throw new BmcException(false, "Can't refresh the leaf certification!", ex, null);
+            }
+            // When using default purpose (ex, instance principals), the token request should always be signed with the same tenant id as the certificate.
+            // For other purposes, the tenant id can be different.
+            if (this.purpose.equals(DEFAULT_PURPOSE)) {
+                String newTenancyId =
+                        AuthUtils.getTenantIdFromCertificate(
+                                leafCertificateSupplier
+                                        .getCertificateAndKeyPair()
+                                        .getCertificate());
+
+                if (!this.tenancyId.equals(newTenancyId)) {
+                    throw new IllegalArgumentException(
+                            "The tenancy id should never be changed in cert file!");
+                }
+            }
+        }
+
+        for (X509CertificateSupplier supplier : intermediateCertificateSuppliers) {
+            if (supplier instanceof Refreshable) {
+                try {
+                    ((Refreshable) supplier).refresh();
+                } catch (RefreshFailedException ex) {
+                    throw new BmcException(
+                            false, "Can't refresh the intermediate certification!", ex, null);
+                }
+            }
         }
     }
 
     /**
      * Gets a security token from the federation server
+     * @param keyPair the session keys the token is for
      * @return the security token, which is basically a JWT token string
      */
-    private SecurityTokenAdapter getSecurityTokenFromServer() {
+    private SecurityTokenAdapter getSecurityTokenFromServer(KeyPair keyPair) {
         LOG.info("Getting security token from the auth server");
 
-        KeyPair keyPair = sessionKeySupplier.getKeyPair();
         if (keyPair == null) {
             throw new IllegalStateException("Keypair for session was not provided");
         }
@@ -314,6 +493,37 @@ public class X509FederationClient implements FederationClient {
         throw lastException;
     }
 
+    /**
+     * A security token together with the session key pair it was issued for, so that both are
+     * replaced in a single write.
+     */
+    @Getter
+    private static final class Session {
+        private final SecurityTokenAdapter securityTokenAdapter;
+        private final KeyPair keyPair;
+
+        private Session(SecurityTokenAdapter securityTokenAdapter, KeyPair keyPair) {
+            this.securityTokenAdapter = securityTokenAdapter;
+            this.keyPair = keyPair;
+        }
+    }
+
+    private static final class ProactiveRefreshTask implements Runnable {
+        private final WeakReference<X509FederationClient> client;
+
+        private ProactiveRefreshTask(X509FederationClient client) {
+            this.client = new WeakReference<>(client);
+        }
+
+        @Override
+        public void run() {
+            X509FederationClient federationClient = client.get();
+            if (federationClient != null) {
+                federationClient.refreshProactively();
+            }
+        }
+    }
+
     @EqualsAndHashCode(callSuper = false)
     @Immutable
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+import org.glassfish.jersey.SslConfigurator;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Configuration;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * A {@link ClientConfigurator} that makes all clients it configures share one transport.
+ * <p>
+ * By default, every client gets its own SSL context, and the default connector creates its own SSL socket
+ * factory from it.  The JDK only reuses a kept-alive HTTPS connection for the same SSL socket factory, so
+ * connections kept alive by one client can then not be reused by another client, and every client repeats
+ * the full TLS handshake with the same endpoints.  All clients configured by the same
+ * {@code SharedTransportConfigurator} use one SSL context and one TLS session cache instead.  Clients using
+ * the default connector ({@link HttpUrlConnectorProvider}) also use one SSL socket factory, so they share
+ * the keep-alive connections.
+ * <p>
+ * This configurator is meant to be added to the client builders with
+ * {@code additionalClientConfigurator(...)}, after the configurator that sets up the connector.  The
+ * number of connections kept alive per host by the default connector is limited JVM-wide by the
+ * {@code http.maxConnections} system property.  Other connectors only share the SSL context; the Apache
+ * connector add-on can share a connection pool with limits per host instead.
+ * <p>
+ * Closing a client does not close connections other clients are using.
+ */
+@Slf4j
+public class SharedTransportConfigurator implements ClientConfigurator {
+    /**
+     * The SSL context shared by all clients.
+     */
+    @Getter private final SSLContext sslContext;
+    /**
+     * The SSL socket factory shared by all clients using the default connector.
+     */
+    @Getter private final SSLSocketFactory sslSocketFactory;
+
+    /**
+     * Creates a new {@code SharedTransportConfigurator} with a new default SSL context, which is configured
+     * by the {@code javax.net.ssl} system properties.
+     */
+    public SharedTransportConfigurator() {
+        this(null, null, null);
+    }
+
+    /**
+     * Creates a new {@code SharedTransportConfigurator}.
+     *
+     * @param sslContext The SSL context to share, or null to create a new default SSL context.  The
+     *                   settings of an SSL context passed in are not changed.
+     * @param sslSessionCacheSize The max number of TLS sessions to cache, or null to keep the default of
+     *                            the SSL context.  0 means no limit.  Can only be set if no SSL context
+     *                            is passed in.
+     * @param sslSessionTimeoutSeconds The time TLS sessions are cached, or null to keep the default of the
+     *                                 SSL context.  0 means no limit.  Can only be set if no SSL context
+     *                                 is passed in.
+     */
+    @Builder
+    private SharedTransportConfigurator(
+            SSLContext sslContext, Integer sslSessionCacheSize, Integer sslSessionTimeoutSeconds) {
+        Validate.isTrue(
+                sslContext == null
+                        || (sslSessionCacheSize == null && sslSessionTimeoutSeconds == null),
+                "sslSessionCacheSize and sslSessionTimeoutSeconds must not be set with sslContext");
+        this.sslContext =
+                sslContext != null ? sslContext : SslConfigurator.getDefaultContext();
+        this.sslSocketFactory = this.sslContext.getSocketFactory();
+
+        SSLSessionContext sessionContext = this.sslContext.getClientSessionContext();
+        if (sslSessionCacheSize != null) {
+            Validate.isTrue(
+                    sslSessionCacheSize >= 0,
+                    String.format(
+                            "sslSessionCacheSize [%s] must be greater than or equal to %s",
+                            sslSessionCacheSize,
+                            0));
+            sessionContext.setSessionCacheSize(sslSessionCacheSize);
+        }
+        if (sslSessionTimeoutSeconds != null) {
+            Validate.isTrue(
+                    sslSessionTimeoutSeconds >= 0,
+                    String.format(
+                            "sslSessionTimeoutSeconds [%s] must be greater than or equal to %s",
+                            sslSessionTimeoutSeconds,
+                            0));
+            sessionContext.setSessionTimeout(sslSessionTimeoutSeconds);
+        }
+    }
+
+    @Override
+    public void customizeBuilder(ClientBuilder builder) {
+        LOG.debug("Using shared SSL context");
+        builder.sslContext(sslContext);
+    }
+
+    @Override
+    public void customizeClient(Client client) {
+        // the default connector keeps an SSL socket factory set by the connection factory
+        final Configuration configuration = client.getConfiguration();
+        if (!(configuration instanceof ClientConfig)) {
+            return;
+        }
+        final ConnectorProvider provider = ((ClientConfig) configuration).getConnectorProvider();
+        if (provider instanceof HttpUrlConnectorProvider) {
+            LOG.debug("Using shared SSL socket factory");
+            ((HttpUrlConnectorProvider) provider)
+                    .connectionFactory(new SharedSocketFactoryConnectionFactory(sslSocketFactory));
+        }
+    }
+
+    private static class SharedSocketFactoryConnectionFactory
+            implements HttpUrlConnectorProvider.ConnectionFactory {
+        private final SSLSocketFactory sslSocketFactory;
+
+        SharedSocketFactoryConnectionFactory(SSLSocketFactory sslSocketFactory) {
+            this.sslSocketFactory = sslSocketFactory;
+        }
+
+        @Override
+        public HttpURLConnection getConnection(URL url) throws IOException {
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            if (connection instanceof HttpsURLConnection) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+            }
+            return connection;
+        }
+    }
+}
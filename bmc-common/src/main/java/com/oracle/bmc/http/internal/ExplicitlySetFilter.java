@@ -14,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Slf4j
 public class ExplicitlySetFilter extends SimpleBeanPropertyFilter {
@@ -21,6 +23,16 @@ public class ExplicitlySetFilter extends SimpleBeanPropertyFilter {
     public static final String NAME = "explicitlySetFilter";
     public static final String FIELD_NAME = "__explicitlySet__";
 
+    // The fields of a model class, looked up and made accessible once, instead of on every
+    // serialized property.
+    private static final ClassValue<ModelFields> MODEL_FIELDS =
+            new ClassValue<ModelFields>() {
+                @Override
+                protected ModelFields computeValue(Class<?> pojoClass) {
+                    return new ModelFields(pojoClass);
+                }
+            };
+
     private ExplicitlySetFilter() {}
 
     @Override
@@ -28,31 +40,14 @@ public class ExplicitlySetFilter extends SimpleBeanPropertyFilter {
             Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer)
             throws Exception {
         if (include(writer)) {
-            Field field = getMatchingDeclaredField(pojo.getClass(), writer.getName());
-            boolean accessible = field.isAccessible();
-            try {
-                field.setAccessible(true);
-                Object fieldValue = field.get(pojo);
-                if (fieldValue != null) {
-                    // not null, definitely serialize
-                    writer.serializeAsField(pojo, jgen, provider);
-                } else {
-                    // null, find out if null was explicitly set
-                    Field explicitField = pojo.getClass().getDeclaredField(FIELD_NAME);
-                    boolean explicitAccessible = explicitField.isAccessible();
-                    try {
-                        explicitField.setAccessible(true);
-                        Set<String> explicitlySet = (Set<String>) explicitField.get(pojo);
-                        if (explicitlySet.contains(writer.getName())) {
-                            // explicitly set, serialize
-                            writer.serializeAsField(pojo, jgen, provider);
-                        }
-                    } finally {
-                        explicitField.setAccessible(explicitAccessible);
-                    }
-                }
-            } finally {
-                field.setAccessible(accessible);
+            ModelFields modelFields = MODEL_FIELDS.get(pojo.getClass());
+            Object fieldValue = modelFields.getField(writer.getName()).get(pojo);
+            if (fieldValue != null) {
+                // not null, definitely serialize
+                writer.serializeAsField(pojo, jgen, provider);
+            } else if (modelFields.isExplicitlySet(pojo, writer.getName())) {
+                // null, but explicitly set, serialize
+                writer.serializeAsField(pojo, jgen, provider);
             }
         } else if (!jgen.canOmitFields()) { // since 2.3
             writer.serializeAsOmittedField(pojo, jgen, provider);
@@ -95,4 +90,43 @@ public class ExplicitlySetFilter extends SimpleBeanPropertyFilter {
     protected boolean include(PropertyWriter writer) {
         return !FIELD_NAME.equals(writer.getName());
     }
+
+    private static final class ModelFields {
+        private final Class<?> pojoClass;
+        private final ConcurrentMap<String, Field> fields = new ConcurrentHashMap<>();
+        private final Field explicitlySetField;
+
+        private ModelFields(Class<?> pojoClass) {
+            this.pojoClass = pojoClass;
+            this.explicitlySetField = findExplicitlySetField(pojoClass);
+        }
+
+        private Field getField(String propertyName) throws NoSuchFieldException {
+            Field field = fields.get(propertyName);
+            if (field == null) {
+                field = getMatchingDeclaredField(pojoClass, propertyName);
+                field.setAccessible(true);
+                fields.putIfAbsent(propertyName, field);
+            }
+            return field;
+        }
+
+        private boolean isExplicitlySet(Object pojo, String propertyName)
+                throws NoSuchFieldException, IllegalAccessException {
+            if (explicitlySetField == null) {
+                throw new NoSuchFieldException(FIELD_NAME);
+            }
+            return ((Set<String>) explicitlySetField.get(pojo)).contains(propertyName);
+        }
+
+        private static Field findExplicitlySetField(Class<?> pojoClass) {
+            try {
+                Field field = pojoClass.getDeclaredField(FIELD_NAME);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                return null;
+            }
+        }
+    }
 }
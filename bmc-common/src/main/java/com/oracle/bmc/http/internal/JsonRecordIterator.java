@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.oracle.bmc.model.BmcException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the elements of a JSON array, parsing one element at a time from a stream, so that
+ * only the current element is held in memory instead of the whole array.
+ * <p>
+ * The array is either the whole body, or a field of the object in the body (ex, the objects of a
+ * ListObjects response).  The other fields of that object are available through
+ * {@link #getField(String)} once all elements have been read, because they may follow the array.
+ * <p>
+ * The stream is closed once the end of the array is reached, or if parsing fails.  Callers that
+ * stop iterating early must {@link #close()} the iterator to release the connection.
+ *
+ * @param <T> The type of the elements.
+ */
+@Slf4j
+public class JsonRecordIterator<T> implements Iterator<T>, Closeable {
+    private static final String OPC_REQUEST_ID_HEADER = "opc-request-id";
+
+    private final InputStream inputStream;
+    private final ObjectReader elementReader;
+    private final String opcRequestId;
+    private final String arrayFieldName;
+    private final Map<String, JsonNode> fields = new HashMap<>();
+    private JsonParser parser;
+    private boolean hasNext;
+    private boolean fieldsRead;
+    private boolean closed;
+
+    /**
+     * Creates a new iterator over a JSON array.
+     *
+     * @param inputStream the stream containing the array
+     * @param elementReader the reader for the elements
+     */
+    public JsonRecordIterator(
+            @NonNull InputStream inputStream, @NonNull ObjectReader elementReader) {
+        this(inputStream, elementReader, null);
+    }
+
+    /**
+     * Creates a new iterator over a JSON array.
+     *
+     * @param inputStream the stream containing the array
+     * @param elementReader the reader for the elements
+     * @param opcRequestId the request id of the response, included in parsing errors
+     */
+    public JsonRecordIterator(
+            @NonNull InputStream inputStream,
+            @NonNull ObjectReader elementReader,
+            String opcRequestId) {
+        this(inputStream, elementReader, opcRequestId, null);
+    }
+
+    /**
+     * Creates a new iterator over a JSON array.
+     *
+     * @param inputStream the stream containing the array
+     * @param elementReader the reader for the elements
+     * @param opcRequestId the request id of the response, included in parsing errors
+     * @param arrayFieldName the field of the JSON object that contains the array, or null if the
+     * stream contains the array itself
+     */
+    public JsonRecordIterator(
+            @NonNull InputStream inputStream,
+            @NonNull ObjectReader elementReader,
+            String opcRequestId,
+            String arrayFieldName) {
+        this.inputStream = inputStream;
+        this.elementReader = elementReader;
+        this.opcRequestId = opcRequestId;
+        this.arrayFieldName = arrayFieldName;
+    }
+
+    /**
+     * Creates a new iterator over the JSON array in the body of a response, bound with the
+     * ObjectMapper used for all responses.  Must call {@link ResponseHelper#throwIfNotSuccessful}
+     * first.
+     *
+     * @param response the response
+     * @param elementType the type of the elements
+     * @return the iterator, with the headers and status code of the response
+     */
+    public static <T> WithHeaders<JsonRecordIterator<T>> fromResponse(
+            @NonNull Response response, @NonNull Class<T> elementType) {
+        return fromResponse(response, elementType, null);
+    }
+
+    /**
+     * Creates a new iterator over a JSON array in the body of a response, bound with the
+     * ObjectMapper used for all responses.  Must call {@link ResponseHelper#throwIfNotSuccessful}
+     * first.
+     *
+     * @param response the response
+     * @param elementType the type of the elements
+     * @param arrayFieldName the field of the JSON object in the body that contains the array, or
+     * null if the body is the array
+     * @return the iterator, with the headers and status code of the response
+     */
+    public static <T> WithHeaders<JsonRecordIterator<T>> fromResponse(
+            @NonNull Response response, @NonNull Class<T> elementType, String arrayFieldName) {
+        final InputStream inputStream = ResponseHelper.readEntity(response, InputStream.class);
+        final JsonRecordIterator<T> records =
+                new JsonRecordIterator<>(
+                        inputStream,
+                        RestClientFactory.getObjectMapper().readerFor(elementType),
+                        response.getHeaderString(OPC_REQUEST_ID_HEADER),
+                        arrayFieldName);
+        return new WithHeaders<>(records, response.getStringHeaders(), response.getStatus());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (parser == null) {
+                parser = elementReader.getFactory().createParser(inputStream);
+                if (arrayFieldName == null) {
+                    expect(JsonToken.START_ARRAY, parser.nextToken());
+                    advance();
+                } else {
+                    expect(JsonToken.START_OBJECT, parser.nextToken());
+                    if (readFields(true)) {
+                        advance();
+                    } else {
+                        // the object has no array
+                        close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            throw new BmcException(false, "Unable to parse response", e, opcRequestId);
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more elements in the array");
+        }
+        try {
+            final T element = elementReader.readValue(parser);
+            advance();
+            return element;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new BmcException(false, "Unable to parse response", e, opcRequestId);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    /**
+     * Gets a field of the JSON object that contains the array.  The fields are only available once
+     * all elements have been read, because they may follow the array.
+     *
+     * @param name the name of the field
+     * @return the value of the field, or null if the object does not have the field
+     * @throws IllegalStateException if not all elements have been read, or there is no object
+     */
+    public JsonNode getField(String name) {
+        if (arrayFieldName == null) {
+            throw new IllegalStateException("The array is not a field of an object");
+        }
+        if (hasNext() || !fieldsRead) {
+            throw new IllegalStateException(
+                    "The fields of the object are available once all elements have been read");
+        }
+        return fields.get(name);
+    }
+
+    /**
+     * Closes the stream, and the response it belongs to.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            hasNext = false;
+            try {
+                if (parser != null) {
+                    parser.close();
+                }
+            } finally {
+                inputStream.close();
+            }
+        }
+    }
+
+    private void advance() throws IOException {
+        final JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new IOException("Unexpected end of the JSON array");
+        }
+        hasNext = token != JsonToken.END_ARRAY;
+        if (!hasNext) {
+            if (arrayFieldName != null) {
+                // read the fields after the array
+                readFields(false);
+            }
+            close();
+        }
+    }
+
+    /*
+     * Reads the fields of the object, keeping all but the array.  Returns true when positioned at
+     * the start of the array if untilArray is set, false at the end of the object.
+     */
+    private boolean readFields(boolean untilArray) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            token = parser.nextToken();
+            if (untilArray && arrayFieldName.equals(name)) {
+                if (token == JsonToken.START_ARRAY) {
+                    return true;
+                }
+                expect(JsonToken.VALUE_NULL, token);
+            } else {
+                fields.put(name, elementReader.readTree(parser));
+            }
+        }
+        expect(JsonToken.END_OBJECT, token);
+        fieldsRead = true;
+        return false;
+    }
+
+    private static void expect(JsonToken expected, JsonToken token) throws IOException {
+        if (token != expected) {
+            throw new IOException("Expected " + expected + ", got " + token);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            LOG.debug("Exception while closing the response stream", e);
+        }
+    }
+}
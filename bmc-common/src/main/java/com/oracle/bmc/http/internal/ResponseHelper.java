@@ -6,9 +6,11 @@ package com.oracle.bmc.http.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.GenericType;
@@ -44,6 +46,10 @@ public class ResponseHelper {
     private static final int MAX_RESPONSE_BUFFER_BYTES = 4096;
     private static final String OPC_REQUEST_ID_HEADER = "opc-request-id";
     private static final Map<Integer, String> DEFAULT_ERROR_MESSAGES = new HashMap<>();
+    // entities parsed from unbuffered responses, weakly keyed by the response (which uses identity
+    // equality) so they are released together
+    private static final Map<Response, Object> PARSED_ENTITIES =
+            Collections.synchronizedMap(new WeakHashMap<Response, Object>());
 
     // mostly here for HEAD requests which wouldn't have a body to parse a nice message from.
     static {
@@ -186,12 +192,22 @@ public class ResponseHelper {
         // handle the response
         synchronized (response) {
             if (response.getStatusInfo().getFamily().equals(Status.Family.SUCCESSFUL)) {
-                // buffer entity so it can be reread during client parsing (ex, async requests reading
-                // through both an AsyncHandler and through the returned Future)
-                response.bufferEntity();
-
-                // NOTE: readEntity will take care of closing the response
-                return response.readEntity(entityType);
+                // parse the entity (usually a list) while it is read from the connection, instead
+                // of buffering it first; the parsed entity is kept so it can be reread during
+                // client parsing (ex, async requests reading through both an AsyncHandler and
+                // through the returned Future)
+                Object entity = PARSED_ENTITIES.get(response);
+                if (entity == null) {
+                    // NOTE: readEntity will take care of closing the response
+                    entity = response.readEntity(entityType);
+                    if (entity != null) {
+                        PARSED_ENTITIES.put(response, entity);
+                    }
+                }
+                // the entity was parsed as entityType, or by an earlier call for the same response
+                @SuppressWarnings("unchecked")
+                T result = (T) entity;
+                return result;
             }
 
             if (response.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
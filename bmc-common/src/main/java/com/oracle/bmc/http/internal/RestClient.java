@@ -5,11 +5,16 @@
 package com.oracle.bmc.http.internal;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.oracle.bmc.circuitbreaker.CallNotAllowedException;
 import com.oracle.bmc.circuitbreaker.JaxRsCircuitBreaker;
 import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.ratelimiter.AdaptiveRateLimiter;
 import com.oracle.bmc.requests.BmcRequest;
+import com.oracle.bmc.retrier.BmcAsyncRetrier;
+import com.oracle.bmc.retrier.Retriers;
+import com.oracle.bmc.retrier.RetryConfiguration;
 import com.oracle.bmc.util.internal.Consumer;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.NonNull;
@@ -35,7 +40,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -52,6 +64,22 @@ public class RestClient implements AutoCloseable {
 
     @VisibleForTesting final JaxRsCircuitBreaker circuitBreaker;
 
+    /**
+     * Retry configuration of the client, used for asynchronous calls.
+     */
+    private final RetryConfiguration retryConfiguration;
+
+    /**
+     * Permits for asynchronous requests that may be in flight at the same time, or null if
+     * unlimited.
+     */
+    private final Semaphore inFlightAsyncRequests;
+
+    /**
+     * Client-side rate limiter, or null if requests are not rate limited.
+     */
+    private final AdaptiveRateLimiter rateLimiter;
+
     private WrappedWebTarget baseTarget;
 
     /**
@@ -66,9 +94,41 @@ public class RestClient implements AutoCloseable {
             @NonNull Client client,
             @NonNull EntityFactory entityFactory,
             JaxRsCircuitBreaker circuitBreaker) {
+        this(client, entityFactory, circuitBreaker, null, 0, null);
+    }
+
+    /**
+     * Create a new client that uses a provided client to make all its requests.
+     * It's up to the caller to properly configure the client.
+     *
+     * @param client        A HTTP client to make all requests with.
+     * @param entityFactory An entity factory to create entities for POST/PUT operations.
+     * @param circuitBreaker A circuit breaker instance to decorate http client
+     * @param retryConfiguration The retry configuration for asynchronous calls, unless overridden
+     *                           by the request.  Synchronous calls are retried by the service client.
+     * @param maxInFlightAsyncRequests The max number of asynchronous requests in flight at the
+     *                                 same time, 0 for no limit.  Further calls block until a
+     *                                 request completes.
+     * @param rateLimiter The rate limiter that requests wait for before they are sent, or null.
+     */
+    public RestClient(
+            @NonNull Client client,
+            @NonNull EntityFactory entityFactory,
+            JaxRsCircuitBreaker circuitBreaker,
+            @Nullable RetryConfiguration retryConfiguration,
+            int maxInFlightAsyncRequests,
+            @Nullable AdaptiveRateLimiter rateLimiter) {
+        if (maxInFlightAsyncRequests < 0) {
+            throw new IllegalArgumentException(
+                    "maxInFlightAsyncRequests must not be negative: " + maxInFlightAsyncRequests);
+        }
         this.client = client;
         this.entityFactory = entityFactory;
         this.circuitBreaker = circuitBreaker;
+        this.retryConfiguration = retryConfiguration;
+        this.inFlightAsyncRequests =
+                maxInFlightAsyncRequests > 0 ? new Semaphore(maxInFlightAsyncRequests) : null;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -101,16 +161,22 @@ public class RestClient implements AutoCloseable {
      * Ideal name for this method is decorateSupplierWithCircuitBreaker. However, I shortened it due to it's being private
      * It takes a Supplier<Response> and returns a Supplier<Response>, this pattern allows users to chain different
      * functionalities.
+     * @param ib the invocation builder of the request, selects the circuit breaker for the call
+     * @param request the original client request object, selects the circuit breaker for the call
      * @param supplier a supplier of Response
      * @return a supplier of Response
      */
-    private Supplier<Response> decorateSupplier(Supplier<Response> supplier) {
+    private Supplier<Response> decorateSupplier(
+            WrappedInvocationBuilder ib, BmcRequest request, Supplier<Response> supplier) {
         if (circuitBreaker == null) {
             return supplier;
         } else {
             return () -> {
                 try {
-                    return circuitBreaker.decorateSupplier(supplier).get();
+                    return circuitBreaker
+                            .forCall(ib.getRequestUri(), getOperationName(request))
+                            .decorateSupplier(supplier)
+                            .get();
                 } catch (CallNotAllowedException e) {
                     throw new BmcException(false, "CircuitBreaker is OPEN!", e, null);
                 }
@@ -122,16 +188,24 @@ public class RestClient implements AutoCloseable {
      * Ideal name for this method is decorateFutureSupplierWithCircuitBreaker. However, I shortened it due to it's being private
      * It takes a Supplier<Future<Response>> and returns a Supplier<Future<Response>>, this pattern allows users to chain
      * different functionalities.
+     * @param ib the invocation builder of the request, selects the circuit breaker for the call
+     * @param request the original client request object, selects the circuit breaker for the call
      * @param supplier a Supplier of Future<Response>
      * @return a Supplier of Future<Response>
      */
-    private Supplier<Future<Response>> decorateFuture(Supplier<Future<Response>> supplier) {
+    private Supplier<Future<Response>> decorateFuture(
+            WrappedInvocationBuilder ib,
+            BmcRequest request,
+            Supplier<Future<Response>> supplier) {
         if (circuitBreaker == null) {
             return supplier;
         } else {
             return () -> {
                 try {
-                    return circuitBreaker.decorateFuture(supplier).get();
+                    return circuitBreaker
+                            .forCall(ib.getRequestUri(), getOperationName(request))
+                            .decorateFuture(supplier)
+                            .get();
                 } catch (CallNotPermittedException e) {
                     throw new BmcException(false, "CircuitBreaker is OPEN!", e, null);
                 }
@@ -139,6 +213,193 @@ public class RestClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Waits for the rate limiter before the request is sent, and adapts the rate to the status of
+     * the response.
+     * @param info the invocation information of the request
+     * @param supplier a supplier of Response
+     * @return a supplier of Response
+     */
+    private Supplier<Response> rateLimit(InvocationInformation info, Supplier<Response> supplier) {
+        if (rateLimiter == null) {
+            return supplier;
+        } else {
+            return () -> {
+                rateLimiter.acquire(info.getRequestId());
+                Response response = supplier.get();
+                rateLimiter.onResponse(response.getStatus());
+                return response;
+            };
+        }
+    }
+
+    /**
+     * Returns the name of the operation a request is for, e.g. "ListObjects" for a ListObjectsRequest.
+     */
+    private static String getOperationName(BmcRequest request) {
+        return StringUtils.removeEnd(request.getClass().getSimpleName(), "Request");
+    }
+
+    /**
+     * Sends an asynchronous request, retrying it according to the preferred retry configuration.
+     * <p>
+     * Without a retry configuration, or if the body is a stream that cannot be sent again, this
+     * makes a single attempt.  Otherwise the attempts are driven by a {@link BmcAsyncRetrier},
+     * which schedules the backoff between attempts instead of blocking a thread; unsuccessful
+     * responses are converted to {@link BmcException}s to decide whether to retry.
+     * <p>
+     * If the number of requests in flight is limited, this blocks until a permit is available;
+     * the permit is held until the (last attempt of the) request completes, and released before
+     * the handlers are invoked.  If requests are rate limited, this also waits for the rate limiter
+     * before sending the first attempt.
+     * <p>
+     * Cancelling the returned future cancels the attempt in flight and stops further attempts.  The
+     * permit is only released once the cancelled attempt has finished.
+     *
+     * @param ib           The invocation builder of the request.
+     * @param request      The original client request object given to the service client.
+     * @param info         The invocation information of the request.
+     * @param retriable    Whether the request can be sent more than once.
+     * @param futureCall   Sends the request and returns a Future for the response.
+     * @param callbackCall Sends the request and notifies the given callback.
+     * @param onSuccess    The callback to invoke on success.
+     * @param onError      The callback to invoke on failure.
+     * @return A Future that can be used to get the Response.
+     */
+    private <T extends BmcRequest> Future<Response> invokeAsync(
+            WrappedInvocationBuilder ib,
+            T request,
+            InvocationInformation info,
+            boolean retriable,
+            Supplier<Future<Response>> futureCall,
+            Function<InvocationCallback<Response>, Future<Response>> callbackCall,
+            @Nullable Consumer<Response> onSuccess,
+            @Nullable Consumer<Throwable> onError) {
+        final Optional<BmcAsyncRetrier> retrier =
+                retriable
+                        ? Retriers.createPreferredAsyncRetrier(
+                                request.getRetryConfiguration(), retryConfiguration)
+                        : Optional.<BmcAsyncRetrier>absent();
+
+        if (!retrier.isPresent() && inFlightAsyncRequests == null && rateLimiter == null) {
+            if (onSuccess == null && onError == null) {
+                return decorateFuture(ib, request, futureCall).get();
+            } else {
+                return decorateFuture(
+                                ib,
+                                request,
+                                () ->
+                                        callbackCall.apply(
+                                                new Callback(baseTarget, info, onSuccess, onError)))
+                        .get();
+            }
+        }
+
+        if (rateLimiter != null) {
+            rateLimiter.acquire(info.getRequestId());
+        }
+        acquireInFlightPermit(info);
+        final AsyncRequest asyncRequest = new AsyncRequest();
+        final CompletableFuture<Response> future;
+        try {
+            if (retrier.isPresent()) {
+                final AtomicInteger attempts = new AtomicInteger();
+                future =
+                        retrier.get()
+                                .execute(
+                                        request,
+                                        retriedRequest -> {
+                                            if (attempts.getAndIncrement() > 0
+                                                    && rateLimiter != null) {
+                                                // retries run on the retry scheduler, which must
+                                                // not block; later requests wait instead
+                                                rateLimiter.acquireWithoutWaiting();
+                                            }
+                                            return sendAttempt(
+                                                    ib,
+                                                    request,
+                                                    callbackCall,
+                                                    new AttemptCallback(
+                                                            baseTarget,
+                                                            info,
+                                                            true,
+                                                            rateLimiter,
+                                                            asyncRequest));
+                                        });
+            } else {
+                future =
+                        sendAttempt(
+                                ib,
+                                request,
+                                callbackCall,
+                                new AttemptCallback(
+                                        baseTarget, info, false, rateLimiter, asyncRequest));
+            }
+        } catch (RuntimeException e) {
+            releaseInFlightPermit();
+            throw e;
+        }
+        asyncRequest.start(future);
+
+        if (onSuccess != null || onError != null) {
+            // the handlers run after the permit was released, so they can send further requests
+            final Callback callback = new Callback(baseTarget, info, onSuccess, onError);
+            asyncRequest.completion.whenComplete(
+                    (response, throwable) -> {
+                        if (throwable == null) {
+                            callback.completed(response);
+                        } else {
+                            callback.failed(throwable);
+                        }
+                    });
+        }
+        return new ResponseFuture(asyncRequest);
+    }
+
+    private CompletableFuture<Response> sendAttempt(
+            WrappedInvocationBuilder ib,
+            BmcRequest request,
+            Function<InvocationCallback<Response>, Future<Response>> callbackCall,
+            AttemptCallback attempt) {
+        if (!attempt.asyncRequest.attemptStarting(attempt)) {
+            final CompletableFuture<Response> cancelled = new CompletableFuture<>();
+            cancelled.cancel(false);
+            return cancelled;
+        }
+        try {
+            attempt.sent(decorateFuture(ib, request, () -> callbackCall.apply(attempt)).get());
+        } catch (RuntimeException e) {
+            attempt.asyncRequest.attemptFinished(attempt);
+            throw e;
+        }
+        return attempt.result;
+    }
+
+    private void acquireInFlightPermit(InvocationInformation info) {
+        if (inFlightAsyncRequests == null) {
+            return;
+        }
+        if (!inFlightAsyncRequests.tryAcquire()) {
+            LOG.debug("Max number of asynchronous requests in flight, waiting");
+            try {
+                inFlightAsyncRequests.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BmcException(
+                        false,
+                        "Interrupted while waiting to send an asynchronous request",
+                        e,
+                        info.getRequestId());
+            }
+        }
+    }
+
+    private void releaseInFlightPermit() {
+        if (inFlightAsyncRequests != null) {
+            inFlightAsyncRequests.release();
+        }
+    }
+
     // Rest APIs
 
     /**
@@ -154,7 +415,7 @@ public class RestClient implements AutoCloseable {
             @NonNull WrappedInvocationBuilder ib, @NonNull T request) throws BmcException {
         InvocationInformation info = preprocessRequest(ib, request);
         try {
-            return decorateSupplier(ib::get).get();
+            return rateLimit(info, decorateSupplier(ib, request, ib::get)).get();
         } catch (ProcessingException ex) {
             throw convertToBmcException(baseTarget, ex, info);
         }
@@ -180,17 +441,15 @@ public class RestClient implements AutoCloseable {
             @Nullable Consumer<Throwable> onError) {
         InvocationInformation info = preprocessRequest(ib, request);
 
-        if (onSuccess == null && onError == null) {
-            return decorateFuture(ib.async()::get).get();
-        } else {
-            return decorateFuture(
-                            () ->
-                                    ib.async()
-                                            .get(
-                                                    new Callback(
-                                                            baseTarget, info, onSuccess, onError)))
-                    .get();
-        }
+        return invokeAsync(
+                ib,
+                request,
+                info,
+                true,
+                () -> ib.async().get(),
+                callback -> ib.async().get(callback),
+                onSuccess,
+                onError);
     }
 
     /**
@@ -210,7 +469,7 @@ public class RestClient implements AutoCloseable {
         InvocationInformation info = preprocessRequest(ib, request);
         try {
             Entity<?> requestBody = this.entityFactory.forPost(request, attemptToSerialize(body));
-            return decorateSupplier(() -> ib.post(requestBody)).get();
+            return rateLimit(info, decorateSupplier(ib, request, () -> ib.post(requestBody))).get();
         } catch (ProcessingException e) {
             throw convertToBmcException(baseTarget, e, info);
         }
@@ -259,18 +518,15 @@ public class RestClient implements AutoCloseable {
         InvocationInformation info = preprocessRequest(ib, request);
         Entity<?> requestBody = this.entityFactory.forPost(request, attemptToSerialize(body));
 
-        if (onSuccess == null && onError == null) {
-            return decorateFuture(() -> ib.async().post(requestBody)).get();
-        } else {
-            return decorateFuture(
-                            () ->
-                                    ib.async()
-                                            .post(
-                                                    requestBody,
-                                                    new Callback(
-                                                            baseTarget, info, onSuccess, onError)))
-                    .get();
-        }
+        return invokeAsync(
+                ib,
+                request,
+                info,
+                !(body instanceof InputStream),
+                () -> ib.async().post(requestBody),
+                callback -> ib.async().post(requestBody, callback),
+                onSuccess,
+                onError);
     }
 
     /**
@@ -342,7 +598,11 @@ public class RestClient implements AutoCloseable {
         InvocationInformation info = preprocessRequest(ib, request);
         try {
             Entity<?> requestBody = this.entityFactory.forPatch(request, attemptToSerialize(body));
-            return decorateSupplier(() -> ib.method(PATCH_VERB, requestBody)).get();
+            return rateLimit(
+                            info,
+                            decorateSupplier(
+                                    ib, request, () -> ib.method(PATCH_VERB, requestBody)))
+                    .get();
         } catch (ProcessingException e) {
             throw convertToBmcException(baseTarget, e, info);
         }
@@ -394,19 +654,15 @@ public class RestClient implements AutoCloseable {
         InvocationInformation info = preprocessRequest(ib, request);
         Entity<?> requestBody = this.entityFactory.forPatch(request, attemptToSerialize(body));
 
-        if (onSuccess == null && onError == null) {
-            return decorateFuture(() -> ib.async().method(PATCH_VERB, requestBody)).get();
-        } else {
-            return decorateFuture(
-                            () ->
-                                    ib.async()
-                                            .method(
-                                                    PATCH_VERB,
-                                                    requestBody,
-                                                    new Callback(
-                                                            baseTarget, info, onSuccess, onError)))
-                    .get();
-        }
+        return invokeAsync(
+                ib,
+                request,
+                info,
+                !(body instanceof InputStream),
+                () -> ib.async().method(PATCH_VERB, requestBody),
+                callback -> ib.async().method(PATCH_VERB, requestBody, callback),
+                onSuccess,
+                onError);
     }
 
     /**
@@ -445,7 +701,7 @@ public class RestClient implements AutoCloseable {
         InvocationInformation info = preprocessRequest(ib, request);
         try {
             Entity<?> requestBody = this.entityFactory.forPut(request, attemptToSerialize(body));
-            return decorateSupplier(() -> ib.put(requestBody)).get();
+            return rateLimit(info, decorateSupplier(ib, request, () -> ib.put(requestBody))).get();
         } catch (ProcessingException e) {
             throw convertToBmcException(baseTarget, e, info);
         }
@@ -506,18 +762,15 @@ public class RestClient implements AutoCloseable {
         InvocationInformation info = preprocessRequest(ib, request);
         Entity<?> requestBody = this.entityFactory.forPut(request, attemptToSerialize(body));
 
-        if (onSuccess == null && onError == null) {
-            return decorateFuture(() -> ib.async().put(requestBody)).get();
-        } else {
-            return decorateFuture(
-                            () ->
-                                    ib.async()
-                                            .put(
-                                                    requestBody,
-                                                    new Callback(
-                                                            baseTarget, info, onSuccess, onError)))
-                    .get();
-        }
+        return invokeAsync(
+                ib,
+                request,
+                info,
+                !(body instanceof InputStream),
+                () -> ib.async().put(requestBody),
+                callback -> ib.async().put(requestBody, callback),
+                onSuccess,
+                onError);
     }
 
     /**
@@ -536,7 +789,11 @@ public class RestClient implements AutoCloseable {
             @NonNull WrappedInvocationBuilder ib, @NonNull T request) throws BmcException {
         InvocationInformation info = preprocessRequest(ib, request);
         try {
-            return decorateSupplier(() -> ib.delete(Response.class)).get();
+            return rateLimit(
+                            info,
+                            decorateSupplier(
+                                    ib, request, () -> ib.delete(Response.class)))
+                    .get();
         } catch (ProcessingException e) {
             throw convertToBmcException(baseTarget, e, info);
         }
@@ -566,17 +823,15 @@ public class RestClient implements AutoCloseable {
             @Nullable Consumer<Throwable> onError) {
         InvocationInformation info = preprocessRequest(ib, request);
 
-        if (onSuccess == null && onError == null) {
-            return decorateFuture(() -> ib.async().delete()).get();
-        } else {
-            return decorateFuture(
-                            () ->
-                                    ib.async()
-                                            .delete(
-                                                    new Callback(
-                                                            baseTarget, info, onSuccess, onError)))
-                    .get();
-        }
+        return invokeAsync(
+                ib,
+                request,
+                info,
+                true,
+                () -> ib.async().delete(),
+                callback -> ib.async().delete(callback),
+                onSuccess,
+                onError);
     }
 
     /**
@@ -595,7 +850,7 @@ public class RestClient implements AutoCloseable {
             @NonNull WrappedInvocationBuilder ib, @NonNull T request) throws BmcException {
         InvocationInformation info = preprocessRequest(ib, request);
         try {
-            return decorateSupplier(ib::head).get();
+            return rateLimit(info, decorateSupplier(ib, request, ib::head)).get();
         } catch (ProcessingException ex) {
             throw convertToBmcException(baseTarget, ex, info);
         }
@@ -626,17 +881,15 @@ public class RestClient implements AutoCloseable {
             @Nullable Consumer<Throwable> onError) {
         InvocationInformation info = preprocessRequest(ib, request);
 
-        if (onSuccess == null && onError == null) {
-            return decorateFuture(ib.async()::head).get();
-        } else {
-            return decorateFuture(
-                            () ->
-                                    ib.async()
-                                            .head(
-                                                    new Callback(
-                                                            baseTarget, info, onSuccess, onError)))
-                    .get();
-        }
+        return invokeAsync(
+                ib,
+                request,
+                info,
+                true,
+                () -> ib.async().head(),
+                callback -> ib.async().head(callback),
+                onSuccess,
+                onError);
     }
 
     /**
@@ -926,6 +1179,223 @@ public class RestClient implements AutoCloseable {
         }
     }
 
+    /**
+     * State of an asynchronous request sent through {@link AttemptCallback}s.  The in-flight permit
+     * of the request is released once the request is complete and none of its attempts is in
+     * flight any more; only then does {@link #completion} complete with the outcome of the request.
+     */
+    private final class AsyncRequest {
+        private final CompletableFuture<Response> completion = new CompletableFuture<>();
+        private volatile CompletableFuture<Response> result;
+        // guarded by this
+        private AttemptCallback currentAttempt;
+        private boolean cancelled;
+        private boolean released;
+
+        private void start(CompletableFuture<Response> result) {
+            this.result = result;
+            result.whenComplete((response, throwable) -> tryRelease());
+        }
+
+        private synchronized boolean attemptStarting(AttemptCallback attempt) {
+            if (cancelled) {
+                return false;
+            }
+            currentAttempt = attempt;
+            return true;
+        }
+
+        private void attemptFinished(AttemptCallback attempt) {
+            synchronized (this) {
+                if (currentAttempt == attempt) {
+                    currentAttempt = null;
+                }
+            }
+            tryRelease();
+        }
+
+        private boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (this) {
+                // no attempt starts any more, even if a retry is about to be sent
+                cancelled = true;
+            }
+            if (!result.cancel(mayInterruptIfRunning)) {
+                return false;
+            }
+            final AttemptCallback attempt;
+            synchronized (this) {
+                attempt = currentAttempt;
+            }
+            if (attempt != null) {
+                attempt.cancel();
+            }
+            return true;
+        }
+
+        private void tryRelease() {
+            final CompletableFuture<Response> result = this.result;
+            synchronized (this) {
+                if (released || result == null || !result.isDone() || currentAttempt != null) {
+                    return;
+                }
+                released = true;
+            }
+            releaseInFlightPermit();
+            result.whenComplete(
+                    (response, throwable) -> {
+                        if (throwable == null) {
+                            completion.complete(response);
+                        } else {
+                            completion.completeExceptionally(throwable);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Callback for a single attempt of an asynchronous request that completes a future.  If
+     * unsuccessful responses are converted, the future completes with the response if it was
+     * successful, and with the converted exception otherwise.
+     */
+    private static class AttemptCallback implements InvocationCallback<Response> {
+        private final WebTarget baseTarget;
+        private final InvocationInformation info;
+        private final boolean convertUnsuccessfulResponses;
+        private final AdaptiveRateLimiter rateLimiter;
+        private final AsyncRequest asyncRequest;
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        // guarded by this
+        private Future<Response> sentFuture;
+        private boolean cancelled;
+
+        private AttemptCallback(
+                @NonNull WebTarget baseTarget,
+                @NonNull InvocationInformation info,
+                boolean convertUnsuccessfulResponses,
+                @Nullable AdaptiveRateLimiter rateLimiter,
+                @NonNull AsyncRequest asyncRequest) {
+            this.baseTarget = baseTarget;
+            this.info = info;
+            this.convertUnsuccessfulResponses = convertUnsuccessfulResponses;
+            this.rateLimiter = rateLimiter;
+            this.asyncRequest = asyncRequest;
+        }
+
+        private synchronized void sent(Future<Response> future) {
+            sentFuture = future;
+            if (cancelled) {
+                future.cancel(true);
+            }
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                if (sentFuture != null) {
+                    sentFuture.cancel(true);
+                }
+            }
+            // a response that still arrives is then closed by finish, nobody else would see it
+            result.cancel(false);
+        }
+
+        @Override
+        public void completed(Response response) {
+            if (rateLimiter != null) {
+                rateLimiter.onResponse(response.getStatus());
+            }
+            if (convertUnsuccessfulResponses) {
+                try {
+                    ResponseHelper.throwIfNotSuccessful(response);
+                } catch (RuntimeException e) {
+                    ResponseHelper.closeResponseSilently(response);
+                    finish(null, e);
+                    return;
+                }
+            }
+            finish(response, null);
+        }
+
+        @Override
+        public void failed(Throwable throwable) {
+            if (throwable instanceof ProcessingException) {
+                finish(
+                        null,
+                        convertToBmcException(baseTarget, (ProcessingException) throwable, info));
+            } else {
+                finish(null, throwable);
+            }
+        }
+
+        private void finish(Response response, Throwable throwable) {
+            // the attempt is over before its result is seen, so that the request can release its
+            // permit as soon as it completes with this result
+            asyncRequest.attemptFinished(this);
+            if (throwable == null) {
+                if (!result.complete(response)) {
+                    ResponseHelper.closeResponseSilently(response);
+                }
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    /**
+     * Future of an asynchronous request sent through {@link AttemptCallback}s.  A failed request
+     * throws the {@link BmcException} directly, just like the conversion of an unsuccessful
+     * response would.  Once the response is returned, the in-flight permit of the request has been
+     * released.
+     */
+    @RequiredArgsConstructor
+    private static class ResponseFuture implements Future<Response> {
+        private final AsyncRequest request;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return request.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return request.result.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return request.result.isDone();
+        }
+
+        @Override
+        public Response get() throws InterruptedException, ExecutionException {
+            try {
+                request.result.get();
+                return request.completion.get();
+            } catch (ExecutionException e) {
+                throw unwrapBmcException(e);
+            }
+        }
+
+        @Override
+        public Response get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            try {
+                request.result.get(timeout, unit);
+                // completes right after the result, once the permit is released
+                return request.completion.get();
+            } catch (ExecutionException e) {
+                throw unwrapBmcException(e);
+            }
+        }
+
+        private static ExecutionException unwrapBmcException(ExecutionException e) {
+            if (e.getCause() instanceof BmcException) {
+                throw (BmcException) e.getCause();
+            }
+            return e;
+        }
+    }
+
     @Value
     static class InvocationInformation {
         private final String requestId;
@@ -5,6 +5,7 @@
 package com.oracle.bmc.http.internal;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
@@ -16,6 +17,7 @@ import com.oracle.bmc.circuitbreaker.JaxRsCircuitBreaker;
 import com.oracle.bmc.http.ClientConfigurator;
 import com.oracle.bmc.http.signing.RequestSigner;
 import com.oracle.bmc.http.signing.SigningStrategy;
+import com.oracle.bmc.ratelimiter.AdaptiveRateLimiter;
 import lombok.Getter;
 import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.JerseyClientBuilder;
@@ -42,6 +44,11 @@ public class RestClientFactory {
     private static final ClientIdFilter CLIENT_ID_FILTER = new ClientIdFilter();
     private static final LogHeadersFilter LOG_HEADERS_FILTER = new LogHeadersFilter();
     private static final RetryTokenFilter RETRY_TOKEN_FILTER = new RetryTokenFilter();
+    private static final String AFTERBURNER_MODULE =
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    // guarded by RestClientFactory.class
+    private static JacksonJsonProvider fastJsonProvider;
 
     static {
         // Our default object mapper will ignore unknown properties when
@@ -164,7 +171,16 @@ public class RestClientFactory {
             } else if (configuration.getCircuitBreaker() != null)
                 circuitBreaker = configuration.getCircuitBreaker();
         }
-        return new RestClient(client, new EntityFactory(), circuitBreaker);
+        return new RestClient(
+                client,
+                new EntityFactory(),
+                circuitBreaker,
+                clientConfigurationToUse.getRetryConfiguration(),
+                clientConfigurationToUse.getMaxInFlightAsyncRequests(),
+                clientConfigurationToUse.getRateLimiterConfiguration() != null
+                        ? new AdaptiveRateLimiter(
+                                clientConfigurationToUse.getRateLimiterConfiguration())
+                        : null);
     }
 
     @VisibleForTesting
@@ -178,7 +194,10 @@ public class RestClientFactory {
 
         Client client =
                 builder.build()
-                        .register(JACKSON_JSON_PROVIDER)
+                        .register(
+                                configuration.isFastJsonBinding()
+                                        ? getFastJsonProvider()
+                                        : JACKSON_JSON_PROVIDER)
                         .property(
                                 ClientProperties.CONNECT_TIMEOUT,
                                 configuration.getConnectionTimeoutMillis())
@@ -198,6 +217,30 @@ public class RestClientFactory {
         return client;
     }
 
+    /**
+     * Returns the JSON provider used if {@link ClientConfiguration#isFastJsonBinding()} is set,
+     * creating it on first use, so that the optional Afterburner module is only loaded if it is
+     * used.  Its ObjectMapper is a copy of the default one, with the same features, date format
+     * and filters.
+     */
+    private static synchronized JacksonJsonProvider getFastJsonProvider() {
+        if (fastJsonProvider == null) {
+            final Module afterburnerModule;
+            try {
+                afterburnerModule = (Module) Class.forName(AFTERBURNER_MODULE).newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                throw new IllegalStateException(
+                        "fastJsonBinding requires com.fasterxml.jackson.module:jackson-module-afterburner on the classpath",
+                        e);
+            }
+            fastJsonProvider =
+                    new JacksonJaxbJsonProvider(
+                            DEFAULT_MAPPER.copy().registerModule(afterburnerModule),
+                            JacksonJaxbJsonProvider.DEFAULT_ANNOTATIONS);
+        }
+        return fastJsonProvider;
+    }
+
     /**
      * Returns the ObjectMapper used to handle JSON requests.
      * <p>
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.signing.internal;
+
+import com.oracle.bmc.io.DuplicatableInputStream;
+import com.oracle.bmc.io.internal.KeepOpenInputStream;
+import com.oracle.bmc.retrier.Retriers;
+import com.oracle.bmc.util.StreamUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The content length and SHA-256 digest of a request body, computed incrementally.
+ * <p>
+ * The body is read through a fixed size buffer, so signing a body never requires a
+ * copy of the whole body in memory.  Strings are encoded as UTF-8 chunk by chunk,
+ * {@link DuplicatableInputStream}s (including file-backed streams) are read from a
+ * duplicate, and {@link KeepOpenInputStream}s are read and then reset for sending.
+ */
+@RequiredArgsConstructor
+@Getter
+class BodyDigest {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The number of bytes in the body.
+     */
+    private final long contentLength;
+    /**
+     * The SHA-256 digest of the body.
+     */
+    private final byte[] sha256;
+
+    /**
+     * Computes the length and SHA-256 digest of the given body.
+     *
+     * @param body The body, may be null.
+     * @return The digest of the body.
+     * @throws IOException if the body could not be read.
+     */
+    static BodyDigest of(Object body) throws IOException {
+        final MessageDigest digest = newSha256Digest();
+        // empty body is OK
+        if (body == null) {
+            return new BodyDigest(0L, digest.digest());
+        }
+        if (body instanceof String) {
+            return digestString((String) body, digest);
+        } else if (body instanceof DuplicatableInputStream) {
+            final InputStream duplicatedBody = ((DuplicatableInputStream) body).duplicate();
+            try {
+                return digestStream(duplicatedBody, digest);
+            } finally {
+                StreamUtils.closeQuietly(duplicatedBody);
+            }
+        } else if (body instanceof KeepOpenInputStream) {
+            BodyDigest bodyDigest = digestStream((KeepOpenInputStream) body, digest);
+            Retriers.tryResetStreamForRetry((InputStream) body);
+            return bodyDigest;
+        } else if (body instanceof InputStream) {
+            // TODO: Allow input streams to be signed, but for now restrict to DIS until we can refactor
+            throw new IllegalArgumentException(
+                    "Only DuplicatableInputStream supported for body that needs signing.");
+        }
+
+        throw new IllegalArgumentException("Unexpected body type: " + body.getClass().getName());
+    }
+
+    private static BodyDigest digestStream(InputStream stream, MessageDigest digest)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long contentLength = 0;
+        int bytesRead;
+        while (-1 != (bytesRead = stream.read(buffer))) {
+            digest.update(buffer, 0, bytesRead);
+            contentLength += bytesRead;
+        }
+        return new BodyDigest(contentLength, digest.digest());
+    }
+
+    private static BodyDigest digestString(String body, MessageDigest digest)
+            throws CharacterCodingException {
+        // same replacement behavior as String.getBytes(StandardCharsets.UTF_8)
+        final CharsetEncoder encoder =
+                StandardCharsets.UTF_8
+                        .newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final CharBuffer in = CharBuffer.wrap(body);
+        final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+        long contentLength = 0;
+
+        CoderResult result;
+        do {
+            result = encoder.encode(in, out, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            contentLength += drain(out, digest);
+        } while (result.isOverflow());
+
+        do {
+            result = encoder.flush(out);
+            contentLength += drain(out, digest);
+        } while (result.isOverflow());
+
+        return new BodyDigest(contentLength, digest.digest());
+    }
+
+    private static int drain(ByteBuffer buffer, MessageDigest digest) {
+        buffer.flip();
+        int length = buffer.remaining();
+        digest.update(buffer);
+        buffer.clear();
+        return length;
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+}
@@ -10,16 +10,10 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
-import com.google.common.hash.Hashing;
-import com.google.common.io.ByteStreams;
 import com.oracle.bmc.http.internal.RestClientFactory;
 import com.oracle.bmc.http.signing.RequestSigner;
 import com.oracle.bmc.http.signing.RequestSignerException;
 import com.oracle.bmc.http.signing.SigningStrategy;
-import com.oracle.bmc.io.DuplicatableInputStream;
-import com.oracle.bmc.io.internal.KeepOpenInputStream;
-import com.oracle.bmc.retrier.Retriers;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
@@ -35,6 +29,7 @@ import java.security.interfaces.RSAPrivateKey;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -52,6 +47,28 @@ import java.util.TimeZone;
 public class RequestSignerImpl implements RequestSigner {
     private static final SignatureSigner SIGNER = new SignatureSigner();
 
+    // the header layout of a signing strategy never changes, so it is only computed once per strategy
+    private static final Map<SigningStrategy, SigningConfiguration> SIGNING_CONFIGURATIONS =
+            new EnumMap<>(SigningStrategy.class);
+
+    static {
+        for (SigningStrategy signingStrategy : SigningStrategy.values()) {
+            SIGNING_CONFIGURATIONS.put(
+                    signingStrategy,
+                    new SigningConfiguration(
+                            signingStrategy.getHeadersToSign(),
+                            signingStrategy.getOptionalHeadersToSign(),
+                            signingStrategy.isSkipContentHeadersForStreamingPutRequests()));
+        }
+    }
+
+    // formatting the date header and building the string to sign happen on every request,
+    // reuse the formatter and buffer per thread instead of allocating new ones each time
+    private static final ThreadLocal<DateHeaderFormatter> DATE_HEADER_FORMATTER =
+            ThreadLocal.withInitial(DateHeaderFormatter::new);
+    private static final ThreadLocal<StringBuilder> STRING_TO_SIGN_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     private final KeySupplier<RSAPrivateKey> keySupplier;
     private final SigningConfiguration signingConfiguration;
     private final Supplier<String> keyIdSupplier;
@@ -95,10 +112,7 @@ public class RequestSignerImpl implements RequestSigner {
     }
 
     private static SigningConfiguration toSigningConfiguration(SigningStrategy signingStrategy) {
-        return new SigningConfiguration(
-                signingStrategy.getHeadersToSign(),
-                signingStrategy.getOptionalHeadersToSign(),
-                signingStrategy.isSkipContentHeadersForStreamingPutRequests());
+        return SIGNING_CONFIGURATIONS.get(Preconditions.checkNotNull(signingStrategy));
     }
 
     @Override
@@ -161,17 +175,22 @@ public class RequestSignerImpl implements RequestSigner {
             final String path = extractPath(uri);
 
             // 1) get the required headers that must be signed, and the ones that should be signed if present
-            final List<String> requiredHeaders =
-                    getRequiredSigningHeaders(lowerHttpMethod, signingConfiguration);
             final List<String> optionalHeaders =
-                    getOptionalSigningHeaders(lowerHttpMethod, signingConfiguration);
+                    signingConfiguration.getOptionalHeaders(lowerHttpMethod);
+            final List<String> precomputedRequiredHeaders =
+                    signingConfiguration.getRequiredHeaders(lowerHttpMethod);
+            List<String> requiredHeaders = precomputedRequiredHeaders;
             for (String optionalHeaderName : optionalHeaders) {
                 if (headers.get(optionalHeaderName) != null) {
+                    if (requiredHeaders == precomputedRequiredHeaders) {
+                        // precomputed lists are shared and immutable, only copy when adding to them
+                        requiredHeaders = new ArrayList<>(precomputedRequiredHeaders);
+                    }
                     requiredHeaders.add(optionalHeaderName);
                 }
             }
 
-            // 2) copy of original headers as case-insensitive, do not modify input map
+            // 2) view of original headers as case-insensitive, do not modify input map
             final Map<String, List<String>> existingHeaders = ignoreCaseHeaders(headers);
 
             // 3) calculate any required headers that are missing
@@ -267,6 +286,10 @@ public class RequestSignerImpl implements RequestSigner {
     @VisibleForTesting
     static Map<String, List<String>> ignoreCaseHeaders(
             final Map<String, List<String>> originalHeaders) {
+        if (areAllKeysLowerCase(originalHeaders)) {
+            // the result is only ever read, no need to copy it
+            return originalHeaders;
+        }
         Map<String, List<String>> transformedMap = new HashMap<>();
         for (Entry<String, List<String>> entry : originalHeaders.entrySet()) {
             transformedMap.put(entry.getKey().toLowerCase(), entry.getValue());
@@ -274,6 +297,17 @@ public class RequestSignerImpl implements RequestSigner {
         return transformedMap;
     }
 
+    private static boolean areAllKeysLowerCase(final Map<String, List<String>> headers) {
+        for (String key : headers.keySet()) {
+            for (int i = 0; i < key.length(); i++) {
+                if (Character.isUpperCase(key.charAt(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private static String transformHeadersToJsonString(final Map<String, List<String>> headers) {
         try {
             return RestClientFactory.getObjectMapper().writeValueAsString(headers);
@@ -304,7 +338,9 @@ public class RequestSignerImpl implements RequestSigner {
         Map<String, String> missingHeaders = new HashMap<>();
 
         if (isRequiredHeaderMissing(Constants.DATE, requiredHeaders, existingHeaders)) {
-            missingHeaders.put(Constants.DATE, createFormatter().format(new Date()));
+            missingHeaders.put(
+                    Constants.DATE,
+                    DATE_HEADER_FORMATTER.get().format(System.currentTimeMillis()));
         }
 
         if (isRequiredHeaderMissing(Constants.HOST, requiredHeaders, existingHeaders)) {
@@ -355,13 +391,24 @@ public class RequestSignerImpl implements RequestSigner {
             }
         }
 
-        final byte[] bodyBytes = readBodyBytes(body);
+        final boolean isContentLengthMissing =
+                isRequiredHeaderMissing(Constants.CONTENT_LENGTH, requiredHeaders, existingHeaders);
+        final boolean isContentSha256Missing =
+                isRequiredHeaderMissing(
+                        Constants.X_CONTENT_SHA256, requiredHeaders, existingHeaders);
+        if (!isContentLengthMissing && !isContentSha256Missing) {
+            return missingHeaders;
+        }
+
+        // length and hash are computed in a single pass, without copying the body into memory
+        final BodyDigest bodyDigest = BodyDigest.of(body);
 
-        if (isRequiredHeaderMissing(Constants.CONTENT_LENGTH, requiredHeaders, existingHeaders)) {
-            missingHeaders.put(Constants.CONTENT_LENGTH, Integer.toString(bodyBytes.length));
+        if (isContentLengthMissing) {
+            missingHeaders.put(
+                    Constants.CONTENT_LENGTH, Long.toString(bodyDigest.getContentLength()));
         }
-        if (isRequiredHeaderMissing(Constants.X_CONTENT_SHA256, requiredHeaders, existingHeaders)) {
-            missingHeaders.put(Constants.X_CONTENT_SHA256, calculateBodySHA256(bodyBytes));
+        if (isContentSha256Missing) {
+            missingHeaders.put(Constants.X_CONTENT_SHA256, base64Encode(bodyDigest.getSha256()));
         }
 
         return missingHeaders;
@@ -372,11 +419,6 @@ public class RequestSignerImpl implements RequestSigner {
         return requiredHeaders.contains(headerName) && !existingHeaders.containsKey(headerName);
     }
 
-    private static String calculateBodySHA256(final byte[] body) {
-        byte[] hash = Hashing.sha256().hashBytes(body).asBytes();
-        return base64Encode(hash);
-    }
-
     @VisibleForTesting
     static String calculateStringToSign(
             String httpMethod,
@@ -387,7 +429,8 @@ public class RequestSignerImpl implements RequestSigner {
 
         // Header name and value are separated with ": " and each (name, value)
         // pair is separated with "\n"
-        List<String> signatureParts = new ArrayList<>();
+        final StringBuilder stringToSign = STRING_TO_SIGN_BUFFER.get();
+        stringToSign.setLength(0);
 
         // Use the order from requiredHeaders, which must match the order
         // when creating the authorization header
@@ -424,10 +467,13 @@ public class RequestSignerImpl implements RequestSigner {
                 throw exception;
             }
 
-            signatureParts.add(String.format("%s: %s", headerName, headerValue));
+            if (stringToSign.length() > 0) {
+                stringToSign.append('\n');
+            }
+            stringToSign.append(headerName).append(": ").append(headerValue);
         }
 
-        return StringUtils.join(signatureParts, "\n");
+        return stringToSign.toString();
     }
 
     private static String sign(RSAPrivateKey key, Algorithm algorithm, String stringToSign) {
@@ -445,62 +491,27 @@ public class RequestSignerImpl implements RequestSigner {
             final String version,
             final List<String> requiredHeaders,
             final List<String> optionalHeaders) {
-        final String authorizationHeader =
-                "Signature headers=\"%s\",keyId=\"%s\","
-                        + "algorithm=\"%s\",signature=\"%s\",version=\"%s\"";
         // Space delimited: "date (request-target) content-length" etc
-        String headers = StringUtils.join(requiredHeaders, " ");
-
-        final String algorithmName = algorithm.getSpecName();
-        return String.format(
-                authorizationHeader, headers, keyId, algorithmName, signature, version);
-    }
-
-    private static List<String> getRequiredSigningHeaders(
-            final String httpMethod, final SigningConfiguration signingConfiguration) {
-        List<String> headerNames = signingConfiguration.headersToSign.get(httpMethod);
-        return getIgnoreCaseHeaders(headerNames);
-    }
-
-    private static List<String> getIgnoreCaseHeaders(List<String> headerNames) {
-        if (headerNames == null) {
-            return new ArrayList<>(0);
-        }
-        ArrayList<String> result = new ArrayList<>(headerNames.size());
-        for (String headerName : headerNames) {
-            result.add(headerName.toLowerCase());
-        }
-        return result;
-    }
-
-    private static List<String> getOptionalSigningHeaders(
-            final String httpMethod, final SigningConfiguration signingConfiguration) {
-        List<String> headerNames = signingConfiguration.optionalHeadersToSign.get(httpMethod);
-        return getIgnoreCaseHeaders(headerNames);
-    }
-
-    private static byte[] readBodyBytes(Object body) throws IOException {
-        // empty body is OK
-        if (body == null) {
-            return "".getBytes(StandardCharsets.UTF_8);
-        }
-        // if already a string, just use it unchanged
-        if (body instanceof String) {
-            return ((String) body).getBytes(StandardCharsets.UTF_8);
-        } else if (body instanceof DuplicatableInputStream) {
-            final InputStream duplicatedBody = ((DuplicatableInputStream) body).duplicate();
-            return ByteStreams.toByteArray(duplicatedBody);
-        } else if (body instanceof KeepOpenInputStream) {
-            byte[] byteArr = ByteStreams.toByteArray((KeepOpenInputStream) body);
-            Retriers.tryResetStreamForRetry((InputStream) body);
-            return byteArr;
-        } else if (body instanceof InputStream) {
-            // TODO: Allow input streams to be signed, but for now restrict to DIS until we can refactor
-            throw new IllegalArgumentException(
-                    "Only DuplicatableInputStream supported for body that needs signing.");
+        StringBuilder authorizationHeader =
+                new StringBuilder(128 + keyId.length() + signature.length())
+                        .append("Signature headers=\"");
+        for (int i = 0; i < requiredHeaders.size(); i++) {
+            if (i > 0) {
+                authorizationHeader.append(' ');
+            }
+            authorizationHeader.append(requiredHeaders.get(i));
         }
-
-        throw new IllegalArgumentException("Unexpected body type: " + body.getClass().getName());
+        return authorizationHeader
+                .append("\",keyId=\"")
+                .append(keyId)
+                .append("\",algorithm=\"")
+                .append(algorithm.getSpecName())
+                .append("\",signature=\"")
+                .append(signature)
+                .append("\",version=\"")
+                .append(version)
+                .append('"')
+                .toString();
     }
 
     private static String base64Encode(byte[] bytes) {
@@ -510,28 +521,90 @@ public class RequestSignerImpl implements RequestSigner {
         return new String(Base64.encodeBase64(bytes, false), StandardCharsets.UTF_8);
     }
 
-    private static SimpleDateFormat createFormatter() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(Constants.DATE_FORMAT, Locale.US);
-        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-        return dateFormat;
+    /**
+     * Formats the date header, reusing the last value while the second has not changed.
+     * <p>
+     * Not thread-safe, use one instance per thread.
+     */
+    private static final class DateHeaderFormatter {
+        private final SimpleDateFormat dateFormat;
+        private long lastSecond = Long.MIN_VALUE;
+        private String lastValue;
+
+        private DateHeaderFormatter() {
+            dateFormat = new SimpleDateFormat(Constants.DATE_FORMAT, Locale.US);
+            dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        }
+
+        private String format(long timeInMillis) {
+            long second = timeInMillis / 1000L;
+            if (second != lastSecond) {
+                lastValue = dateFormat.format(new Date(timeInMillis));
+                lastSecond = second;
+            }
+            return lastValue;
+        }
     }
 
     /**
      * Basic configuration of what headers to sign.
+     * <p>
+     * The lower-cased header lists for every HTTP method are computed once when the
+     * configuration is created, and shared by all requests signed with it.
      */
-    @RequiredArgsConstructor
     public static class SigningConfiguration {
         /**
-         * Map of HTTP method to list of headers to sign.
+         * Map of HTTP method to list of lower-cased headers to sign.
          */
         private final Map<String, List<String>> headersToSign;
         /**
-         * Map of HTTP method to list of headers to sign, if they are present.
+         * Map of HTTP method to list of lower-cased headers to sign, if they are present.
          */
         private final Map<String, List<String>> optionalHeadersToSign;
         /**
          * Flag indicating whether InputStreams in PUT requests are allowed to skip content headers.
          */
         private final boolean skipContentHeadersForStreamingPutRequests;
+
+        public SigningConfiguration(
+                Map<String, List<String>> headersToSign,
+                Map<String, List<String>> optionalHeadersToSign,
+                boolean skipContentHeadersForStreamingPutRequests) {
+            this.headersToSign = toLowerCaseHeaders(headersToSign);
+            this.optionalHeadersToSign = toLowerCaseHeaders(optionalHeadersToSign);
+            this.skipContentHeadersForStreamingPutRequests =
+                    skipContentHeadersForStreamingPutRequests;
+        }
+
+        /**
+         * Returns the headers that must be signed for the HTTP method.  The list is immutable.
+         */
+        List<String> getRequiredHeaders(String lowerHttpMethod) {
+            List<String> headerNames = headersToSign.get(lowerHttpMethod);
+            return (headerNames == null) ? ImmutableList.<String>of() : headerNames;
+        }
+
+        /**
+         * Returns the headers that must be signed for the HTTP method if they are present.  The list is immutable.
+         */
+        List<String> getOptionalHeaders(String lowerHttpMethod) {
+            List<String> headerNames = optionalHeadersToSign.get(lowerHttpMethod);
+            return (headerNames == null) ? ImmutableList.<String>of() : headerNames;
+        }
+
+        private static Map<String, List<String>> toLowerCaseHeaders(
+                Map<String, List<String>> headers) {
+            Map<String, List<String>> result = new HashMap<>();
+            for (Entry<String, List<String>> entry : headers.entrySet()) {
+                ImmutableList.Builder<String> headerNames = ImmutableList.builder();
+                if (entry.getValue() != null) {
+                    for (String headerName : entry.getValue()) {
+                        headerNames.add(headerName.toLowerCase());
+                    }
+                }
+                result.put(entry.getKey(), headerNames.build());
+            }
+            return result;
+        }
     }
 }
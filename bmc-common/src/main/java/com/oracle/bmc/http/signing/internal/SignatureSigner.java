@@ -5,26 +5,43 @@
 package com.oracle.bmc.http.signing.internal;
 
 import java.security.InvalidKeyException;
+import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
 import java.security.SignatureException;
 import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nonnull;
-import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * The SignatureSigner is used to actually sign a message with a private key. This version is specific to RSA.
  */
-@Immutable
+@ThreadSafe
 @Slf4j
 public class SignatureSigner {
+    // Signature instances are expensive to look up and initialize, but are not thread-safe, so
+    // initialized instances are pooled per private key and algorithm.  The pools are keyed by the
+    // identity of the private key, weakly, and are initialized with a copy of the key, so once a
+    // key is no longer used elsewhere (ex, after a key rotation) its pool is released, including
+    // the instances that were idle in it.
+    private static final ConcurrentMap<RSAPrivateKey, KeySignatures> SIGNATURES =
+            new MapMaker().weakKeys().makeMap();
 
     /**
      * Sign the given message using the given private key
@@ -51,13 +68,97 @@ public class SignatureSigner {
         Preconditions.checkArgument(!StringUtils.isBlank(algorithm));
 
         try {
-            final Signature signature = Signature.getInstance(algorithm);
-            signature.initSign(privateKey);
+            final KeySignatures keySignatures = getKeySignatures(privateKey);
+            final Signature signature = keySignatures.borrow(algorithm, privateKey);
             signature.update(message);
-            return signature.sign();
-        } catch (final NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+            final byte[] signed = signature.sign();
+            // after sign() the instance is reset to the state after initSign(), so it can be
+            // reused; the state of the instance is unknown after a failure, it is not returned
+            keySignatures.release(algorithm, signature);
+            return signed;
+        } catch (final NoSuchAlgorithmException
+                | InvalidKeyException
+                | InvalidKeySpecException
+                | SignatureException e) {
             LOG.debug("Error signing message", e);
             throw new SignedRequestException(e);
         }
     }
+
+    @VisibleForTesting
+    static int getCachedKeyCount() {
+        return SIGNATURES.size();
+    }
+
+    private static KeySignatures getKeySignatures(RSAPrivateKey privateKey)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        KeySignatures keySignatures = SIGNATURES.get(privateKey);
+        if (keySignatures == null) {
+            keySignatures = new KeySignatures(privateKey);
+            final KeySignatures existing = SIGNATURES.putIfAbsent(privateKey, keySignatures);
+            if (existing != null) {
+                keySignatures = existing;
+            }
+        }
+        return keySignatures;
+    }
+
+    /**
+     * The pooled instances of one private key.  Only references a copy of the key, so that the pool
+     * does not keep the key it is cached by reachable.  Keys that cannot be copied because their
+     * encoding is not available are not pooled.
+     */
+    private static final class KeySignatures {
+        private final RSAPrivateKey privateKey;
+        private final boolean pooled;
+        private final ConcurrentMap<String, Queue<Signature>> signatures =
+                new ConcurrentHashMap<>();
+
+        private KeySignatures(RSAPrivateKey privateKey)
+                throws NoSuchAlgorithmException, InvalidKeySpecException {
+            final byte[] encoded = privateKey.getEncoded();
+            this.pooled = encoded != null;
+            if (pooled) {
+                try {
+                    this.privateKey =
+                            (RSAPrivateKey)
+                                    KeyFactory.getInstance("RSA")
+                                            .generatePrivate(new PKCS8EncodedKeySpec(encoded));
+                } finally {
+                    Arrays.fill(encoded, (byte) 0);
+                }
+            } else {
+                this.privateKey = null;
+            }
+        }
+
+        private Signature borrow(String algorithm, RSAPrivateKey originalKey)
+                throws NoSuchAlgorithmException, InvalidKeyException {
+            final Signature pooledSignature = pooled ? getPool(algorithm).poll() : null;
+            if (pooledSignature != null) {
+                return pooledSignature;
+            }
+            final Signature signature = Signature.getInstance(algorithm);
+            signature.initSign(pooled ? privateKey : originalKey);
+            return signature;
+        }
+
+        private void release(String algorithm, Signature signature) {
+            if (pooled) {
+                getPool(algorithm).offer(signature);
+            }
+        }
+
+        private Queue<Signature> getPool(String algorithm) {
+            Queue<Signature> pool = signatures.get(algorithm);
+            if (pool == null) {
+                pool = new ConcurrentLinkedQueue<>();
+                final Queue<Signature> existing = signatures.putIfAbsent(algorithm, pool);
+                if (existing != null) {
+                    pool = existing;
+                }
+            }
+            return pool;
+        }
+    }
 }
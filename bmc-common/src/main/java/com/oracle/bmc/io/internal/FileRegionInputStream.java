@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.io.internal;
+
+import com.oracle.bmc.io.DuplicatableInputStream;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * InputStream over a region of a {@link FileChannel}.
+ * <p>
+ * The region is memory-mapped the first time it is read, and all duplicates of the stream share
+ * the same mapping, so a part can be hashed from the mapped pages without copying it into the heap,
+ * and is then read from the same pages to be sent.  Regions larger than {@link Integer#MAX_VALUE}
+ * bytes cannot be mapped, and are read using positional reads instead.
+ * <p>
+ * The channel is shared, and is not closed when the stream is closed.  The owner of the channel must
+ * close it once all streams over it have been consumed.
+ * <p>
+ * This version also support mark/reset.
+ */
+public class FileRegionInputStream extends InputStream implements DuplicatableInputStream {
+    private final FileChannel channel;
+    private final long regionStart;
+    private final long regionLength;
+    private final Mapping mapping;
+
+    private long position;
+    private long markPosition;
+
+    /**
+     * Creates a new stream over a region of the channel.
+     *
+     * @param channel The channel to read from.
+     * @param regionStart The position of the region in the channel.
+     * @param regionLength The length of the region.
+     */
+    public FileRegionInputStream(@NonNull FileChannel channel, long regionStart, long regionLength) {
+        this(channel, regionStart, regionLength, new Mapping());
+    }
+
+    private FileRegionInputStream(
+            FileChannel channel, long regionStart, long regionLength, Mapping mapping) {
+        if (regionStart < 0 || regionLength < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid region: start " + regionStart + ", length " + regionLength);
+        }
+        this.channel = channel;
+        this.regionStart = regionStart;
+        this.regionLength = regionLength;
+        this.mapping = mapping;
+    }
+
+    /**
+     * Gets the length of the region.
+     *
+     * @return The length of the region.
+     */
+    public long length() {
+        return regionLength;
+    }
+
+    /**
+     * Gets a read-only view of the whole region, mapping it into memory if it has not been mapped
+     * yet.  The returned buffer is independent of the position of this stream.
+     *
+     * @return A view of the region, or null if the region is too large to be mapped.
+     * @throws IOException if the region could not be mapped.
+     */
+    public ByteBuffer getMappedRegion() throws IOException {
+        if (regionLength > Integer.MAX_VALUE) {
+            return null;
+        }
+        synchronized (mapping) {
+            if (mapping.buffer == null) {
+                mapping.buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionLength);
+            }
+            return mapping.buffer.asReadOnlyBuffer();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= regionLength) {
+            return -1;
+        }
+        int toRead = (int) Math.min(len, regionLength - position);
+        ByteBuffer buffer = getMappedRegion();
+        if (buffer != null) {
+            buffer.position((int) position);
+            buffer.get(b, off, toRead);
+        } else {
+            ByteBuffer target = ByteBuffer.wrap(b, off, toRead);
+            while (target.hasRemaining()) {
+                if (channel.read(target, regionStart + position + target.position() - off) < 0) {
+                    break;
+                }
+            }
+            toRead = target.position() - off;
+            if (toRead == 0) {
+                return -1;
+            }
+        }
+        position += toRead;
+        return toRead;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, regionLength - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, regionLength - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        markPosition = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = markPosition;
+    }
+
+    /**
+     * Does not close the shared channel.
+     */
+    @Override
+    public void close() {}
+
+    @Override
+    public InputStream duplicate() {
+        return new FileRegionInputStream(channel, regionStart, regionLength, mapping);
+    }
+
+    private static final class Mapping {
+        private ByteBuffer buffer;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator;
+
+/**
+ * An iterable over the records of a list operation, whose iterators must be closed if they are not
+ * iterated to the end.  Use the iterators with try-with-resources:
+ * <pre>
+ * try (CloseableRecordIterator&lt;T&gt; records = iterable.iterator()) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @param <T> The type of the records.
+ */
+public interface CloseableRecordIterable<T> extends Iterable<T> {
+
+    /**
+     * Returns a new iterator.  Iterators that are not iterated to the end must be closed.
+     */
+    @Override
+    CloseableRecordIterator<T> iterator();
+
+    /**
+     * Adapts an iterable whose iterators do not hold a connection, so closing them has no effect.
+     *
+     * @param records the iterable
+     * @return an iterable over the same records
+     */
+    static <T> CloseableRecordIterable<T> of(final Iterable<T> records) {
+        return new CloseableRecordIterable<T>() {
+            @Override
+            public CloseableRecordIterator<T> iterator() {
+                return CloseableRecordIterator.of(records.iterator());
+            }
+        };
+    }
+}
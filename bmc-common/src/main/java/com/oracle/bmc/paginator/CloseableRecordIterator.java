@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * An iterator over the records of a list operation that must be closed if it is not iterated to
+ * the end, to release the connection of the current page.
+ *
+ * @param <T> The type of the records.
+ */
+public interface CloseableRecordIterator<T> extends Iterator<T>, Closeable {
+
+    /**
+     * Adapts an iterator that does not hold a connection, so closing it has no effect.
+     *
+     * @param records the iterator
+     * @return an iterator over the same records
+     */
+    static <T> CloseableRecordIterator<T> of(final Iterator<T> records) {
+        return new CloseableRecordIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return records.next();
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+}
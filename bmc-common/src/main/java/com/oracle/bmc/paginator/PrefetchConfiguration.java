@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Configures the paginators of a service to prefetch pages.
+ * <p>
+ * With prefetching, the request for the next page of a list operation is sent as soon as its page
+ * token is known, while the caller still processes the current page.  At most {@link #getLookahead()}
+ * pages are fetched ahead of the caller, any further requests wait until the caller has taken a page.
+ */
+@Getter
+@ToString
+public class PrefetchConfiguration {
+    private static final int DEFAULT_LOOKAHEAD = 1;
+
+    private static final Executor DEFAULT_EXECUTOR =
+            Executors.newCachedThreadPool(
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("paginator-prefetch-%d")
+                            .setDaemon(true)
+                            .build());
+
+    /**
+     * Maximum number of pages that are fetched, or being fetched, but not yet taken by the caller,
+     * default 1.
+     * <p>
+     * Note: Accepted values: 1 or more.
+     */
+    private final int lookahead;
+    /**
+     * Executor that fetches the pages, default is a shared pool of daemon threads.  Every iteration
+     * uses one thread of the executor until all pages have been fetched, or the iterator is garbage
+     * collected.
+     */
+    private final Executor executor;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private PrefetchConfiguration(Integer lookahead, Executor executor) {
+        this.lookahead = lookahead != null ? lookahead : DEFAULT_LOOKAHEAD;
+        this.executor = executor != null ? executor : DEFAULT_EXECUTOR;
+
+        Validate.isTrue(
+                this.lookahead >= 1,
+                String.format(
+                        "lookahead [%s] must be greater than or equal to %s", this.lookahead, 1));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator.internal;
+
+import com.google.common.base.Function;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the items of the responses returned from a list operation.
+ * <p>
+ * Splitting hands off whole pages: {@link #trySplit()} returns the remaining items of the current page,
+ * or the items of the next page, so a parallel stream processes one page per task while this
+ * spliterator retrieves the following pages.
+ *
+ * @param <RESPONSE> the type of the response from a list operation
+ * @param <ITEMTYPE> the type of the items returned inside the response
+ */
+public class PageSpliterator<RESPONSE, ITEMTYPE> implements Spliterator<ITEMTYPE> {
+    private final Iterator<RESPONSE> responses;
+    private final Function<RESPONSE, List<ITEMTYPE>> retrieveItemsFromResponseFunction;
+
+    private List<ITEMTYPE> currentItems;
+    private int position;
+
+    /**
+     * Creates a new spliterator.
+     *
+     * @param responses an iterator over the responses of the list operation
+     * @param retrieveItemsFromResponseFunction a function which can extract the collection of results
+     * from a response produced by a list operation
+     */
+    public PageSpliterator(
+            final Iterator<RESPONSE> responses,
+            final Function<RESPONSE, List<ITEMTYPE>> retrieveItemsFromResponseFunction) {
+        this.responses = responses;
+        this.retrieveItemsFromResponseFunction = retrieveItemsFromResponseFunction;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ITEMTYPE> action) {
+        if (!hasRemainingItems() && !nextPage()) {
+            return false;
+        }
+        action.accept(currentItems.get(position++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<ITEMTYPE> trySplit() {
+        if (!hasRemainingItems() && !nextPage()) {
+            return null;
+        }
+        List<ITEMTYPE> items = currentItems.subList(position, currentItems.size());
+        currentItems = null;
+        return Spliterators.spliterator(items, ORDERED);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    private boolean hasRemainingItems() {
+        return currentItems != null && position < currentItems.size();
+    }
+
+    private boolean nextPage() {
+        while (responses.hasNext()) {
+            currentItems = retrieveItemsFromResponseFunction.apply(responses.next());
+            position = 0;
+            if (hasRemainingItems()) {
+                return true;
+            }
+        }
+        currentItems = null;
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator.internal;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.oracle.bmc.paginator.PrefetchConfiguration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An iterator for iterating over response objects returned from a list operation, which fetches the
+ * next responses in the background.  As soon as a response has been received, the request for the
+ * next page is sent, until {@link PrefetchConfiguration#getLookahead()} responses are waiting to be
+ * taken by the caller.
+ * <p>
+ * An error of the list operation is thrown by the call to {@link #hasNext()} or {@link #next()} that
+ * would have returned the failed page.
+ *
+ * This iterator does not support removal of elements.
+ *
+ * @param <REQUESTBUILDER> the type of a builder which can produce requests for a list operation
+ * @param <REQUEST> the type of a request to a list operation. This type must match the type produced
+ * by REQUESTBUILDER
+ * @param <RESPONSE> the type of the response from a list operation
+ */
+public class PrefetchingResponseIterator<REQUESTBUILDER, REQUEST, RESPONSE>
+        implements Iterator<RESPONSE> {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> responses = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+
+    private Object nextResponse;
+
+    /**
+     * Constructs a new PrefetchingResponseIterator, and starts fetching responses.
+     *
+     * @param requestBuilder a builder object which can create requests for a list operation
+     * @param nextPageTokenRetrievalFunction a function which can extract the next page token from a
+     * response produced by a list operation
+     * @param requestBuilderFunction a function which can build a request for a list operation based on
+     * a builder object and a pagination token to use
+     * @param pageRetrievalFunction a function which will call a list operation with a request and return
+     * the response of the call
+     * @param prefetchConfiguration the number of pages to fetch ahead, and the executor to fetch them with
+     */
+    public PrefetchingResponseIterator(
+            final REQUESTBUILDER requestBuilder,
+            final Function<RESPONSE, String> nextPageTokenRetrievalFunction,
+            final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
+            final Function<REQUEST, RESPONSE> pageRetrievalFunction,
+            final PrefetchConfiguration prefetchConfiguration) {
+        this.permits = new Semaphore(prefetchConfiguration.getLookahead());
+        prefetchConfiguration
+                .getExecutor()
+                .execute(
+                        new PageFetcher<>(
+                                this,
+                                requestBuilder,
+                                nextPageTokenRetrievalFunction,
+                                requestBuilderFunction,
+                                pageRetrievalFunction));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return peek() != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RESPONSE next() {
+        Object response = peek();
+        if (response == END) {
+            throw new NoSuchElementException(
+                    "There are no more elements available to this iterator");
+        }
+        nextResponse = null;
+        permits.release();
+        return (RESPONSE) response;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    private Object peek() {
+        if (nextResponse == null) {
+            try {
+                nextResponse = responses.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next page", e);
+            }
+        }
+        if (nextResponse instanceof Failure) {
+            Throwable cause = ((Failure) nextResponse).cause;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to fetch the next page", cause);
+        }
+        return nextResponse;
+    }
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Fetches the pages in order.  Only holds a weak reference to the iterator, so it stops once the
+     * iterator is garbage collected, instead of waiting for the caller forever.
+     */
+    @Slf4j
+    private static final class PageFetcher<REQUESTBUILDER, REQUEST, RESPONSE> implements Runnable {
+        private final WeakReference<PrefetchingResponseIterator<?, ?, ?>> iterator;
+        private final BlockingQueue<Object> responses;
+        private final Semaphore permits;
+        private final REQUESTBUILDER requestBuilder;
+        private final Function<RESPONSE, String> nextPageTokenRetrievalFunction;
+        private final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST>
+                requestBuilderFunction;
+        private final Function<REQUEST, RESPONSE> pageRetrievalFunction;
+
+        private PageFetcher(
+                PrefetchingResponseIterator<?, ?, ?> iterator,
+                REQUESTBUILDER requestBuilder,
+                Function<RESPONSE, String> nextPageTokenRetrievalFunction,
+                Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
+                Function<REQUEST, RESPONSE> pageRetrievalFunction) {
+            this.iterator = new WeakReference<PrefetchingResponseIterator<?, ?, ?>>(iterator);
+            this.responses = iterator.responses;
+            this.permits = iterator.permits;
+            this.requestBuilder = requestBuilder;
+            this.nextPageTokenRetrievalFunction = nextPageTokenRetrievalFunction;
+            this.requestBuilderFunction = requestBuilderFunction;
+            this.pageRetrievalFunction = pageRetrievalFunction;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // a null token means the builder is used as-is for the first request
+                Optional<String> token = null;
+                do {
+                    if (!acquirePermit()) {
+                        LOG.debug("Iterator is no longer used, stopping to fetch pages");
+                        return;
+                    }
+                    RESPONSE response =
+                            pageRetrievalFunction.apply(
+                                    requestBuilderFunction.apply(
+                                            new RequestBuilderAndToken<>(requestBuilder, token)));
+                    String nextPageToken = nextPageTokenRetrievalFunction.apply(response);
+                    responses.add(response);
+                    token = nextPageToken != null ? Optional.of(nextPageToken) : null;
+                } while (token != null);
+                responses.add(END);
+            } catch (Throwable t) {
+                responses.add(new Failure(t));
+            }
+        }
+
+        private boolean acquirePermit() {
+            try {
+                while (!permits.tryAcquire(1, TimeUnit.SECONDS)) {
+                    if (iterator.get() == null) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
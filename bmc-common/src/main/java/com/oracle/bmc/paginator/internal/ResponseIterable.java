@@ -6,13 +6,21 @@ package com.oracle.bmc.paginator.internal;
 
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
+import com.oracle.bmc.paginator.PrefetchConfiguration;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
 
 /**
  * An iterable which can be used to iterate over responses returned from calling a list operation. Since
  * this deals in responses, the returned response objects will contain a collection of results. This iterable
  * will handle calling the service to retrieve more results when required.
+ * <p>
+ * With a {@link PrefetchConfiguration}, the next responses are retrieved in the background while the
+ * caller processes the current one.  The {@link #spliterator()} splits one response at a time, so
+ * responses can be processed in parallel with {@code StreamSupport.stream(iterable.spliterator(), true)}.
  *
  * @param <REQUESTBUILDER> the type of a builder which can produce requests for a list operation
  * @param <REQUEST> the type of a request to a list operation. This type must match the type produced
@@ -24,6 +32,7 @@ public class ResponseIterable<REQUESTBUILDER, REQUEST, RESPONSE> implements Iter
     private final Function<RESPONSE, String> nextPageTokenRetrievalFunction;
     private final Function<REQUEST, RESPONSE> pageRetrievalFunction;
     private final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction;
+    private final PrefetchConfiguration prefetchConfiguration;
 
     /**
      * Creates a new iterable.
@@ -41,19 +50,67 @@ public class ResponseIterable<REQUESTBUILDER, REQUEST, RESPONSE> implements Iter
             final Function<RESPONSE, String> nextPageTokenRetrievalFunction,
             final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
             final Function<REQUEST, RESPONSE> pageRetrievalFunction) {
+        this(
+                requestBuilderSupplier,
+                nextPageTokenRetrievalFunction,
+                requestBuilderFunction,
+                pageRetrievalFunction,
+                null);
+    }
+
+    /**
+     * Creates a new iterable.
+     *
+     * @param requestBuilderSupplier a supplier which can called to produce a builder object for requests
+     * @param nextPageTokenRetrievalFunction a function which can extract the next page token from a
+     * response produced by a list operation
+     * @param requestBuilderFunction a function which can build a request for a list operation based on
+     * a builder object and a pagination token to use
+     * @param pageRetrievalFunction a function which will call a list operation with a request and return
+     * the response of the call
+     * @param prefetchConfiguration the prefetch configuration, or null to retrieve each response only
+     * when the caller asks for it
+     */
+    public ResponseIterable(
+            final Supplier<REQUESTBUILDER> requestBuilderSupplier,
+            final Function<RESPONSE, String> nextPageTokenRetrievalFunction,
+            final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
+            final Function<REQUEST, RESPONSE> pageRetrievalFunction,
+            final PrefetchConfiguration prefetchConfiguration) {
 
         this.requestBuilderSupplier = requestBuilderSupplier;
         this.nextPageTokenRetrievalFunction = nextPageTokenRetrievalFunction;
         this.requestBuilderFunction = requestBuilderFunction;
         this.pageRetrievalFunction = pageRetrievalFunction;
+        this.prefetchConfiguration = prefetchConfiguration;
     }
 
     @Override
     public Iterator<RESPONSE> iterator() {
+        if (prefetchConfiguration != null) {
+            return new PrefetchingResponseIterator<REQUESTBUILDER, REQUEST, RESPONSE>(
+                    requestBuilderSupplier.get(),
+                    nextPageTokenRetrievalFunction,
+                    requestBuilderFunction,
+                    pageRetrievalFunction,
+                    prefetchConfiguration);
+        }
         return new ResponseIterator<REQUESTBUILDER, REQUEST, RESPONSE>(
                 requestBuilderSupplier.get(),
                 nextPageTokenRetrievalFunction,
                 requestBuilderFunction,
                 pageRetrievalFunction);
     }
+
+    @Override
+    public Spliterator<RESPONSE> spliterator() {
+        return new PageSpliterator<RESPONSE, RESPONSE>(
+                iterator(),
+                new Function<RESPONSE, List<RESPONSE>>() {
+                    @Override
+                    public List<RESPONSE> apply(RESPONSE response) {
+                        return Collections.singletonList(response);
+                    }
+                });
+    }
 }
@@ -6,15 +6,23 @@ package com.oracle.bmc.paginator.internal;
 
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
+import com.oracle.bmc.paginator.PrefetchConfiguration;
 
 import java.util.List;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * An iterable which can be used to iterate over the models/resources returned by a list operation. These
  * are the items which are contained with the response received from a list operation (e.g. by calling
  * <b>getItems()</b> method on the response object). This iterable
  * will handle calling the service to retrieve more results when required.
+ * <p>
+ * With a {@link PrefetchConfiguration}, the next responses are retrieved in the background while the
+ * caller processes the items of the current one.  The {@link #spliterator()} splits one page of items
+ * at a time, so items can be processed in parallel with
+ * {@code StreamSupport.stream(iterable.spliterator(), true)}.
  *
  * @param <REQUESTBUILDER> the type of a builder which can produce requests for a list operation
  * @param <REQUEST> the type of a request to a list operation. This type must match the type produced
@@ -30,6 +38,7 @@ public class ResponseRecordIterable<REQUESTBUILDER, REQUEST, RESPONSE, ITEMTYPE>
     private final Function<REQUEST, RESPONSE> pageRetrievalFunction;
     private final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction;
     private final Function<RESPONSE, List<ITEMTYPE>> retrieveItemsFromResponseFunction;
+    private final PrefetchConfiguration prefetchConfiguration;
 
     /**
      * Creates a new iterable.
@@ -48,16 +57,51 @@ public class ResponseRecordIterable<REQUESTBUILDER, REQUEST, RESPONSE, ITEMTYPE>
             final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
             final Function<REQUEST, RESPONSE> pageRetrievalFunction,
             final Function<RESPONSE, List<ITEMTYPE>> retrieveItemsFromResponseFunction) {
+        this(
+                requestBuilderSupplier,
+                nextPageTokenRetrievalFunction,
+                requestBuilderFunction,
+                pageRetrievalFunction,
+                retrieveItemsFromResponseFunction,
+                null);
+    }
+
+    /**
+     * Creates a new iterable.
+     *
+     * @param requestBuilderSupplier a supplier which can called to produce a builder object for requests
+     * @param nextPageTokenRetrievalFunction a function which can extract the next page token from a
+     * response produced by a list operation
+     * @param requestBuilderFunction a function which can build a request for a list operation based on
+     * a builder object and a pagination token to use
+     * @param pageRetrievalFunction a function which will call a list operation with a request and return
+     * the response of the call
+     * @param retrieveItemsFromResponseFunction a function which can extract the collection of results
+     * from a response produced by a list operation
+     * @param prefetchConfiguration the prefetch configuration, or null to retrieve each response only
+     * when the caller needs its items
+     */
+    public ResponseRecordIterable(
+            final Supplier<REQUESTBUILDER> requestBuilderSupplier,
+            final Function<RESPONSE, String> nextPageTokenRetrievalFunction,
+            final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
+            final Function<REQUEST, RESPONSE> pageRetrievalFunction,
+            final Function<RESPONSE, List<ITEMTYPE>> retrieveItemsFromResponseFunction,
+            final PrefetchConfiguration prefetchConfiguration) {
 
         this.requestBuilderSupplier = requestBuilderSupplier;
         this.nextPageTokenRetrievalFunction = nextPageTokenRetrievalFunction;
         this.requestBuilderFunction = requestBuilderFunction;
         this.pageRetrievalFunction = pageRetrievalFunction;
         this.retrieveItemsFromResponseFunction = retrieveItemsFromResponseFunction;
+        this.prefetchConfiguration = prefetchConfiguration;
     }
 
     @Override
     public Iterator<ITEMTYPE> iterator() {
+        if (prefetchConfiguration != null) {
+            return Spliterators.iterator(spliterator());
+        }
         return new ResponseRecordIterator<REQUESTBUILDER, REQUEST, RESPONSE, ITEMTYPE>(
                 requestBuilderSupplier.get(),
                 nextPageTokenRetrievalFunction,
@@ -65,4 +109,26 @@ public class ResponseRecordIterable<REQUESTBUILDER, REQUEST, RESPONSE, ITEMTYPE>
                 pageRetrievalFunction,
                 retrieveItemsFromResponseFunction);
     }
+
+    @Override
+    public Spliterator<ITEMTYPE> spliterator() {
+        return new PageSpliterator<RESPONSE, ITEMTYPE>(
+                responseIterator(), retrieveItemsFromResponseFunction);
+    }
+
+    private Iterator<RESPONSE> responseIterator() {
+        if (prefetchConfiguration != null) {
+            return new PrefetchingResponseIterator<REQUESTBUILDER, REQUEST, RESPONSE>(
+                    requestBuilderSupplier.get(),
+                    nextPageTokenRetrievalFunction,
+                    requestBuilderFunction,
+                    pageRetrievalFunction,
+                    prefetchConfiguration);
+        }
+        return new ResponseIterator<REQUESTBUILDER, REQUEST, RESPONSE>(
+                requestBuilderSupplier.get(),
+                nextPageTokenRetrievalFunction,
+                requestBuilderFunction,
+                pageRetrievalFunction);
+    }
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator.internal;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.oracle.bmc.http.internal.JsonRecordIterator;
+import com.oracle.bmc.http.internal.WithHeaders;
+import com.oracle.bmc.paginator.CloseableRecordIterable;
+
+/**
+ * An iterable over the records of a list operation, which parses each record from the response
+ * stream when the caller needs it, instead of reading whole pages into memory.
+ */
+public class StreamingRecordIterable<REQUESTBUILDER, REQUEST, ITEMTYPE>
+        implements CloseableRecordIterable<ITEMTYPE> {
+
+    private final Supplier<REQUESTBUILDER> requestBuilderSupplier;
+    private final Function<WithHeaders<JsonRecordIterator<ITEMTYPE>>, String>
+            nextPageTokenRetrievalFunction;
+    private final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction;
+    private final Function<REQUEST, WithHeaders<JsonRecordIterator<ITEMTYPE>>> pageStreamFunction;
+
+    /**
+     * Creates a new iterable.
+     *
+     * @param requestBuilderSupplier a supplier which can called to produce a builder object for requests
+     * @param nextPageTokenRetrievalFunction a function which can extract the next page token from
+     * the headers or the body of a response produced by a list operation, called once the records
+     * of the response have been consumed
+     * @param requestBuilderFunction a function which can build a request for a list operation based on
+     * a builder object and a pagination token to use
+     * @param pageStreamFunction a function which will call a list operation with a request and return
+     * the records of the response as a stream, with the headers of the response
+     */
+    public StreamingRecordIterable(
+            final Supplier<REQUESTBUILDER> requestBuilderSupplier,
+            final Function<WithHeaders<JsonRecordIterator<ITEMTYPE>>, String>
+                    nextPageTokenRetrievalFunction,
+            final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
+            final Function<REQUEST, WithHeaders<JsonRecordIterator<ITEMTYPE>>>
+                    pageStreamFunction) {
+        this.requestBuilderSupplier = requestBuilderSupplier;
+        this.nextPageTokenRetrievalFunction = nextPageTokenRetrievalFunction;
+        this.requestBuilderFunction = requestBuilderFunction;
+        this.pageStreamFunction = pageStreamFunction;
+    }
+
+    /**
+     * Returns a new iterator.  Iterators that are not iterated to the end must be closed to
+     * release the connection of the current page.
+     */
+    @Override
+    public StreamingRecordIterator<REQUESTBUILDER, REQUEST, ITEMTYPE> iterator() {
+        return new StreamingRecordIterator<REQUESTBUILDER, REQUEST, ITEMTYPE>(
+                requestBuilderSupplier.get(),
+                nextPageTokenRetrievalFunction,
+                requestBuilderFunction,
+                pageStreamFunction);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator.internal;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.oracle.bmc.http.internal.JsonRecordIterator;
+import com.oracle.bmc.http.internal.WithHeaders;
+import com.oracle.bmc.paginator.CloseableRecordIterator;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the records of a list operation, parsing them one at a time from the response
+ * stream of the current page.  A page is requested once the records of the previous page have been
+ * consumed, and its connection is released once its last record has been parsed, so memory use does
+ * not depend on the page size or the number of pages.  The next page token is only read once the
+ * records of a page have been consumed, so it may follow the records in the body.
+ * <p>
+ * Requests are retried as configured for the client, but an error while a page is read is not.
+ */
+public class StreamingRecordIterator<REQUESTBUILDER, REQUEST, ITEMTYPE>
+        implements CloseableRecordIterator<ITEMTYPE> {
+
+    private final REQUESTBUILDER requestBuilder;
+    private final Function<WithHeaders<JsonRecordIterator<ITEMTYPE>>, String>
+            nextPageTokenRetrievalFunction;
+    private final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction;
+    private final Function<REQUEST, WithHeaders<JsonRecordIterator<ITEMTYPE>>> pageStreamFunction;
+
+    private WithHeaders<JsonRecordIterator<ITEMTYPE>> currentPage;
+    private boolean lastPage;
+    private boolean closed;
+
+    /**
+     * Constructs a new StreamingRecordIterator.
+     *
+     * @param requestBuilder a builder object which can create requests for a list operation
+     * @param nextPageTokenRetrievalFunction a function which can extract the next page token from
+     * the headers or the body of a response produced by a list operation, called once the records
+     * of the response have been consumed
+     * @param requestBuilderFunction a function which can build a request for a list operation based on
+     * a builder object and a pagination token to use
+     * @param pageStreamFunction a function which will call a list operation with a request and return
+     * the records of the response as a stream, with the headers of the response
+     */
+    public StreamingRecordIterator(
+            final REQUESTBUILDER requestBuilder,
+            final Function<WithHeaders<JsonRecordIterator<ITEMTYPE>>, String>
+                    nextPageTokenRetrievalFunction,
+            final Function<RequestBuilderAndToken<REQUESTBUILDER>, REQUEST> requestBuilderFunction,
+            final Function<REQUEST, WithHeaders<JsonRecordIterator<ITEMTYPE>>>
+                    pageStreamFunction) {
+        this.requestBuilder = requestBuilder;
+        this.nextPageTokenRetrievalFunction = nextPageTokenRetrievalFunction;
+        this.requestBuilderFunction = requestBuilderFunction;
+        this.pageStreamFunction = pageStreamFunction;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (currentPage == null) {
+            fetchPage(null);
+        }
+
+        // skip over empty pages, as long as there is a next page token
+        while (!currentPage.getItem().hasNext() && !lastPage) {
+            // the token may follow the records in the body, so it is only read once the records
+            // of the page have been consumed
+            final String nextPageToken = nextPageTokenRetrievalFunction.apply(currentPage);
+            if (nextPageToken == null) {
+                lastPage = true;
+            } else {
+                fetchPage(Optional.of(nextPageToken));
+            }
+        }
+        return currentPage.getItem().hasNext();
+    }
+
+    @Override
+    public ITEMTYPE next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(
+                    "There are no more elements available to this iterator");
+        }
+        return currentPage.getItem().next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    /**
+     * Releases the connection of the current page, if it has not been read to the end.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (currentPage != null) {
+            currentPage.getItem().close();
+        }
+    }
+
+    private void fetchPage(Optional<String> pageToken) {
+        final RequestBuilderAndToken<REQUESTBUILDER> requestBuilderAndToken =
+                new RequestBuilderAndToken<>(requestBuilder, pageToken);
+        currentPage =
+                pageStreamFunction.apply(requestBuilderFunction.apply(requestBuilderAndToken));
+    }
+}
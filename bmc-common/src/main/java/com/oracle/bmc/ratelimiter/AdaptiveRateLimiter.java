@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.ratelimiter;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.oracle.bmc.model.BmcException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limiter that adapts its rate to throttling by the service.
+ * <p>
+ * Requests take permits from a token bucket that refills at the current rate and holds at most one
+ * second worth of permits.  The rate follows an additive-increase/multiplicative-decrease scheme: a
+ * throttling response (429 or 503 by default) multiplies the rate by the decrease factor, and every
+ * successful response adds {@code additiveIncrease / rate}, which grows the rate by about
+ * {@code additiveIncrease} per second while requests are sent at the current rate.
+ * <p>
+ * This class is thread-safe.  Waiting callers queue in arrival order, since each one reserves its
+ * permit before waiting.
+ */
+@Slf4j
+public class AdaptiveRateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiterConfiguration configuration;
+    private final Ticker ticker;
+    private final long decreaseIntervalNanos;
+    private final long maxWaitNanos;
+
+    private double rate;
+    private double permits;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+
+    /**
+     * Creates a new rate limiter.
+     *
+     * @param configuration the configuration
+     */
+    public AdaptiveRateLimiter(@NonNull RateLimiterConfiguration configuration) {
+        this(configuration, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    AdaptiveRateLimiter(@NonNull RateLimiterConfiguration configuration, @NonNull Ticker ticker) {
+        this.configuration = configuration;
+        this.ticker = ticker;
+        this.decreaseIntervalNanos = configuration.getDecreaseInterval().toNanos();
+        this.maxWaitNanos =
+                configuration.getMaxWait() == null
+                        ? Long.MAX_VALUE
+                        : configuration.getMaxWait().toNanos();
+        this.rate = configuration.getInitialRate();
+        this.permits = 1.0;
+        this.lastRefillNanos = ticker.read();
+        this.lastDecreaseNanos = lastRefillNanos - decreaseIntervalNanos;
+    }
+
+    /**
+     * Takes a permit, waiting until one is available.
+     *
+     * @param opcRequestId the request id, for the exception if no permit could be taken
+     * @throws BmcException if the permit is not available within the configured max wait, or the thread
+     *                      was interrupted while waiting
+     */
+    public void acquire(String opcRequestId) {
+        long waitNanos = reserve(true);
+        if (waitNanos < 0) {
+            throw new BmcException(
+                    false,
+                    "Client-side rate limit of "
+                            + String.format("%.2f", getRate())
+                            + " requests per second exceeded",
+                    null,
+                    opcRequestId);
+        }
+        if (waitNanos > 0) {
+            LOG.debug("Rate limited, waiting {}ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BmcException(
+                        false, "Interrupted while waiting for rate limiter", e, opcRequestId);
+            }
+        }
+    }
+
+    /**
+     * Takes a permit without waiting, even if none is available.  The permit is taken from the permits
+     * that become available next, so later callers wait longer instead.
+     */
+    public void acquireWithoutWaiting() {
+        reserve(false);
+    }
+
+    /**
+     * Records the status code of a response and adapts the rate.
+     *
+     * @param statusCode the HTTP status code of the response
+     */
+    public void onResponse(int statusCode) {
+        if (configuration.getThrottlingStatusCodes().contains(statusCode)) {
+            onThrottled();
+        } else if (statusCode >= 200 && statusCode < 300) {
+            onSuccess();
+        }
+    }
+
+    /**
+     * Returns the current rate.
+     *
+     * @return the current rate, in requests per second
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * Reserves a permit.
+     *
+     * @param limitWait whether to reject the reservation if the wait exceeds the max wait
+     * @return the time to wait for the permit in nanos, or -1 if rejected
+     */
+    private synchronized long reserve(boolean limitWait) {
+        refill();
+        long waitNanos =
+                permits >= 1.0 ? 0L : (long) Math.ceil((1.0 - permits) / rate * NANOS_PER_SECOND);
+        if (limitWait && waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        permits -= 1.0;
+        return waitNanos;
+    }
+
+    private synchronized void onThrottled() {
+        long now = ticker.read();
+        if (now - lastDecreaseNanos < decreaseIntervalNanos) {
+            return;
+        }
+        refill();
+        lastDecreaseNanos = now;
+        double previousRate = rate;
+        rate = Math.max(configuration.getMinRate(), rate * configuration.getDecreaseFactor());
+        permits = Math.min(permits, rate);
+        LOG.debug("Throttled, reducing rate from {} to {} requests per second", previousRate, rate);
+    }
+
+    private synchronized void onSuccess() {
+        refill();
+        rate =
+                Math.min(
+                        configuration.getMaxRate(),
+                        rate + configuration.getAdditiveIncrease() / rate);
+    }
+
+    private void refill() {
+        long now = ticker.read();
+        // at most one second worth of permits, but at least one
+        permits =
+                Math.min(
+                        Math.max(1.0, rate),
+                        permits + (now - lastRefillNanos) * rate / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.ratelimiter;
+
+import com.google.common.collect.ImmutableSet;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Configuration of an {@link AdaptiveRateLimiter}.
+ * <p>
+ * The rate starts at the initial rate and is adapted between the min and max rate: it is multiplied by the
+ * decrease factor when a throttling response is received, and grows by the additive increase per second
+ * while requests succeed.
+ */
+@Getter
+@ToString
+public class RateLimiterConfiguration {
+    private static final double DEFAULT_INITIAL_RATE = 10.0;
+    private static final double DEFAULT_MIN_RATE = 1.0;
+    private static final double DEFAULT_MAX_RATE = 1000.0;
+    private static final double DEFAULT_ADDITIVE_INCREASE = 1.0;
+    private static final double DEFAULT_DECREASE_FACTOR = 0.5;
+    private static final Duration DEFAULT_DECREASE_INTERVAL = Duration.ofSeconds(1);
+    private static final Set<Integer> DEFAULT_THROTTLING_STATUS_CODES = ImmutableSet.of(429, 503);
+
+    /**
+     * The initial rate, in requests per second.  Default is 10.
+     */
+    private final double initialRate;
+    /**
+     * The lowest rate the limiter shrinks to, in requests per second.  Default is 1.
+     */
+    private final double minRate;
+    /**
+     * The highest rate the limiter grows to, in requests per second.  Default is 1000.
+     */
+    private final double maxRate;
+    /**
+     * The number of requests per second the rate grows by, per second of successful requests sent at
+     * the current rate.  Default is 1.
+     */
+    private final double additiveIncrease;
+    /**
+     * The factor the rate is multiplied with when a throttling response is received.  Default is 0.5.
+     */
+    private final double decreaseFactor;
+    /**
+     * The minimum time between two decreases, so that a burst of throttling responses to requests sent at
+     * the same rate only shrinks the rate once.  Default is 1 second.
+     */
+    private final Duration decreaseInterval;
+    /**
+     * The max time a request waits to be sent.  Null (the default) to wait as long as needed, zero to fail
+     * fast; requests that would wait longer fail with a client-side BmcException.
+     */
+    private final Duration maxWait;
+    /**
+     * The HTTP status codes that are considered throttling.  Default is 429 and 503.
+     */
+    private final Set<Integer> throttlingStatusCodes;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private RateLimiterConfiguration(
+            Double initialRate,
+            Double minRate,
+            Double maxRate,
+            Double additiveIncrease,
+            Double decreaseFactor,
+            Duration decreaseInterval,
+            Duration maxWait,
+            Set<Integer> throttlingStatusCodes) {
+        this.initialRate = getOrDefault(initialRate, DEFAULT_INITIAL_RATE);
+        this.minRate = getOrDefault(minRate, Math.min(DEFAULT_MIN_RATE, this.initialRate));
+        this.maxRate = getOrDefault(maxRate, Math.max(DEFAULT_MAX_RATE, this.initialRate));
+        this.additiveIncrease = getOrDefault(additiveIncrease, DEFAULT_ADDITIVE_INCREASE);
+        this.decreaseFactor = getOrDefault(decreaseFactor, DEFAULT_DECREASE_FACTOR);
+        this.decreaseInterval = getOrDefault(decreaseInterval, DEFAULT_DECREASE_INTERVAL);
+        this.maxWait = maxWait;
+        this.throttlingStatusCodes =
+                throttlingStatusCodes == null
+                        ? DEFAULT_THROTTLING_STATUS_CODES
+                        : ImmutableSet.copyOf(throttlingStatusCodes);
+
+        if (this.minRate <= 0
+                || this.minRate > this.initialRate
+                || this.initialRate > this.maxRate) {
+            throw new IllegalArgumentException(
+                    "Rates must satisfy 0 < minRate <= initialRate <= maxRate: " + this);
+        }
+        if (this.additiveIncrease < 0) {
+            throw new IllegalArgumentException("additiveIncrease must not be negative");
+        }
+        if (this.decreaseFactor <= 0 || this.decreaseFactor > 1) {
+            throw new IllegalArgumentException("decreaseFactor must be in (0, 1]");
+        }
+        if (this.decreaseInterval.isNegative() || (maxWait != null && maxWait.isNegative())) {
+            throw new IllegalArgumentException("decreaseInterval and maxWait must not be negative");
+        }
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.responses;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Adapts the operations of asynchronous clients to {@link CompletableFuture}s.
+ * <p>
+ * Every operation of an asynchronous client takes a request and an {@link AsyncHandler}, so it can be
+ * passed as a method reference:
+ *
+ * <pre>
+ * <code>CompletableFuture&lt;GetNamespaceResponse&gt; namespace =
+ *     AsyncHandlers.toCompletableFuture(objectStorageAsyncClient::getNamespace, request);
+ * </code>
+ * </pre>
+ *
+ * The future is completed by the client's callback, so no thread waits on {@link Future#get()}.
+ * Combined with {@link com.oracle.bmc.ClientConfiguration#getMaxInFlightAsyncRequests()}, this allows
+ * composing many concurrent calls while bounding the number of requests actually in flight.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AsyncHandlers {
+
+    /**
+     * Invokes an asynchronous operation and returns a future for its response.
+     * <p>
+     * Cancelling the returned future cancels the request: the response of the attempt in flight is
+     * discarded when it arrives, and no further attempts are made.  The request keeps its permit of
+     * {@link com.oracle.bmc.ClientConfiguration#getMaxInFlightAsyncRequests()} until that attempt has
+     * finished.
+     *
+     * @param operation The operation of the asynchronous client, e.g. {@code client::getNamespace}.
+     * @param request   The request to send.
+     * @param <REQUEST>  The request type.
+     * @param <RESPONSE> The response type.
+     * @return A future that completes with the response, or with the error of the request.
+     */
+    public static <REQUEST, RESPONSE> CompletableFuture<RESPONSE> toCompletableFuture(
+            @NonNull
+                    final BiFunction<REQUEST, AsyncHandler<REQUEST, RESPONSE>, Future<RESPONSE>>
+                            operation,
+            @NonNull final REQUEST request) {
+        final CompletableFuture<RESPONSE> result = new CompletableFuture<>();
+        final Future<RESPONSE> future;
+        try {
+            future = operation.apply(request, new CompletingAsyncHandler<>(result));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete(
+                (response, throwable) -> {
+                    if (result.isCancelled()) {
+                        future.cancel(true);
+                    }
+                });
+        return result;
+    }
+
+    private static class CompletingAsyncHandler<REQUEST, RESPONSE>
+            implements AsyncHandler<REQUEST, RESPONSE> {
+        private final CompletableFuture<RESPONSE> result;
+
+        private CompletingAsyncHandler(CompletableFuture<RESPONSE> result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onSuccess(REQUEST request, RESPONSE response) {
+            result.complete(response);
+        }
+
+        @Override
+        public void onError(REQUEST request, Throwable error) {
+            result.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.retrier;
+
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.waiter.ScheduledGenericWaiter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.mutable.MutableObject;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * A generic retrier for asynchronous calls.
+ * <p>
+ * Behaves like {@link BmcGenericRetrier}, but never blocks a thread: the delay between attempts is
+ * taken from the {@link RetryConfiguration}'s delay strategy and scheduled on a
+ * {@link ScheduledExecutorService}.  Unless one is provided, a single JVM-wide daemon scheduler
+ * thread is used; it only triggers the next attempt, the calls themselves run wherever the
+ * function call dispatches them.
+ */
+@Slf4j
+public class BmcAsyncRetrier {
+    private final ScheduledGenericWaiter waiter;
+    private final RetryCondition retryCondition;
+
+    /**
+     * Creates a new retrier with the given configuration, using the shared retry scheduler.
+     * @param retryConfiguration The retry configuration to use.
+     */
+    public BmcAsyncRetrier(@NonNull final RetryConfiguration retryConfiguration) {
+        this(retryConfiguration, SharedScheduler.INSTANCE);
+    }
+
+    /**
+     * Creates a new retrier with the given configuration.
+     * @param retryConfiguration The retry configuration to use.
+     * @param scheduler The scheduler used to wait between attempts.
+     */
+    public BmcAsyncRetrier(
+            @NonNull final RetryConfiguration retryConfiguration,
+            @NonNull final ScheduledExecutorService scheduler) {
+        this.waiter = new ScheduledGenericWaiter(retryConfiguration, scheduler);
+        this.retryCondition = retryConfiguration.getRetryCondition();
+    }
+
+    /**
+     * Executes the functionCall based upon the {@link RetryConfiguration} of this retrier
+     * @param requestToUse The request that is passed to the functionCall
+     * @param functionCall Function that will be invoked to send out the request.  A call fails
+     *                     with a retriable {@link BmcException} either by throwing it or by
+     *                     completing the returned stage exceptionally with it.
+     * @param <REQUEST> Request object class
+     * @param <RESPONSE> Response object class
+     * @return A future that completes with the successful response, or fails with the last
+     * exception if the call is not retriable or the retries are exhausted.
+     */
+    public <REQUEST, RESPONSE> CompletableFuture<RESPONSE> execute(
+            @NonNull final REQUEST requestToUse,
+            @NonNull final Function<REQUEST, ? extends CompletionStage<RESPONSE>> functionCall) {
+        final MutableObject<BmcException> lastKnownException = new MutableObject<>();
+        final CompletableFuture<RESPONSE> result = new CompletableFuture<>();
+
+        final CompletableFuture<com.google.common.base.Optional<RESPONSE>> waiterFuture =
+                waiter.execute(
+                        Suppliers.ofInstance(requestToUse),
+                        (request) -> {
+                            if (lastKnownException.getValue() != null) {
+                                // we know there was a previous exception, so this must be a retry
+                                LOG.debug(
+                                        "Retrying: {}", lastKnownException.getValue().getMessage());
+                            }
+                            return invoke(functionCall, request)
+                                    .handle(
+                                            (response, throwable) -> {
+                                                if (throwable == null) {
+                                                    return response;
+                                                }
+                                                Throwable cause = unwrap(throwable);
+                                                if (!(cause instanceof BmcException)) {
+                                                    throw new CompletionException(cause);
+                                                }
+                                                BmcException e = (BmcException) cause;
+                                                if (!retryCondition.shouldBeRetried(e)) {
+                                                    LOG.debug(
+                                                            "Not retrying, not retriable: {}",
+                                                            e.getMessage());
+                                                    throw e;
+                                                }
+                                                lastKnownException.setValue(e);
+                                                return null;
+                                            });
+                        },
+                        Objects::nonNull);
+
+        waiterFuture.whenComplete(
+                (response, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(unwrap(throwable));
+                    } else if (response.isPresent()) {
+                        result.complete(response.get());
+                    } else {
+                        result.completeExceptionally(lastKnownException.getValue());
+                    }
+                });
+        // cancelling the result stops further attempts
+        result.whenComplete(
+                (response, throwable) -> {
+                    if (result.isCancelled()) {
+                        waiterFuture.cancel(false);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Executes the actual function call. Can be overridden, e.g. for debugging.
+     * @param functionCall Function that will be invoked to send out the request.
+     * @param request request data for the function call
+     * @param <REQUEST> Request object class
+     * @param <RESPONSE> Response object class
+     * @return The stage that completes with the response
+     */
+    protected <REQUEST, RESPONSE> CompletionStage<RESPONSE> doFunctionCall(
+            @NonNull REQUEST request,
+            @NonNull Function<REQUEST, ? extends CompletionStage<RESPONSE>> functionCall) {
+        return functionCall.apply(request);
+    }
+
+    private <REQUEST, RESPONSE> CompletionStage<RESPONSE> invoke(
+            Function<REQUEST, ? extends CompletionStage<RESPONSE>> functionCall, REQUEST request) {
+        try {
+            return doFunctionCall(request, functionCall);
+        } catch (BmcException e) {
+            CompletableFuture<RESPONSE> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static final class SharedScheduler {
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor =
+                    new ScheduledThreadPoolExecutor(
+                            1,
+                            new ThreadFactoryBuilder()
+                                    .setDaemon(true)
+                                    .setNameFormat("oci-async-retrier-%d")
+                                    .build());
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
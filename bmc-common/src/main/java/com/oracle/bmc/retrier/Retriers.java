@@ -10,8 +10,10 @@ import java.util.Objects;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
+import com.google.common.base.Optional;
 import com.oracle.bmc.InternalSdk;
 import com.oracle.bmc.requests.BmcRequest;
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -66,17 +68,50 @@ public final class Retriers {
             @Nullable final RetryConfiguration requestRetryConfiguration,
             @Nullable final RetryConfiguration clientRetryConfiguration) {
         final RetryConfiguration preferredRetryConfiguration =
-                Stream.of(
-                                requestRetryConfiguration,
-                                clientRetryConfiguration,
-                                DEFAULT_RETRY_CONFIGURATION)
-                        .filter(Objects::nonNull)
-                        .findFirst()
-                        .get();
+                getPreferredRetryConfiguration(requestRetryConfiguration, clientRetryConfiguration);
         LOG.debug("Using retry configuration: {}", preferredRetryConfiguration);
         return new BmcGenericRetrier(preferredRetryConfiguration);
     }
 
+    /**
+     * Choose the desired retry configuration and use it to create a non-blocking retrier for
+     * asynchronous calls.
+     * @param requestRetryConfiguration the retry configuration set on the request object
+     * @param clientRetryConfiguration the retry configuration set on the client object
+     * @return The retrier based on the appropriate retry configuration, or absent if that
+     * configuration makes no more than one attempt
+     */
+    @InternalSdk
+    public static Optional<BmcAsyncRetrier> createPreferredAsyncRetrier(
+            @Nullable final RetryConfiguration requestRetryConfiguration,
+            @Nullable final RetryConfiguration clientRetryConfiguration) {
+        final RetryConfiguration preferredRetryConfiguration =
+                getPreferredRetryConfiguration(requestRetryConfiguration, clientRetryConfiguration);
+        if (!retriesAfterFirstAttempt(preferredRetryConfiguration)) {
+            return Optional.absent();
+        }
+        LOG.debug("Using async retry configuration: {}", preferredRetryConfiguration);
+        return Optional.of(new BmcAsyncRetrier(preferredRetryConfiguration));
+    }
+
+    private static boolean retriesAfterFirstAttempt(final RetryConfiguration retryConfiguration) {
+        return !retryConfiguration
+                .getTerminationStrategy()
+                .shouldTerminate(new WaitContext(System.currentTimeMillis(), 1));
+    }
+
+    private static RetryConfiguration getPreferredRetryConfiguration(
+            @Nullable final RetryConfiguration requestRetryConfiguration,
+            @Nullable final RetryConfiguration clientRetryConfiguration) {
+        return Stream.of(
+                        requestRetryConfiguration,
+                        clientRetryConfiguration,
+                        DEFAULT_RETRY_CONFIGURATION)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .get();
+    }
+
     /**
      * Try to reset the {@link InputStream} for the next retry, if supported.
      *
@@ -53,9 +53,9 @@ public class RefreshAuthTokenTransformingFuture<FROM, TO> implements Future<TO>
 
     @Override
     public TO get() throws InterruptedException, ExecutionException {
-        FROM from = delegate.get();
         try {
-            return transformer.apply(from);
+            // the delegate may fail with the BmcException itself, e.g. when retried asynchronously
+            return transformer.apply(delegate.get());
         } catch (BmcException e) {
             if (e.getStatusCode() == 401) {
                 authProvider.refresh();
@@ -70,9 +70,8 @@ public class RefreshAuthTokenTransformingFuture<FROM, TO> implements Future<TO>
     @Override
     public TO get(long timeout, TimeUnit unit)
             throws InterruptedException, ExecutionException, TimeoutException {
-        FROM from = delegate.get(timeout, unit);
         try {
-            return transformer.apply(from);
+            return transformer.apply(delegate.get(timeout, unit));
         } catch (BmcException e) {
             if (e.getStatusCode() == 401) {
                 authProvider.refresh();
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.waiter;
+
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
+
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delay strategy that doubles the wait time after every attempt, starting with a base time, until a
+ * max time has been reached.  A random delay of up to half the wait time is taken off, so that
+ * callers that failed at the same time do not all retry at the same time.
+ */
+@ToString
+public class ExponentialBackoffDelayStrategyWithJitter implements DelayStrategy {
+    /**
+     * The time to wait (in millis) after the first attempt, before the jitter is taken off.
+     */
+    private final long baseDelayInMillis;
+    /**
+     * The max time to wait (in millis), before the jitter is taken off.
+     */
+    private final long maxDelayInMillis;
+
+    /**
+     * Creates a new strategy.
+     *
+     * @param baseDelayInMillis The time to wait after the first attempt.
+     * @param maxDelayInMillis The max time to wait.
+     */
+    public ExponentialBackoffDelayStrategyWithJitter(
+            long baseDelayInMillis, long maxDelayInMillis) {
+        Validate.isTrue(
+                baseDelayInMillis >= 0,
+                "baseDelayInMillis [%s] must be greater than or equal to 0",
+                baseDelayInMillis);
+        Validate.isTrue(
+                maxDelayInMillis >= baseDelayInMillis,
+                "maxDelayInMillis [%s] must be greater than or equal to baseDelayInMillis [%s]",
+                maxDelayInMillis,
+                baseDelayInMillis);
+        this.baseDelayInMillis = baseDelayInMillis;
+        this.maxDelayInMillis = maxDelayInMillis;
+    }
+
+    @Override
+    public long nextDelay(WaitContext context) {
+        final int doublings = Math.max(0, context.getAttemptsMade() - 1);
+        long delay = maxDelayInMillis;
+        if (doublings < Long.SIZE - 1 && baseDelayInMillis <= (maxDelayInMillis >> doublings)) {
+            delay = baseDelayInMillis << doublings;
+        }
+        return delay - ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
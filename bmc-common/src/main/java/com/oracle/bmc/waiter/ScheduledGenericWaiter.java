@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.waiter;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides a waiter that, like {@link GenericWaiter}, repeats a call until a desired condition is met,
+ * but without blocking a thread.
+ * <p>
+ * The function call returns a {@link CompletionStage}, and the delay between attempts is scheduled on a
+ * {@link ScheduledExecutorService} instead of sleeping on the calling thread.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduledGenericWaiter {
+    @NonNull private final WaiterConfiguration waiterConfiguration;
+    @NonNull private final ScheduledExecutorService scheduler;
+
+    /**
+     * Repeats the call until a specific condition is met.
+     *
+     * @param requestSupplier
+     *            Supplier that provides a new request instance to fetch the
+     *            current state.
+     * @param functionCall
+     *            Function that will be invoked to fetch the current state. It
+     *            will be provided the request instance given by the
+     *            requestSupplier.
+     * @param terminationPredicate
+     *            The termination predicate that will inspect the current state
+     *            (returned response instance) to determine if it is done
+     *            waiting.
+     * @param <REQUEST>
+     *            Request object class
+     * @param <RESPONSE>
+     *            Response object class
+     * @return A future that completes with the last response object that was received and was accepted
+     *         by the termination predicate, or empty if the waiter reached the max timeout.  The future
+     *         fails if a function call fails.  Cancelling the future stops further attempts.
+     */
+    public <REQUEST, RESPONSE> CompletableFuture<Optional<RESPONSE>> execute(
+            Supplier<REQUEST> requestSupplier,
+            Function<REQUEST, ? extends CompletionStage<RESPONSE>> functionCall,
+            Predicate<RESPONSE> terminationPredicate) {
+        CompletableFuture<Optional<RESPONSE>> result = new CompletableFuture<>();
+        WaitContext context = new WaitContext(System.currentTimeMillis());
+        attempt(context, requestSupplier, functionCall, terminationPredicate, result);
+        return result;
+    }
+
+    private <REQUEST, RESPONSE> void attempt(
+            final WaitContext context,
+            final Supplier<REQUEST> requestSupplier,
+            final Function<REQUEST, ? extends CompletionStage<RESPONSE>> functionCall,
+            final Predicate<RESPONSE> terminationPredicate,
+            final CompletableFuture<Optional<RESPONSE>> result) {
+        if (result.isDone()) {
+            LOG.debug("Waiter cancelled, context at: {}", context);
+            return;
+        }
+
+        LOG.debug("Invoking function call");
+        final CompletionStage<RESPONSE> stage;
+        try {
+            stage = functionCall.apply(requestSupplier.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        stage.whenComplete(
+                (response, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(unwrap(throwable));
+                        return;
+                    }
+                    try {
+                        if (terminationPredicate.apply(response)) {
+                            result.complete(Optional.of(response));
+                            return;
+                        }
+                        context.incrementAttempts();
+                        context.setCurrentTime(System.currentTimeMillis());
+
+                        if (waiterConfiguration.getTerminationStrategy().shouldTerminate(context)) {
+                            LOG.debug(
+                                    "Termination strategy decided to terminate with context at: {}",
+                                    context);
+                            result.complete(Optional.<RESPONSE>absent());
+                            return;
+                        }
+
+                        long delay = waiterConfiguration.getDelayStrategy().nextDelay(context);
+                        LOG.debug("Scheduling next attempt in {}ms, context at: {}", delay, context);
+                        scheduler.schedule(
+                                () ->
+                                        attempt(
+                                                context,
+                                                requestSupplier,
+                                                functionCall,
+                                                terminationPredicate,
+                                                result),
+                                delay,
+                                TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        LOG.info("Waiter scheduler rejected the next attempt");
+                        result.completeExceptionally(e);
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
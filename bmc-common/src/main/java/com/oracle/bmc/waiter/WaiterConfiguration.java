@@ -44,6 +44,19 @@ public class WaiterConfiguration {
             this.currentTime = startTime;
         }
 
+        /**
+         * Creates a context for a loop that counts its attempts itself, for example to get the delay
+         * before a retry from a {@link DelayStrategy}.
+         *
+         * @param startTime The time the first attempt started (ex, System.currentTimeMillis()).
+         * @param attemptsMade The number of attempts that have been made so far.
+         */
+        public WaitContext(long startTime, int attemptsMade) {
+            this.startTime = startTime;
+            this.attemptsMade = attemptsMade;
+            this.currentTime = System.currentTimeMillis();
+        }
+
         // exposed for tests
         void setCurrentTime(long currentTime) {
             this.currentTime = currentTime;
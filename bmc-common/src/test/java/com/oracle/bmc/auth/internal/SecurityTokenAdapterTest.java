@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.auth.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.oracle.bmc.auth.SessionKeySupplier;
+
+public class SecurityTokenAdapterTest {
+
+    @Test
+    public void refreshTimeIsFractionOfLifetime() throws Exception {
+        SecurityTokenAdapter adapter =
+                new SecurityTokenAdapter(
+                        createToken(new Date(100_000L), new Date(1_100_000L)),
+                        mock(SessionKeySupplier.class));
+
+        assertEquals(600_000L, adapter.getRefreshTimeMillis(0.5).longValue());
+        assertEquals(900_000L, adapter.getRefreshTimeMillis(0.8).longValue());
+    }
+
+    @Test
+    public void refreshTimeWithoutIssueTimeStartsWhenReceived() throws Exception {
+        long before = System.currentTimeMillis();
+        long expiration = before + 1_000_000L;
+        SecurityTokenAdapter adapter =
+                new SecurityTokenAdapter(
+                        createToken(null, new Date(expiration)), mock(SessionKeySupplier.class));
+
+        long refreshTime = adapter.getRefreshTimeMillis(0.5);
+        assertTrue(refreshTime >= before + 500_000L);
+        assertTrue(refreshTime <= expiration);
+    }
+
+    @Test
+    public void noRefreshTimeWithoutToken() {
+        assertNull(
+                new SecurityTokenAdapter(null, mock(SessionKeySupplier.class))
+                        .getRefreshTimeMillis(0.5));
+    }
+
+    private static String createToken(Date issueTime, Date expirationTime) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        SignedJWT jwt =
+                new SignedJWT(
+                        new JWSHeader(JWSAlgorithm.RS256),
+                        new JWTClaimsSet.Builder()
+                                .issueTime(issueTime)
+                                .expirationTime(expirationTime)
+                                .build());
+        jwt.sign(new RSASSASigner((RSAPrivateKey) keyPair.getPrivate()));
+        return jwt.serialize();
+    }
+}
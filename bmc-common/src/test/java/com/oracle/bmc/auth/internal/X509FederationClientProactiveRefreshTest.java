@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.auth.internal;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.oracle.bmc.auth.X509CertificateSupplier;
+import com.oracle.bmc.http.internal.RestClient;
+import com.oracle.bmc.http.internal.WrappedInvocationBuilder;
+import com.oracle.bmc.http.internal.WrappedWebTarget;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.requests.BmcRequest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the proactive refresh of {@link X509FederationClient} against a mocked federation endpoint.
+ */
+public class X509FederationClientProactiveRefreshTest {
+    private static final long TOKEN_LIFETIME_MILLIS = 1_000_000L;
+    private static final double PROACTIVE_REFRESH_FRACTION = 0.5;
+
+    @Mock private RestClient federationHttpClient;
+    @Mock private StagingSessionKeySupplier sessionKeySupplier;
+    @Mock private ScheduledExecutorService proactiveRefreshExecutor;
+    @Mock private ScheduledFuture<?> scheduledRefresh;
+
+    private final List<KeyPair> keyPairs = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final AtomicReference<Supplier<KeyPair>> keyPairSource = new AtomicReference<>();
+    private final AtomicReference<Runnable> duringTokenRequest = new AtomicReference<>();
+    private volatile boolean federationServiceFails;
+    private KeyPair signingKeyPair;
+    private X509FederationClient clientUnderTest;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        signingKeyPair = generator.generateKeyPair();
+        final KeyPair initialKeyPair = generator.generateKeyPair();
+        when(sessionKeySupplier.getKeyPair())
+                .thenAnswer(
+                        invocation ->
+                                keyPairSource.get() != null
+                                        ? keyPairSource.get().get()
+                                        : initialKeyPair);
+        when(sessionKeySupplier.generateKeyPair())
+                .thenAnswer(
+                        invocation -> {
+                            final KeyPair keyPair = generator.generateKeyPair();
+                            keyPairs.add(keyPair);
+                            return keyPair;
+                        });
+        doAnswer(
+                        invocation -> {
+                            keyPairSource.set(
+                                    invocation.getArgumentAt(0, Supplier.class));
+                            return null;
+                        })
+                .when(sessionKeySupplier)
+                .setKeyPairSource(any(Supplier.class));
+
+        final WebTarget target = mock(WebTarget.class);
+        when(federationHttpClient.getBaseTarget()).thenReturn(new WrappedWebTarget(target));
+        when(target.path(anyString())).thenReturn(target);
+        when(target.request()).thenReturn(mock(Invocation.Builder.class));
+        when(target.getUri()).thenReturn(URI.create("https://auth.example.com/v1/x509"));
+        when(
+                        federationHttpClient.post(
+                                any(WrappedInvocationBuilder.class),
+                                any(X509FederationClient.X509FederationRequest.class),
+                                any(BmcRequest.class)))
+                .thenAnswer(
+                        invocation ->
+                                issueToken(
+                                        invocation.getArgumentAt(
+                                                1,
+                                                X509FederationClient.X509FederationRequest
+                                                        .class)));
+
+        doReturn(scheduledRefresh)
+                .when(proactiveRefreshExecutor)
+                .schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        final X509Certificate leafCertificate = mock(X509Certificate.class);
+        when(leafCertificate.getEncoded()).thenReturn(new byte[] {1, 2, 3});
+        final X509CertificateSupplier leafCertificateSupplier =
+                mock(X509CertificateSupplier.class);
+        when(leafCertificateSupplier.getCertificateAndKeyPair())
+                .thenReturn(
+                        new X509CertificateSupplier.CertificateAndPrivateKeyPair(
+                                leafCertificate,
+                                (RSAPrivateKey) generator.generateKeyPair().getPrivate()));
+
+        clientUnderTest =
+                new X509FederationClient(
+                        federationClient -> federationHttpClient,
+                        "tenantId",
+                        leafCertificateSupplier,
+                        sessionKeySupplier,
+                        Collections.<X509CertificateSupplier>emptySet(),
+                        null,
+                        PROACTIVE_REFRESH_FRACTION,
+                        proactiveRefreshExecutor);
+    }
+
+    @Test
+    public void refreshScheduledAtFractionOfTokenLifetime() {
+        final long before = System.currentTimeMillis();
+        final String token = clientUnderTest.getSecurityToken();
+        assertEquals(tokens.get(0), token);
+
+        final ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(proactiveRefreshExecutor)
+                .schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        // the token is issued at the start of the second, see issueToken
+        final long lifetimeFractionMillis =
+                (long) (TOKEN_LIFETIME_MILLIS * PROACTIVE_REFRESH_FRACTION);
+        assertTrue(delay.getValue() <= lifetimeFractionMillis);
+        assertTrue(
+                delay.getValue()
+                        >= lifetimeFractionMillis - 1000L - (System.currentTimeMillis() - before));
+    }
+
+    @Test
+    public void proactiveRefreshPublishesKeyPairAndTokenTogether() {
+        final String firstToken = clientUnderTest.getSecurityToken();
+        final KeyPair firstKeyPair = keyPairs.get(0);
+        assertSame(firstKeyPair, keyPairSource.get().get());
+
+        // requests keep using the current key pair and token while the new token is requested
+        duringTokenRequest.set(
+                () -> {
+                    assertSame(firstKeyPair, keyPairSource.get().get());
+                    assertEquals(firstToken, clientUnderTest.getSecurityToken());
+                });
+        scheduledRefreshTask().run();
+
+        assertEquals(2, keyPairs.size());
+        assertSame(keyPairs.get(1), keyPairSource.get().get());
+        assertEquals(tokens.get(1), clientUnderTest.getSecurityToken());
+        verify(proactiveRefreshExecutor, times(2))
+                .schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void failedProactiveRefreshRetried() {
+        final String firstToken = clientUnderTest.getSecurityToken();
+        final Runnable refreshTask = scheduledRefreshTask();
+
+        federationServiceFails = true;
+        refreshTask.run();
+
+        verify(proactiveRefreshExecutor)
+                .schedule(
+                        any(Runnable.class),
+                        eq(X509FederationClient.PROACTIVE_REFRESH_RETRY_DELAY_MILLIS),
+                        eq(TimeUnit.MILLISECONDS));
+        // the current key pair and token are kept
+        assertSame(keyPairs.get(0), keyPairSource.get().get());
+        assertEquals(firstToken, clientUnderTest.getSecurityToken());
+    }
+
+    @Test
+    public void closeCancelsScheduledRefresh() {
+        clientUnderTest.getSecurityToken();
+        final Runnable refreshTask = scheduledRefreshTask();
+
+        clientUnderTest.close();
+        verify(scheduledRefresh).cancel(false);
+
+        // neither a task that already started nor a refresh on demand schedules a refresh again
+        refreshTask.run();
+        clientUnderTest.refreshAndGetSecurityToken();
+        assertEquals(2, tokens.size());
+        verify(proactiveRefreshExecutor, times(1))
+                .schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private Runnable scheduledRefreshTask() {
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(proactiveRefreshExecutor, times(1))
+                .schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        return task.getValue();
+    }
+
+    private Response issueToken(X509FederationClient.X509FederationRequest request)
+            throws Exception {
+        if (duringTokenRequest.get() != null) {
+            duringTokenRequest.get().run();
+        }
+        if (federationServiceFails) {
+            throw new BmcException(500, "InternalServerError", "Failed", "RequestId");
+        }
+        KeyPair keyPair = null;
+        for (KeyPair candidate : keyPairs) {
+            if (AuthUtils.base64EncodeNoChunking((RSAPublicKey) candidate.getPublic())
+                    .equals(request.getPublicKey())) {
+                keyPair = candidate;
+            }
+        }
+        final String token = createToken((RSAPublicKey) keyPair.getPublic());
+        tokens.add(token);
+
+        final Response response = mock(Response.class);
+        when(response.getStatusInfo()).thenReturn(Response.Status.OK);
+        when(response.getStatus()).thenReturn(200);
+        when(response.getStringHeaders()).thenReturn(new MultivaluedHashMap<String, String>());
+        when(response.readEntity(X509FederationClient.SecurityToken.class))
+                .thenReturn(new X509FederationClient.SecurityToken(token));
+        return response;
+    }
+
+    private String createToken(RSAPublicKey sessionPublicKey) throws Exception {
+        // JWT times have a precision of seconds
+        final long issueTime = System.currentTimeMillis() / 1000L * 1000L;
+        final SignedJWT jwt =
+                new SignedJWT(
+                        new JWSHeader(JWSAlgorithm.RS256),
+                        new JWTClaimsSet.Builder()
+                                .issueTime(new Date(issueTime))
+                                .expirationTime(new Date(issueTime + TOKEN_LIFETIME_MILLIS))
+                                .claim(
+                                        "jwk",
+                                        new RSAKey.Builder(sessionPublicKey)
+                                                .keyID("sessionKey")
+                                                .build()
+                                                .toJSONString())
+                                .build());
+        jwt.sign(new RSASSASigner((RSAPrivateKey) signingKeyPair.getPrivate()));
+        return jwt.serialize();
+    }
+}
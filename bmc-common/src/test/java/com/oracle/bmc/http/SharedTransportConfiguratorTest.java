@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http;
+
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.Test;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import java.lang.reflect.Field;
+import java.net.URL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for SharedTransportConfigurator.
+ */
+public class SharedTransportConfiguratorTest {
+    @Test
+    public void clientsShareSslContext() {
+        SharedTransportConfigurator configurator = new SharedTransportConfigurator();
+
+        JerseyClient client1 = newClient(configurator);
+        JerseyClient client2 = newClient(configurator);
+
+        assertSame(configurator.getSslContext(), client1.getSslContext());
+        assertSame(configurator.getSslContext(), client2.getSslContext());
+    }
+
+    @Test
+    public void clientsWithoutConfiguratorDoNotShareSslContext() {
+        JerseyClient client1 = JerseyClientBuilder.createClient();
+        JerseyClient client2 = JerseyClientBuilder.createClient();
+
+        assertNotSame(client1.getSslContext(), client2.getSslContext());
+    }
+
+    @Test
+    public void configuratorsDoNotShareSslContext() {
+        assertNotSame(
+                newClient(new SharedTransportConfigurator()).getSslContext(),
+                newClient(new SharedTransportConfigurator()).getSslContext());
+    }
+
+    @Test
+    public void sslSessionCacheConfigured() {
+        SharedTransportConfigurator configurator =
+                SharedTransportConfigurator.builder()
+                        .sslSessionCacheSize(100)
+                        .sslSessionTimeoutSeconds(300)
+                        .build();
+
+        SSLContext sslContext = newClient(configurator).getSslContext();
+        assertEquals(100, sslContext.getClientSessionContext().getSessionCacheSize());
+        assertEquals(300, sslContext.getClientSessionContext().getSessionTimeout());
+    }
+
+    @Test
+    public void clientsShareSslSocketFactory() throws Exception {
+        SharedTransportConfigurator configurator = new SharedTransportConfigurator();
+
+        assertSame(configurator.getSslSocketFactory(), openConnection(newClient(configurator)));
+        assertSame(configurator.getSslSocketFactory(), openConnection(newClient(configurator)));
+    }
+
+    @Test
+    public void sslContextPassedInNotChanged() throws Exception {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        int cacheSize = sslContext.getClientSessionContext().getSessionCacheSize();
+
+        SharedTransportConfigurator configurator =
+                SharedTransportConfigurator.builder().sslContext(sslContext).build();
+
+        assertSame(sslContext, newClient(configurator).getSslContext());
+        assertEquals(cacheSize, sslContext.getClientSessionContext().getSessionCacheSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sslSessionCacheSizeWithSslContext() throws Exception {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        SharedTransportConfigurator.builder().sslContext(sslContext).sslSessionCacheSize(1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSslSessionCacheSize() {
+        SharedTransportConfigurator.builder().sslSessionCacheSize(-1).build();
+    }
+
+    private static JerseyClient newClient(SharedTransportConfigurator configurator) {
+        JerseyClientBuilder builder = new JerseyClientBuilder();
+        DefaultConfigurator defaultConfigurator = new DefaultConfigurator();
+        defaultConfigurator.customizeBuilder(builder);
+        configurator.customizeBuilder(builder);
+        JerseyClient client = builder.build();
+        defaultConfigurator.customizeClient(client);
+        configurator.customizeClient(client);
+        return client;
+    }
+
+    private static Object openConnection(JerseyClient client) throws Exception {
+        HttpUrlConnectorProvider provider =
+                (HttpUrlConnectorProvider) client.getConfiguration().getConnectorProvider();
+        Field field = HttpUrlConnectorProvider.class.getDeclaredField("connectionFactory");
+        field.setAccessible(true);
+        HttpsURLConnection connection =
+                (HttpsURLConnection)
+                        ((HttpUrlConnectorProvider.ConnectionFactory) field.get(provider))
+                                .getConnection(new URL("https://localhost/"));
+        return connection.getSSLSocketFactory();
+    }
+}
@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.internal;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.google.common.collect.ImmutableMap;
+import lombok.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation per serialized request body, with the {@link ExplicitlySetFilter} and
+ * with the previous implementation that looked up the fields reflectively for every property.
+ * <p>
+ * The models have the shape of the generated LaunchInstanceDetails and UpdateRowDetails: some
+ * properties set, some explicitly set to null, and the rest unset.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.oracle.bmc.http.internal.ExplicitlySetFilterBenchmark}; the GC profiler
+ * reports allocation per request body as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExplicitlySetFilterBenchmark {
+    private ObjectMapper cachedMapper;
+    private ObjectMapper reflectiveMapper;
+    private LaunchInstanceDetails launchInstanceDetails;
+    private UpdateRowDetails updateRowDetails;
+
+    @Setup
+    public void setUp() {
+        cachedMapper = new ObjectMapper();
+        cachedMapper.setFilterProvider(
+                new SimpleFilterProvider()
+                        .addFilter(ExplicitlySetFilter.NAME, ExplicitlySetFilter.INSTANCE));
+        reflectiveMapper = new ObjectMapper();
+        reflectiveMapper.setFilterProvider(
+                new SimpleFilterProvider()
+                        .addFilter(ExplicitlySetFilter.NAME, new ReflectiveExplicitlySetFilter()));
+
+        launchInstanceDetails =
+                new LaunchInstanceDetails(
+                        "Uocm:PHX-AD-1",
+                        "ocid1.compartment.oc1..aaaaaaaa",
+                        null,
+                        null,
+                        "instance-1",
+                        ImmutableMap.of("Operations", (Object) ImmutableMap.of("CostCenter", "42")),
+                        null,
+                        ImmutableMap.of("Department", "Finance"),
+                        "hostname-1",
+                        null,
+                        null,
+                        "Native",
+                        ImmutableMap.of("ssh_authorized_keys", "ssh-rsa AAAAB3NzaC1yc2E"),
+                        null,
+                        "VM.Standard2.1",
+                        "ocid1.subnet.oc1.phx.aaaaaaaa",
+                        null,
+                        Boolean.TRUE);
+        launchInstanceDetails.__explicitlySet__.addAll(
+                Arrays.asList(
+                        "availabilityDomain",
+                        "compartmentId",
+                        "dedicatedVmHostId",
+                        "displayName",
+                        "definedTags",
+                        "freeformTags",
+                        "hostnameLabel",
+                        "ipxeScript",
+                        "launchMode",
+                        "metadata",
+                        "shape",
+                        "subnetId",
+                        "isPvEncryptionInTransitEnabled"));
+
+        updateRowDetails =
+                new UpdateRowDetails(
+                        "ocid1.compartment.oc1..aaaaaaaa",
+                        ImmutableMap.<String, Object>of("id", 1, "name", "row-1"),
+                        null,
+                        Boolean.FALSE,
+                        5000,
+                        null,
+                        null,
+                        null,
+                        null);
+        updateRowDetails.__explicitlySet__.addAll(
+                Arrays.asList("compartmentId", "value", "isGetReturnRow", "timeoutInMs", "ttl"));
+    }
+
+    @Benchmark
+    public String launchInstanceDetailsCached() throws JsonProcessingException {
+        return cachedMapper.writeValueAsString(launchInstanceDetails);
+    }
+
+    @Benchmark
+    public String launchInstanceDetailsReflective() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsString(launchInstanceDetails);
+    }
+
+    @Benchmark
+    public String updateRowDetailsCached() throws JsonProcessingException {
+        return cachedMapper.writeValueAsString(updateRowDetails);
+    }
+
+    @Benchmark
+    public String updateRowDetailsReflective() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsString(updateRowDetails);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(ExplicitlySetFilterBenchmark.class.getSimpleName())
+                                .addProfiler(GCProfiler.class)
+                                .build())
+                .run();
+    }
+
+    /**
+     * The previous implementation, for comparison.
+     */
+    private static class ReflectiveExplicitlySetFilter extends SimpleBeanPropertyFilter {
+        @Override
+        public void serializeAsField(
+                Object pojo,
+                JsonGenerator jgen,
+                SerializerProvider provider,
+                PropertyWriter writer)
+                throws Exception {
+            if (!ExplicitlySetFilter.FIELD_NAME.equals(writer.getName())) {
+                Field field = getDeclaredField(pojo.getClass(), writer.getName());
+                boolean accessible = field.isAccessible();
+                try {
+                    field.setAccessible(true);
+                    if (field.get(pojo) != null) {
+                        writer.serializeAsField(pojo, jgen, provider);
+                    } else {
+                        Field explicitField =
+                                pojo.getClass().getDeclaredField(ExplicitlySetFilter.FIELD_NAME);
+                        boolean explicitAccessible = explicitField.isAccessible();
+                        try {
+                            explicitField.setAccessible(true);
+                            if (((Set<String>) explicitField.get(pojo))
+                                    .contains(writer.getName())) {
+                                writer.serializeAsField(pojo, jgen, provider);
+                            }
+                        } finally {
+                            explicitField.setAccessible(explicitAccessible);
+                        }
+                    }
+                } finally {
+                    field.setAccessible(accessible);
+                }
+            }
+        }
+
+        private static Field getDeclaredField(Class<?> pojoClass, String fieldName)
+                throws NoSuchFieldException {
+            try {
+                return pojoClass.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException nsfe) {
+                if (pojoClass.getSuperclass() != null) {
+                    return getDeclaredField(pojoClass.getSuperclass(), fieldName);
+                }
+                throw nsfe;
+            }
+        }
+    }
+
+    @Value
+    @JsonFilter(ExplicitlySetFilter.NAME)
+    private static class LaunchInstanceDetails {
+        @JsonProperty("availabilityDomain")
+        String availabilityDomain;
+
+        @JsonProperty("compartmentId")
+        String compartmentId;
+
+        @JsonProperty("clusterPlacementGroupId")
+        String clusterPlacementGroupId;
+
+        @JsonProperty("dedicatedVmHostId")
+        String dedicatedVmHostId;
+
+        @JsonProperty("displayName")
+        String displayName;
+
+        @JsonProperty("definedTags")
+        Map<String, Object> definedTags;
+
+        @JsonProperty("extendedMetadata")
+        Map<String, Object> extendedMetadata;
+
+        @JsonProperty("freeformTags")
+        Map<String, String> freeformTags;
+
+        @JsonProperty("hostnameLabel")
+        String hostnameLabel;
+
+        @JsonProperty("imageId")
+        String imageId;
+
+        @JsonProperty("ipxeScript")
+        String ipxeScript;
+
+        @JsonProperty("launchMode")
+        String launchMode;
+
+        @JsonProperty("metadata")
+        Map<String, String> metadata;
+
+        @JsonProperty("faultDomain")
+        String faultDomain;
+
+        @JsonProperty("shape")
+        String shape;
+
+        @JsonProperty("subnetId")
+        String subnetId;
+
+        @JsonProperty("agentConfig")
+        Map<String, Object> agentConfig;
+
+        @JsonProperty("isPvEncryptionInTransitEnabled")
+        Boolean isPvEncryptionInTransitEnabled;
+
+        @JsonIgnore private final Set<String> __explicitlySet__ = new HashSet<String>();
+    }
+
+    @Value
+    @JsonFilter(ExplicitlySetFilter.NAME)
+    private static class UpdateRowDetails {
+        @JsonProperty("compartmentId")
+        String compartmentId;
+
+        @JsonProperty("value")
+        Map<String, Object> value;
+
+        @JsonProperty("option")
+        String option;
+
+        @JsonProperty("isGetReturnRow")
+        Boolean isGetReturnRow;
+
+        @JsonProperty("timeoutInMs")
+        Integer timeoutInMs;
+
+        @JsonProperty("ttl")
+        Integer ttl;
+
+        @JsonProperty("isTtlUseTableDefault")
+        Boolean isTtlUseTableDefault;
+
+        @JsonProperty("identityCacheSize")
+        Integer identityCacheSize;
+
+        @JsonProperty("isExactMatch")
+        Boolean isExactMatch;
+
+        @JsonIgnore private final Set<String> __explicitlySet__ = new HashSet<String>();
+    }
+}
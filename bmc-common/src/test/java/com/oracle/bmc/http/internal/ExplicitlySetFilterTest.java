@@ -19,11 +19,12 @@ import java.io.IOException;
 import java.net.URI;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
-@Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
 public class ExplicitlySetFilterTest {
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void testFieldInSuperclass() throws Exception {
         Subclass pojo = Subclass.builder().baseVal(1).subVal("two").build();
@@ -40,6 +41,7 @@ public class ExplicitlySetFilterTest {
         verifyNoMoreInteractions(writer);
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void testFieldInSubclass() throws Exception {
         Subclass pojo = Subclass.builder().baseVal(1).subVal("two").build();
@@ -56,6 +58,7 @@ public class ExplicitlySetFilterTest {
         verifyNoMoreInteractions(writer);
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void testExplicitNullFieldInSuperclass() throws Exception {
         Subclass pojo = Subclass.builder().baseVal(null).subVal("two").build();
@@ -72,6 +75,7 @@ public class ExplicitlySetFilterTest {
         verifyNoMoreInteractions(writer);
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void testExplicitNullInSubclass() throws Exception {
         Subclass pojo = Subclass.builder().baseVal(1).subVal(null).build();
@@ -88,6 +92,7 @@ public class ExplicitlySetFilterTest {
         verifyNoMoreInteractions(writer);
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void testNullFieldInSuperclass() throws Exception {
         Subclass pojo = Subclass.builder().subVal("two").build();
@@ -103,6 +108,7 @@ public class ExplicitlySetFilterTest {
         verifyNoMoreInteractions(writer);
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void testNullInSubclass() throws Exception {
         Subclass pojo = Subclass.builder().baseVal(1).build();
@@ -118,6 +124,7 @@ public class ExplicitlySetFilterTest {
         verifyNoMoreInteractions(writer);
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void deserializeNoDiscriminator() throws IOException {
         Subclass sub = Subclass.builder().baseVal(1).subVal("two").build();
@@ -149,6 +156,7 @@ public class ExplicitlySetFilterTest {
         }
     }
 
+    @Ignore("DEX-1801: Fix Mockito Problem in Release TeamCity Job")
     @Test
     public void serializeSnakeCasedParameter() {
         Subclass sub = Subclass.builder().baseVal(1).subVal("two").majorVersion("1.0").build();
@@ -157,6 +165,59 @@ public class ExplicitlySetFilterTest {
         assertTrue(serializedBody.contains("\"major_version\":\"1.0\""));
     }
 
+    @Test
+    public void serialize_explicitlySetValues() throws Exception {
+        String json = serialize(Subclass.builder().baseVal(1).subVal("two").build());
+
+        assertTrue(json.contains("\"baseVal\":1"));
+        assertTrue(json.contains("\"subVal\":\"two\""));
+        assertFalse(json.contains("major_version"));
+    }
+
+    @Test
+    public void serialize_explicitlySetNulls() throws Exception {
+        String json = serialize(Subclass.builder().baseVal(null).subVal(null).build());
+
+        assertTrue(json.contains("\"baseVal\":null"));
+        assertTrue(json.contains("\"subVal\":null"));
+        assertFalse(json.contains("major_version"));
+    }
+
+    @Test
+    public void serialize_neverSetFieldsOmitted() throws Exception {
+        String json = serialize(Subclass.builder().build());
+
+        assertFalse(json.contains("baseVal"));
+        assertFalse(json.contains("subVal"));
+        assertFalse(json.contains("major_version"));
+    }
+
+    @Test
+    public void serialize_cachedFieldsReadFromEachInstance() throws Exception {
+        // the fields are looked up once per class, the values and explicitly set fields must
+        // still come from the instance being serialized
+        for (int i = 0; i < 3; i++) {
+            String set = serialize(Subclass.builder().baseVal(i).majorVersion("1." + i).build());
+            assertTrue(set.contains("\"baseVal\":" + i));
+            assertTrue(set.contains("\"major_version\":\"1." + i + "\""));
+            assertFalse(set.contains("subVal"));
+
+            String explicitNull = serialize(Subclass.builder().subVal(null).build());
+            assertTrue(explicitNull.contains("\"subVal\":null"));
+            assertFalse(explicitNull.contains("baseVal"));
+            assertFalse(explicitNull.contains("major_version"));
+
+            String notSet = serialize(Subclass.builder().subVal("two").build());
+            assertTrue(notSet.contains("\"subVal\":\"two\""));
+            assertFalse(notSet.contains("baseVal"));
+            assertFalse(notSet.contains("major_version"));
+        }
+    }
+
+    private static String serialize(Object o) throws Exception {
+        return RestClientFactory.getObjectMapper().writeValueAsString(o);
+    }
+
     private static String serializeForPost(Object o) {
         Client client = mock(Client.class);
         EntityFactory ef = mock(EntityFactory.class);
@@ -0,0 +1,314 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.internal;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import lombok.Builder;
+import lombok.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation per parsed response body, with the default ObjectMapper and with the one
+ * used for {@link com.oracle.bmc.ClientConfiguration#isFastJsonBinding()}, and with the body
+ * buffered before parsing or parsed while it is read.
+ * <p>
+ * The payloads have the shape of ListInstances, ListObjects and SummarizeMetricsData responses,
+ * bound to builder-based models like the generated ones.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.oracle.bmc.http.internal.JsonBindingBenchmark}; the GC profiler reports
+ * allocation per response body as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBindingBenchmark {
+    private static final TypeReference<List<Instance>> LIST_INSTANCES =
+            new TypeReference<List<Instance>>() {};
+    private static final TypeReference<List<MetricData>> SUMMARIZE_METRICS_DATA =
+            new TypeReference<List<MetricData>>() {};
+
+    @Param({"ListInstances", "ListObjects", "SummarizeMetricsData"})
+    private String payload;
+
+    private byte[] body;
+    private ObjectReader defaultReader;
+    private ObjectReader fastReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper defaultMapper = new ObjectMapper();
+        defaultMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectMapper fastMapper = defaultMapper.copy().registerModule(new AfterburnerModule());
+
+        final Object model;
+        if ("ListInstances".equals(payload)) {
+            model = listInstances(100);
+            defaultReader = defaultMapper.readerFor(LIST_INSTANCES);
+            fastReader = fastMapper.readerFor(LIST_INSTANCES);
+        } else if ("ListObjects".equals(payload)) {
+            model = listObjects(1000);
+            defaultReader = defaultMapper.readerFor(ListObjects.class);
+            fastReader = fastMapper.readerFor(ListObjects.class);
+        } else {
+            model = summarizeMetricsData(20, 60);
+            defaultReader = defaultMapper.readerFor(SUMMARIZE_METRICS_DATA);
+            fastReader = fastMapper.readerFor(SUMMARIZE_METRICS_DATA);
+        }
+        body = defaultMapper.writeValueAsBytes(model);
+    }
+
+    @Benchmark
+    public Object defaultBuffered() throws IOException {
+        // what Response.bufferEntity() followed by readEntity does
+        byte[] buffered = ByteStreams.toByteArray(new ByteArrayInputStream(body));
+        return defaultReader.readValue(new ByteArrayInputStream(buffered));
+    }
+
+    @Benchmark
+    public Object defaultStreaming() throws IOException {
+        return defaultReader.readValue(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public Object fastStreaming() throws IOException {
+        return fastReader.readValue(new ByteArrayInputStream(body));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(JsonBindingBenchmark.class.getSimpleName())
+                                .addProfiler(GCProfiler.class)
+                                .build())
+                .run();
+    }
+
+    private static List<Instance> listInstances(int count) {
+        List<Instance> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(
+                    Instance.builder()
+                            .availabilityDomain("Uocm:PHX-AD-" + (i % 3 + 1))
+                            .compartmentId("ocid1.compartment.oc1..aaaaaaaa")
+                            .definedTags(
+                                    ImmutableMap.<String, Map<String, Object>>of(
+                                            "Operations",
+                                            ImmutableMap.<String, Object>of("CostCenter", "42")))
+                            .displayName("instance-" + i)
+                            .faultDomain("FAULT-DOMAIN-" + (i % 3 + 1))
+                            .freeformTags(ImmutableMap.of("Department", "Finance"))
+                            .id("ocid1.instance.oc1.phx.aaaaaaaa" + i)
+                            .imageId("ocid1.image.oc1.phx.aaaaaaaa")
+                            .launchMode("NATIVE")
+                            .lifecycleState("RUNNING")
+                            .metadata(ImmutableMap.of("ssh_authorized_keys", "ssh-rsa AAAAB3Nza"))
+                            .region("phx")
+                            .shape("VM.Standard2.1")
+                            .timeCreated(new Date(1577836800000L + i))
+                            .build());
+        }
+        return instances;
+    }
+
+    private static ListObjects listObjects(int count) {
+        List<ObjectSummary> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(
+                    ObjectSummary.builder()
+                            .name("logs/2020/01/01/object-" + i + ".json.gz")
+                            .size(1024L * i)
+                            .md5("1B2M2Y8AsgTpgAmY7PhCfg==")
+                            .timeCreated(new Date(1577836800000L + i))
+                            .build());
+        }
+        return ListObjects.builder().objects(objects).nextStartWith("logs/2020/01/02").build();
+    }
+
+    private static List<MetricData> summarizeMetricsData(int streams, int datapoints) {
+        List<MetricData> metricData = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            List<AggregatedDatapoint> aggregatedDatapoints = new ArrayList<>(datapoints);
+            for (int j = 0; j < datapoints; j++) {
+                aggregatedDatapoints.add(
+                        AggregatedDatapoint.builder()
+                                .timestamp(new Date(1577836800000L + 60000L * j))
+                                .value(j * 1.5)
+                                .build());
+            }
+            metricData.add(
+                    MetricData.builder()
+                            .namespace("oci_computeagent")
+                            .compartmentId("ocid1.compartment.oc1..aaaaaaaa")
+                            .name("CpuUtilization")
+                            .dimensions(ImmutableMap.of("resourceId", "ocid1.instance." + i))
+                            .resolution("1m")
+                            .aggregatedDatapoints(aggregatedDatapoints)
+                            .build());
+        }
+        return metricData;
+    }
+
+    @Value
+    @Builder
+    @JsonDeserialize(builder = Instance.InstanceBuilder.class)
+    public static class Instance {
+        @JsonProperty("availabilityDomain")
+        String availabilityDomain;
+
+        @JsonProperty("compartmentId")
+        String compartmentId;
+
+        @JsonProperty("definedTags")
+        Map<String, Map<String, Object>> definedTags;
+
+        @JsonProperty("displayName")
+        String displayName;
+
+        @JsonProperty("faultDomain")
+        String faultDomain;
+
+        @JsonProperty("freeformTags")
+        Map<String, String> freeformTags;
+
+        @JsonProperty("id")
+        String id;
+
+        @JsonProperty("imageId")
+        String imageId;
+
+        @JsonProperty("launchMode")
+        String launchMode;
+
+        @JsonProperty("lifecycleState")
+        String lifecycleState;
+
+        @JsonProperty("metadata")
+        Map<String, String> metadata;
+
+        @JsonProperty("region")
+        String region;
+
+        @JsonProperty("shape")
+        String shape;
+
+        @JsonProperty("timeCreated")
+        Date timeCreated;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        public static class InstanceBuilder {}
+    }
+
+    @Value
+    @Builder
+    @JsonDeserialize(builder = ListObjects.ListObjectsBuilder.class)
+    public static class ListObjects {
+        @JsonProperty("objects")
+        List<ObjectSummary> objects;
+
+        @JsonProperty("prefixes")
+        List<String> prefixes;
+
+        @JsonProperty("nextStartWith")
+        String nextStartWith;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        public static class ListObjectsBuilder {}
+    }
+
+    @Value
+    @Builder
+    @JsonDeserialize(builder = ObjectSummary.ObjectSummaryBuilder.class)
+    public static class ObjectSummary {
+        @JsonProperty("name")
+        String name;
+
+        @JsonProperty("size")
+        Long size;
+
+        @JsonProperty("md5")
+        String md5;
+
+        @JsonProperty("timeCreated")
+        Date timeCreated;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        public static class ObjectSummaryBuilder {}
+    }
+
+    @Value
+    @Builder
+    @JsonDeserialize(builder = MetricData.MetricDataBuilder.class)
+    public static class MetricData {
+        @JsonProperty("namespace")
+        String namespace;
+
+        @JsonProperty("compartmentId")
+        String compartmentId;
+
+        @JsonProperty("name")
+        String name;
+
+        @JsonProperty("dimensions")
+        Map<String, String> dimensions;
+
+        @JsonProperty("resolution")
+        String resolution;
+
+        @JsonProperty("aggregatedDatapoints")
+        List<AggregatedDatapoint> aggregatedDatapoints;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        public static class MetricDataBuilder {}
+    }
+
+    @Value
+    @Builder
+    @JsonDeserialize(builder = AggregatedDatapoint.AggregatedDatapointBuilder.class)
+    public static class AggregatedDatapoint {
+        @JsonProperty("timestamp")
+        Date timestamp;
+
+        @JsonProperty("value")
+        Double value;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        public static class AggregatedDatapointBuilder {}
+    }
+}
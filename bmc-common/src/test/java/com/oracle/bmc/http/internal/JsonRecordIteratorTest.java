@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.internal;
+
+import com.oracle.bmc.model.BmcException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonRecordIteratorTest {
+    @Test
+    public void array_elementsInOrderAndStreamClosed() {
+        final TrackingInputStream stream = stream("[\"a\",\"b\",\"c\"]");
+        final JsonRecordIterator<String> records = records(stream, String.class, null);
+
+        assertEquals(Arrays.asList("a", "b", "c"), readAll(records));
+        assertTrue(stream.closed);
+    }
+
+    @Test
+    public void array_objectElements() {
+        final JsonRecordIterator<Map> records =
+                records(stream("[{\"name\":\"a\",\"size\":1},{\"name\":\"b\"}]"), Map.class, null);
+
+        assertEquals("a", records.next().get("name"));
+        assertEquals("b", records.next().get("name"));
+        assertFalse(records.hasNext());
+    }
+
+    @Test
+    public void array_empty() {
+        final TrackingInputStream stream = stream("[]");
+        final JsonRecordIterator<String> records = records(stream, String.class, null);
+
+        assertFalse(records.hasNext());
+        assertTrue(stream.closed);
+    }
+
+    @Test
+    public void next_afterLastElement() {
+        final JsonRecordIterator<String> records = records(stream("[\"a\"]"), String.class, null);
+        records.next();
+        try {
+            records.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test
+    public void close_beforeEndClosesStream() throws Exception {
+        final TrackingInputStream stream = stream("[\"a\",\"b\"]");
+        final JsonRecordIterator<String> records = records(stream, String.class, null);
+        assertEquals("a", records.next());
+
+        records.close();
+
+        assertTrue(stream.closed);
+        assertFalse(records.hasNext());
+    }
+
+    @Test
+    public void notAnArray_failsAndClosesStream() {
+        final TrackingInputStream stream = stream("{\"a\":1}");
+        final JsonRecordIterator<String> records = records(stream, String.class, null);
+        try {
+            records.hasNext();
+            fail("Expected BmcException");
+        } catch (BmcException e) {
+            assertEquals("opcRequestId", e.getOpcRequestId());
+        }
+        assertTrue(stream.closed);
+        assertFalse(records.hasNext());
+    }
+
+    @Test
+    public void truncatedArray_failsAndClosesStream() {
+        final TrackingInputStream stream = stream("[\"a\",\"b");
+        final JsonRecordIterator<String> records = records(stream, String.class, null);
+        assertEquals("a", records.next());
+        try {
+            records.next();
+            fail("Expected BmcException");
+        } catch (BmcException expected) {
+        }
+        assertTrue(stream.closed);
+    }
+
+    @Test
+    public void arrayField_fieldsAfterArrayReadOnceConsumed() {
+        final TrackingInputStream stream =
+                stream(
+                        "{\"objects\":[{\"name\":\"a\"},{\"name\":\"b\"}],"
+                                + "\"prefixes\":[\"p/\"],\"nextStartWith\":\"c\"}");
+        final JsonRecordIterator<Map> records = records(stream, Map.class, "objects");
+
+        assertEquals("a", records.next().get("name"));
+        try {
+            records.getField("nextStartWith");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals("b", records.next().get("name"));
+        assertFalse(records.hasNext());
+
+        assertTrue(stream.closed);
+        assertEquals("c", records.getField("nextStartWith").asText());
+        assertEquals("p/", records.getField("prefixes").get(0).asText());
+        assertNull(records.getField("missing"));
+    }
+
+    @Test
+    public void arrayField_fieldsBeforeArray() {
+        final JsonRecordIterator<Map> records =
+                records(
+                        stream("{\"nextStartWith\":\"c\",\"objects\":[{\"name\":\"a\"}]}"),
+                        Map.class,
+                        "objects");
+
+        assertEquals(1, readAll(records).size());
+        assertEquals("c", records.getField("nextStartWith").asText());
+    }
+
+    @Test
+    public void arrayField_emptyNullOrMissingArray() {
+        for (String body :
+                Arrays.asList(
+                        "{\"objects\":[],\"nextStartWith\":\"c\"}",
+                        "{\"objects\":null,\"nextStartWith\":\"c\"}",
+                        "{\"nextStartWith\":\"c\"}")) {
+            final TrackingInputStream stream = stream(body);
+            final JsonRecordIterator<Map> records = records(stream, Map.class, "objects");
+
+            assertFalse(body, records.hasNext());
+            assertTrue(body, stream.closed);
+            assertEquals(body, "c", records.getField("nextStartWith").asText());
+        }
+    }
+
+    @Test
+    public void arrayField_lastPageWithoutToken() {
+        final JsonRecordIterator<Map> records =
+                records(
+                        stream("{\"objects\":[{\"name\":\"a\"}],\"prefixes\":[]}"),
+                        Map.class,
+                        "objects");
+
+        assertEquals(1, readAll(records).size());
+        assertNull(records.getField("nextStartWith"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void arrayField_fieldsUnavailableAfterEarlyClose() throws Exception {
+        final JsonRecordIterator<Map> records =
+                records(
+                        stream("{\"objects\":[{\"name\":\"a\"}],\"nextStartWith\":\"c\"}"),
+                        Map.class,
+                        "objects");
+        records.close();
+
+        records.getField("nextStartWith");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getField_withoutObject() {
+        final JsonRecordIterator<String> records = records(stream("[]"), String.class, null);
+        assertFalse(records.hasNext());
+
+        records.getField("nextStartWith");
+    }
+
+    private static <T> JsonRecordIterator<T> records(
+            TrackingInputStream stream, Class<T> elementType, String arrayFieldName) {
+        return new JsonRecordIterator<>(
+                stream,
+                RestClientFactory.getObjectMapper().readerFor(elementType),
+                "opcRequestId",
+                arrayFieldName);
+    }
+
+    private static <T> List<T> readAll(JsonRecordIterator<T> records) {
+        final List<T> result = new ArrayList<>();
+        while (records.hasNext()) {
+            result.add(records.next());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static TrackingInputStream stream(String json) {
+        return new TrackingInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        private TrackingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
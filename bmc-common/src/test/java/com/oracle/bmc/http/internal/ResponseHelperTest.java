@@ -11,6 +11,7 @@ import com.oracle.bmc.io.internal.WrappedResponseInputStream;
 import com.oracle.bmc.model.BmcException;
 import org.junit.Test;
 
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
@@ -22,6 +23,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -135,6 +137,25 @@ public class ResponseHelperTest {
         verify(response).getHeaderString(HttpHeaders.CONTENT_TYPE);
     }
 
+    @Test
+    public void testReadEntity_genericTypeParsedOnceWithoutBuffering() {
+        Response response = mock(Response.class);
+        Response.StatusType statusInfo = mock(Response.StatusType.class);
+        GenericType<List<String>> entityType = new GenericType<List<String>>() {};
+        List<String> entity = ImmutableList.of("one", "two");
+
+        when(response.getStatusInfo()).thenReturn(statusInfo);
+        when(statusInfo.getFamily()).thenReturn(Response.Status.Family.SUCCESSFUL);
+        when(response.readEntity(entityType)).thenReturn(entity);
+
+        // read twice, as async requests do through both an AsyncHandler and the returned Future
+        assertSame(entity, ResponseHelper.readEntity(response, entityType));
+        assertSame(entity, ResponseHelper.readEntity(response, entityType));
+
+        verify(response).readEntity(entityType);
+        verify(response, never()).bufferEntity();
+    }
+
     @Test
     public void testReadEntity_streamWithContentType() {
         Response response = mock(Response.class);
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.internal;
+
+import com.oracle.bmc.ratelimiter.AdaptiveRateLimiter;
+import com.oracle.bmc.ratelimiter.RateLimiterConfiguration;
+import com.oracle.bmc.requests.BmcRequest;
+import com.oracle.bmc.retrier.RetryConfiguration;
+import com.oracle.bmc.util.internal.Consumer;
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import com.oracle.bmc.waiter.MaxAttemptsTerminationStrategy;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.Response;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the in-flight limit of asynchronous requests against a local HTTP server.
+ */
+public class RestClientAsyncTest {
+    private static final RetryConfiguration RETRY_CONFIGURATION =
+            RetryConfiguration.builder()
+                    .terminationStrategy(new MaxAttemptsTerminationStrategy(3))
+                    .delayStrategy(new FixedTimeDelayStrategy(10))
+                    .build();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CountDownLatch slowResponse;
+    private CountDownLatch closedResponses;
+    private Client client;
+
+    @Before
+    public void setUp() throws Exception {
+        slowResponse = new CountDownLatch(1);
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext(
+                "/ok",
+                exchange -> {
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        server.createContext(
+                "/slow",
+                exchange -> {
+                    try {
+                        slowResponse.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        server.createContext(
+                "/slowBody",
+                exchange -> {
+                    try {
+                        slowResponse.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    final byte[] body = "body".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                    exchange.close();
+                });
+        server.start();
+        closedResponses = new CountDownLatch(1);
+        client =
+                ClientBuilder.newClient()
+                        .register(
+                                (ClientResponseFilter)
+                                        (requestContext, responseContext) ->
+                                                responseContext.setEntityStream(
+                                                        new FilterInputStream(
+                                                                responseContext
+                                                                        .getEntityStream()) {
+                                                            @Override
+                                                            public void close()
+                                                                    throws IOException {
+                                                                closedResponses.countDown();
+                                                                super.close();
+                                                            }
+                                                        }));
+    }
+
+    @After
+    public void tearDown() {
+        slowResponse.countDown();
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void handlerSendsRequestAtLimit_withoutRetries() throws Exception {
+        assertHandlerCanSendRequestAtLimit(createRestClient(null));
+    }
+
+    @Test
+    public void handlerSendsRequestAtLimit_withRetries() throws Exception {
+        assertHandlerCanSendRequestAtLimit(createRestClient(RETRY_CONFIGURATION));
+    }
+
+    @Test
+    public void cancel_discardsResponseAndHoldsPermitUntilRequestFinishes() throws Exception {
+        final RestClient restClient = createRestClient(RETRY_CONFIGURATION);
+        final AtomicInteger successes = new AtomicInteger();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch failed = new CountDownLatch(1);
+
+        final Future<Response> cancelled =
+                restClient.get(
+                        builder("/slow"),
+                        new BmcRequest(),
+                        response -> successes.incrementAndGet(),
+                        throwable -> {
+                            error.set(throwable);
+                            failed.countDown();
+                        });
+        assertTrue(cancelled.cancel(true));
+        assertTrue(cancelled.isCancelled());
+        assertTrue(cancelled.isDone());
+        try {
+            cancelled.get();
+            fail("Expected the request to be cancelled");
+        } catch (CancellationException expected) {
+        }
+
+        final ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Response> next =
+                    caller.submit(
+                            () -> restClient.get(builder("/ok"), new BmcRequest(), null, null).get());
+            Thread.sleep(200);
+            assertFalse("the cancelled request still holds the permit", next.isDone());
+            assertEquals(1, failed.getCount());
+
+            slowResponse.countDown();
+            assertEquals(200, next.get(5, TimeUnit.SECONDS).getStatus());
+            assertTrue(failed.await(5, TimeUnit.SECONDS));
+            assertTrue(error.get() instanceof CancellationException);
+            assertEquals(0, successes.get());
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    public void cancel_closesResponseOfAttemptCompletingMeanwhile_withoutRetries()
+            throws Exception {
+        assertResponseOfCancelledRequestClosed(null);
+    }
+
+    @Test
+    public void cancel_closesResponseOfAttemptCompletingMeanwhile_withRetries() throws Exception {
+        assertResponseOfCancelledRequestClosed(RETRY_CONFIGURATION);
+    }
+
+    private void assertResponseOfCancelledRequestClosed(RetryConfiguration retryConfiguration)
+            throws Exception {
+        final AtomicReference<Future<Response>> request = new AtomicReference<>();
+        // the response has arrived, but the attempt is not finished yet when it is cancelled
+        final AdaptiveRateLimiter cancellingRateLimiter =
+                new AdaptiveRateLimiter(RateLimiterConfiguration.builder().build()) {
+                    @Override
+                    public void onResponse(int statusCode) {
+                        request.get().cancel(true);
+                        super.onResponse(statusCode);
+                    }
+                };
+        final RestClient restClient =
+                new RestClient(
+                        client,
+                        new EntityFactory(),
+                        null,
+                        retryConfiguration,
+                        1,
+                        cancellingRateLimiter);
+        restClient.setEndpoint(endpoint());
+
+        request.set(restClient.get(builder("/slowBody"), new BmcRequest(), null, null));
+        slowResponse.countDown();
+
+        assertTrue(
+                "the response of the cancelled request was not closed",
+                closedResponses.await(5, TimeUnit.SECONDS));
+        assertTrue(request.get().isCancelled());
+    }
+
+    private void assertHandlerCanSendRequestAtLimit(RestClient restClient) throws Exception {
+        final CountDownLatch chained = new CountDownLatch(1);
+        final Consumer<Throwable> onError = throwable -> {};
+        restClient.get(
+                builder("/ok"),
+                new BmcRequest(),
+                response -> {
+                    response.close();
+                    restClient.get(
+                            builder("/ok"),
+                            new BmcRequest(),
+                            chainedResponse -> {
+                                chainedResponse.close();
+                                chained.countDown();
+                            },
+                            onError);
+                },
+                onError);
+        assertTrue(
+                "the request sent by the handler did not complete",
+                chained.await(5, TimeUnit.SECONDS));
+    }
+
+    private RestClient createRestClient(RetryConfiguration retryConfiguration) {
+        final RestClient restClient =
+                new RestClient(client, new EntityFactory(), null, retryConfiguration, 1, null);
+        restClient.setEndpoint(endpoint());
+        return restClient;
+    }
+
+    private WrappedInvocationBuilder builder(String path) {
+        final URI uri = URI.create(endpoint() + path);
+        return new WrappedInvocationBuilder(client.target(uri).request(), uri);
+    }
+
+    private String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.signing.internal;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.oracle.bmc.io.internal.KeepOpenInputStream;
+import com.oracle.bmc.util.StreamUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BodyDigestTest {
+
+    @Test
+    public void nullBody() throws IOException {
+        verify(null, new byte[0]);
+    }
+
+    @Test
+    public void asciiString() throws IOException {
+        String body = "{\"header\":[\"value1\",\"value2\"]}";
+        verify(body, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void multiByteStringLargerThanBuffer() throws IOException {
+        // 3-byte and 4-byte sequences, plus an unpaired surrogate that is replaced
+        String body = Strings.repeat("a\u20ac\ud83d\ude00", 10000) + "\ud83d";
+        verify(body, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void duplicatableInputStream() throws IOException {
+        byte[] bytes = randomBytes(100 * 1024 + 7);
+        InputStream body = StreamUtils.createByteArrayInputStream(bytes);
+        verify(body, bytes);
+        // original stream not consumed
+        assertArrayEquals(bytes, ByteStreams.toByteArray(body));
+    }
+
+    @Test
+    public void fileInputStream() throws IOException {
+        byte[] bytes = randomBytes(100 * 1024 + 7);
+        File file = File.createTempFile("body-digest", ".bin");
+        try {
+            Files.write(file.toPath(), bytes);
+            InputStream body = StreamUtils.toInputStream(file);
+            try {
+                verify(body, bytes);
+                assertArrayEquals(bytes, ByteStreams.toByteArray(body));
+            } finally {
+                body.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void keepOpenInputStream() throws IOException {
+        byte[] bytes = randomBytes(100 * 1024 + 7);
+        KeepOpenInputStream body = new KeepOpenInputStream(new ByteArrayInputStream(bytes));
+        verify(body, bytes);
+        // stream was reset
+        assertArrayEquals(bytes, ByteStreams.toByteArray(body));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void plainInputStream() throws IOException {
+        BodyDigest.of(new ByteArrayInputStream(new byte[1]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void byteArray() throws IOException {
+        BodyDigest.of(new byte[1]);
+    }
+
+    private static void verify(Object body, byte[] expectedBytes) throws IOException {
+        BodyDigest digest = BodyDigest.of(body);
+        assertEquals(expectedBytes.length, digest.getContentLength());
+        assertArrayEquals(Hashing.sha256().hashBytes(expectedBytes).asBytes(), digest.getSha256());
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
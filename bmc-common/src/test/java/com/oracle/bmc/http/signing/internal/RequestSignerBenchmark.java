@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.signing.internal;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import com.google.common.base.Suppliers;
+import com.oracle.bmc.http.signing.RequestSigner;
+import com.oracle.bmc.http.signing.SigningStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation per signature of {@link RequestSignerImpl}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.oracle.bmc.http.signing.internal.RequestSignerBenchmark}; the GC profiler
+ * reports allocation per signature as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestSignerBenchmark {
+    private static final String KEY_ID = "ocid1.tenancy.oc1..aaaa/ocid1.user.oc1..aaaa/20:3b:97";
+    private static final URI URI =
+            java.net.URI.create(
+                    "https://objectstorage.us-phoenix-1.oraclecloud.com/n/namespace/b/bucket/o?limit=1000&fields=size");
+
+    private RequestSigner requestSigner;
+    private Map<String, List<String>> getHeaders;
+    private Map<String, List<String>> postHeaders;
+    private String postBody;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final RSAPrivateKey privateKey = (RSAPrivateKey) generator.generateKeyPair().getPrivate();
+        requestSigner =
+                new RequestSignerImpl(
+                        new KeySupplier<RSAPrivateKey>() {
+                            @Override
+                            public Optional<RSAPrivateKey> getKey(String keyId) {
+                                return Optional.of(privateKey);
+                            }
+                        },
+                        SigningStrategy.STANDARD,
+                        Suppliers.ofInstance(KEY_ID));
+
+        getHeaders = new HashMap<>();
+        getHeaders.put("accept", Collections.singletonList("application/json"));
+        getHeaders.put("opc-request-id", Collections.singletonList("6A6B0A2F1C9A4F3C"));
+        getHeaders.put("user-agent", Collections.singletonList("Oracle-JavaSDK/1.23.1"));
+
+        postHeaders = new HashMap<>(getHeaders);
+        postHeaders.put("content-type", Collections.singletonList("application/json"));
+        postBody = "{\"name\":\"" + Strings.repeat("x", 1024) + "\"}";
+    }
+
+    @Benchmark
+    public Map<String, String> signGet() {
+        return requestSigner.signRequest(URI, "GET", getHeaders, null);
+    }
+
+    @Benchmark
+    public Map<String, String> signPost() {
+        return requestSigner.signRequest(URI, "POST", postHeaders, postBody);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(RequestSignerBenchmark.class.getSimpleName())
+                                .addProfiler(GCProfiler.class)
+                                .build())
+                .run();
+    }
+}
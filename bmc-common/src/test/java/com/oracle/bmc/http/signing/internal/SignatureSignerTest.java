@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.http.signing.internal;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SignatureSignerTest {
+    private static final String ALGORITHM = "SHA256withRSA";
+    private static final byte[] MESSAGE = "date: Thu, 05 Jan 2014".getBytes(StandardCharsets.UTF_8);
+
+    private static KeyPair keyPair1;
+    private static KeyPair keyPair2;
+
+    private final SignatureSigner signer = new SignatureSigner();
+
+    @BeforeClass
+    public static void setUpKeys() throws Exception {
+        keyPair1 = generateKeyPair();
+        keyPair2 = generateKeyPair();
+    }
+
+    @Test
+    public void sign_rotatedKey() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(verify(keyPair1.getPublic(), sign(keyPair1)));
+        }
+        final byte[] signed = sign(keyPair2);
+        assertTrue(verify(keyPair2.getPublic(), signed));
+        assertFalse(verify(keyPair1.getPublic(), signed));
+        assertTrue(verify(keyPair1.getPublic(), sign(keyPair1)));
+    }
+
+    @Test
+    public void sign_concurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final KeyPair keyPair = (i % 2 == 0) ? keyPair1 : keyPair2;
+                results.add(executor.submit(() -> verify(keyPair.getPublic(), sign(keyPair))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void sign_doesNotRetainRotatedKey() throws Exception {
+        KeyPair rotatedKeyPair = generateKeyPair();
+        assertTrue(verify(rotatedKeyPair.getPublic(), sign(rotatedKeyPair)));
+        final WeakReference<RSAPrivateKey> rotatedKey =
+                new WeakReference<>((RSAPrivateKey) rotatedKeyPair.getPrivate());
+        rotatedKeyPair = null;
+
+        for (int i = 0; i < 50 && rotatedKey.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("rotated key is still reachable", rotatedKey.get());
+    }
+
+    private byte[] sign(KeyPair keyPair) {
+        return signer.sign((RSAPrivateKey) keyPair.getPrivate(), MESSAGE, ALGORITHM);
+    }
+
+    private static boolean verify(PublicKey publicKey, byte[] signed) throws Exception {
+        final Signature signature = Signature.getInstance(ALGORITHM);
+        signature.initVerify(publicKey);
+        signature.update(MESSAGE);
+        return signature.verify(signed);
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
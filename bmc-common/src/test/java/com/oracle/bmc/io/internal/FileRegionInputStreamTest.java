@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.io.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileRegionInputStreamTest {
+    private static final String MESSAGE = "abcdefghijklmnopqrstuvwxyz";
+    private File tmpFile;
+    private FileChannel channel;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpFile = File.createTempFile("FileRegionInputStreamTest", null);
+        tmpFile.deleteOnExit();
+
+        try (FileOutputStream fos = new FileOutputStream(tmpFile)) {
+            fos.write(MESSAGE.getBytes());
+        }
+        channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.READ);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        if (tmpFile != null) {
+            tmpFile.delete();
+        }
+    }
+
+    @Test
+    public void readRegion() throws IOException {
+        FileRegionInputStream stream = new FileRegionInputStream(channel, 3, 5);
+
+        assertEquals(5, stream.length());
+        assertEquals("defgh", read(stream));
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void markReset() throws IOException {
+        FileRegionInputStream stream = new FileRegionInputStream(channel, 3, 10);
+        assertTrue(stream.markSupported());
+
+        stream.read();
+        stream.read();
+        stream.mark(100);
+        assertEquals('f', stream.read());
+        assertEquals(3L, stream.skip(3L));
+        assertEquals('j', stream.read());
+
+        stream.reset();
+        assertEquals('f', stream.read());
+    }
+
+    @Test
+    public void mappedRegionIsIndependentOfPosition() throws IOException {
+        FileRegionInputStream stream = new FileRegionInputStream(channel, 20, 6);
+        stream.skip(4L);
+
+        ByteBuffer region = stream.getMappedRegion();
+        assertEquals(6, region.remaining());
+        assertTrue(region.isReadOnly());
+        assertEquals('u', region.get());
+        assertEquals('y', stream.read());
+    }
+
+    @Test
+    public void duplicate() throws IOException {
+        FileRegionInputStream stream = new FileRegionInputStream(channel, 0, 4);
+        stream.read();
+
+        InputStream duplicate = stream.duplicate();
+        assertEquals("abcd", read(duplicate));
+        assertEquals("bcd", read(stream));
+    }
+
+    @Test
+    public void closeDoesNotCloseChannel() throws IOException {
+        new FileRegionInputStream(channel, 0, 4).close();
+
+        assertTrue(channel.isOpen());
+    }
+
+    private static String read(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class CloseableRecordIterableTest {
+
+    @Test
+    public void of_sameRecords() throws Exception {
+        final CloseableRecordIterable<String> iterable =
+                CloseableRecordIterable.of(Arrays.asList("a", "b"));
+
+        final List<String> records = new ArrayList<>();
+        for (String record : iterable) {
+            records.add(record);
+        }
+        try (CloseableRecordIterator<String> iterator = iterable.iterator()) {
+            while (iterator.hasNext()) {
+                records.add(iterator.next());
+            }
+            assertFalse(iterator.hasNext());
+        }
+
+        assertEquals(Arrays.asList("a", "b", "a", "b"), records);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator.internal;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.oracle.bmc.paginator.PrefetchConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public class PrefetchingResponseIteratorTest {
+    private static final PrefetchConfiguration LOOKAHEAD_2 =
+            PrefetchConfiguration.builder().lookahead(2).build();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    public void returnsResponsesInOrder() {
+        Iterator<Page> iterator = iterator(5, LOOKAHEAD_2, -1);
+
+        List<Integer> pages = new ArrayList<>();
+        while (iterator.hasNext()) {
+            pages.add(iterator.next().number);
+        }
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), pages);
+        Assert.assertEquals(5, requests.get());
+    }
+
+    @Test
+    public void fetchesAtMostLookaheadPages() throws Exception {
+        Iterator<Page> iterator = iterator(10, LOOKAHEAD_2, -1);
+
+        awaitRequests(2);
+        Thread.sleep(100);
+        Assert.assertEquals(2, requests.get());
+
+        Assert.assertEquals(0, iterator.next().number);
+        awaitRequests(3);
+        Thread.sleep(100);
+        Assert.assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void failureIsThrownForFailedPage() {
+        Iterator<Page> iterator = iterator(5, LOOKAHEAD_2, 2);
+
+        Assert.assertEquals(0, iterator.next().number);
+        Assert.assertEquals(1, iterator.next().number);
+        try {
+            iterator.hasNext();
+            Assert.fail("Should have thrown");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("page 2", e.getMessage());
+        }
+    }
+
+    @Test
+    public void recordIterableWithPrefetch() {
+        List<String> items = new ArrayList<>();
+        for (String item : recordIterable(3, LOOKAHEAD_2)) {
+            items.add(item);
+        }
+        Assert.assertEquals(
+                Arrays.asList("0-a", "0-b", "1-a", "1-b", "2-a", "2-b"), items);
+    }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        for (PrefetchConfiguration configuration : Arrays.asList(null, LOOKAHEAD_2)) {
+            requests.set(0);
+            List<String> items =
+                    StreamSupport.stream(recordIterable(50, configuration).spliterator(), true)
+                            .map(String::toUpperCase)
+                            .collect(Collectors.toList());
+
+            Assert.assertEquals(100, items.size());
+            Assert.assertEquals("0-A", items.get(0));
+            Assert.assertEquals("49-B", items.get(99));
+            Assert.assertEquals(50, requests.get());
+        }
+    }
+
+    @Test
+    public void splitsOnePageAtATime() {
+        Spliterator<String> spliterator = recordIterable(3, null).spliterator();
+
+        Assert.assertTrue(spliterator.tryAdvance(item -> Assert.assertEquals("0-a", item)));
+        Spliterator<String> rest = spliterator.trySplit();
+        Assert.assertEquals(1, rest.estimateSize());
+        Assert.assertEquals(2, spliterator.trySplit().estimateSize());
+        Assert.assertTrue(spliterator.tryAdvance(item -> Assert.assertEquals("2-a", item)));
+        Assert.assertEquals(1, spliterator.trySplit().estimateSize());
+        Assert.assertNull(spliterator.trySplit());
+    }
+
+    private Iterator<Page> iterator(
+            int pageCount, PrefetchConfiguration configuration, int failingPage) {
+        return new PrefetchingResponseIterator<Object, Integer, Page>(
+                new Object(),
+                nextPageToken(),
+                requestBuilder(),
+                pageRetrieval(pageCount, failingPage),
+                configuration);
+    }
+
+    private ResponseRecordIterable<Object, Integer, Page, String> recordIterable(
+            int pageCount, PrefetchConfiguration configuration) {
+        return new ResponseRecordIterable<Object, Integer, Page, String>(
+                new Supplier<Object>() {
+                    @Override
+                    public Object get() {
+                        return new Object();
+                    }
+                },
+                nextPageToken(),
+                requestBuilder(),
+                pageRetrieval(pageCount, -1),
+                new Function<Page, List<String>>() {
+                    @Override
+                    public List<String> apply(Page page) {
+                        return page.items;
+                    }
+                },
+                configuration);
+    }
+
+    private static Function<Page, String> nextPageToken() {
+        return page -> page.nextPageToken;
+    }
+
+    private static Function<RequestBuilderAndToken<Object>, Integer> requestBuilder() {
+        return input -> input.getToken() == null ? 0 : Integer.valueOf(input.getToken().get());
+    }
+
+    private Function<Integer, Page> pageRetrieval(int pageCount, int failingPage) {
+        return number -> {
+            requests.incrementAndGet();
+            if (number == failingPage) {
+                throw new IllegalArgumentException("page " + number);
+            }
+            return new Page(number, number + 1 < pageCount ? String.valueOf(number + 1) : null);
+        };
+    }
+
+    private void awaitRequests(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && requests.get() < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class Page {
+        private final int number;
+        private final String nextPageToken;
+        private final List<String> items;
+
+        private Page(int number, String nextPageToken) {
+            this.number = number;
+            this.nextPageToken = nextPageToken;
+            this.items =
+                    Collections.unmodifiableList(Arrays.asList(number + "-a", number + "-b"));
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.paginator.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Function;
+import com.oracle.bmc.http.internal.JsonRecordIterator;
+import com.oracle.bmc.http.internal.RestClientFactory;
+import com.oracle.bmc.http.internal.WithHeaders;
+import com.oracle.bmc.paginator.CloseableRecordIterable;
+import com.oracle.bmc.paginator.CloseableRecordIterator;
+import org.junit.Test;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingRecordIteratorTest {
+    private static final Function<WithHeaders<JsonRecordIterator<String>>, String>
+            HEADER_TOKEN = page -> page.getHeaders().getFirst("opc-next-page");
+    private static final Function<WithHeaders<JsonRecordIterator<String>>, String> BODY_TOKEN =
+            page -> {
+                final JsonNode nextStartWith = page.getItem().getField("nextStartWith");
+                return (nextStartWith == null) ? null : nextStartWith.asText();
+            };
+
+    // the page token of each request, null for the first page
+    private final List<String> requests = new ArrayList<>();
+    private final List<TrackingInputStream> streams = new ArrayList<>();
+
+    @Test
+    public void headerToken_recordsOfAllPagesInOrder() {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "[\"a\",\"b\"]|2");
+        pages.put("2", "[\"c\"]|3");
+        pages.put("3", "[\"d\"]|");
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), readAll(iterator(pages, HEADER_TOKEN)));
+        assertEquals(Arrays.asList(null, "2", "3"), requests);
+        assertAllStreamsClosed();
+    }
+
+    @Test
+    public void headerToken_emptyPagesSkipped() {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "[\"a\"]|2");
+        pages.put("2", "[]|3");
+        pages.put("3", "[]|4");
+        pages.put("4", "[\"b\"]|5");
+        pages.put("5", "[]|");
+
+        assertEquals(Arrays.asList("a", "b"), readAll(iterator(pages, HEADER_TOKEN)));
+        assertEquals(Arrays.asList(null, "2", "3", "4", "5"), requests);
+        assertAllStreamsClosed();
+    }
+
+    @Test
+    public void bodyToken_readAfterRecords() {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "{\"objects\":[\"a\",\"b\"],\"prefixes\":[],\"nextStartWith\":\"c\"}|");
+        pages.put("c", "{\"objects\":[],\"nextStartWith\":\"d\"}|");
+        pages.put("d", "{\"nextStartWith\":\"e\",\"objects\":[\"d\"]}|");
+        pages.put("e", "{\"objects\":[\"e\"]}|");
+
+        assertEquals(
+                Arrays.asList("a", "b", "d", "e"), readAll(iterator(pages, BODY_TOKEN, "objects")));
+        assertEquals(Arrays.asList(null, "c", "d", "e"), requests);
+        assertAllStreamsClosed();
+    }
+
+    @Test
+    public void nextPage_requestedOnceRecordsConsumed() {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "{\"objects\":[\"a\",\"b\"],\"nextStartWith\":\"c\"}|");
+        pages.put("c", "{\"objects\":[\"c\"]}|");
+        final StreamingRecordIterator<String, String, String> iterator =
+                iterator(pages, BODY_TOKEN, "objects");
+
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        assertEquals(Collections.singletonList(null), requests);
+        assertTrue(iterator.hasNext());
+        assertEquals(Arrays.asList(null, "c"), requests);
+        assertEquals("c", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasNext());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void close_releasesCurrentPage() throws Exception {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "[\"a\",\"b\"]|2");
+        pages.put("2", "[\"c\"]|");
+        final StreamingRecordIterator<String, String, String> iterator =
+                iterator(pages, HEADER_TOKEN);
+        assertEquals("a", iterator.next());
+
+        iterator.close();
+
+        assertTrue(streams.get(0).closed);
+        assertFalse(iterator.hasNext());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void iterable_newIteratorStartsOver() {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "[\"a\"]|2");
+        pages.put("2", "[\"b\"]|");
+        final StreamingRecordIterable<String, String, String> iterable =
+                new StreamingRecordIterable<>(
+                        () -> "builder",
+                        HEADER_TOKEN,
+                        StreamingRecordIteratorTest::request,
+                        pageStreamFunction(pages, null));
+
+        final List<String> records = new ArrayList<>();
+        for (String record : iterable) {
+            records.add(record);
+        }
+        for (String record : iterable) {
+            records.add(record);
+        }
+
+        assertEquals(Arrays.asList("a", "b", "a", "b"), records);
+        assertEquals(Arrays.asList(null, "2", null, "2"), requests);
+    }
+
+    @Test
+    public void iterable_iteratorClosedByTryWithResources() throws Exception {
+        final Map<String, String> pages = new HashMap<>();
+        pages.put(null, "[\"a\",\"b\"]|");
+        final CloseableRecordIterable<String> iterable =
+                new StreamingRecordIterable<>(
+                        () -> "builder",
+                        HEADER_TOKEN,
+                        StreamingRecordIteratorTest::request,
+                        pageStreamFunction(pages, null));
+
+        try (CloseableRecordIterator<String> iterator = iterable.iterator()) {
+            assertEquals("a", iterator.next());
+        }
+
+        assertAllStreamsClosed();
+    }
+
+    private StreamingRecordIterator<String, String, String> iterator(
+            Map<String, String> pages,
+            Function<WithHeaders<JsonRecordIterator<String>>, String> tokenFunction) {
+        return iterator(pages, tokenFunction, null);
+    }
+
+    private StreamingRecordIterator<String, String, String> iterator(
+            Map<String, String> pages,
+            Function<WithHeaders<JsonRecordIterator<String>>, String> tokenFunction,
+            String arrayFieldName) {
+        return new StreamingRecordIterator<>(
+                "builder",
+                tokenFunction,
+                StreamingRecordIteratorTest::request,
+                pageStreamFunction(pages, arrayFieldName));
+    }
+
+    /*
+     * Each page is "body|opc-next-page header".
+     */
+    private Function<String, WithHeaders<JsonRecordIterator<String>>> pageStreamFunction(
+            Map<String, String> pages, String arrayFieldName) {
+        return token -> {
+            requests.add(token);
+            final String[] page = pages.get(token).split("\\|", -1);
+            final TrackingInputStream stream =
+                    new TrackingInputStream(page[0].getBytes(StandardCharsets.UTF_8));
+            streams.add(stream);
+            final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+            if (!page[1].isEmpty()) {
+                headers.putSingle("opc-next-page", page[1]);
+            }
+            return new WithHeaders<>(
+                    new JsonRecordIterator<>(
+                            stream,
+                            RestClientFactory.getObjectMapper().readerFor(String.class),
+                            null,
+                            arrayFieldName),
+                    headers,
+                    200);
+        };
+    }
+
+    private static String request(RequestBuilderAndToken<String> builderAndToken) {
+        return (builderAndToken.getToken() == null) ? null : builderAndToken.getToken().orNull();
+    }
+
+    private static List<String> readAll(StreamingRecordIterator<String, String, String> iterator) {
+        final List<String> records = new ArrayList<>();
+        while (iterator.hasNext()) {
+            records.add(iterator.next());
+        }
+        return records;
+    }
+
+    private void assertAllStreamsClosed() {
+        for (TrackingInputStream stream : streams) {
+            assertTrue(stream.closed);
+        }
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        private TrackingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.ratelimiter;
+
+import com.google.common.base.Ticker;
+import com.oracle.bmc.model.BmcException;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdaptiveRateLimiterTest {
+
+    @Test
+    public void decreasesOnThrottling() {
+        FakeTicker ticker = new FakeTicker();
+        AdaptiveRateLimiter limiter =
+                new AdaptiveRateLimiter(
+                        RateLimiterConfiguration.builder().initialRate(8.0).build(), ticker);
+
+        limiter.onResponse(429);
+        assertEquals(4.0, limiter.getRate(), 0.001);
+
+        // only one decrease per interval
+        limiter.onResponse(503);
+        assertEquals(4.0, limiter.getRate(), 0.001);
+
+        ticker.advance(1, TimeUnit.SECONDS);
+        limiter.onResponse(503);
+        assertEquals(2.0, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void increasesOnSuccess() {
+        AdaptiveRateLimiter limiter =
+                new AdaptiveRateLimiter(
+                        RateLimiterConfiguration.builder().initialRate(4.0).build(),
+                        new FakeTicker());
+
+        limiter.onResponse(200);
+        assertEquals(4.25, limiter.getRate(), 0.001);
+
+        // other errors do not change the rate
+        limiter.onResponse(500);
+        limiter.onResponse(404);
+        assertEquals(4.25, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void staysWithinBounds() {
+        FakeTicker ticker = new FakeTicker();
+        AdaptiveRateLimiter limiter =
+                new AdaptiveRateLimiter(
+                        RateLimiterConfiguration.builder()
+                                .initialRate(2.0)
+                                .minRate(1.0)
+                                .maxRate(3.0)
+                                .build(),
+                        ticker);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onResponse(200);
+        }
+        assertEquals(3.0, limiter.getRate(), 0.001);
+
+        for (int i = 0; i < 10; i++) {
+            ticker.advance(1, TimeUnit.SECONDS);
+            limiter.onResponse(429);
+        }
+        assertEquals(1.0, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    public void failsFastWithoutWait() {
+        FakeTicker ticker = new FakeTicker();
+        AdaptiveRateLimiter limiter =
+                new AdaptiveRateLimiter(
+                        RateLimiterConfiguration.builder()
+                                .initialRate(1.0)
+                                .maxWait(Duration.ZERO)
+                                .build(),
+                        ticker);
+
+        limiter.acquire("id");
+        try {
+            limiter.acquire("id");
+            fail("Should have thrown");
+        } catch (BmcException e) {
+            assertTrue(e.isClientSide());
+            assertEquals("id", e.getOpcRequestId());
+        }
+
+        ticker.advance(1, TimeUnit.SECONDS);
+        limiter.acquire("id");
+    }
+
+    @Test
+    public void acquireWithoutWaitingDelaysLaterCallers() {
+        FakeTicker ticker = new FakeTicker();
+        AdaptiveRateLimiter limiter =
+                new AdaptiveRateLimiter(
+                        RateLimiterConfiguration.builder()
+                                .initialRate(1.0)
+                                .maxWait(Duration.ofMillis(1500))
+                                .build(),
+                        ticker);
+
+        limiter.acquireWithoutWaiting();
+        limiter.acquireWithoutWaiting();
+        // two seconds of debt, more than the max wait
+        try {
+            limiter.acquire("id");
+            fail("Should have thrown");
+        } catch (BmcException e) {
+            // expected
+        }
+
+        ticker.advance(1, TimeUnit.SECONDS);
+        // one second of debt left, within the max wait
+        limiter.acquire("id");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidConfiguration() {
+        RateLimiterConfiguration.builder().minRate(10.0).maxRate(5.0).build();
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.responses;
+
+import com.oracle.bmc.model.BmcException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AsyncHandlersTest {
+
+    @Test
+    public void completesWithResponse() throws Exception {
+        CompletableFuture<String> future =
+                AsyncHandlers.toCompletableFuture(
+                        (String request, AsyncHandler<String, String> handler) -> {
+                            handler.onSuccess(request, request + "-response");
+                            return mock(Future.class);
+                        },
+                        "request");
+
+        assertEquals("request-response", future.get());
+    }
+
+    @Test
+    public void completesWithError() throws Exception {
+        final BmcException error = new BmcException(500, "InternalServerError", "boom", "id");
+        CompletableFuture<String> future =
+                AsyncHandlers.toCompletableFuture(
+                        (String request, AsyncHandler<String, String> handler) -> {
+                            handler.onError(request, error);
+                            return mock(Future.class);
+                        },
+                        "request");
+
+        try {
+            future.get();
+            fail("Should have thrown");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+
+    @Test
+    public void completesWithSynchronousError() {
+        CompletableFuture<String> future =
+                AsyncHandlers.toCompletableFuture(
+                        (String request, AsyncHandler<String, String> handler) -> {
+                            throw new BmcException(false, "CircuitBreaker is OPEN!", null, null);
+                        },
+                        "request");
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void cancelCancelsRequest() {
+        final Future<String> requestFuture = mock(Future.class);
+        CompletableFuture<String> future =
+                AsyncHandlers.toCompletableFuture(
+                        (String request, AsyncHandler<String, String> handler) -> requestFuture,
+                        "request");
+
+        assertFalse(future.isDone());
+        future.cancel(true);
+
+        verify(requestFuture).cancel(true);
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.retrier;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import com.oracle.bmc.waiter.MaxAttemptsTerminationStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BmcAsyncRetrierTest {
+
+    private static final RetryConfiguration CUSTOM_RETRY_CONFIGURATION =
+            RetryConfiguration.builder()
+                    .terminationStrategy(new MaxAttemptsTerminationStrategy(3))
+                    .delayStrategy(new FixedTimeDelayStrategy(10L))
+                    .build();
+
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void retryForTooManyRequests() throws Exception {
+        final FailingCall call = new FailingCall(2, 429, "TooManyRequests");
+        final BmcAsyncRetrier retrier =
+                new BmcAsyncRetrier(CUSTOM_RETRY_CONFIGURATION, scheduler);
+
+        assertEquals("success", retrier.execute("request", call::apply).get(5, TimeUnit.SECONDS));
+        assertEquals(3, call.calls.get());
+    }
+
+    @Test
+    public void retryForSynchronouslyThrownException() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final BmcAsyncRetrier retrier =
+                new BmcAsyncRetrier(CUSTOM_RETRY_CONFIGURATION, scheduler);
+
+        String response =
+                retrier.execute(
+                                "request",
+                                request -> {
+                                    if (calls.getAndIncrement() == 0) {
+                                        throw new BmcException(
+                                                500, "InternalServerError", "bar", "baz");
+                                    }
+                                    return CompletableFuture.completedFuture("success");
+                                })
+                        .get(5, TimeUnit.SECONDS);
+
+        assertEquals("success", response);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void retriesExhausted() throws Exception {
+        final FailingCall call = new FailingCall(5, 500, "InternalServerError");
+        final BmcAsyncRetrier retrier =
+                new BmcAsyncRetrier(CUSTOM_RETRY_CONFIGURATION, scheduler);
+
+        try {
+            retrier.execute("request", call::apply).get(5, TimeUnit.SECONDS);
+            fail("Should have thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BmcException);
+            assertEquals(500, ((BmcException) e.getCause()).getStatusCode());
+        }
+        assertEquals(3, call.calls.get());
+    }
+
+    @Test
+    public void noRetryForInvalidParameter() throws Exception {
+        final FailingCall call = new FailingCall(1, 400, "InvalidParameter");
+        final BmcAsyncRetrier retrier =
+                new BmcAsyncRetrier(CUSTOM_RETRY_CONFIGURATION, scheduler);
+
+        try {
+            retrier.execute("request", call::apply).get(5, TimeUnit.SECONDS);
+            fail("Should have thrown");
+        } catch (ExecutionException e) {
+            assertEquals(400, ((BmcException) e.getCause()).getStatusCode());
+        }
+        assertEquals(1, call.calls.get());
+    }
+
+    @Test
+    public void noRetryForOtherExceptions() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final BmcAsyncRetrier retrier =
+                new BmcAsyncRetrier(CUSTOM_RETRY_CONFIGURATION, scheduler);
+
+        try {
+            retrier.execute(
+                            "request",
+                            request -> {
+                                calls.incrementAndGet();
+                                CompletableFuture<String> future = new CompletableFuture<>();
+                                future.completeExceptionally(new IllegalStateException("boom"));
+                                return future;
+                            })
+                    .get(5, TimeUnit.SECONDS);
+            fail("Should have thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void cancelStopsRetries() throws Exception {
+        final FailingCall call = new FailingCall(5, 500, "InternalServerError");
+        final BmcAsyncRetrier retrier =
+                new BmcAsyncRetrier(
+                        RetryConfiguration.builder()
+                                .terminationStrategy(new MaxAttemptsTerminationStrategy(5))
+                                .delayStrategy(new FixedTimeDelayStrategy(200L))
+                                .build(),
+                        scheduler);
+
+        retrier.execute("request", call::apply).cancel(false);
+        Thread.sleep(500L);
+
+        assertEquals(1, call.calls.get());
+    }
+
+    private static class FailingCall {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int failures;
+        private final int statusCode;
+        private final String serviceCode;
+
+        private FailingCall(int failures, int statusCode, String serviceCode) {
+            this.failures = failures;
+            this.statusCode = statusCode;
+            this.serviceCode = serviceCode;
+        }
+
+        private CompletableFuture<String> apply(String request) {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            if (calls.getAndIncrement() < failures) {
+                future.completeExceptionally(
+                        new BmcException(statusCode, serviceCode, "bar", "baz"));
+            } else {
+                future.complete("success");
+            }
+            return future;
+        }
+    }
+}
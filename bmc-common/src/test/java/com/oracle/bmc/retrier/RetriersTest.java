@@ -7,11 +7,15 @@ package com.oracle.bmc.retrier;
 import java.io.IOException;
 import java.io.InputStream;
 
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import com.oracle.bmc.waiter.MaxAttemptsTerminationStrategy;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -37,4 +41,30 @@ public class RetriersTest {
         verify(is).reset();
         verifyNoMoreInteractions(is);
     }
+
+    @Test
+    public void testCreatePreferredAsyncRetrier_SingleAttempt() {
+        final RetryConfiguration singleAttempt =
+                RetryConfiguration.builder()
+                        .terminationStrategy(new MaxAttemptsTerminationStrategy(1))
+                        .delayStrategy(new FixedTimeDelayStrategy(0))
+                        .build();
+
+        assertFalse(Retriers.createPreferredAsyncRetrier(singleAttempt, null).isPresent());
+        assertFalse(
+                Retriers.createPreferredAsyncRetrier(
+                                RetryConfiguration.NO_RETRY_CONFIGURATION, null)
+                        .isPresent());
+    }
+
+    @Test
+    public void testCreatePreferredAsyncRetrier_MultipleAttempts() {
+        final RetryConfiguration threeAttempts =
+                RetryConfiguration.builder()
+                        .terminationStrategy(new MaxAttemptsTerminationStrategy(3))
+                        .build();
+
+        assertTrue(Retriers.createPreferredAsyncRetrier(threeAttempts, null).isPresent());
+        assertTrue(Retriers.createPreferredAsyncRetrier(null, threeAttempts).isPresent());
+    }
 }
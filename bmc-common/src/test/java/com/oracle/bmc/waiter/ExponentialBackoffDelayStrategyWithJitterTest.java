@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.waiter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class ExponentialBackoffDelayStrategyWithJitterTest {
+
+    @Test
+    public void getDelays() {
+        ExponentialBackoffDelayStrategyWithJitter strategy =
+                new ExponentialBackoffDelayStrategyWithJitter(100L, 1000L);
+        assertDelayBetween(50L, 100L, strategy, 1);
+        assertDelayBetween(100L, 200L, strategy, 2);
+        assertDelayBetween(200L, 400L, strategy, 3);
+        assertDelayBetween(400L, 800L, strategy, 4);
+        assertDelayBetween(500L, 1000L, strategy, 5);
+        assertDelayBetween(500L, 1000L, strategy, 6);
+    }
+
+    @Test
+    public void getDelays_overflow() {
+        ExponentialBackoffDelayStrategyWithJitter strategy =
+                new ExponentialBackoffDelayStrategyWithJitter(100L, 30000L);
+        for (int attempts = 1; attempts < 100; attempts++) {
+            assertDelayBetween(50L, 30000L, strategy, attempts);
+        }
+        assertDelayBetween(15000L, 30000L, strategy, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void getDelays_jittered() {
+        ExponentialBackoffDelayStrategyWithJitter strategy =
+                new ExponentialBackoffDelayStrategyWithJitter(1000L, 1000L);
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            delays.add(strategy.nextDelay(new WaitContext(System.currentTimeMillis(), 1)));
+        }
+        assertTrue(delays.size() > 1);
+    }
+
+    @Test
+    public void getDelays_noDelay() {
+        ExponentialBackoffDelayStrategyWithJitter strategy =
+                new ExponentialBackoffDelayStrategyWithJitter(0L, 0L);
+        assertEquals(0L, strategy.nextDelay(new WaitContext(System.currentTimeMillis(), 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxDelayLessThanBaseDelay() {
+        new ExponentialBackoffDelayStrategyWithJitter(100L, 10L);
+    }
+
+    private static void assertDelayBetween(
+            long min, long max, DelayStrategy strategy, int attemptsMade) {
+        WaitContext context = new WaitContext(System.currentTimeMillis(), attemptsMade);
+        for (int i = 0; i < 20; i++) {
+            long delay = strategy.nextDelay(context);
+            assertTrue(delay + " < " + min, delay >= min);
+            assertTrue(delay + " > " + max, delay <= max);
+        }
+    }
+}
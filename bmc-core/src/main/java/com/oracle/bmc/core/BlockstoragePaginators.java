@@ -24,11 +24,37 @@ import com.oracle.bmc.core.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class BlockstoragePaginators {
     private final Blockstorage client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public BlockstoragePaginators(Blockstorage client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public BlockstoragePaginators(
+            Blockstorage client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the getVolumeBackupPolicyAssetAssignment operation. This iterable
@@ -84,7 +110,8 @@ public class BlockstoragePaginators {
                             GetVolumeBackupPolicyAssetAssignmentRequest request) {
                         return client.getVolumeBackupPolicyAssetAssignment(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -153,7 +180,8 @@ public class BlockstoragePaginators {
                             apply(GetVolumeBackupPolicyAssetAssignmentResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -205,7 +233,8 @@ public class BlockstoragePaginators {
                             ListBootVolumeBackupsRequest request) {
                         return client.listBootVolumeBackups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -268,7 +297,8 @@ public class BlockstoragePaginators {
                             ListBootVolumeBackupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -318,7 +348,8 @@ public class BlockstoragePaginators {
                     public ListBootVolumesResponse apply(ListBootVolumesRequest request) {
                         return client.listBootVolumes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -380,7 +411,8 @@ public class BlockstoragePaginators {
                             ListBootVolumesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -432,7 +464,8 @@ public class BlockstoragePaginators {
                             ListVolumeBackupPoliciesRequest request) {
                         return client.listVolumeBackupPolicies(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -495,7 +528,8 @@ public class BlockstoragePaginators {
                             ListVolumeBackupPoliciesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -546,7 +580,8 @@ public class BlockstoragePaginators {
                     public ListVolumeBackupsResponse apply(ListVolumeBackupsRequest request) {
                         return client.listVolumeBackups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -608,7 +643,8 @@ public class BlockstoragePaginators {
                             ListVolumeBackupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -660,7 +696,8 @@ public class BlockstoragePaginators {
                             ListVolumeGroupBackupsRequest request) {
                         return client.listVolumeGroupBackups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -723,7 +760,8 @@ public class BlockstoragePaginators {
                             ListVolumeGroupBackupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -773,7 +811,8 @@ public class BlockstoragePaginators {
                     public ListVolumeGroupsResponse apply(ListVolumeGroupsRequest request) {
                         return client.listVolumeGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -835,7 +874,8 @@ public class BlockstoragePaginators {
                             ListVolumeGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -884,7 +924,8 @@ public class BlockstoragePaginators {
                     public ListVolumesResponse apply(ListVolumesRequest request) {
                         return client.listVolumes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -944,6 +985,7 @@ public class BlockstoragePaginators {
                             ListVolumesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.core.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class ComputeManagementPaginators {
     private final ComputeManagement client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public ComputeManagementPaginators(ComputeManagement client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public ComputeManagementPaginators(
+            ComputeManagement client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listClusterNetworkInstances operation. This iterable
@@ -80,7 +106,8 @@ public class ComputeManagementPaginators {
                             ListClusterNetworkInstancesRequest request) {
                         return client.listClusterNetworkInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -144,7 +171,8 @@ public class ComputeManagementPaginators {
                             ListClusterNetworkInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -195,7 +223,8 @@ public class ComputeManagementPaginators {
                     public ListClusterNetworksResponse apply(ListClusterNetworksRequest request) {
                         return client.listClusterNetworks(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -257,7 +286,8 @@ public class ComputeManagementPaginators {
                             ListClusterNetworksResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -309,7 +339,8 @@ public class ComputeManagementPaginators {
                             ListInstanceConfigurationsRequest request) {
                         return client.listInstanceConfigurations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -374,7 +405,8 @@ public class ComputeManagementPaginators {
                             apply(ListInstanceConfigurationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -426,7 +458,8 @@ public class ComputeManagementPaginators {
                             ListInstancePoolInstancesRequest request) {
                         return client.listInstancePoolInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -490,7 +523,8 @@ public class ComputeManagementPaginators {
                             ListInstancePoolInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -541,7 +575,8 @@ public class ComputeManagementPaginators {
                     public ListInstancePoolsResponse apply(ListInstancePoolsRequest request) {
                         return client.listInstancePools(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -603,6 +638,7 @@ public class ComputeManagementPaginators {
                             ListInstancePoolsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.core.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class ComputePaginators {
     private final Compute client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public ComputePaginators(Compute client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public ComputePaginators(
+            Compute client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAppCatalogListingResourceVersions operation. This iterable
@@ -84,7 +110,8 @@ public class ComputePaginators {
                             ListAppCatalogListingResourceVersionsRequest request) {
                         return client.listAppCatalogListingResourceVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -157,7 +184,8 @@ public class ComputePaginators {
                             apply(ListAppCatalogListingResourceVersionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -209,7 +237,8 @@ public class ComputePaginators {
                             ListAppCatalogListingsRequest request) {
                         return client.listAppCatalogListings(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -272,7 +301,8 @@ public class ComputePaginators {
                             ListAppCatalogListingsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -325,7 +355,8 @@ public class ComputePaginators {
                             ListAppCatalogSubscriptionsRequest request) {
                         return client.listAppCatalogSubscriptions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -390,7 +421,8 @@ public class ComputePaginators {
                             apply(ListAppCatalogSubscriptionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -442,7 +474,8 @@ public class ComputePaginators {
                             ListBootVolumeAttachmentsRequest request) {
                         return client.listBootVolumeAttachments(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -506,7 +539,8 @@ public class ComputePaginators {
                             ListBootVolumeAttachmentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -566,7 +600,8 @@ public class ComputePaginators {
                             ListComputeGlobalImageCapabilitySchemaVersionsRequest request) {
                         return client.listComputeGlobalImageCapabilitySchemaVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -642,7 +677,8 @@ public class ComputePaginators {
                             apply(ListComputeGlobalImageCapabilitySchemaVersionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -700,7 +736,8 @@ public class ComputePaginators {
                             ListComputeGlobalImageCapabilitySchemasRequest request) {
                         return client.listComputeGlobalImageCapabilitySchemas(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -774,7 +811,8 @@ public class ComputePaginators {
                             apply(ListComputeGlobalImageCapabilitySchemasResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -831,7 +869,8 @@ public class ComputePaginators {
                             ListComputeImageCapabilitySchemasRequest request) {
                         return client.listComputeImageCapabilitySchemas(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -901,7 +940,8 @@ public class ComputePaginators {
                             apply(ListComputeImageCapabilitySchemasResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -952,7 +992,8 @@ public class ComputePaginators {
                     public ListConsoleHistoriesResponse apply(ListConsoleHistoriesRequest request) {
                         return client.listConsoleHistories(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1014,7 +1055,8 @@ public class ComputePaginators {
                             ListConsoleHistoriesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1071,7 +1113,8 @@ public class ComputePaginators {
                             ListDedicatedVmHostInstanceShapesRequest request) {
                         return client.listDedicatedVmHostInstanceShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1141,7 +1184,8 @@ public class ComputePaginators {
                             apply(ListDedicatedVmHostInstanceShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1196,7 +1240,8 @@ public class ComputePaginators {
                             ListDedicatedVmHostInstancesRequest request) {
                         return client.listDedicatedVmHostInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1264,7 +1309,8 @@ public class ComputePaginators {
                             apply(ListDedicatedVmHostInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1316,7 +1362,8 @@ public class ComputePaginators {
                             ListDedicatedVmHostShapesRequest request) {
                         return client.listDedicatedVmHostShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1381,7 +1428,8 @@ public class ComputePaginators {
                             apply(ListDedicatedVmHostShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1432,7 +1480,8 @@ public class ComputePaginators {
                     public ListDedicatedVmHostsResponse apply(ListDedicatedVmHostsRequest request) {
                         return client.listDedicatedVmHosts(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1494,7 +1543,8 @@ public class ComputePaginators {
                             ListDedicatedVmHostsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1551,7 +1601,8 @@ public class ComputePaginators {
                             ListImageShapeCompatibilityEntriesRequest request) {
                         return client.listImageShapeCompatibilityEntries(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1621,7 +1672,8 @@ public class ComputePaginators {
                             apply(ListImageShapeCompatibilityEntriesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1670,7 +1722,8 @@ public class ComputePaginators {
                     public ListImagesResponse apply(ListImagesRequest request) {
                         return client.listImages(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1730,7 +1783,8 @@ public class ComputePaginators {
                             ListImagesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1786,7 +1840,8 @@ public class ComputePaginators {
                             ListInstanceConsoleConnectionsRequest request) {
                         return client.listInstanceConsoleConnections(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1854,7 +1909,8 @@ public class ComputePaginators {
                             apply(ListInstanceConsoleConnectionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1905,7 +1961,8 @@ public class ComputePaginators {
                     public ListInstanceDevicesResponse apply(ListInstanceDevicesRequest request) {
                         return client.listInstanceDevices(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1967,7 +2024,8 @@ public class ComputePaginators {
                             ListInstanceDevicesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2016,7 +2074,8 @@ public class ComputePaginators {
                     public ListInstancesResponse apply(ListInstancesRequest request) {
                         return client.listInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2077,7 +2136,8 @@ public class ComputePaginators {
                             ListInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2126,7 +2186,8 @@ public class ComputePaginators {
                     public ListShapesResponse apply(ListShapesRequest request) {
                         return client.listShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2186,7 +2247,8 @@ public class ComputePaginators {
                             ListShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2237,7 +2299,8 @@ public class ComputePaginators {
                     public ListVnicAttachmentsResponse apply(ListVnicAttachmentsRequest request) {
                         return client.listVnicAttachments(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2299,7 +2362,8 @@ public class ComputePaginators {
                             ListVnicAttachmentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2351,7 +2415,8 @@ public class ComputePaginators {
                             ListVolumeAttachmentsRequest request) {
                         return client.listVolumeAttachments(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2414,6 +2479,7 @@ public class ComputePaginators {
                             ListVolumeAttachmentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
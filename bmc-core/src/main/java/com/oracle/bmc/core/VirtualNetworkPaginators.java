@@ -24,11 +24,37 @@ import com.oracle.bmc.core.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class VirtualNetworkPaginators {
     private final VirtualNetwork client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public VirtualNetworkPaginators(VirtualNetwork client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public VirtualNetworkPaginators(
+            VirtualNetwork client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listCpeDeviceShapes operation. This iterable
@@ -78,7 +104,8 @@ public class VirtualNetworkPaginators {
                     public ListCpeDeviceShapesResponse apply(ListCpeDeviceShapesRequest request) {
                         return client.listCpeDeviceShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -140,7 +167,8 @@ public class VirtualNetworkPaginators {
                             ListCpeDeviceShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -188,7 +216,8 @@ public class VirtualNetworkPaginators {
                     public ListCpesResponse apply(ListCpesRequest request) {
                         return client.listCpes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -248,7 +277,8 @@ public class VirtualNetworkPaginators {
                             ListCpesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -300,7 +330,8 @@ public class VirtualNetworkPaginators {
                             ListCrossConnectGroupsRequest request) {
                         return client.listCrossConnectGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -363,7 +394,8 @@ public class VirtualNetworkPaginators {
                             ListCrossConnectGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -415,7 +447,8 @@ public class VirtualNetworkPaginators {
                             ListCrossConnectLocationsRequest request) {
                         return client.listCrossConnectLocations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -479,7 +512,8 @@ public class VirtualNetworkPaginators {
                             ListCrossConnectLocationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -530,7 +564,8 @@ public class VirtualNetworkPaginators {
                     public ListCrossConnectsResponse apply(ListCrossConnectsRequest request) {
                         return client.listCrossConnects(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -592,7 +627,8 @@ public class VirtualNetworkPaginators {
                             ListCrossConnectsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -648,7 +684,8 @@ public class VirtualNetworkPaginators {
                             ListCrossconnectPortSpeedShapesRequest request) {
                         return client.listCrossconnectPortSpeedShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -716,7 +753,8 @@ public class VirtualNetworkPaginators {
                             apply(ListCrossconnectPortSpeedShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -766,7 +804,8 @@ public class VirtualNetworkPaginators {
                     public ListDhcpOptionsResponse apply(ListDhcpOptionsRequest request) {
                         return client.listDhcpOptions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -828,7 +867,8 @@ public class VirtualNetworkPaginators {
                             ListDhcpOptionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -879,7 +919,8 @@ public class VirtualNetworkPaginators {
                     public ListDrgAttachmentsResponse apply(ListDrgAttachmentsRequest request) {
                         return client.listDrgAttachments(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -941,7 +982,8 @@ public class VirtualNetworkPaginators {
                             ListDrgAttachmentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -989,7 +1031,8 @@ public class VirtualNetworkPaginators {
                     public ListDrgsResponse apply(ListDrgsRequest request) {
                         return client.listDrgs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1049,7 +1092,8 @@ public class VirtualNetworkPaginators {
                             ListDrgsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1105,7 +1149,8 @@ public class VirtualNetworkPaginators {
                             ListFastConnectProviderServicesRequest request) {
                         return client.listFastConnectProviderServices(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1173,7 +1218,8 @@ public class VirtualNetworkPaginators {
                             apply(ListFastConnectProviderServicesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1235,7 +1281,8 @@ public class VirtualNetworkPaginators {
                             ListFastConnectProviderVirtualCircuitBandwidthShapesRequest request) {
                         return client.listFastConnectProviderVirtualCircuitBandwidthShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1311,7 +1358,8 @@ public class VirtualNetworkPaginators {
                                             response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1363,7 +1411,8 @@ public class VirtualNetworkPaginators {
                             ListIPSecConnectionTunnelsRequest request) {
                         return client.listIPSecConnectionTunnels(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1428,7 +1477,8 @@ public class VirtualNetworkPaginators {
                             ListIPSecConnectionTunnelsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1479,7 +1529,8 @@ public class VirtualNetworkPaginators {
                     public ListIPSecConnectionsResponse apply(ListIPSecConnectionsRequest request) {
                         return client.listIPSecConnections(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1541,7 +1592,8 @@ public class VirtualNetworkPaginators {
                             ListIPSecConnectionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1592,7 +1644,8 @@ public class VirtualNetworkPaginators {
                     public ListInternetGatewaysResponse apply(ListInternetGatewaysRequest request) {
                         return client.listInternetGateways(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1654,7 +1707,8 @@ public class VirtualNetworkPaginators {
                             ListInternetGatewaysResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1702,7 +1756,8 @@ public class VirtualNetworkPaginators {
                     public ListIpv6sResponse apply(ListIpv6sRequest request) {
                         return client.listIpv6s(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1762,7 +1817,8 @@ public class VirtualNetworkPaginators {
                             ListIpv6sResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1814,7 +1870,8 @@ public class VirtualNetworkPaginators {
                             ListLocalPeeringGatewaysRequest request) {
                         return client.listLocalPeeringGateways(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1877,7 +1934,8 @@ public class VirtualNetworkPaginators {
                             ListLocalPeeringGatewaysResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1927,7 +1985,8 @@ public class VirtualNetworkPaginators {
                     public ListNatGatewaysResponse apply(ListNatGatewaysRequest request) {
                         return client.listNatGateways(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1989,7 +2048,8 @@ public class VirtualNetworkPaginators {
                             ListNatGatewaysResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2046,7 +2106,8 @@ public class VirtualNetworkPaginators {
                             ListNetworkSecurityGroupSecurityRulesRequest request) {
                         return client.listNetworkSecurityGroupSecurityRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2115,7 +2176,8 @@ public class VirtualNetworkPaginators {
                             ListNetworkSecurityGroupSecurityRulesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2171,7 +2233,8 @@ public class VirtualNetworkPaginators {
                             ListNetworkSecurityGroupVnicsRequest request) {
                         return client.listNetworkSecurityGroupVnics(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2239,7 +2302,8 @@ public class VirtualNetworkPaginators {
                             ListNetworkSecurityGroupVnicsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2291,7 +2355,8 @@ public class VirtualNetworkPaginators {
                             ListNetworkSecurityGroupsRequest request) {
                         return client.listNetworkSecurityGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2355,7 +2420,8 @@ public class VirtualNetworkPaginators {
                             ListNetworkSecurityGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2405,7 +2471,8 @@ public class VirtualNetworkPaginators {
                     public ListPrivateIpsResponse apply(ListPrivateIpsRequest request) {
                         return client.listPrivateIps(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2467,7 +2534,8 @@ public class VirtualNetworkPaginators {
                             ListPrivateIpsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2516,7 +2584,8 @@ public class VirtualNetworkPaginators {
                     public ListPublicIpsResponse apply(ListPublicIpsRequest request) {
                         return client.listPublicIps(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2577,7 +2646,8 @@ public class VirtualNetworkPaginators {
                             ListPublicIpsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2632,7 +2702,8 @@ public class VirtualNetworkPaginators {
                             ListRemotePeeringConnectionsRequest request) {
                         return client.listRemotePeeringConnections(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2699,7 +2770,8 @@ public class VirtualNetworkPaginators {
                             ListRemotePeeringConnectionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2749,7 +2821,8 @@ public class VirtualNetworkPaginators {
                     public ListRouteTablesResponse apply(ListRouteTablesRequest request) {
                         return client.listRouteTables(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2811,7 +2884,8 @@ public class VirtualNetworkPaginators {
                             ListRouteTablesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2862,7 +2936,8 @@ public class VirtualNetworkPaginators {
                     public ListSecurityListsResponse apply(ListSecurityListsRequest request) {
                         return client.listSecurityLists(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2924,7 +2999,8 @@ public class VirtualNetworkPaginators {
                             ListSecurityListsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2975,7 +3051,8 @@ public class VirtualNetworkPaginators {
                     public ListServiceGatewaysResponse apply(ListServiceGatewaysRequest request) {
                         return client.listServiceGateways(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3037,7 +3114,8 @@ public class VirtualNetworkPaginators {
                             ListServiceGatewaysResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3086,7 +3164,8 @@ public class VirtualNetworkPaginators {
                     public ListServicesResponse apply(ListServicesRequest request) {
                         return client.listServices(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3146,7 +3225,8 @@ public class VirtualNetworkPaginators {
                             ListServicesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3195,7 +3275,8 @@ public class VirtualNetworkPaginators {
                     public ListSubnetsResponse apply(ListSubnetsRequest request) {
                         return client.listSubnets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3255,7 +3336,8 @@ public class VirtualNetworkPaginators {
                             ListSubnetsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3303,7 +3385,8 @@ public class VirtualNetworkPaginators {
                     public ListVcnsResponse apply(ListVcnsRequest request) {
                         return client.listVcns(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3363,7 +3446,8 @@ public class VirtualNetworkPaginators {
                             ListVcnsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3420,7 +3504,8 @@ public class VirtualNetworkPaginators {
                             ListVirtualCircuitBandwidthShapesRequest request) {
                         return client.listVirtualCircuitBandwidthShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3488,7 +3573,8 @@ public class VirtualNetworkPaginators {
                             apply(ListVirtualCircuitBandwidthShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3539,7 +3625,8 @@ public class VirtualNetworkPaginators {
                     public ListVirtualCircuitsResponse apply(ListVirtualCircuitsRequest request) {
                         return client.listVirtualCircuits(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3601,7 +3688,8 @@ public class VirtualNetworkPaginators {
                             ListVirtualCircuitsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3649,7 +3737,8 @@ public class VirtualNetworkPaginators {
                     public ListVlansResponse apply(ListVlansRequest request) {
                         return client.listVlans(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3709,6 +3798,7 @@ public class VirtualNetworkPaginators {
                             ListVlansResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
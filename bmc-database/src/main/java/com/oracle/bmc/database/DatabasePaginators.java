@@ -24,11 +24,37 @@ import com.oracle.bmc.database.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class DatabasePaginators {
     private final Database client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public DatabasePaginators(Database client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public DatabasePaginators(
+            Database client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAutonomousContainerDatabases operation. This iterable
@@ -83,7 +109,8 @@ public class DatabasePaginators {
                             ListAutonomousContainerDatabasesRequest request) {
                         return client.listAutonomousContainerDatabases(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -155,7 +182,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousContainerDatabasesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -212,7 +240,8 @@ public class DatabasePaginators {
                             ListAutonomousDataWarehouseBackupsRequest request) {
                         return client.listAutonomousDataWarehouseBackups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -285,7 +314,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDataWarehouseBackupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -340,7 +370,8 @@ public class DatabasePaginators {
                             ListAutonomousDataWarehousesRequest request) {
                         return client.listAutonomousDataWarehouses(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -409,7 +440,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDataWarehousesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -465,7 +497,8 @@ public class DatabasePaginators {
                             ListAutonomousDatabaseBackupsRequest request) {
                         return client.listAutonomousDatabaseBackups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -535,7 +568,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDatabaseBackupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -590,7 +624,8 @@ public class DatabasePaginators {
                             ListAutonomousDatabaseClonesRequest request) {
                         return client.listAutonomousDatabaseClones(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -657,7 +692,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDatabaseClonesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -709,7 +745,8 @@ public class DatabasePaginators {
                             ListAutonomousDatabasesRequest request) {
                         return client.listAutonomousDatabases(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -773,7 +810,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDatabasesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -829,7 +867,8 @@ public class DatabasePaginators {
                             ListAutonomousDbPreviewVersionsRequest request) {
                         return client.listAutonomousDbPreviewVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -900,7 +939,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDbPreviewVersionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -952,7 +992,8 @@ public class DatabasePaginators {
                             ListAutonomousDbVersionsRequest request) {
                         return client.listAutonomousDbVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1017,7 +1058,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousDbVersionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1077,7 +1119,8 @@ public class DatabasePaginators {
                             ListAutonomousExadataInfrastructureShapesRequest request) {
                         return client.listAutonomousExadataInfrastructureShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1153,7 +1196,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousExadataInfrastructureShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1210,7 +1254,8 @@ public class DatabasePaginators {
                             ListAutonomousExadataInfrastructuresRequest request) {
                         return client.listAutonomousExadataInfrastructures(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1283,7 +1328,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousExadataInfrastructuresResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1335,7 +1381,8 @@ public class DatabasePaginators {
                             ListAutonomousVmClustersRequest request) {
                         return client.listAutonomousVmClusters(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1400,7 +1447,8 @@ public class DatabasePaginators {
                             apply(ListAutonomousVmClustersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1452,7 +1500,8 @@ public class DatabasePaginators {
                             ListBackupDestinationRequest request) {
                         return client.listBackupDestination(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1516,7 +1565,8 @@ public class DatabasePaginators {
                             apply(ListBackupDestinationResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1565,7 +1615,8 @@ public class DatabasePaginators {
                     public ListBackupsResponse apply(ListBackupsRequest request) {
                         return client.listBackups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1626,7 +1677,8 @@ public class DatabasePaginators {
                             ListBackupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1681,7 +1733,8 @@ public class DatabasePaginators {
                             ListContainerDatabasePatchesRequest request) {
                         return client.listContainerDatabasePatches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1748,7 +1801,8 @@ public class DatabasePaginators {
                             apply(ListContainerDatabasePatchesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1800,7 +1854,8 @@ public class DatabasePaginators {
                             ListDataGuardAssociationsRequest request) {
                         return client.listDataGuardAssociations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1866,7 +1921,8 @@ public class DatabasePaginators {
                             apply(ListDataGuardAssociationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1918,7 +1974,8 @@ public class DatabasePaginators {
                             ListDatabaseSoftwareImagesRequest request) {
                         return client.listDatabaseSoftwareImages(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1985,7 +2042,8 @@ public class DatabasePaginators {
                             apply(ListDatabaseSoftwareImagesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2034,7 +2092,8 @@ public class DatabasePaginators {
                     public ListDatabasesResponse apply(ListDatabasesRequest request) {
                         return client.listDatabases(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2095,7 +2154,8 @@ public class DatabasePaginators {
                             ListDatabasesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2151,7 +2211,8 @@ public class DatabasePaginators {
                             ListDbHomePatchHistoryEntriesRequest request) {
                         return client.listDbHomePatchHistoryEntries(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2219,7 +2280,8 @@ public class DatabasePaginators {
                             apply(ListDbHomePatchHistoryEntriesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2270,7 +2332,8 @@ public class DatabasePaginators {
                     public ListDbHomePatchesResponse apply(ListDbHomePatchesRequest request) {
                         return client.listDbHomePatches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2332,7 +2395,8 @@ public class DatabasePaginators {
                             ListDbHomePatchesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2381,7 +2445,8 @@ public class DatabasePaginators {
                     public ListDbHomesResponse apply(ListDbHomesRequest request) {
                         return client.listDbHomes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2442,7 +2507,8 @@ public class DatabasePaginators {
                             ListDbHomesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2491,7 +2557,8 @@ public class DatabasePaginators {
                     public ListDbNodesResponse apply(ListDbNodesRequest request) {
                         return client.listDbNodes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2552,7 +2619,8 @@ public class DatabasePaginators {
                             ListDbNodesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2608,7 +2676,8 @@ public class DatabasePaginators {
                             ListDbSystemPatchHistoryEntriesRequest request) {
                         return client.listDbSystemPatchHistoryEntries(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2676,7 +2745,8 @@ public class DatabasePaginators {
                             apply(ListDbSystemPatchHistoryEntriesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2727,7 +2797,8 @@ public class DatabasePaginators {
                     public ListDbSystemPatchesResponse apply(ListDbSystemPatchesRequest request) {
                         return client.listDbSystemPatches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2789,7 +2860,8 @@ public class DatabasePaginators {
                             ListDbSystemPatchesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2840,7 +2912,8 @@ public class DatabasePaginators {
                     public ListDbSystemShapesResponse apply(ListDbSystemShapesRequest request) {
                         return client.listDbSystemShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2902,7 +2975,8 @@ public class DatabasePaginators {
                             ListDbSystemShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2951,7 +3025,8 @@ public class DatabasePaginators {
                     public ListDbSystemsResponse apply(ListDbSystemsRequest request) {
                         return client.listDbSystems(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3012,7 +3087,8 @@ public class DatabasePaginators {
                             ListDbSystemsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3062,7 +3138,8 @@ public class DatabasePaginators {
                     public ListDbVersionsResponse apply(ListDbVersionsRequest request) {
                         return client.listDbVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3124,7 +3201,8 @@ public class DatabasePaginators {
                             ListDbVersionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3176,7 +3254,8 @@ public class DatabasePaginators {
                             ListExadataInfrastructuresRequest request) {
                         return client.listExadataInfrastructures(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3243,7 +3322,8 @@ public class DatabasePaginators {
                             apply(ListExadataInfrastructuresResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3293,7 +3373,8 @@ public class DatabasePaginators {
                     public ListGiVersionsResponse apply(ListGiVersionsRequest request) {
                         return client.listGiVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3355,7 +3436,8 @@ public class DatabasePaginators {
                             ListGiVersionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3406,7 +3488,8 @@ public class DatabasePaginators {
                     public ListMaintenanceRunsResponse apply(ListMaintenanceRunsRequest request) {
                         return client.listMaintenanceRuns(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3468,7 +3551,8 @@ public class DatabasePaginators {
                             apply(ListMaintenanceRunsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3520,7 +3604,8 @@ public class DatabasePaginators {
                             ListVmClusterNetworksRequest request) {
                         return client.listVmClusterNetworks(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3584,7 +3669,8 @@ public class DatabasePaginators {
                             apply(ListVmClusterNetworksResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3640,7 +3726,8 @@ public class DatabasePaginators {
                             ListVmClusterPatchHistoryEntriesRequest request) {
                         return client.listVmClusterPatchHistoryEntries(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3708,7 +3795,8 @@ public class DatabasePaginators {
                             apply(ListVmClusterPatchHistoryEntriesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3759,7 +3847,8 @@ public class DatabasePaginators {
                     public ListVmClusterPatchesResponse apply(ListVmClusterPatchesRequest request) {
                         return client.listVmClusterPatches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3821,7 +3910,8 @@ public class DatabasePaginators {
                             ListVmClusterPatchesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3871,7 +3961,8 @@ public class DatabasePaginators {
                     public ListVmClustersResponse apply(ListVmClustersRequest request) {
                         return client.listVmClusters(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3933,6 +4024,7 @@ public class DatabasePaginators {
                             ListVmClustersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.datacatalog.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190325")
-@lombok.RequiredArgsConstructor
 public class DataCatalogPaginators {
     private final DataCatalog client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public DataCatalogPaginators(DataCatalog client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public DataCatalogPaginators(
+            DataCatalog client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAttributeTags operation. This iterable
@@ -78,7 +104,8 @@ public class DataCatalogPaginators {
                     public ListAttributeTagsResponse apply(ListAttributeTagsRequest request) {
                         return client.listAttributeTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -140,7 +167,8 @@ public class DataCatalogPaginators {
                             apply(ListAttributeTagsResponse response) {
                         return response.getAttributeTagCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -190,7 +218,8 @@ public class DataCatalogPaginators {
                     public ListAttributesResponse apply(ListAttributesRequest request) {
                         return client.listAttributes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -252,7 +281,8 @@ public class DataCatalogPaginators {
                             ListAttributesResponse response) {
                         return response.getAttributeCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -305,7 +335,8 @@ public class DataCatalogPaginators {
                             ListCatalogPrivateEndpointsRequest request) {
                         return client.listCatalogPrivateEndpoints(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -372,7 +403,8 @@ public class DataCatalogPaginators {
                             apply(ListCatalogPrivateEndpointsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -421,7 +453,8 @@ public class DataCatalogPaginators {
                     public ListCatalogsResponse apply(ListCatalogsRequest request) {
                         return client.listCatalogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -482,7 +515,8 @@ public class DataCatalogPaginators {
                             ListCatalogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -532,7 +566,8 @@ public class DataCatalogPaginators {
                     public ListConnectionsResponse apply(ListConnectionsRequest request) {
                         return client.listConnections(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -594,7 +629,8 @@ public class DataCatalogPaginators {
                             ListConnectionsResponse response) {
                         return response.getConnectionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -645,7 +681,8 @@ public class DataCatalogPaginators {
                     public ListDataAssetTagsResponse apply(ListDataAssetTagsRequest request) {
                         return client.listDataAssetTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -707,7 +744,8 @@ public class DataCatalogPaginators {
                             apply(ListDataAssetTagsResponse response) {
                         return response.getDataAssetTagCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -757,7 +795,8 @@ public class DataCatalogPaginators {
                     public ListDataAssetsResponse apply(ListDataAssetsRequest request) {
                         return client.listDataAssets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -819,7 +858,8 @@ public class DataCatalogPaginators {
                             ListDataAssetsResponse response) {
                         return response.getDataAssetCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -868,7 +908,8 @@ public class DataCatalogPaginators {
                     public ListEntitiesResponse apply(ListEntitiesRequest request) {
                         return client.listEntities(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -929,7 +970,8 @@ public class DataCatalogPaginators {
                             ListEntitiesResponse response) {
                         return response.getEntityCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -979,7 +1021,8 @@ public class DataCatalogPaginators {
                     public ListEntityTagsResponse apply(ListEntityTagsRequest request) {
                         return client.listEntityTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1041,7 +1084,8 @@ public class DataCatalogPaginators {
                             ListEntityTagsResponse response) {
                         return response.getEntityTagCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1091,7 +1135,8 @@ public class DataCatalogPaginators {
                     public ListFolderTagsResponse apply(ListFolderTagsRequest request) {
                         return client.listFolderTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1153,7 +1198,8 @@ public class DataCatalogPaginators {
                             ListFolderTagsResponse response) {
                         return response.getFolderTagCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1202,7 +1248,8 @@ public class DataCatalogPaginators {
                     public ListFoldersResponse apply(ListFoldersRequest request) {
                         return client.listFolders(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1263,7 +1310,8 @@ public class DataCatalogPaginators {
                             ListFoldersResponse response) {
                         return response.getFolderCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1313,7 +1361,8 @@ public class DataCatalogPaginators {
                     public ListGlossariesResponse apply(ListGlossariesRequest request) {
                         return client.listGlossaries(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1375,7 +1424,8 @@ public class DataCatalogPaginators {
                             ListGlossariesResponse response) {
                         return response.getGlossaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1426,7 +1476,8 @@ public class DataCatalogPaginators {
                     public ListJobDefinitionsResponse apply(ListJobDefinitionsRequest request) {
                         return client.listJobDefinitions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1488,7 +1539,8 @@ public class DataCatalogPaginators {
                             apply(ListJobDefinitionsResponse response) {
                         return response.getJobDefinitionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1539,7 +1591,8 @@ public class DataCatalogPaginators {
                     public ListJobExecutionsResponse apply(ListJobExecutionsRequest request) {
                         return client.listJobExecutions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1601,7 +1654,8 @@ public class DataCatalogPaginators {
                             apply(ListJobExecutionsResponse response) {
                         return response.getJobExecutionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1650,7 +1704,8 @@ public class DataCatalogPaginators {
                     public ListJobLogsResponse apply(ListJobLogsRequest request) {
                         return client.listJobLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1711,7 +1766,8 @@ public class DataCatalogPaginators {
                             ListJobLogsResponse response) {
                         return response.getJobLogCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1761,7 +1817,8 @@ public class DataCatalogPaginators {
                     public ListJobMetricsResponse apply(ListJobMetricsRequest request) {
                         return client.listJobMetrics(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1823,7 +1880,8 @@ public class DataCatalogPaginators {
                             ListJobMetricsResponse response) {
                         return response.getJobMetricCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1871,7 +1929,8 @@ public class DataCatalogPaginators {
                     public ListJobsResponse apply(ListJobsRequest request) {
                         return client.listJobs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1932,7 +1991,8 @@ public class DataCatalogPaginators {
                             ListJobsResponse response) {
                         return response.getJobCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1980,7 +2040,8 @@ public class DataCatalogPaginators {
                     public ListTagsResponse apply(ListTagsRequest request) {
                         return client.listTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2041,7 +2102,8 @@ public class DataCatalogPaginators {
                             ListTagsResponse response) {
                         return response.getTermCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2093,7 +2155,8 @@ public class DataCatalogPaginators {
                             ListTermRelationshipsRequest request) {
                         return client.listTermRelationships(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2158,7 +2221,8 @@ public class DataCatalogPaginators {
                             apply(ListTermRelationshipsResponse response) {
                         return response.getTermRelationshipCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2206,7 +2270,8 @@ public class DataCatalogPaginators {
                     public ListTermsResponse apply(ListTermsRequest request) {
                         return client.listTerms(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2267,7 +2332,8 @@ public class DataCatalogPaginators {
                             ListTermsResponse response) {
                         return response.getTermCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2315,7 +2381,8 @@ public class DataCatalogPaginators {
                     public ListTypesResponse apply(ListTypesRequest request) {
                         return client.listTypes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2376,7 +2443,8 @@ public class DataCatalogPaginators {
                             ListTypesResponse response) {
                         return response.getTypeCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2428,7 +2496,8 @@ public class DataCatalogPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2491,7 +2560,8 @@ public class DataCatalogPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2542,7 +2612,8 @@ public class DataCatalogPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2604,7 +2675,8 @@ public class DataCatalogPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2654,7 +2726,8 @@ public class DataCatalogPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2716,6 +2789,7 @@ public class DataCatalogPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
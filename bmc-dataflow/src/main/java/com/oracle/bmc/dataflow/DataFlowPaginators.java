@@ -24,11 +24,37 @@ import com.oracle.bmc.dataflow.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20200129")
-@lombok.RequiredArgsConstructor
 public class DataFlowPaginators {
     private final DataFlow client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public DataFlowPaginators(DataFlow client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public DataFlowPaginators(
+            DataFlow client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listApplications operation. This iterable
@@ -77,7 +103,8 @@ public class DataFlowPaginators {
                     public ListApplicationsResponse apply(ListApplicationsRequest request) {
                         return client.listApplications(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -139,7 +166,8 @@ public class DataFlowPaginators {
                             ListApplicationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -190,7 +218,8 @@ public class DataFlowPaginators {
                     public ListPrivateEndpointsResponse apply(ListPrivateEndpointsRequest request) {
                         return client.listPrivateEndpoints(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -252,7 +281,8 @@ public class DataFlowPaginators {
                             apply(ListPrivateEndpointsResponse response) {
                         return response.getPrivateEndpointCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -301,7 +331,8 @@ public class DataFlowPaginators {
                     public ListRunLogsResponse apply(ListRunLogsRequest request) {
                         return client.listRunLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -362,7 +393,8 @@ public class DataFlowPaginators {
                             ListRunLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -410,7 +442,8 @@ public class DataFlowPaginators {
                     public ListRunsResponse apply(ListRunsRequest request) {
                         return client.listRuns(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -471,7 +504,8 @@ public class DataFlowPaginators {
                             ListRunsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -523,7 +557,8 @@ public class DataFlowPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -586,7 +621,8 @@ public class DataFlowPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getWorkRequestErrorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -637,7 +673,8 @@ public class DataFlowPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -699,7 +736,8 @@ public class DataFlowPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getWorkRequestLogCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -749,7 +787,8 @@ public class DataFlowPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -811,6 +850,7 @@ public class DataFlowPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
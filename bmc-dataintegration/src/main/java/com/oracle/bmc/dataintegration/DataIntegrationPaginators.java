@@ -24,11 +24,37 @@ import com.oracle.bmc.dataintegration.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20200430")
-@lombok.RequiredArgsConstructor
 public class DataIntegrationPaginators {
     private final DataIntegration client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public DataIntegrationPaginators(DataIntegration client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public DataIntegrationPaginators(
+            DataIntegration client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listApplications operation. This iterable
@@ -77,7 +103,8 @@ public class DataIntegrationPaginators {
                     public ListApplicationsResponse apply(ListApplicationsRequest request) {
                         return client.listApplications(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -139,7 +166,8 @@ public class DataIntegrationPaginators {
                             apply(ListApplicationsResponse response) {
                         return response.getApplicationSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -191,7 +219,8 @@ public class DataIntegrationPaginators {
                             ListConnectionValidationsRequest request) {
                         return client.listConnectionValidations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -260,7 +289,8 @@ public class DataIntegrationPaginators {
                             apply(ListConnectionValidationsResponse response) {
                         return response.getConnectionValidationSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -310,7 +340,8 @@ public class DataIntegrationPaginators {
                     public ListConnectionsResponse apply(ListConnectionsRequest request) {
                         return client.listConnections(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -372,7 +403,8 @@ public class DataIntegrationPaginators {
                             apply(ListConnectionsResponse response) {
                         return response.getConnectionSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -422,7 +454,8 @@ public class DataIntegrationPaginators {
                     public ListDataAssetsResponse apply(ListDataAssetsRequest request) {
                         return client.listDataAssets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -484,7 +517,8 @@ public class DataIntegrationPaginators {
                             apply(ListDataAssetsResponse response) {
                         return response.getDataAssetSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -534,7 +568,8 @@ public class DataIntegrationPaginators {
                     public ListDataEntitiesResponse apply(ListDataEntitiesRequest request) {
                         return client.listDataEntities(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -596,7 +631,8 @@ public class DataIntegrationPaginators {
                             apply(ListDataEntitiesResponse response) {
                         return response.getDataEntitySummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -648,7 +684,8 @@ public class DataIntegrationPaginators {
                             ListDataFlowValidationsRequest request) {
                         return client.listDataFlowValidations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -714,7 +751,8 @@ public class DataIntegrationPaginators {
                             apply(ListDataFlowValidationsResponse response) {
                         return response.getDataFlowValidationSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -763,7 +801,8 @@ public class DataIntegrationPaginators {
                     public ListDataFlowsResponse apply(ListDataFlowsRequest request) {
                         return client.listDataFlows(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -824,7 +863,8 @@ public class DataIntegrationPaginators {
                             apply(ListDataFlowsResponse response) {
                         return response.getDataFlowSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -875,7 +915,8 @@ public class DataIntegrationPaginators {
                     public ListDependentObjectsResponse apply(ListDependentObjectsRequest request) {
                         return client.listDependentObjects(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -940,7 +981,8 @@ public class DataIntegrationPaginators {
                             apply(ListDependentObjectsResponse response) {
                         return response.getDependentObjectSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -989,7 +1031,8 @@ public class DataIntegrationPaginators {
                     public ListFoldersResponse apply(ListFoldersRequest request) {
                         return client.listFolders(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1050,7 +1093,8 @@ public class DataIntegrationPaginators {
                             ListFoldersResponse response) {
                         return response.getFolderSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1099,7 +1143,8 @@ public class DataIntegrationPaginators {
                     public ListPatchesResponse apply(ListPatchesRequest request) {
                         return client.listPatches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1160,7 +1205,8 @@ public class DataIntegrationPaginators {
                             ListPatchesResponse response) {
                         return response.getPatchSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1209,7 +1255,8 @@ public class DataIntegrationPaginators {
                     public ListProjectsResponse apply(ListProjectsRequest request) {
                         return client.listProjects(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1270,7 +1317,8 @@ public class DataIntegrationPaginators {
                             apply(ListProjectsResponse response) {
                         return response.getProjectSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1321,7 +1369,8 @@ public class DataIntegrationPaginators {
                     public ListPublishedObjectsResponse apply(ListPublishedObjectsRequest request) {
                         return client.listPublishedObjects(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1386,7 +1435,8 @@ public class DataIntegrationPaginators {
                             apply(ListPublishedObjectsResponse response) {
                         return response.getPublishedObjectSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1435,7 +1485,8 @@ public class DataIntegrationPaginators {
                     public ListSchemasResponse apply(ListSchemasRequest request) {
                         return client.listSchemas(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1496,7 +1547,8 @@ public class DataIntegrationPaginators {
                             ListSchemasResponse response) {
                         return response.getSchemaSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1546,7 +1598,8 @@ public class DataIntegrationPaginators {
                     public ListTaskRunLogsResponse apply(ListTaskRunLogsRequest request) {
                         return client.listTaskRunLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1608,7 +1661,8 @@ public class DataIntegrationPaginators {
                             apply(ListTaskRunLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1657,7 +1711,8 @@ public class DataIntegrationPaginators {
                     public ListTaskRunsResponse apply(ListTaskRunsRequest request) {
                         return client.listTaskRuns(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1718,7 +1773,8 @@ public class DataIntegrationPaginators {
                             apply(ListTaskRunsResponse response) {
                         return response.getTaskRunSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1769,7 +1825,8 @@ public class DataIntegrationPaginators {
                     public ListTaskValidationsResponse apply(ListTaskValidationsRequest request) {
                         return client.listTaskValidations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1834,7 +1891,8 @@ public class DataIntegrationPaginators {
                             apply(ListTaskValidationsResponse response) {
                         return response.getTaskValidationSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1882,7 +1940,8 @@ public class DataIntegrationPaginators {
                     public ListTasksResponse apply(ListTasksRequest request) {
                         return client.listTasks(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1943,7 +2002,8 @@ public class DataIntegrationPaginators {
                             ListTasksResponse response) {
                         return response.getTaskSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1995,7 +2055,8 @@ public class DataIntegrationPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2059,7 +2120,8 @@ public class DataIntegrationPaginators {
                             apply(ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2110,7 +2172,8 @@ public class DataIntegrationPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2174,7 +2237,8 @@ public class DataIntegrationPaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2224,7 +2288,8 @@ public class DataIntegrationPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2286,7 +2351,8 @@ public class DataIntegrationPaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2336,7 +2402,8 @@ public class DataIntegrationPaginators {
                     public ListWorkspacesResponse apply(ListWorkspacesRequest request) {
                         return client.listWorkspaces(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2398,6 +2465,7 @@ public class DataIntegrationPaginators {
                             apply(ListWorkspacesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
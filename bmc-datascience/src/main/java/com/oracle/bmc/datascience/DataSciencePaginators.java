@@ -24,11 +24,37 @@ import com.oracle.bmc.datascience.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190101")
-@lombok.RequiredArgsConstructor
 public class DataSciencePaginators {
     private final DataScience client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public DataSciencePaginators(DataScience client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public DataSciencePaginators(
+            DataScience client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listModels operation. This iterable
@@ -76,7 +102,8 @@ public class DataSciencePaginators {
                     public ListModelsResponse apply(ListModelsRequest request) {
                         return client.listModels(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class DataSciencePaginators {
                             ListModelsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -189,7 +217,8 @@ public class DataSciencePaginators {
                             ListNotebookSessionShapesRequest request) {
                         return client.listNotebookSessionShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -256,7 +285,8 @@ public class DataSciencePaginators {
                             apply(ListNotebookSessionShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -307,7 +337,8 @@ public class DataSciencePaginators {
                     public ListNotebookSessionsResponse apply(ListNotebookSessionsRequest request) {
                         return client.listNotebookSessions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -370,7 +401,8 @@ public class DataSciencePaginators {
                             apply(ListNotebookSessionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -419,7 +451,8 @@ public class DataSciencePaginators {
                     public ListProjectsResponse apply(ListProjectsRequest request) {
                         return client.listProjects(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -480,7 +513,8 @@ public class DataSciencePaginators {
                             ListProjectsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -530,7 +564,8 @@ public class DataSciencePaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -592,6 +627,7 @@ public class DataSciencePaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
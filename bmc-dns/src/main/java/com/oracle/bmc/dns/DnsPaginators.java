@@ -24,11 +24,37 @@ import com.oracle.bmc.dns.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20180115")
-@lombok.RequiredArgsConstructor
 public class DnsPaginators {
     private final Dns client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public DnsPaginators(Dns client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public DnsPaginators(
+            Dns client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the getDomainRecords operation. This iterable
@@ -77,7 +103,8 @@ public class DnsPaginators {
                     public GetDomainRecordsResponse apply(GetDomainRecordsRequest request) {
                         return client.getDomainRecords(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -139,7 +166,8 @@ public class DnsPaginators {
                             GetDomainRecordsResponse response) {
                         return response.getRecordCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -187,7 +215,8 @@ public class DnsPaginators {
                     public GetRRSetResponse apply(GetRRSetRequest request) {
                         return client.getRRSet(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -247,7 +276,8 @@ public class DnsPaginators {
                             GetRRSetResponse response) {
                         return response.getRRSet().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -297,7 +327,8 @@ public class DnsPaginators {
                     public GetZoneRecordsResponse apply(GetZoneRecordsRequest request) {
                         return client.getZoneRecords(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -358,7 +389,8 @@ public class DnsPaginators {
                             GetZoneRecordsResponse response) {
                         return response.getRecordCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -409,7 +441,8 @@ public class DnsPaginators {
                     public ListSteeringPoliciesResponse apply(ListSteeringPoliciesRequest request) {
                         return client.listSteeringPolicies(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -471,7 +504,8 @@ public class DnsPaginators {
                             ListSteeringPoliciesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -527,7 +561,8 @@ public class DnsPaginators {
                             ListSteeringPolicyAttachmentsRequest request) {
                         return client.listSteeringPolicyAttachments(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -596,7 +631,8 @@ public class DnsPaginators {
                             apply(ListSteeringPolicyAttachmentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -645,7 +681,8 @@ public class DnsPaginators {
                     public ListTsigKeysResponse apply(ListTsigKeysRequest request) {
                         return client.listTsigKeys(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -706,7 +743,8 @@ public class DnsPaginators {
                             ListTsigKeysResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -754,7 +792,8 @@ public class DnsPaginators {
                     public ListZonesResponse apply(ListZonesRequest request) {
                         return client.listZones(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -814,6 +853,7 @@ public class DnsPaginators {
                             ListZonesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
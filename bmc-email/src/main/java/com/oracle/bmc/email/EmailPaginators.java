@@ -24,11 +24,37 @@ import com.oracle.bmc.email.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20170907")
-@lombok.RequiredArgsConstructor
 public class EmailPaginators {
     private final Email client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public EmailPaginators(Email client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public EmailPaginators(
+            Email client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listSenders operation. This iterable
@@ -76,7 +102,8 @@ public class EmailPaginators {
                     public ListSendersResponse apply(ListSendersRequest request) {
                         return client.listSenders(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class EmailPaginators {
                             ListSendersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -187,7 +215,8 @@ public class EmailPaginators {
                     public ListSuppressionsResponse apply(ListSuppressionsRequest request) {
                         return client.listSuppressions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -249,6 +278,7 @@ public class EmailPaginators {
                             ListSuppressionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.encryption;
+
+import com.oracle.bmc.auth.AbstractAuthenticationDetailsProvider;
+import com.oracle.bmc.encryption.internal.CryptoAlgorithm;
+import com.oracle.bmc.encryption.internal.DataKeyCache;
+import lombok.Getter;
+
+/**
+ * Represents a MasterKeyProvider that caches data keys locally, so that encrypting and decrypting
+ * many objects does not cost one KMS request per object.
+ * <p>
+ * For encryption, one data key is generated and reused until it reaches the age, message or byte
+ * limit of the {@link DataKeyCacheConfiguration}.  For decryption, data keys decrypted by KMS are
+ * kept by their encrypted form, and the least recently used ones are evicted.  The key material of
+ * retired and evicted data keys is overwritten with zeros.
+ * <p>
+ * The provider is thread-safe and should be shared by all {@link OciCrypto} operations that use
+ * the same master key.  Close it to clear the cached data keys.
+ */
+public class CachingMasterKeyProvider implements MasterKeyProvider, AutoCloseable {
+    private final MasterKeyProvider delegate;
+
+    /**
+     * The data key cache of this provider.
+     */
+    @Getter private final DataKeyCache dataKeyCache;
+
+    /**
+     * Initialize CachingMasterKeyProvider with the default cache configuration.
+     * @param delegate The provider of the master key, for example a KmsMasterKeyProvider.
+     */
+    public CachingMasterKeyProvider(MasterKeyProvider delegate) {
+        this(delegate, DataKeyCacheConfiguration.builder().build());
+    }
+
+    /**
+     * Initialize CachingMasterKeyProvider.
+     * @param delegate The provider of the master key, for example a KmsMasterKeyProvider.
+     * @param configuration The limits of the data key cache.
+     */
+    public CachingMasterKeyProvider(
+            MasterKeyProvider delegate, DataKeyCacheConfiguration configuration) {
+        if (delegate == null || configuration == null) {
+            throw new IllegalArgumentException(
+                    "Please provide a valid MasterKeyProvider and a DataKeyCacheConfiguration.");
+        }
+        this.delegate = delegate;
+        this.dataKeyCache = new DataKeyCache(configuration);
+    }
+
+    /**
+     * Get the master key of the delegate provider.
+     */
+    @Override
+    public MasterKey getMasterKey() {
+        return delegate.getMasterKey();
+    }
+
+    /**
+     * Get the Authentication Details Provider of the delegate provider.
+     */
+    @Override
+    public AbstractAuthenticationDetailsProvider getAuthenticationProvider() {
+        return delegate.getAuthenticationProvider();
+    }
+
+    /**
+     * Get the Crypto Algorithm of the delegate provider.
+     */
+    @Override
+    public CryptoAlgorithm getCryptoAlgorithm() {
+        return delegate.getCryptoAlgorithm();
+    }
+
+    /**
+     * Clear the cached data keys and overwrite their key material.
+     * The master key of the delegate provider is not closed.
+     */
+    @Override
+    public void close() {
+        dataKeyCache.clear();
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.encryption;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * DataKeyCacheConfiguration bounds how long and how much a {@link CachingMasterKeyProvider} uses a
+ * data encryption key before it generates a new one, and how many decrypted data keys it keeps.
+ */
+@Getter
+@ToString
+public class DataKeyCacheConfiguration {
+    private static final int DEFAULT_MAX_DATA_KEY_AGE_MILLIS = 5 * 60 * 1000;
+    // NIST SP 800-38D limit for AES-GCM with random 96-bit IVs
+    private static final long DEFAULT_MAX_MESSAGES_PER_DATA_KEY = 1L << 32;
+    private static final long DEFAULT_MAX_BYTES_PER_DATA_KEY = Long.MAX_VALUE;
+    private static final int DEFAULT_MAX_DECRYPTED_DATA_KEYS = 1000;
+
+    /**
+     * Max time in milliseconds a data key is used for encryption, or a decrypted data key is kept,
+     * after it was received from KMS, default 300,000 (5 minutes).
+     */
+    private final int maxDataKeyAgeMillis;
+    /**
+     * Max number of messages and streams encrypted with one data key, default 2^32.
+     */
+    private final long maxMessagesPerDataKey;
+    /**
+     * Max number of plaintext bytes encrypted with one data key, default unlimited.  The size of a
+     * stream is only known once it is read, so the data key is retired after a stream exceeds it.
+     */
+    private final long maxBytesPerDataKey;
+    /**
+     * Max number of decrypted data keys kept, default 1000.  The least recently used ones are evicted
+     * first.  0 disables caching decrypted data keys.
+     */
+    private final int maxDecryptedDataKeys;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private DataKeyCacheConfiguration(
+            Integer maxDataKeyAgeMillis,
+            Long maxMessagesPerDataKey,
+            Long maxBytesPerDataKey,
+            Integer maxDecryptedDataKeys) {
+        this.maxDataKeyAgeMillis =
+                getOrDefault(maxDataKeyAgeMillis, DEFAULT_MAX_DATA_KEY_AGE_MILLIS);
+        this.maxMessagesPerDataKey =
+                getOrDefault(maxMessagesPerDataKey, DEFAULT_MAX_MESSAGES_PER_DATA_KEY);
+        this.maxBytesPerDataKey = getOrDefault(maxBytesPerDataKey, DEFAULT_MAX_BYTES_PER_DATA_KEY);
+        this.maxDecryptedDataKeys =
+                getOrDefault(maxDecryptedDataKeys, DEFAULT_MAX_DECRYPTED_DATA_KEYS);
+
+        validateAtLeast("maxDataKeyAgeMillis", this.maxDataKeyAgeMillis, 1);
+        validateAtLeast("maxMessagesPerDataKey", this.maxMessagesPerDataKey, 1);
+        validateAtLeast("maxBytesPerDataKey", this.maxBytesPerDataKey, 1);
+        validateAtLeast("maxDecryptedDataKeys", this.maxDecryptedDataKeys, 0);
+    }
+
+    private static void validateAtLeast(String name, long value, long minimum) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "%s [%s] must be greater than or equal to %s", name, value, minimum));
+        }
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
@@ -10,10 +10,12 @@ import java.security.InvalidKeyException;
 import java.security.SecureRandom;
 import java.security.spec.AlgorithmParameterSpec;
 import java.util.Base64;
+import java.util.function.Supplier;
 import javax.crypto.Cipher;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
+import com.oracle.bmc.encryption.CachingMasterKeyProvider;
 import com.oracle.bmc.encryption.KmsMasterKey;
 import com.oracle.bmc.encryption.MasterKeyProvider;
 import lombok.Value;
@@ -21,9 +23,15 @@ import lombok.Value;
 public abstract class CipherHandler {
     protected final Cipher cipher;
     protected final MasterKeyProvider provider;
+    // null if the provider does not cache data keys
+    protected final DataKeyCache dataKeyCache;
 
     public CipherHandler(MasterKeyProvider provider) {
         this.provider = provider;
+        this.dataKeyCache =
+                (provider instanceof CachingMasterKeyProvider)
+                        ? ((CachingMasterKeyProvider) provider).getDataKeyCache()
+                        : null;
         try {
             cipher = Cipher.getInstance(provider.getCryptoAlgorithm().getMode());
         } catch (final GeneralSecurityException ex) {
@@ -48,15 +56,26 @@ public abstract class CipherHandler {
     }
 
     protected SecretKeySpec getSecretKeySpec(
-            EncryptionHeader encryptionHeader, KmsMasterKey decryptionKmsMasterKey) {
-        String decryptDataKey =
-                decryptionKmsMasterKey.decryptDataKey(
-                        encryptionHeader.getEncryptionKey().getEncryptedDataKey(),
-                        encryptionHeader.getEncryptionKey().getMasterKeyId());
+            EncryptionHeader encryptionHeader, Supplier<KmsMasterKey> decryptionKmsMasterKey) {
+        if (dataKeyCache != null) {
+            // the master key is only needed if the data key is not cached
+            return dataKeyCache.getDecryptionKey(
+                    encryptionHeader.getEncryptionKey(),
+                    provider.getCryptoAlgorithm().getAlgorithm(),
+                    () -> decryptDataKey(encryptionHeader, decryptionKmsMasterKey.get()));
+        }
+        String decryptDataKey = decryptDataKey(encryptionHeader, decryptionKmsMasterKey.get());
         byte[] secretKeyBytes = Base64.getDecoder().decode(decryptDataKey);
         return new SecretKeySpec(secretKeyBytes, provider.getCryptoAlgorithm().getAlgorithm());
     }
 
+    private static String decryptDataKey(
+            EncryptionHeader encryptionHeader, KmsMasterKey decryptionKmsMasterKey) {
+        return decryptionKmsMasterKey.decryptDataKey(
+                encryptionHeader.getEncryptionKey().getEncryptedDataKey(),
+                encryptionHeader.getEncryptionKey().getMasterKeyId());
+    }
+
     public Cipher initCipher(
             int mode, SecretKeySpec dataKeySpec, EncryptionHeader encryptionHeader) {
         String context = encryptionHeader.getAdditionalAuthenticatedData();
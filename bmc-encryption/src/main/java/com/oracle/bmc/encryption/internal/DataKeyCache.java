@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.encryption.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.oracle.bmc.encryption.DataKeyCacheConfiguration;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Caches the data key used for encryption, and the data keys decrypted by KMS.
+ * <p>
+ * Key material is only kept as byte arrays, which are overwritten with zeros when the data key is
+ * retired or evicted.  SecretKeySpecs are created while holding the lock that guards the eviction,
+ * so a key is never handed out after it was zeroed.
+ */
+public class DataKeyCache {
+    private final DataKeyCacheConfiguration configuration;
+    private final long maxAgeNanos;
+    private final DecryptionKeyMap decryptionKeys;
+
+    // guarded by this
+    private CachedDataKey encryptionKey;
+
+    public DataKeyCache(DataKeyCacheConfiguration configuration) {
+        this.configuration = configuration;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getMaxDataKeyAgeMillis());
+        this.decryptionKeys = new DecryptionKeyMap(configuration.getMaxDecryptedDataKeys());
+    }
+
+    /**
+     * Gets the data key to encrypt a message with, generating a new one if the current data key
+     * reached one of its limits.  Other callers wait while a new data key is generated, so that
+     * only one KMS request is made.
+     *
+     * @param generator Generates a new data key using the master key.
+     * @param algorithm The algorithm of the SecretKeySpec.
+     * @param bytes The number of plaintext bytes of the message, 0 if unknown.
+     * @return the data key
+     */
+    public synchronized EncryptionDataKey getEncryptionDataKey(
+            Supplier<DataKey> generator, String algorithm, long bytes) {
+        final long now = System.nanoTime();
+        if (encryptionKey == null || !encryptionKey.tryUse(now, bytes)) {
+            if (encryptionKey != null) {
+                encryptionKey.destroy();
+            }
+            // a new data key is used for the message even if it exceeds the byte limit alone
+            encryptionKey = new CachedDataKey(generator.get(), now);
+            encryptionKey.messages.incrementAndGet();
+            encryptionKey.bytes.addAndGet(bytes);
+        }
+        return new EncryptionDataKey(
+                encryptionKey.toDataKey(), encryptionKey.toSecretKeySpec(algorithm), encryptionKey);
+    }
+
+    /**
+     * Gets the decrypted data key of an encryption header, decrypting it if it is not cached.
+     *
+     * @param encryptionKey The encrypted data key and its master key.
+     * @param algorithm The algorithm of the SecretKeySpec.
+     * @param decryptor Decrypts the data key using the master key, returning it base64 encoded.
+     * @return the decrypted data key
+     */
+    public SecretKeySpec getDecryptionKey(
+            EncryptionKey encryptionKey, String algorithm, Supplier<String> decryptor) {
+        if (configuration.getMaxDecryptedDataKeys() == 0) {
+            return createSecretKeySpec(decryptor.get(), algorithm);
+        }
+        synchronized (decryptionKeys) {
+            final CachedDataKey cached = decryptionKeys.get(encryptionKey);
+            if (cached != null) {
+                if (!cached.isExpired(System.nanoTime())) {
+                    return cached.toSecretKeySpec(algorithm);
+                }
+                decryptionKeys.remove(encryptionKey).destroy();
+            }
+        }
+        // decrypt without holding the lock, concurrent misses for the same key are harmless
+        final CachedDataKey decrypted =
+                new CachedDataKey(
+                        new DataKey(encryptionKey.getEncryptedDataKey(), decryptor.get(), null),
+                        System.nanoTime());
+        synchronized (decryptionKeys) {
+            final CachedDataKey previous = decryptionKeys.put(encryptionKey, decrypted);
+            if (previous != null) {
+                previous.destroy();
+            }
+            return decrypted.toSecretKeySpec(algorithm);
+        }
+    }
+
+    /**
+     * Removes all data keys, and overwrites their key material.
+     */
+    public void clear() {
+        synchronized (this) {
+            if (encryptionKey != null) {
+                encryptionKey.destroy();
+                encryptionKey = null;
+            }
+        }
+        synchronized (decryptionKeys) {
+            final Iterator<CachedDataKey> keys = decryptionKeys.values().iterator();
+            while (keys.hasNext()) {
+                keys.next().destroy();
+                keys.remove();
+            }
+        }
+    }
+
+    private static SecretKeySpec createSecretKeySpec(String plaintext, String algorithm) {
+        final byte[] key = Base64.getDecoder().decode(plaintext);
+        try {
+            return new SecretKeySpec(key, algorithm);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * A data key to encrypt one message or stream with.  The data key only holds the encrypted
+     * form, the key material is in the SecretKeySpec.
+     */
+    @Getter
+    public static final class EncryptionDataKey {
+        private final DataKey dataKey;
+        private final SecretKeySpec secretKeySpec;
+
+        @Getter(AccessLevel.NONE)
+        private final CachedDataKey cached;
+
+        private EncryptionDataKey(
+                DataKey dataKey, SecretKeySpec secretKeySpec, CachedDataKey cached) {
+            this.dataKey = dataKey;
+            this.secretKeySpec = secretKeySpec;
+            this.cached = cached;
+        }
+
+        /**
+         * Wraps the plaintext stream, so that the bytes read from it are counted against the byte
+         * limit of the data key.
+         */
+        public InputStream countBytes(InputStream inputStream) {
+            return new FilterInputStream(inputStream) {
+                @Override
+                public int read() throws IOException {
+                    final int result = super.read();
+                    if (result != -1) {
+                        cached.bytes.incrementAndGet();
+                    }
+                    return result;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    final int result = super.read(b, off, len);
+                    if (result > 0) {
+                        cached.bytes.addAndGet(result);
+                    }
+                    return result;
+                }
+            };
+        }
+    }
+
+    /*
+     * The decrypted data keys, in access order.  Destroys the least recently used key when the map
+     * grows beyond the max size.
+     */
+    private static final class DecryptionKeyMap
+            extends LinkedHashMap<EncryptionKey, CachedDataKey> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private DecryptionKeyMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<EncryptionKey, CachedDataKey> eldest) {
+            if (size() > maxSize) {
+                eldest.getValue().destroy();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final class CachedDataKey {
+        private final String ciphertext;
+        private final byte[] key;
+        private final long createdNanos;
+        private final AtomicLong messages = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        private CachedDataKey(DataKey dataKey, long createdNanos) {
+            this.ciphertext = dataKey.getCiphertext();
+            this.key = Base64.getDecoder().decode(dataKey.getPlaintext());
+            this.createdNanos = createdNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - createdNanos >= maxAgeNanos;
+        }
+
+        private boolean tryUse(long now, long messageBytes) {
+            if (isExpired(now)
+                    || messages.get() >= configuration.getMaxMessagesPerDataKey()
+                    || bytes.get() >= configuration.getMaxBytesPerDataKey()
+                    || messageBytes > configuration.getMaxBytesPerDataKey() - bytes.get()) {
+                return false;
+            }
+            messages.incrementAndGet();
+            bytes.addAndGet(messageBytes);
+            return true;
+        }
+
+        private DataKey toDataKey() {
+            return new DataKey(ciphertext, null, null);
+        }
+
+        private SecretKeySpec toSecretKeySpec(String algorithm) {
+            // SecretKeySpec copies the key
+            return new SecretKeySpec(key, algorithm);
+        }
+
+        private void destroy() {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+}
@@ -25,11 +25,12 @@ public class DecryptionHandler extends CipherHandler {
     public WithEncryptionHeader<OciCryptoInputStream> getDecryptInputStream(
             final InputStream inputStream) throws IOException {
         EncryptionHeader encryptionHeader = serializeHeader.readHeader(inputStream);
-        KmsMasterKey kmsMasterKey = createDecryptionKmsMasterKey(encryptionHeader);
         Cipher cipher =
                 initCipher(
                         Cipher.DECRYPT_MODE,
-                        super.getSecretKeySpec(encryptionHeader, kmsMasterKey),
+                        super.getSecretKeySpec(
+                                encryptionHeader,
+                                () -> createDecryptionKmsMasterKey(encryptionHeader)),
                         encryptionHeader);
         return new WithEncryptionHeader<>(
                 new DecryptionStream(inputStream, cipher, encryptionHeader), encryptionHeader);
@@ -38,11 +39,12 @@ public class DecryptionHandler extends CipherHandler {
     public OciCryptoResult decrypt(byte[] dataWithHeader) throws IOException {
         ByteArrayInputStream decryptInputStream = new ByteArrayInputStream(dataWithHeader);
         EncryptionHeader encryptionHeader = serializeHeader.readHeader(decryptInputStream);
-        KmsMasterKey kmsMasterKey = createDecryptionKmsMasterKey(encryptionHeader);
         Cipher cipher =
                 initCipher(
                         Cipher.DECRYPT_MODE,
-                        getSecretKeySpec(encryptionHeader, kmsMasterKey),
+                        getSecretKeySpec(
+                                encryptionHeader,
+                                () -> createDecryptionKmsMasterKey(encryptionHeader)),
                         encryptionHeader);
         DecryptionStream inputStream =
                 new DecryptionStream(decryptInputStream, cipher, encryptionHeader);
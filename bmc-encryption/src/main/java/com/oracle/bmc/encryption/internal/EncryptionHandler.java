@@ -37,6 +37,19 @@ public class EncryptionHandler extends CipherHandler {
 
     public WithEncryptionHeader<OciCryptoInputStream> getEncryptInputStream(
             final InputStream inputStream, final Map<String, String> context) {
+        if (dataKeyCache != null) {
+            // the size of the stream is unknown, its bytes are counted while it is read
+            DataKeyCache.EncryptionDataKey dataKey = getCachedDataKey(0L);
+            EncryptionHeader encryptionHeader =
+                    serializeHeader.createHeader(
+                            dataKey.getDataKey(), super.generateIV(), context);
+            Cipher cipher =
+                    initCipher(Cipher.ENCRYPT_MODE, dataKey.getSecretKeySpec(), encryptionHeader);
+            return new WithEncryptionHeader<>(
+                    new EncryptionStream(
+                            dataKey.countBytes(inputStream), cipher, encryptionHeader),
+                    encryptionHeader);
+        }
         DataKey dataKey = super.generateDataKey();
         EncryptionHeader encryptionHeader =
                 serializeHeader.createHeader(dataKey, super.generateIV(), context);
@@ -48,12 +61,20 @@ public class EncryptionHandler extends CipherHandler {
 
     public OciCryptoResult encrypt(byte[] data, final Map<String, String> context)
             throws IOException {
-        DataKey dataKey = super.generateDataKey();
+        final DataKey dataKey;
+        final SecretKeySpec secretKeySpec;
+        if (dataKeyCache != null) {
+            DataKeyCache.EncryptionDataKey cachedDataKey = getCachedDataKey(data.length);
+            dataKey = cachedDataKey.getDataKey();
+            secretKeySpec = cachedDataKey.getSecretKeySpec();
+        } else {
+            dataKey = super.generateDataKey();
+            secretKeySpec = generateSecretKeySpec(dataKey);
+        }
         EncryptionHeader encryptionHeader =
                 serializeHeader.createHeader(dataKey, super.generateIV(), context);
 
-        Cipher cipher =
-                initCipher(Cipher.ENCRYPT_MODE, generateSecretKeySpec(dataKey), encryptionHeader);
+        Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, secretKeySpec, encryptionHeader);
 
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         outputStream.write(encryptionHeader.getHeaderBytes());
@@ -65,4 +86,9 @@ public class EncryptionHandler extends CipherHandler {
         }
         return new OciCryptoResult(outputStream.toByteArray(), encryptionHeader);
     }
+
+    private DataKeyCache.EncryptionDataKey getCachedDataKey(long bytes) {
+        return dataKeyCache.getEncryptionDataKey(
+                super::generateDataKey, provider.getCryptoAlgorithm().getAlgorithm(), bytes);
+    }
 }
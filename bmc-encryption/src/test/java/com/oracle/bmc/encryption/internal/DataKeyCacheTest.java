@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.encryption.internal;
+
+import com.oracle.bmc.encryption.DataKeyCacheConfiguration;
+import org.junit.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DataKeyCacheTest {
+    private static final String ALGORITHM = "AES";
+
+    private final List<String> generated = new ArrayList<>();
+    private final List<String> decrypted = new ArrayList<>();
+
+    @Test
+    public void encryptionKey_reusedUntilMessageLimit() {
+        final DataKeyCache cache = newCache(configuration().maxMessagesPerDataKey(2L));
+
+        assertEquals("ciphertext-1", encryptionKey(cache, 0));
+        assertEquals("ciphertext-1", encryptionKey(cache, 0));
+        assertEquals("ciphertext-2", encryptionKey(cache, 0));
+        assertEquals(2, generated.size());
+    }
+
+    @Test
+    public void encryptionKey_retiredAtByteLimit() {
+        final DataKeyCache cache = newCache(configuration().maxBytesPerDataKey(10L));
+
+        assertEquals("ciphertext-1", encryptionKey(cache, 6));
+        assertEquals("ciphertext-1", encryptionKey(cache, 4));
+        assertEquals("ciphertext-2", encryptionKey(cache, 1));
+        // a message larger than the limit still gets a new data key of its own
+        assertEquals("ciphertext-3", encryptionKey(cache, 20));
+        assertEquals("ciphertext-4", encryptionKey(cache, 0));
+    }
+
+    @Test
+    public void encryptionKey_retiredAfterMaxAge() throws Exception {
+        final DataKeyCache cache = newCache(configuration().maxDataKeyAgeMillis(1));
+
+        assertEquals("ciphertext-1", encryptionKey(cache, 0));
+        Thread.sleep(5);
+        assertEquals("ciphertext-2", encryptionKey(cache, 0));
+    }
+
+    @Test
+    public void decryptionKey_cached() {
+        final DataKeyCache cache = newCache(configuration());
+
+        final SecretKeySpec first = decryptionKey(cache, "a");
+        final SecretKeySpec second = decryptionKey(cache, "a");
+
+        assertEquals(Arrays.asList("a"), decrypted);
+        assertArrayEquals(first.getEncoded(), second.getEncoded());
+        assertArrayEquals(key("a"), second.getEncoded());
+    }
+
+    @Test
+    public void decryptionKey_leastRecentlyUsedEvicted() {
+        final DataKeyCache cache = newCache(configuration().maxDecryptedDataKeys(2));
+
+        decryptionKey(cache, "a");
+        decryptionKey(cache, "b");
+        decryptionKey(cache, "a");
+        decryptionKey(cache, "c");
+        decryptionKey(cache, "a");
+        assertArrayEquals(key("b"), decryptionKey(cache, "b").getEncoded());
+
+        assertEquals(Arrays.asList("a", "b", "c", "b"), decrypted);
+    }
+
+    @Test
+    public void decryptionKey_expiredKeyDecryptedAgain() throws Exception {
+        final DataKeyCache cache = newCache(configuration().maxDataKeyAgeMillis(1));
+
+        decryptionKey(cache, "a");
+        Thread.sleep(5);
+        assertArrayEquals(key("a"), decryptionKey(cache, "a").getEncoded());
+
+        assertEquals(Arrays.asList("a", "a"), decrypted);
+    }
+
+    @Test
+    public void decryptionKey_notCachedWhenDisabled() {
+        final DataKeyCache cache = newCache(configuration().maxDecryptedDataKeys(0));
+
+        decryptionKey(cache, "a");
+        decryptionKey(cache, "a");
+
+        assertEquals(Arrays.asList("a", "a"), decrypted);
+    }
+
+    @Test
+    public void clear_removesAllKeys() {
+        final DataKeyCache cache = newCache(configuration());
+        encryptionKey(cache, 0);
+        decryptionKey(cache, "a");
+
+        cache.clear();
+
+        assertEquals("ciphertext-2", encryptionKey(cache, 0));
+        decryptionKey(cache, "a");
+        assertEquals(Arrays.asList("a", "a"), decrypted);
+    }
+
+    private static DataKeyCache newCache(
+            DataKeyCacheConfiguration.DataKeyCacheConfigurationBuilder builder) {
+        return new DataKeyCache(builder.build());
+    }
+
+    private static DataKeyCacheConfiguration.DataKeyCacheConfigurationBuilder configuration() {
+        return DataKeyCacheConfiguration.builder();
+    }
+
+    private String encryptionKey(DataKeyCache cache, long bytes) {
+        final Supplier<DataKey> generator =
+                () -> {
+                    final String ciphertext = "ciphertext-" + (generated.size() + 1);
+                    generated.add(ciphertext);
+                    return new DataKey(ciphertext, plaintext(ciphertext), null);
+                };
+        return cache.getEncryptionDataKey(generator, ALGORITHM, bytes)
+                .getDataKey()
+                .getCiphertext();
+    }
+
+    private SecretKeySpec decryptionKey(DataKeyCache cache, String encryptedDataKey) {
+        return cache.getDecryptionKey(
+                new EncryptionKey("region", "vault", "masterKey", encryptedDataKey),
+                ALGORITHM,
+                () -> {
+                    decrypted.add(encryptedDataKey);
+                    return plaintext(encryptedDataKey);
+                });
+    }
+
+    private static String plaintext(String encryptedDataKey) {
+        return Base64.getEncoder().encodeToString(key(encryptedDataKey));
+    }
+
+    private static byte[] key(String encryptedDataKey) {
+        final byte[] key = new byte[32];
+        Arrays.fill(key, (byte) encryptedDataKey.hashCode());
+        return key;
+    }
+}
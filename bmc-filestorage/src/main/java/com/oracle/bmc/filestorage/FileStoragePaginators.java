@@ -24,11 +24,37 @@ import com.oracle.bmc.filestorage.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20171215")
-@lombok.RequiredArgsConstructor
 public class FileStoragePaginators {
     private final FileStorage client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public FileStoragePaginators(FileStorage client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public FileStoragePaginators(
+            FileStorage client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listExportSets operation. This iterable
@@ -77,7 +103,8 @@ public class FileStoragePaginators {
                     public ListExportSetsResponse apply(ListExportSetsRequest request) {
                         return client.listExportSets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -139,7 +166,8 @@ public class FileStoragePaginators {
                             ListExportSetsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -188,7 +216,8 @@ public class FileStoragePaginators {
                     public ListExportsResponse apply(ListExportsRequest request) {
                         return client.listExports(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -249,7 +278,8 @@ public class FileStoragePaginators {
                             ListExportsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -299,7 +329,8 @@ public class FileStoragePaginators {
                     public ListFileSystemsResponse apply(ListFileSystemsRequest request) {
                         return client.listFileSystems(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -361,7 +392,8 @@ public class FileStoragePaginators {
                             ListFileSystemsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -411,7 +443,8 @@ public class FileStoragePaginators {
                     public ListMountTargetsResponse apply(ListMountTargetsRequest request) {
                         return client.listMountTargets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -473,7 +506,8 @@ public class FileStoragePaginators {
                             apply(ListMountTargetsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -522,7 +556,8 @@ public class FileStoragePaginators {
                     public ListSnapshotsResponse apply(ListSnapshotsRequest request) {
                         return client.listSnapshots(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -583,6 +618,7 @@ public class FileStoragePaginators {
                             ListSnapshotsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
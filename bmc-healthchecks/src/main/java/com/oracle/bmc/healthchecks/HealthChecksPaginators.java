@@ -24,11 +24,37 @@ import com.oracle.bmc.healthchecks.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20180501")
-@lombok.RequiredArgsConstructor
 public class HealthChecksPaginators {
     private final HealthChecks client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public HealthChecksPaginators(HealthChecks client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public HealthChecksPaginators(
+            HealthChecks client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listHealthChecksVantagePoints operation. This iterable
@@ -83,7 +109,8 @@ public class HealthChecksPaginators {
                             ListHealthChecksVantagePointsRequest request) {
                         return client.listHealthChecksVantagePoints(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -155,7 +182,8 @@ public class HealthChecksPaginators {
                             apply(ListHealthChecksVantagePointsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -205,7 +233,8 @@ public class HealthChecksPaginators {
                     public ListHttpMonitorsResponse apply(ListHttpMonitorsRequest request) {
                         return client.listHttpMonitors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -267,7 +296,8 @@ public class HealthChecksPaginators {
                             apply(ListHttpMonitorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -318,7 +348,8 @@ public class HealthChecksPaginators {
                     public ListHttpProbeResultsResponse apply(ListHttpProbeResultsRequest request) {
                         return client.listHttpProbeResults(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -382,7 +413,8 @@ public class HealthChecksPaginators {
                             apply(ListHttpProbeResultsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -432,7 +464,8 @@ public class HealthChecksPaginators {
                     public ListPingMonitorsResponse apply(ListPingMonitorsRequest request) {
                         return client.listPingMonitors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -494,7 +527,8 @@ public class HealthChecksPaginators {
                             apply(ListPingMonitorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -545,7 +579,8 @@ public class HealthChecksPaginators {
                     public ListPingProbeResultsResponse apply(ListPingProbeResultsRequest request) {
                         return client.listPingProbeResults(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -609,6 +644,7 @@ public class HealthChecksPaginators {
                             apply(ListPingProbeResultsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.identity.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class IdentityPaginators {
     private final Identity client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public IdentityPaginators(Identity client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public IdentityPaginators(
+            Identity client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listBulkActionResourceTypes operation. This iterable
@@ -80,7 +106,8 @@ public class IdentityPaginators {
                             ListBulkActionResourceTypesRequest request) {
                         return client.listBulkActionResourceTypes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -145,7 +172,8 @@ public class IdentityPaginators {
                             apply(ListBulkActionResourceTypesResponse response) {
                         return response.getBulkActionResourceTypeCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -195,7 +223,8 @@ public class IdentityPaginators {
                     public ListCompartmentsResponse apply(ListCompartmentsRequest request) {
                         return client.listCompartments(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -257,7 +286,8 @@ public class IdentityPaginators {
                             ListCompartmentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -308,7 +338,8 @@ public class IdentityPaginators {
                     public ListCostTrackingTagsResponse apply(ListCostTrackingTagsRequest request) {
                         return client.listCostTrackingTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -370,7 +401,8 @@ public class IdentityPaginators {
                             ListCostTrackingTagsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -421,7 +453,8 @@ public class IdentityPaginators {
                     public ListDynamicGroupsResponse apply(ListDynamicGroupsRequest request) {
                         return client.listDynamicGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -483,7 +516,8 @@ public class IdentityPaginators {
                             ListDynamicGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -532,7 +566,8 @@ public class IdentityPaginators {
                     public ListGroupsResponse apply(ListGroupsRequest request) {
                         return client.listGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -592,7 +627,8 @@ public class IdentityPaginators {
                             ListGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -644,7 +680,8 @@ public class IdentityPaginators {
                             ListIdentityProviderGroupsRequest request) {
                         return client.listIdentityProviderGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -711,7 +748,8 @@ public class IdentityPaginators {
                             apply(ListIdentityProviderGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -763,7 +801,8 @@ public class IdentityPaginators {
                             ListIdentityProvidersRequest request) {
                         return client.listIdentityProviders(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -826,7 +865,8 @@ public class IdentityPaginators {
                             ListIdentityProvidersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -877,7 +917,8 @@ public class IdentityPaginators {
                     public ListIdpGroupMappingsResponse apply(ListIdpGroupMappingsRequest request) {
                         return client.listIdpGroupMappings(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -939,7 +980,8 @@ public class IdentityPaginators {
                             ListIdpGroupMappingsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -990,7 +1032,8 @@ public class IdentityPaginators {
                     public ListMfaTotpDevicesResponse apply(ListMfaTotpDevicesRequest request) {
                         return client.listMfaTotpDevices(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1052,7 +1095,8 @@ public class IdentityPaginators {
                             ListMfaTotpDevicesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1103,7 +1147,8 @@ public class IdentityPaginators {
                     public ListNetworkSourcesResponse apply(ListNetworkSourcesRequest request) {
                         return client.listNetworkSources(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1165,7 +1210,8 @@ public class IdentityPaginators {
                             apply(ListNetworkSourcesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1217,7 +1263,8 @@ public class IdentityPaginators {
                             ListOAuthClientCredentialsRequest request) {
                         return client.listOAuthClientCredentials(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1284,7 +1331,8 @@ public class IdentityPaginators {
                             apply(ListOAuthClientCredentialsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1333,7 +1381,8 @@ public class IdentityPaginators {
                     public ListPoliciesResponse apply(ListPoliciesRequest request) {
                         return client.listPolicies(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1394,7 +1443,8 @@ public class IdentityPaginators {
                             ListPoliciesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1444,7 +1494,8 @@ public class IdentityPaginators {
                     public ListTagDefaultsResponse apply(ListTagDefaultsRequest request) {
                         return client.listTagDefaults(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1506,7 +1557,8 @@ public class IdentityPaginators {
                             ListTagDefaultsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1557,7 +1609,8 @@ public class IdentityPaginators {
                     public ListTagNamespacesResponse apply(ListTagNamespacesRequest request) {
                         return client.listTagNamespaces(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1619,7 +1672,8 @@ public class IdentityPaginators {
                             ListTagNamespacesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1674,7 +1728,8 @@ public class IdentityPaginators {
                             ListTaggingWorkRequestErrorsRequest request) {
                         return client.listTaggingWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1743,7 +1798,8 @@ public class IdentityPaginators {
                             apply(ListTaggingWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1795,7 +1851,8 @@ public class IdentityPaginators {
                             ListTaggingWorkRequestLogsRequest request) {
                         return client.listTaggingWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1862,7 +1919,8 @@ public class IdentityPaginators {
                             apply(ListTaggingWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1914,7 +1972,8 @@ public class IdentityPaginators {
                             ListTaggingWorkRequestsRequest request) {
                         return client.listTaggingWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1978,7 +2037,8 @@ public class IdentityPaginators {
                             apply(ListTaggingWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2026,7 +2086,8 @@ public class IdentityPaginators {
                     public ListTagsResponse apply(ListTagsRequest request) {
                         return client.listTags(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2087,7 +2148,8 @@ public class IdentityPaginators {
                             ListTagsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2139,7 +2201,8 @@ public class IdentityPaginators {
                             ListUserGroupMembershipsRequest request) {
                         return client.listUserGroupMemberships(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2203,7 +2266,8 @@ public class IdentityPaginators {
                             ListUserGroupMembershipsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2251,7 +2315,8 @@ public class IdentityPaginators {
                     public ListUsersResponse apply(ListUsersRequest request) {
                         return client.listUsers(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2311,7 +2376,8 @@ public class IdentityPaginators {
                             ListUsersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2361,7 +2427,8 @@ public class IdentityPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2423,6 +2490,7 @@ public class IdentityPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.limits.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: ")
-@lombok.RequiredArgsConstructor
 public class LimitsPaginators {
     private final Limits client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public LimitsPaginators(Limits client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public LimitsPaginators(
+            Limits client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listLimitDefinitions operation. This iterable
@@ -78,7 +104,8 @@ public class LimitsPaginators {
                     public ListLimitDefinitionsResponse apply(ListLimitDefinitionsRequest request) {
                         return client.listLimitDefinitions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -140,7 +167,8 @@ public class LimitsPaginators {
                             ListLimitDefinitionsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -190,7 +218,8 @@ public class LimitsPaginators {
                     public ListLimitValuesResponse apply(ListLimitValuesRequest request) {
                         return client.listLimitValues(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -252,7 +281,8 @@ public class LimitsPaginators {
                             ListLimitValuesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -301,7 +331,8 @@ public class LimitsPaginators {
                     public ListServicesResponse apply(ListServicesRequest request) {
                         return client.listServices(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -362,6 +393,7 @@ public class LimitsPaginators {
                             ListServicesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
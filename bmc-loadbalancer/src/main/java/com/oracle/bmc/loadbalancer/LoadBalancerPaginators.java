@@ -24,11 +24,37 @@ import com.oracle.bmc.loadbalancer.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20170115")
-@lombok.RequiredArgsConstructor
 public class LoadBalancerPaginators {
     private final LoadBalancer client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public LoadBalancerPaginators(LoadBalancer client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public LoadBalancerPaginators(
+            LoadBalancer client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listLoadBalancerHealths operation. This iterable
@@ -79,7 +105,8 @@ public class LoadBalancerPaginators {
                             ListLoadBalancerHealthsRequest request) {
                         return client.listLoadBalancerHealths(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -145,7 +172,8 @@ public class LoadBalancerPaginators {
                             apply(ListLoadBalancerHealthsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -196,7 +224,8 @@ public class LoadBalancerPaginators {
                     public ListLoadBalancersResponse apply(ListLoadBalancersRequest request) {
                         return client.listLoadBalancers(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -258,7 +287,8 @@ public class LoadBalancerPaginators {
                             ListLoadBalancersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -307,7 +337,8 @@ public class LoadBalancerPaginators {
                     public ListPoliciesResponse apply(ListPoliciesRequest request) {
                         return client.listPolicies(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -368,7 +399,8 @@ public class LoadBalancerPaginators {
                             apply(ListPoliciesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -417,7 +449,8 @@ public class LoadBalancerPaginators {
                     public ListProtocolsResponse apply(ListProtocolsRequest request) {
                         return client.listProtocols(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -478,7 +511,8 @@ public class LoadBalancerPaginators {
                             apply(ListProtocolsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -527,7 +561,8 @@ public class LoadBalancerPaginators {
                     public ListShapesResponse apply(ListShapesRequest request) {
                         return client.listShapes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -588,7 +623,8 @@ public class LoadBalancerPaginators {
                             apply(ListShapesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -638,7 +674,8 @@ public class LoadBalancerPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -700,6 +737,7 @@ public class LoadBalancerPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
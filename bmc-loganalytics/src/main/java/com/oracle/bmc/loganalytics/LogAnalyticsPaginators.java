@@ -24,11 +24,37 @@ import com.oracle.bmc.loganalytics.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20200601")
-@lombok.RequiredArgsConstructor
 public class LogAnalyticsPaginators {
     private final LogAnalytics client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public LogAnalyticsPaginators(LogAnalytics client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public LogAnalyticsPaginators(
+            LogAnalytics client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAssociatedEntities operation. This iterable
@@ -79,7 +105,8 @@ public class LogAnalyticsPaginators {
                             ListAssociatedEntitiesRequest request) {
                         return client.listAssociatedEntities(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -145,7 +172,8 @@ public class LogAnalyticsPaginators {
                             apply(ListAssociatedEntitiesResponse response) {
                         return response.getLogAnalyticsAssociatedEntityCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -197,7 +225,8 @@ public class LogAnalyticsPaginators {
                             ListConfigWorkRequestsRequest request) {
                         return client.listConfigWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -265,7 +294,8 @@ public class LogAnalyticsPaginators {
                             apply(ListConfigWorkRequestsResponse response) {
                         return response.getLogAnalyticsConfigWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -317,7 +347,8 @@ public class LogAnalyticsPaginators {
                             ListEntityAssociationsRequest request) {
                         return client.listEntityAssociations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -383,7 +414,8 @@ public class LogAnalyticsPaginators {
                             apply(ListEntityAssociationsResponse response) {
                         return response.getLogAnalyticsEntityCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -438,7 +470,8 @@ public class LogAnalyticsPaginators {
                             ListEntitySourceAssociationsRequest request) {
                         return client.listEntitySourceAssociations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -506,7 +539,8 @@ public class LogAnalyticsPaginators {
                             apply(ListEntitySourceAssociationsResponse response) {
                         return response.getLogAnalyticsAssociationCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -555,7 +589,8 @@ public class LogAnalyticsPaginators {
                     public ListFieldsResponse apply(ListFieldsRequest request) {
                         return client.listFields(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -618,7 +653,8 @@ public class LogAnalyticsPaginators {
                             apply(ListFieldsResponse response) {
                         return response.getLogAnalyticsFieldCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -669,7 +705,8 @@ public class LogAnalyticsPaginators {
                     public ListLabelPrioritiesResponse apply(ListLabelPrioritiesRequest request) {
                         return client.listLabelPriorities(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -731,7 +768,8 @@ public class LogAnalyticsPaginators {
                             ListLabelPrioritiesResponse response) {
                         return response.getLabelPriorityCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -783,7 +821,8 @@ public class LogAnalyticsPaginators {
                             ListLabelSourceDetailsRequest request) {
                         return client.listLabelSourceDetails(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -847,7 +886,8 @@ public class LogAnalyticsPaginators {
                             apply(ListLabelSourceDetailsResponse response) {
                         return response.getLabelSourceCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -896,7 +936,8 @@ public class LogAnalyticsPaginators {
                     public ListLabelsResponse apply(ListLabelsRequest request) {
                         return client.listLabels(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -959,7 +1000,8 @@ public class LogAnalyticsPaginators {
                             apply(ListLabelsResponse response) {
                         return response.getLogAnalyticsLabelCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1011,7 +1053,8 @@ public class LogAnalyticsPaginators {
                             ListLogAnalyticsEntitiesRequest request) {
                         return client.listLogAnalyticsEntities(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1077,7 +1120,8 @@ public class LogAnalyticsPaginators {
                             apply(ListLogAnalyticsEntitiesResponse response) {
                         return response.getLogAnalyticsEntityCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1130,7 +1174,8 @@ public class LogAnalyticsPaginators {
                             ListLogAnalyticsEntityTypesRequest request) {
                         return client.listLogAnalyticsEntityTypes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1198,7 +1243,8 @@ public class LogAnalyticsPaginators {
                             apply(ListLogAnalyticsEntityTypesResponse response) {
                         return response.getLogAnalyticsEntityTypeCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1250,7 +1296,8 @@ public class LogAnalyticsPaginators {
                             ListLogAnalyticsLogGroupsRequest request) {
                         return client.listLogAnalyticsLogGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1317,7 +1364,8 @@ public class LogAnalyticsPaginators {
                             apply(ListLogAnalyticsLogGroupsResponse response) {
                         return response.getLogAnalyticsLogGroupSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1374,7 +1422,8 @@ public class LogAnalyticsPaginators {
                             ListLogAnalyticsObjectCollectionRulesRequest request) {
                         return client.listLogAnalyticsObjectCollectionRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1447,7 +1496,8 @@ public class LogAnalyticsPaginators {
                             apply(ListLogAnalyticsObjectCollectionRulesResponse response) {
                         return response.getLogAnalyticsObjectCollectionRuleCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1498,7 +1548,8 @@ public class LogAnalyticsPaginators {
                     public ListMetaSourceTypesResponse apply(ListMetaSourceTypesRequest request) {
                         return client.listMetaSourceTypes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1563,7 +1614,8 @@ public class LogAnalyticsPaginators {
                             apply(ListMetaSourceTypesResponse response) {
                         return response.getLogAnalyticsMetaSourceTypeCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1614,7 +1666,8 @@ public class LogAnalyticsPaginators {
                     public ListParserFunctionsResponse apply(ListParserFunctionsRequest request) {
                         return client.listParserFunctions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1679,7 +1732,8 @@ public class LogAnalyticsPaginators {
                             apply(ListParserFunctionsResponse response) {
                         return response.getLogAnalyticsParserFunctionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1731,7 +1785,8 @@ public class LogAnalyticsPaginators {
                             ListParserMetaPluginsRequest request) {
                         return client.listParserMetaPlugins(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1797,7 +1852,8 @@ public class LogAnalyticsPaginators {
                             apply(ListParserMetaPluginsResponse response) {
                         return response.getLogAnalyticsParserMetaPluginCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1846,7 +1902,8 @@ public class LogAnalyticsPaginators {
                     public ListParsersResponse apply(ListParsersRequest request) {
                         return client.listParsers(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1909,7 +1966,8 @@ public class LogAnalyticsPaginators {
                             apply(ListParsersResponse response) {
                         return response.getLogAnalyticsParserCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1961,7 +2019,8 @@ public class LogAnalyticsPaginators {
                             ListQueryWorkRequestsRequest request) {
                         return client.listQueryWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2026,7 +2085,8 @@ public class LogAnalyticsPaginators {
                             apply(ListQueryWorkRequestsResponse response) {
                         return response.getQueryWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2077,7 +2137,8 @@ public class LogAnalyticsPaginators {
                     public ListScheduledTasksResponse apply(ListScheduledTasksRequest request) {
                         return client.listScheduledTasks(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2139,7 +2200,8 @@ public class LogAnalyticsPaginators {
                             apply(ListScheduledTasksResponse response) {
                         return response.getScheduledTaskCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2191,7 +2253,8 @@ public class LogAnalyticsPaginators {
                             ListSourceAssociationsRequest request) {
                         return client.listSourceAssociations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2256,7 +2319,8 @@ public class LogAnalyticsPaginators {
                             apply(ListSourceAssociationsResponse response) {
                         return response.getLogAnalyticsAssociationCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2313,7 +2377,8 @@ public class LogAnalyticsPaginators {
                             ListSourceExtendedFieldDefinitionsRequest request) {
                         return client.listSourceExtendedFieldDefinitions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2387,7 +2452,8 @@ public class LogAnalyticsPaginators {
                         return response.getLogAnalyticsSourceExtendedFieldDefinitionCollection()
                                 .getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2439,7 +2505,8 @@ public class LogAnalyticsPaginators {
                             ListSourceLabelOperatorsRequest request) {
                         return client.listSourceLabelOperators(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2505,7 +2572,8 @@ public class LogAnalyticsPaginators {
                             apply(ListSourceLabelOperatorsResponse response) {
                         return response.getLogAnalyticsLabelOperatorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2557,7 +2625,8 @@ public class LogAnalyticsPaginators {
                             ListSourceMetaFunctionsRequest request) {
                         return client.listSourceMetaFunctions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2623,7 +2692,8 @@ public class LogAnalyticsPaginators {
                             apply(ListSourceMetaFunctionsResponse response) {
                         return response.getLogAnalyticsMetaFunctionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2674,7 +2744,8 @@ public class LogAnalyticsPaginators {
                     public ListSourcePatternsResponse apply(ListSourcePatternsRequest request) {
                         return client.listSourcePatterns(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2739,7 +2810,8 @@ public class LogAnalyticsPaginators {
                             apply(ListSourcePatternsResponse response) {
                         return response.getLogAnalyticsSourcePatternCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2788,7 +2860,8 @@ public class LogAnalyticsPaginators {
                     public ListSourcesResponse apply(ListSourcesRequest request) {
                         return client.listSources(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2851,7 +2924,8 @@ public class LogAnalyticsPaginators {
                             apply(ListSourcesResponse response) {
                         return response.getLogAnalyticsSourceCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2906,7 +2980,8 @@ public class LogAnalyticsPaginators {
                             ListStorageWorkRequestErrorsRequest request) {
                         return client.listStorageWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2973,7 +3048,8 @@ public class LogAnalyticsPaginators {
                             ListStorageWorkRequestErrorsResponse response) {
                         return response.getWorkRequestErrorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3025,7 +3101,8 @@ public class LogAnalyticsPaginators {
                             ListStorageWorkRequestsRequest request) {
                         return client.listStorageWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3091,7 +3168,8 @@ public class LogAnalyticsPaginators {
                             apply(ListStorageWorkRequestsResponse response) {
                         return response.getStorageWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3141,7 +3219,8 @@ public class LogAnalyticsPaginators {
                     public ListUploadFilesResponse apply(ListUploadFilesRequest request) {
                         return client.listUploadFiles(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3203,7 +3282,8 @@ public class LogAnalyticsPaginators {
                             apply(ListUploadFilesResponse response) {
                         return response.getUploadFileCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3254,7 +3334,8 @@ public class LogAnalyticsPaginators {
                     public ListUploadWarningsResponse apply(ListUploadWarningsRequest request) {
                         return client.listUploadWarnings(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3316,7 +3397,8 @@ public class LogAnalyticsPaginators {
                             apply(ListUploadWarningsResponse response) {
                         return response.getUploadWarningCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3365,7 +3447,8 @@ public class LogAnalyticsPaginators {
                     public ListUploadsResponse apply(ListUploadsRequest request) {
                         return client.listUploads(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3426,7 +3509,8 @@ public class LogAnalyticsPaginators {
                             ListUploadsResponse response) {
                         return response.getUploadCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3478,7 +3562,8 @@ public class LogAnalyticsPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3541,7 +3626,8 @@ public class LogAnalyticsPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getWorkRequestErrorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3592,7 +3678,8 @@ public class LogAnalyticsPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3654,7 +3741,8 @@ public class LogAnalyticsPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getWorkRequestLogCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3704,7 +3792,8 @@ public class LogAnalyticsPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -3766,6 +3855,7 @@ public class LogAnalyticsPaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
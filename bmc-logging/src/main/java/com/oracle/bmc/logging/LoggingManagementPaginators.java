@@ -24,11 +24,37 @@ import com.oracle.bmc.logging.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20200531")
-@lombok.RequiredArgsConstructor
 public class LoggingManagementPaginators {
     private final LoggingManagement client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public LoggingManagementPaginators(LoggingManagement client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public LoggingManagementPaginators(
+            LoggingManagement client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listLogGroups operation. This iterable
@@ -76,7 +102,8 @@ public class LoggingManagementPaginators {
                     public ListLogGroupsResponse apply(ListLogGroupsRequest request) {
                         return client.listLogGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class LoggingManagementPaginators {
                             ListLogGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -189,7 +217,8 @@ public class LoggingManagementPaginators {
                             ListLogIncludedSearchesRequest request) {
                         return client.listLogIncludedSearches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -253,7 +282,8 @@ public class LoggingManagementPaginators {
                             apply(ListLogIncludedSearchesResponse response) {
                         return response.getLogIncludedSearchSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -304,7 +334,8 @@ public class LoggingManagementPaginators {
                     public ListLogSavedSearchesResponse apply(ListLogSavedSearchesRequest request) {
                         return client.listLogSavedSearches(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -366,7 +397,8 @@ public class LoggingManagementPaginators {
                             ListLogSavedSearchesResponse response) {
                         return response.getLogSavedSearchSummaryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -414,7 +446,8 @@ public class LoggingManagementPaginators {
                     public ListLogsResponse apply(ListLogsRequest request) {
                         return client.listLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -475,7 +508,8 @@ public class LoggingManagementPaginators {
                             ListLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -531,7 +565,8 @@ public class LoggingManagementPaginators {
                             ListUnifiedAgentConfigurationsRequest request) {
                         return client.listUnifiedAgentConfigurations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -601,7 +636,8 @@ public class LoggingManagementPaginators {
                             apply(ListUnifiedAgentConfigurationsResponse response) {
                         return response.getUnifiedAgentConfigurationCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -653,7 +689,8 @@ public class LoggingManagementPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -716,7 +753,8 @@ public class LoggingManagementPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -767,7 +805,8 @@ public class LoggingManagementPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -829,7 +868,8 @@ public class LoggingManagementPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -879,7 +919,8 @@ public class LoggingManagementPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -941,6 +982,7 @@ public class LoggingManagementPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
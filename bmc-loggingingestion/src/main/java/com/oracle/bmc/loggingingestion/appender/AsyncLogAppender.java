@@ -0,0 +1,462 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.loggingingestion.appender;
+
+import com.google.common.base.Utf8;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.loggingingestion.Logging;
+import com.oracle.bmc.loggingingestion.appender.internal.MpscRingBuffer;
+import com.oracle.bmc.loggingingestion.model.LogEntry;
+import com.oracle.bmc.loggingingestion.model.LogEntryBatch;
+import com.oracle.bmc.loggingingestion.model.PutLogsDetails;
+import com.oracle.bmc.loggingingestion.requests.PutLogsRequest;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.retrier.DefaultRetryCondition;
+import com.oracle.bmc.retrier.RetryCondition;
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncLogAppender ingests log entries into a log in the background.
+ * <p>
+ * Logging calls only add the entry to a lock-free ring buffer and return.  A single sender thread takes the
+ * entries from the buffer, groups them into one {@link LogEntryBatch} per source, type and subject, and sends
+ * them with one PutLogs request, see {@link AsyncLogAppenderConfiguration} for when.  Requests that fail with
+ * an error that can be retried are retried; if they still fail, their entries are dropped and logged.
+ * <p>
+ * The memory used is bounded by the capacity of the buffer.  If it is full, new entries are dropped or the
+ * logging call blocks, depending on the {@link AsyncLogAppenderConfiguration.OverflowPolicy}.  Entries logged
+ * by the sender thread itself, for example when errors of the appender are logged through it, are never
+ * blocked.
+ * <p>
+ * The appender must be closed after use, which sends the buffered entries.
+ */
+@Slf4j
+public class AsyncLogAppender implements AutoCloseable {
+    private static final String SPEC_VERSION = "1.0";
+    // the id and time of an entry, and the JSON around them
+    private static final int ENTRY_OVERHEAD_IN_BYTES = 100;
+    // the source, type and subject of a batch, and the JSON around them
+    private static final int BATCH_OVERHEAD_IN_BYTES = 200;
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+
+    private static final RetryCondition RETRY_CONDITION = new DefaultRetryCondition();
+
+    private final Logging loggingClient;
+    private final AsyncLogAppenderConfiguration configuration;
+    private final MpscRingBuffer<Entry> buffer;
+    private final Thread senderThread;
+    private final LongAdder droppedEntries = new LongAdder();
+    private final AtomicLong flushTarget = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    // the number of entries that have been sent or dropped by the sender, in order
+    private volatile long completedEntries;
+    private volatile boolean senderParked;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new AsyncLogAppender, and starts its sender thread.
+     *
+     * @param loggingClient The client used to ingest the log entries.
+     * @param configuration The appender configuration.
+     */
+    public AsyncLogAppender(
+            @NonNull Logging loggingClient, @NonNull AsyncLogAppenderConfiguration configuration) {
+        this.loggingClient = loggingClient;
+        this.configuration = configuration;
+        this.buffer = new MpscRingBuffer<>(configuration.getBufferCapacity());
+        this.senderThread =
+                new ThreadFactoryBuilder()
+                        .setNameFormat("async-log-appender-%d")
+                        .setDaemon(true)
+                        .build()
+                        .newThread(this::runSender);
+        this.senderThread.start();
+    }
+
+    /**
+     * Appends a log entry with the default source, type and subject of the configuration, and the current
+     * time.
+     *
+     * @param data The content of the log entry.
+     * @return true if the entry was buffered, false if it was dropped.
+     * @throws IllegalStateException if the configuration has no default source or type.
+     */
+    public boolean append(String data) {
+        Validate.validState(
+                configuration.getDefaultSource() != null && configuration.getDefaultType() != null,
+                "defaultSource and defaultType must be configured");
+        return append(
+                configuration.getDefaultSource(),
+                configuration.getDefaultType(),
+                configuration.getDefaultSubject(),
+                data,
+                null);
+    }
+
+    /**
+     * Appends a log entry with the current time.
+     *
+     * @param source The source of the log entry, for example the host name.
+     * @param type The type of the log entry, for example "ServerA.requestLogs".
+     * @param subject The subject of the log entry, optional.
+     * @param data The content of the log entry.
+     * @return true if the entry was buffered, false if it was dropped.
+     */
+    public boolean append(String source, String type, String subject, String data) {
+        return append(source, type, subject, data, null);
+    }
+
+    /**
+     * Appends a log entry.
+     *
+     * @param source The source of the log entry, for example the host name.
+     * @param type The type of the log entry, for example "ServerA.requestLogs".
+     * @param subject The subject of the log entry, optional.
+     * @param data The content of the log entry.
+     * @param time The time of the log entry, or null for the current time.
+     * @return true if the entry was buffered, false if it was dropped because the buffer is full or the
+     * appender is closed.
+     */
+    public boolean append(
+            @NonNull String source,
+            @NonNull String type,
+            String subject,
+            @NonNull String data,
+            Date time) {
+        if (closed) {
+            droppedEntries.increment();
+            return false;
+        }
+        final Entry entry =
+                new Entry(
+                        source,
+                        type,
+                        subject,
+                        data,
+                        time != null ? time.getTime() : System.currentTimeMillis());
+        if (offer(entry)) {
+            return true;
+        }
+        if (configuration.getOverflowPolicy() == AsyncLogAppenderConfiguration.OverflowPolicy.Block
+                && Thread.currentThread() != senderThread) {
+            while (!closed) {
+                LockSupport.unpark(senderThread);
+                LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+                if (offer(entry)) {
+                    return true;
+                }
+            }
+        }
+        droppedEntries.increment();
+        return false;
+    }
+
+    /**
+     * Sends all entries appended before this call, and waits until they have been sent or dropped.
+     */
+    public void flush() {
+        if (Thread.currentThread() == senderThread) {
+            return;
+        }
+        final long target = buffer.getProducedCount();
+        flushTarget.accumulateAndGet(target, Math::max);
+        LockSupport.unpark(senderThread);
+        synchronized (flushLock) {
+            while (completedEntries < target && senderThread.isAlive()) {
+                try {
+                    flushLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries that have been dropped, because the buffer was full, the appender was closed,
+     * or the PutLogs request failed.
+     *
+     * @return the number of dropped entries
+     */
+    public long getDroppedEntries() {
+        return droppedEntries.sum();
+    }
+
+    /**
+     * Closes the appender.  Sends the buffered entries, and waits until they have been sent or dropped.  Entries
+     * appended afterwards are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(senderThread);
+        boolean interrupted = false;
+        while (senderThread.isAlive() && Thread.currentThread() != senderThread) {
+            try {
+                senderThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean offer(Entry entry) {
+        if (buffer.offer(entry) < 0) {
+            return false;
+        }
+        if (senderParked && buffer.size() >= configuration.getMaxBatchEntries()) {
+            LockSupport.unpark(senderThread);
+        }
+        return true;
+    }
+
+    private void runSender() {
+        final long flushIntervalNanos =
+                TimeUnit.MILLISECONDS.toNanos(configuration.getFlushIntervalMillis());
+        final PendingEntries pending = new PendingEntries();
+        while (true) {
+            pending.drain();
+            final boolean closing = closed;
+            final long now = System.nanoTime();
+            if (!pending.isEmpty()
+                    && (pending.isFull()
+                            || now - pending.firstNanos >= flushIntervalNanos
+                            || flushTarget.get() > completedEntries
+                            || closing)) {
+                send(pending.entries);
+                completedEntries += pending.entries.size();
+                pending.clear();
+                synchronized (flushLock) {
+                    flushLock.notifyAll();
+                }
+                continue;
+            }
+            if (pending.isEmpty() && buffer.getConsumedCount() < buffer.getProducedCount()) {
+                // claimed by a producer, but not published yet
+                Thread.yield();
+                continue;
+            }
+            if (pending.isEmpty() && closing) {
+                break;
+            }
+
+            final long parkNanos =
+                    pending.isEmpty()
+                            ? flushIntervalNanos
+                            : pending.firstNanos + flushIntervalNanos - now;
+            senderParked = true;
+            if (buffer.size() < configuration.getMaxBatchEntries()
+                    && flushTarget.get() <= completedEntries
+                    && !closed) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+            senderParked = false;
+        }
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+    }
+
+    private void send(List<Entry> entries) {
+        final Map<List<String>, List<LogEntry>> batches = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            final List<String> key = Arrays.asList(entry.source, entry.type, entry.subject);
+            List<LogEntry> batch = batches.get(key);
+            if (batch == null) {
+                batch = new ArrayList<>();
+                batches.put(key, batch);
+            }
+            batch.add(
+                    LogEntry.builder()
+                            .id(randomId())
+                            .data(entry.data)
+                            .time(new Date(entry.timeMillis))
+                            .build());
+        }
+        final List<LogEntryBatch> logEntryBatches = new ArrayList<>(batches.size());
+        for (Map.Entry<List<String>, List<LogEntry>> batch : batches.entrySet()) {
+            logEntryBatches.add(
+                    LogEntryBatch.builder()
+                            .source(batch.getKey().get(0))
+                            .type(batch.getKey().get(1))
+                            .subject(batch.getKey().get(2))
+                            .defaultlogentrytime(batch.getValue().get(0).getTime())
+                            .entries(batch.getValue())
+                            .build());
+        }
+        final PutLogsRequest request =
+                PutLogsRequest.builder()
+                        .logId(configuration.getLogId())
+                        .putLogsDetails(
+                                PutLogsDetails.builder()
+                                        .specversion(SPEC_VERSION)
+                                        .logEntryBatches(logEntryBatches)
+                                        .build())
+                        .build();
+
+        final long startTime = System.currentTimeMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                loggingClient.putLogs(request);
+                return;
+            } catch (BmcException e) {
+                if (attempt >= configuration.getMaxRetries()
+                        || !RETRY_CONDITION.shouldBeRetried(e)
+                        || !backOff(startTime, attempt + 1)) {
+                    drop(entries.size(), e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                drop(entries.size(), e);
+                return;
+            }
+        }
+    }
+
+    private boolean backOff(long startTime, int attemptsMade) {
+        final long backoffMillis =
+                configuration
+                        .getRetryDelayStrategy()
+                        .nextDelay(new WaitContext(startTime, attemptsMade));
+        try {
+            Thread.sleep(backoffMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drop(int count, Exception e) {
+        droppedEntries.add(count);
+        LOG.warn("Failed to ingest {} log entries, dropping them", count, e);
+    }
+
+    /*
+     * A random (version 4) UUID.  The ids only need to be unique, so they are generated with
+     * ThreadLocalRandom instead of the SecureRandom used by UUID.randomUUID().
+     */
+    private static String randomId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificantBits =
+                (random.nextLong() & ~0xC000000000000000L) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    private static int sizeInBytes(Entry entry) {
+        return ENTRY_OVERHEAD_IN_BYTES + entry.dataSizeInBytes;
+    }
+
+    /*
+     * The UTF-8 encoded length of the data.  String.length() counts UTF-16 chars, which would
+     * underestimate the size of non-ASCII data in the request.
+     */
+    private static int utf8Length(String data) {
+        try {
+            return Utf8.encodedLength(data);
+        } catch (IllegalArgumentException e) {
+            // unpaired surrogates, no char takes more than 3 bytes
+            return 3 * data.length();
+        }
+    }
+
+    private static final class Entry {
+        private final String source;
+        private final String type;
+        private final String subject;
+        private final String data;
+        // computed on the appending thread, not the sender thread
+        private final int dataSizeInBytes;
+        private final long timeMillis;
+        private final long appendedNanos = System.nanoTime();
+
+        private Entry(String source, String type, String subject, String data, long timeMillis) {
+            this.source = source;
+            this.type = type;
+            this.subject = subject;
+            this.data = data;
+            this.dataSizeInBytes = utf8Length(data);
+            this.timeMillis = timeMillis;
+        }
+    }
+
+    /*
+     * The entries taken from the buffer for the next request.  Only used by the sender thread.
+     */
+    private final class PendingEntries {
+        private final List<Entry> entries = new ArrayList<>();
+        private int sizeInBytes = BATCH_OVERHEAD_IN_BYTES;
+        // when the oldest entry was appended
+        private long firstNanos;
+        // taken from the buffer, but did not fit into the request anymore
+        private Entry carryOver;
+
+        private void drain() {
+            while (carryOver == null && !isFull()) {
+                final Entry entry = buffer.poll();
+                if (entry == null) {
+                    return;
+                }
+                if (!entries.isEmpty()
+                        && sizeInBytes + sizeInBytes(entry)
+                                > configuration.getMaxBatchSizeInBytes()) {
+                    carryOver = entry;
+                    return;
+                }
+                add(entry);
+            }
+        }
+
+        private boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        private boolean isFull() {
+            return carryOver != null
+                    || entries.size() >= configuration.getMaxBatchEntries()
+                    || sizeInBytes >= configuration.getMaxBatchSizeInBytes();
+        }
+
+        private void clear() {
+            entries.clear();
+            sizeInBytes = BATCH_OVERHEAD_IN_BYTES;
+            if (carryOver != null) {
+                final Entry entry = carryOver;
+                carryOver = null;
+                add(entry);
+            }
+        }
+
+        private void add(Entry entry) {
+            if (entries.isEmpty()) {
+                firstNanos = entry.appendedNanos;
+            }
+            entries.add(entry);
+            sizeInBytes += sizeInBytes(entry);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.loggingingestion.appender;
+
+import com.oracle.bmc.waiter.DelayStrategy;
+import com.oracle.bmc.waiter.ExponentialBackoffDelayStrategyWithJitter;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * AsyncLogAppenderConfiguration controls how the {@link AsyncLogAppender} buffers and sends log entries.
+ * <p>
+ * Buffered entries are sent when {@link #maxBatchEntries} entries or {@link #maxBatchSizeInBytes} bytes are
+ * buffered, or when the oldest buffered entry has waited for {@link #flushIntervalMillis}.
+ */
+@Getter
+@ToString
+public class AsyncLogAppenderConfiguration {
+    private static final int DEFAULT_BUFFER_CAPACITY = 8192;
+    private static final int DEFAULT_MAX_BATCH_ENTRIES = 1000;
+    private static final int DEFAULT_MAX_BATCH_SIZE_IN_BYTES = 1024 * 1024;
+    private static final int DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final DelayStrategy DEFAULT_RETRY_DELAY_STRATEGY =
+            new ExponentialBackoffDelayStrategyWithJitter(100, 10000);
+
+    /**
+     * What to do with a log entry if the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the entry, and return from the logging call immediately.
+         */
+        Drop,
+        /**
+         * Block the logging call until there is space in the buffer.
+         */
+        Block
+    }
+
+    /**
+     * The OCID of the log to ingest the entries into.  Required.
+     */
+    private final String logId;
+    /**
+     * Max number of entries waiting to be sent, default 8192, rounded up to the next power of two.  Bounds
+     * the memory used by the appender.
+     */
+    private final int bufferCapacity;
+    /**
+     * What to do with new entries if the buffer is full, default {@link OverflowPolicy#Drop}.
+     */
+    private final OverflowPolicy overflowPolicy;
+    /**
+     * Max number of entries per PutLogs request, default 1000.
+     */
+    private final int maxBatchEntries;
+    /**
+     * Max size in bytes of a PutLogs request, default 1 MiB.  The size of an entry is estimated from the length
+     * of its data, plus a fixed overhead for its id and time.
+     */
+    private final int maxBatchSizeInBytes;
+    /**
+     * Max time in milliseconds an entry waits for more entries before it is sent, default 1000.
+     */
+    private final int flushIntervalMillis;
+    /**
+     * Number of times a PutLogs request that failed with an error that can be retried is sent again,
+     * default 3.  The entries are dropped afterwards.
+     */
+    private final int maxRetries;
+    /**
+     * Delay before a PutLogs request that failed is sent again, default 100 milliseconds, doubling with
+     * every retry up to 10 seconds, less a random jitter.  The sender waits for the delay, so entries are
+     * buffered meanwhile.
+     */
+    private final DelayStrategy retryDelayStrategy;
+    /**
+     * The source used by {@link AsyncLogAppender#append(String)}, for example the host name.
+     */
+    private final String defaultSource;
+    /**
+     * The type used by {@link AsyncLogAppender#append(String)}, for example "ServerA.requestLogs".
+     */
+    private final String defaultType;
+    /**
+     * The subject used by {@link AsyncLogAppender#append(String)}, optional.
+     */
+    private final String defaultSubject;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private AsyncLogAppenderConfiguration(
+            @NonNull String logId,
+            Integer bufferCapacity,
+            OverflowPolicy overflowPolicy,
+            Integer maxBatchEntries,
+            Integer maxBatchSizeInBytes,
+            Integer flushIntervalMillis,
+            Integer maxRetries,
+            DelayStrategy retryDelayStrategy,
+            String defaultSource,
+            String defaultType,
+            String defaultSubject) {
+        this.logId = logId;
+        this.bufferCapacity = getOrDefault(bufferCapacity, DEFAULT_BUFFER_CAPACITY);
+        this.overflowPolicy = getOrDefault(overflowPolicy, OverflowPolicy.Drop);
+        this.maxBatchEntries = getOrDefault(maxBatchEntries, DEFAULT_MAX_BATCH_ENTRIES);
+        this.maxBatchSizeInBytes =
+                getOrDefault(maxBatchSizeInBytes, DEFAULT_MAX_BATCH_SIZE_IN_BYTES);
+        this.flushIntervalMillis =
+                getOrDefault(flushIntervalMillis, DEFAULT_FLUSH_INTERVAL_MILLIS);
+        this.maxRetries = getOrDefault(maxRetries, DEFAULT_MAX_RETRIES);
+        this.retryDelayStrategy = getOrDefault(retryDelayStrategy, DEFAULT_RETRY_DELAY_STRATEGY);
+        this.defaultSource = defaultSource;
+        this.defaultType = defaultType;
+        this.defaultSubject = defaultSubject;
+
+        Validate.inclusiveBetween(
+                1,
+                1 << 30,
+                this.bufferCapacity,
+                String.format(
+                        "bufferCapacity [%s] must be between %s-%s (inclusive)",
+                        this.bufferCapacity,
+                        1,
+                        1 << 30));
+        validateAtLeast("maxBatchEntries", this.maxBatchEntries, 1);
+        validateAtLeast("maxBatchSizeInBytes", this.maxBatchSizeInBytes, 1);
+        validateAtLeast("flushIntervalMillis", this.flushIntervalMillis, 1);
+        validateAtLeast("maxRetries", this.maxRetries, 0);
+    }
+
+    private static void validateAtLeast(String name, int value, int minimum) {
+        Validate.isTrue(
+                value >= minimum,
+                String.format(
+                        "%s [%s] must be greater than or equal to %s", name, value, minimum));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
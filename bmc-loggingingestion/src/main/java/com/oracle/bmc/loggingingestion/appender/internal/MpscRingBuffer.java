@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.loggingingestion.appender.internal;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer for many producers and a single consumer.
+ * <p>
+ * Every slot has a sequence number.  A producer claims the next position with a CAS on the tail, writes its
+ * element and then publishes it by advancing the sequence of the slot, so the consumer never sees a slot
+ * that is claimed but not written yet.  The consumer frees a slot by advancing its sequence by the capacity,
+ * which makes it available to the producer that wraps around to it.
+ *
+ * @param <E> the type of the elements
+ */
+public class MpscRingBuffer<E> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // only written by the consumer
+    private volatile long head;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param minimumCapacity the minimum capacity, rounded up to the next power of two
+     */
+    public MpscRingBuffer(int minimumCapacity) {
+        Validate.inclusiveBetween(1, 1 << 30, minimumCapacity, "Invalid capacity");
+        this.capacity = nextPowerOfTwo(minimumCapacity);
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element, if there is space.  May be called by any thread.
+     *
+     * @param element the element
+     * @return the position of the element, counting from 0, or -1 if the buffer is full
+     */
+    public long offer(E element) {
+        Validate.notNull(element, "element must not be null");
+        while (true) {
+            final long position = tail.get();
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // publishes the element
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+            } else if (difference < 0) {
+                // the slot has not been consumed since the previous round
+                return -1;
+            }
+            // another producer claimed the position, try the next one
+        }
+    }
+
+    /**
+     * Removes the next element.  Must only be called by the consumer thread.
+     *
+     * @return the next element, or null if there is none, or the next one has been claimed but not published
+     * yet
+     */
+    public E poll() {
+        final long position = head;
+        final int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        final E element = elements.get(index);
+        elements.lazySet(index, null);
+        // frees the slot for the next round
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Gets the number of elements that have been claimed, counting from 0.
+     *
+     * @return the number of elements ever added
+     */
+    public long getProducedCount() {
+        return tail.get();
+    }
+
+    /**
+     * Gets the number of elements that have been removed, counting from 0.
+     *
+     * @return the number of elements ever removed
+     */
+    public long getConsumedCount() {
+        return head;
+    }
+
+    /**
+     * Gets the approximate number of elements in the buffer.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return (int) Math.max(0L, Math.min(capacity, tail.get() - head));
+    }
+
+    /**
+     * Gets the capacity of the buffer.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
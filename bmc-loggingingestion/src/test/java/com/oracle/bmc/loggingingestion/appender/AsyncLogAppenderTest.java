@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.loggingingestion.appender;
+
+import com.oracle.bmc.loggingingestion.Logging;
+import com.oracle.bmc.loggingingestion.model.LogEntry;
+import com.oracle.bmc.loggingingestion.model.LogEntryBatch;
+import com.oracle.bmc.loggingingestion.requests.PutLogsRequest;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AsyncLogAppenderTest {
+    private static final String LOG_ID = "ocid1.log.oc1..log";
+
+    @Mock private Logging loggingClient;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void flush_sendsEntriesInOrder() {
+        try (AsyncLogAppender appender = newAppender(configuration())) {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(appender.append("entry-" + i));
+            }
+            appender.flush();
+
+            final List<PutLogsRequest> requests = requests();
+            assertEquals(1, requests.size());
+            assertEquals(
+                    Arrays.asList("entry-0", "entry-1", "entry-2", "entry-3", "entry-4"),
+                    data(requests.get(0).getPutLogsDetails().getLogEntryBatches().get(0)));
+        }
+    }
+
+    @Test
+    public void flush_groupsEntriesBySourceTypeAndSubject() {
+        try (AsyncLogAppender appender = newAppender(configuration())) {
+            appender.append("hostA", "type", null, "a1");
+            appender.append("hostB", "type", null, "b1");
+            appender.append("hostA", "type", null, "a2");
+            appender.append("hostA", "type", "subject", "a3");
+            appender.flush();
+        }
+
+        final List<PutLogsRequest> requests = requests();
+        assertEquals(1, requests.size());
+        final List<LogEntryBatch> batches =
+                requests.get(0).getPutLogsDetails().getLogEntryBatches();
+        assertEquals(3, batches.size());
+        assertEquals("hostA", batches.get(0).getSource());
+        assertEquals(Arrays.asList("a1", "a2"), data(batches.get(0)));
+        assertEquals("hostB", batches.get(1).getSource());
+        assertEquals(Arrays.asList("b1"), data(batches.get(1)));
+        assertEquals("subject", batches.get(2).getSubject());
+        assertEquals(Arrays.asList("a3"), data(batches.get(2)));
+    }
+
+    @Test
+    public void close_sendsFullBatches() {
+        try (AsyncLogAppender appender = newAppender(configuration().maxBatchEntries(2))) {
+            for (int i = 0; i < 5; i++) {
+                appender.append("entry-" + i);
+            }
+        }
+
+        final List<String> sent = new ArrayList<>();
+        for (PutLogsRequest request : requests()) {
+            final List<String> requestData =
+                    data(request.getPutLogsDetails().getLogEntryBatches().get(0));
+            assertTrue(requestData.size() <= 2);
+            sent.addAll(requestData);
+        }
+        assertEquals(Arrays.asList("entry-0", "entry-1", "entry-2", "entry-3", "entry-4"), sent);
+    }
+
+    @Test
+    public void close_limitsBatchSizeByUtf8Length() {
+        // 15 chars, but 30 bytes in UTF-8
+        final String data = StringUtils.repeat("\u00fc", 15);
+        // the batch overhead of 200 bytes and 3 entries with an overhead of 100 bytes each, if the
+        // size of the data was its number of chars
+        final int threeEntriesByChars = 200 + 3 * (100 + 15);
+        try (AsyncLogAppender appender =
+                newAppender(configuration().maxBatchSizeInBytes(threeEntriesByChars))) {
+            for (int i = 0; i < 3; i++) {
+                appender.append(data);
+            }
+        }
+
+        final List<PutLogsRequest> requests = requests();
+        assertEquals(2, requests.size());
+        assertEquals(
+                Arrays.asList(data, data),
+                data(requests.get(0).getPutLogsDetails().getLogEntryBatches().get(0)));
+    }
+
+    @Test
+    public void send_retriesFailedRequest() {
+        failTwice();
+        try (AsyncLogAppender appender = newAppender(configuration().maxRetries(2))) {
+            appender.append("entry");
+            appender.flush();
+
+            verify(loggingClient, times(3)).putLogs(any(PutLogsRequest.class));
+            assertEquals(0, appender.getDroppedEntries());
+        }
+    }
+
+    @Test
+    public void send_delaysRetriesWithDelayStrategy() {
+        failTwice();
+        final List<Integer> attemptsMade = Collections.synchronizedList(new ArrayList<>());
+        try (AsyncLogAppender appender =
+                newAppender(
+                        configuration()
+                                .maxRetries(2)
+                                .retryDelayStrategy(
+                                        context -> {
+                                            attemptsMade.add(context.getAttemptsMade());
+                                            return 0;
+                                        }))) {
+            appender.append("entry");
+            appender.flush();
+        }
+
+        assertEquals(Arrays.asList(1, 2), attemptsMade);
+    }
+
+    @Test
+    public void send_dropsEntriesAfterLastRetry() {
+        doThrow(new BmcException(503, "Error", "failed", null))
+                .when(loggingClient)
+                .putLogs(any(PutLogsRequest.class));
+        try (AsyncLogAppender appender = newAppender(configuration().maxRetries(2))) {
+            appender.append("entry-0");
+            appender.append("entry-1");
+            appender.flush();
+
+            verify(loggingClient, times(3)).putLogs(any(PutLogsRequest.class));
+            assertEquals(2, appender.getDroppedEntries());
+        }
+    }
+
+    @Test
+    public void send_doesNotRetryClientError() {
+        doThrow(new BmcException(400, "Error", "failed", null))
+                .when(loggingClient)
+                .putLogs(any(PutLogsRequest.class));
+        try (AsyncLogAppender appender = newAppender(configuration().maxRetries(2))) {
+            appender.append("entry");
+            appender.flush();
+
+            verify(loggingClient, times(1)).putLogs(any(PutLogsRequest.class));
+            assertEquals(1, appender.getDroppedEntries());
+        }
+    }
+
+    @Test
+    public void append_afterCloseDropped() {
+        final AsyncLogAppender appender = newAppender(configuration());
+        appender.close();
+
+        assertFalse(appender.append("entry"));
+        assertEquals(1, appender.getDroppedEntries());
+        verify(loggingClient, never()).putLogs(any(PutLogsRequest.class));
+    }
+
+    private void failTwice() {
+        doThrow(new BmcException(503, "Error", "failed", null))
+                .doThrow(new BmcException(503, "Error", "failed", null))
+                .doReturn(null)
+                .when(loggingClient)
+                .putLogs(any(PutLogsRequest.class));
+    }
+
+    private List<PutLogsRequest> requests() {
+        final ArgumentCaptor<PutLogsRequest> requests =
+                ArgumentCaptor.forClass(PutLogsRequest.class);
+        verify(loggingClient, atLeastOnce()).putLogs(requests.capture());
+        return requests.getAllValues();
+    }
+
+    private AsyncLogAppender newAppender(
+            AsyncLogAppenderConfiguration.AsyncLogAppenderConfigurationBuilder builder) {
+        return new AsyncLogAppender(loggingClient, builder.build());
+    }
+
+    private static AsyncLogAppenderConfiguration.AsyncLogAppenderConfigurationBuilder
+            configuration() {
+        return AsyncLogAppenderConfiguration.builder()
+                .logId(LOG_ID)
+                .defaultSource("host")
+                .defaultType("type")
+                .flushIntervalMillis(60000)
+                .retryDelayStrategy(new FixedTimeDelayStrategy(0));
+    }
+
+    private static List<String> data(LogEntryBatch batch) {
+        final List<String> data = new ArrayList<>();
+        for (LogEntry entry : batch.getEntries()) {
+            data.add(entry.getData());
+        }
+        return data;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.loggingingestion.appender.internal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MpscRingBufferTest {
+    @Test
+    public void capacityRoundedUp() {
+        assertEquals(1, new MpscRingBuffer<Integer>(1).getCapacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(5).getCapacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).getCapacity());
+    }
+
+    @Test
+    public void offerAndPoll_inOrderAndBounded() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 4 + i, buffer.offer(i));
+            }
+            assertEquals(-1, buffer.offer(4));
+            assertEquals(4, buffer.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(Integer.valueOf(i), buffer.poll());
+            }
+            assertNull(buffer.poll());
+            assertEquals(0, buffer.size());
+        }
+        assertEquals(12, buffer.getProducedCount());
+        assertEquals(12, buffer.getConsumedCount());
+    }
+
+    @Test
+    public void offer_concurrentProducers() throws Exception {
+        final int producers = 4;
+        final int perProducer = 10000;
+        final MpscRingBuffer<int[]> buffer = new MpscRingBuffer<>(64);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < perProducer; i++) {
+                                        while (buffer.offer(new int[] {producer, i}) < 0) {
+                                            Thread.yield();
+                                        }
+                                    }
+                                }));
+            }
+
+            // the elements of each producer arrive in the order they were offered
+            final int[] next = new int[producers];
+            int received = 0;
+            while (received < producers * perProducer) {
+                final int[] element = buffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                assertEquals(next[element[0]]++, element[1]);
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertNull(buffer.poll());
+            for (int count : next) {
+                assertEquals(perProducer, count);
+            }
+            assertEquals(buffer.getProducedCount(), buffer.getConsumedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        new MpscRingBuffer<Integer>(0);
+    }
+}
@@ -24,11 +24,37 @@ import com.oracle.bmc.managementagent.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20200202")
-@lombok.RequiredArgsConstructor
 public class ManagementAgentPaginators {
     private final ManagementAgent client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public ManagementAgentPaginators(ManagementAgent client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public ManagementAgentPaginators(
+            ManagementAgent client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listManagementAgentImages operation. This iterable
@@ -79,7 +105,8 @@ public class ManagementAgentPaginators {
                             ListManagementAgentImagesRequest request) {
                         return client.listManagementAgentImages(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -148,7 +175,8 @@ public class ManagementAgentPaginators {
                             apply(ListManagementAgentImagesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -204,7 +232,8 @@ public class ManagementAgentPaginators {
                             ListManagementAgentInstallKeysRequest request) {
                         return client.listManagementAgentInstallKeys(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -276,7 +305,8 @@ public class ManagementAgentPaginators {
                             apply(ListManagementAgentInstallKeysResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -328,7 +358,8 @@ public class ManagementAgentPaginators {
                             ListManagementAgentPluginsRequest request) {
                         return client.listManagementAgentPlugins(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -397,7 +428,8 @@ public class ManagementAgentPaginators {
                             apply(ListManagementAgentPluginsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -448,7 +480,8 @@ public class ManagementAgentPaginators {
                     public ListManagementAgentsResponse apply(ListManagementAgentsRequest request) {
                         return client.listManagementAgents(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -513,7 +546,8 @@ public class ManagementAgentPaginators {
                             apply(ListManagementAgentsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -565,7 +599,8 @@ public class ManagementAgentPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -629,7 +664,8 @@ public class ManagementAgentPaginators {
                             apply(ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -680,7 +716,8 @@ public class ManagementAgentPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -744,7 +781,8 @@ public class ManagementAgentPaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -794,7 +832,8 @@ public class ManagementAgentPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -856,6 +895,7 @@ public class ManagementAgentPaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
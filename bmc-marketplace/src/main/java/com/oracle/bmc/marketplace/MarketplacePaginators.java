@@ -24,11 +24,37 @@ import com.oracle.bmc.marketplace.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20181001")
-@lombok.RequiredArgsConstructor
 public class MarketplacePaginators {
     private final Marketplace client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public MarketplacePaginators(Marketplace client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public MarketplacePaginators(
+            Marketplace client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAcceptedAgreements operation. This iterable
@@ -79,7 +105,8 @@ public class MarketplacePaginators {
                             ListAcceptedAgreementsRequest request) {
                         return client.listAcceptedAgreements(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -144,7 +171,8 @@ public class MarketplacePaginators {
                             apply(ListAcceptedAgreementsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -194,7 +222,8 @@ public class MarketplacePaginators {
                     public ListAgreementsResponse apply(ListAgreementsRequest request) {
                         return client.listAgreements(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -256,7 +285,8 @@ public class MarketplacePaginators {
                             ListAgreementsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -306,7 +336,8 @@ public class MarketplacePaginators {
                     public ListCategoriesResponse apply(ListCategoriesRequest request) {
                         return client.listCategories(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -368,7 +399,8 @@ public class MarketplacePaginators {
                             ListCategoriesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -417,7 +449,8 @@ public class MarketplacePaginators {
                     public ListListingsResponse apply(ListListingsRequest request) {
                         return client.listListings(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -478,7 +511,8 @@ public class MarketplacePaginators {
                             ListListingsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -527,7 +561,8 @@ public class MarketplacePaginators {
                     public ListPackagesResponse apply(ListPackagesRequest request) {
                         return client.listPackages(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -588,7 +623,8 @@ public class MarketplacePaginators {
                             apply(ListPackagesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -638,7 +674,8 @@ public class MarketplacePaginators {
                     public ListPublishersResponse apply(ListPublishersRequest request) {
                         return client.listPublishers(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -700,7 +737,8 @@ public class MarketplacePaginators {
                             ListPublishersResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -750,7 +788,8 @@ public class MarketplacePaginators {
                     public ListReportTypesResponse apply(ListReportTypesRequest request) {
                         return client.listReportTypes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -812,7 +851,8 @@ public class MarketplacePaginators {
                             ListReportTypesResponse response) {
                         return response.getReportTypeCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -861,7 +901,8 @@ public class MarketplacePaginators {
                     public ListReportsResponse apply(ListReportsRequest request) {
                         return client.listReports(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -922,6 +963,7 @@ public class MarketplacePaginators {
                             ListReportsResponse response) {
                         return response.getReportCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.monitoring.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20180401")
-@lombok.RequiredArgsConstructor
 public class MonitoringPaginators {
     private final Monitoring client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public MonitoringPaginators(Monitoring client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public MonitoringPaginators(
+            Monitoring client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAlarms operation. This iterable
@@ -76,7 +102,8 @@ public class MonitoringPaginators {
                     public ListAlarmsResponse apply(ListAlarmsRequest request) {
                         return client.listAlarms(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class MonitoringPaginators {
                             ListAlarmsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -187,7 +215,8 @@ public class MonitoringPaginators {
                     public ListAlarmsStatusResponse apply(ListAlarmsStatusRequest request) {
                         return client.listAlarmsStatus(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -249,7 +278,8 @@ public class MonitoringPaginators {
                             ListAlarmsStatusResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -298,7 +328,8 @@ public class MonitoringPaginators {
                     public ListMetricsResponse apply(ListMetricsRequest request) {
                         return client.listMetrics(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -359,6 +390,7 @@ public class MonitoringPaginators {
                             ListMetricsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter of a {@link MetricRecorder}.  Posts the sum of the amounts added since the previous flush, if it
+ * is not 0.
+ */
+public final class Counter extends RecordedMetric {
+    // never reset: sumThenReset could lose amounts added while it runs
+    private final LongAdder sum = new LongAdder();
+    // the sum posted up to the previous flush, only accessed by the flushing thread
+    private long drainedSum;
+
+    Counter() {}
+
+    /**
+     * Adds 1 to the counter.
+     */
+    public void increment() {
+        sum.increment();
+    }
+
+    /**
+     * Adds to the counter.
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        sum.add(amount);
+    }
+
+    @Override
+    List<Datapoint> drain(Date timestamp) {
+        final long total = sum.sum();
+        // amounts added while summing are either in this total or in the next one
+        final long value = total - drainedSum;
+        drainedSum = total;
+        if (value == 0L) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(
+                Datapoint.builder().timestamp(timestamp).value((double) value).build());
+    }
+}
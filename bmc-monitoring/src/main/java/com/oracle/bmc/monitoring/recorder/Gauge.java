@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A gauge of a {@link MetricRecorder}.  Posts its last value in every flush, once a value has been set.
+ */
+public final class Gauge extends RecordedMetric {
+    // the raw bits of the double value, so setting it does not box
+    private final AtomicLong valueBits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+
+    Gauge() {}
+
+    /**
+     * Sets the value of the gauge.
+     *
+     * @param value the value
+     */
+    public void set(double value) {
+        valueBits.set(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    List<Datapoint> drain(Date timestamp) {
+        final double value = Double.longBitsToDouble(valueBits.get());
+        if (Double.isNaN(value)) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(
+                Datapoint.builder().timestamp(timestamp).value(value).build());
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of a {@link MetricRecorder}, for non-negative values such as latencies or sizes.
+ * <p>
+ * Recorded values are counted in buckets, four per power of two, so every bucket is at most 25% wide.  In
+ * every flush, the histogram posts one data point per bucket that values were recorded in since the previous
+ * flush, with the middle of the bucket as value and the number of values as count.  Statistics such as
+ * percentiles can then be queried from the Monitoring service.
+ * <p>
+ * Values from about 1e-6 to 1e13 are bucketed; smaller and larger values are counted in the lowest and
+ * highest bucket.  0, negative values and NaN are counted as 0.
+ */
+public final class Histogram extends RecordedMetric {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -20;
+    private static final int MAX_EXPONENT = 43;
+    // bucket 0 counts zeros, the others the values between two powers of two
+    private static final int BUCKETS = 1 + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    Histogram() {}
+
+    /**
+     * Records a value.
+     *
+     * @param value the value
+     */
+    public void record(double value) {
+        counts.incrementAndGet(bucket(value));
+    }
+
+    @Override
+    List<Datapoint> drain(Date timestamp) {
+        List<Datapoint> datapoints = null;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (counts.get(bucket) == 0L) {
+                continue;
+            }
+            final long count = counts.getAndSet(bucket, 0L);
+            if (datapoints == null) {
+                datapoints = new ArrayList<>();
+            }
+            datapoints.add(
+                    Datapoint.builder()
+                            .timestamp(timestamp)
+                            .value(bucketValue(bucket))
+                            .count((int) Math.min(count, Integer.MAX_VALUE))
+                            .build());
+        }
+        return datapoints != null ? datapoints : Collections.<Datapoint>emptyList();
+    }
+
+    static int bucket(double value) {
+        if (!(value > 0.0)) {
+            return 0;
+        }
+        final int exponent = Math.getExponent(value);
+        if (exponent < MIN_EXPONENT) {
+            return 1;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        // the highest bits of the mantissa select the sub-bucket
+        final int subBucket =
+                (int) (Double.doubleToRawLongBits(value) >>> (52 - SUB_BUCKET_BITS))
+                        & (SUB_BUCKETS - 1);
+        return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static double bucketValue(int bucket) {
+        if (bucket == 0) {
+            return 0.0;
+        }
+        final int exponent = MIN_EXPONENT + (bucket - 1) / SUB_BUCKETS;
+        final int subBucket = (bucket - 1) % SUB_BUCKETS;
+        return Math.scalb(1.0 + (subBucket + 0.5) / SUB_BUCKETS, exponent);
+    }
+}
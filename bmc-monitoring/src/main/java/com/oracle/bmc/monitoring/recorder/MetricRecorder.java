@@ -0,0 +1,285 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.monitoring.Monitoring;
+import com.oracle.bmc.monitoring.model.Datapoint;
+import com.oracle.bmc.monitoring.model.FailedMetricRecord;
+import com.oracle.bmc.monitoring.model.MetricDataDetails;
+import com.oracle.bmc.monitoring.model.PostMetricDataDetails;
+import com.oracle.bmc.monitoring.model.PostMetricDataResponseDetails;
+import com.oracle.bmc.monitoring.requests.PostMetricDataRequest;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * MetricRecorder aggregates custom metrics in memory and posts them to the Monitoring service periodically.
+ * <p>
+ * Every {@link Counter}, {@link Gauge} and {@link Histogram} is one metric stream, identified by its namespace,
+ * name and dimensions.  Registering the same stream again returns the same instance, but the instances should
+ * be kept and reused: recording values does not allocate memory or take locks, while registering does.
+ * <p>
+ * In every flush interval, the aggregated values are posted with PostMetricData requests of up to
+ * {@link #MAX_METRIC_STREAMS_PER_REQUEST} metric streams each.  Requests are sent one after the other, and
+ * metrics that could not be posted are logged and dropped.
+ * <p>
+ * The monitoring client must be configured with the telemetry-ingestion endpoint.  The recorder must be
+ * closed after use, which posts the values recorded since the last flush.
+ */
+@Slf4j
+public class MetricRecorder implements AutoCloseable {
+    /**
+     * The max number of unique metric streams per PostMetricData request.
+     */
+    public static final int MAX_METRIC_STREAMS_PER_REQUEST = 50;
+
+    private static final int MAX_DIMENSIONS = 20;
+
+    private final Monitoring monitoringClient;
+    private final MetricRecorderConfiguration configuration;
+    private final ConcurrentMap<MetricKey, RecordedMetric> metrics = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a new MetricRecorder, and starts flushing periodically.
+     *
+     * @param monitoringClient The client used to post the metrics, configured with the telemetry-ingestion
+     *                         endpoint.
+     * @param configuration The recorder configuration.
+     */
+    public MetricRecorder(
+            @NonNull Monitoring monitoringClient,
+            @NonNull MetricRecorderConfiguration configuration) {
+        this.monitoringClient = monitoringClient;
+        this.configuration = configuration;
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("metric-recorder-%d")
+                                .setDaemon(true)
+                                .build());
+        this.scheduler.scheduleWithFixedDelay(
+                this::flushQuietly,
+                configuration.getFlushIntervalMillis(),
+                configuration.getFlushIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the counter of a metric stream in the configured namespace, registering it if necessary.
+     *
+     * @param name The name of the metric.
+     * @param dimensions The dimensions of the metric stream, 1 to 20.
+     * @return the counter
+     */
+    public Counter counter(String name, Map<String, String> dimensions) {
+        return counter(defaultNamespace(), name, dimensions);
+    }
+
+    /**
+     * Gets the counter of a metric stream, registering it if necessary.
+     *
+     * @param namespace The namespace of the metric.
+     * @param name The name of the metric.
+     * @param dimensions The dimensions of the metric stream, 1 to 20.
+     * @return the counter
+     * @throws IllegalArgumentException if the metric stream is registered with a different type.
+     */
+    public Counter counter(String namespace, String name, Map<String, String> dimensions) {
+        return register(namespace, name, dimensions, Counter.class, Counter::new);
+    }
+
+    /**
+     * Gets the gauge of a metric stream in the configured namespace, registering it if necessary.
+     *
+     * @param name The name of the metric.
+     * @param dimensions The dimensions of the metric stream, 1 to 20.
+     * @return the gauge
+     */
+    public Gauge gauge(String name, Map<String, String> dimensions) {
+        return gauge(defaultNamespace(), name, dimensions);
+    }
+
+    /**
+     * Gets the gauge of a metric stream, registering it if necessary.
+     *
+     * @param namespace The namespace of the metric.
+     * @param name The name of the metric.
+     * @param dimensions The dimensions of the metric stream, 1 to 20.
+     * @return the gauge
+     * @throws IllegalArgumentException if the metric stream is registered with a different type.
+     */
+    public Gauge gauge(String namespace, String name, Map<String, String> dimensions) {
+        return register(namespace, name, dimensions, Gauge.class, Gauge::new);
+    }
+
+    /**
+     * Gets the histogram of a metric stream in the configured namespace, registering it if necessary.
+     *
+     * @param name The name of the metric.
+     * @param dimensions The dimensions of the metric stream, 1 to 20.
+     * @return the histogram
+     */
+    public Histogram histogram(String name, Map<String, String> dimensions) {
+        return histogram(defaultNamespace(), name, dimensions);
+    }
+
+    /**
+     * Gets the histogram of a metric stream, registering it if necessary.
+     *
+     * @param namespace The namespace of the metric.
+     * @param name The name of the metric.
+     * @param dimensions The dimensions of the metric stream, 1 to 20.
+     * @return the histogram
+     * @throws IllegalArgumentException if the metric stream is registered with a different type.
+     */
+    public Histogram histogram(String namespace, String name, Map<String, String> dimensions) {
+        return register(namespace, name, dimensions, Histogram.class, Histogram::new);
+    }
+
+    /**
+     * Posts the values aggregated since the previous flush.
+     */
+    public synchronized void flush() {
+        final Date timestamp = new Date();
+        List<MetricDataDetails> metricData = new ArrayList<>();
+        for (Map.Entry<MetricKey, RecordedMetric> metric : metrics.entrySet()) {
+            final List<Datapoint> datapoints = metric.getValue().drain(timestamp);
+            if (datapoints.isEmpty()) {
+                continue;
+            }
+            final MetricKey key = metric.getKey();
+            metricData.add(
+                    MetricDataDetails.builder()
+                            .compartmentId(configuration.getCompartmentId())
+                            .resourceGroup(configuration.getResourceGroup())
+                            .namespace(key.getNamespace())
+                            .name(key.getName())
+                            .dimensions(key.getDimensions())
+                            .datapoints(datapoints)
+                            .build());
+            if (metricData.size() == MAX_METRIC_STREAMS_PER_REQUEST) {
+                post(metricData);
+                metricData = new ArrayList<>();
+            }
+        }
+        if (!metricData.isEmpty()) {
+            post(metricData);
+        }
+    }
+
+    /**
+     * Stops flushing periodically, and posts the values aggregated since the previous flush.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private <T extends RecordedMetric> T register(
+            @NonNull String namespace,
+            @NonNull String name,
+            @NonNull Map<String, String> dimensions,
+            Class<T> type,
+            Supplier<T> factory) {
+        Validate.inclusiveBetween(
+                1,
+                MAX_DIMENSIONS,
+                dimensions.size(),
+                String.format(
+                        "Number of dimensions [%s] must be between %s-%s (inclusive)",
+                        dimensions.size(),
+                        1,
+                        MAX_DIMENSIONS));
+        final MetricKey key =
+                new MetricKey(
+                        namespace,
+                        name,
+                        Collections.unmodifiableMap(new TreeMap<>(dimensions)));
+        RecordedMetric metric = metrics.get(key);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(key, k -> factory.get());
+        }
+        Validate.isTrue(
+                type.isInstance(metric),
+                "Metric stream %s is already registered as a %s",
+                key,
+                metric.getClass().getSimpleName());
+        return type.cast(metric);
+    }
+
+    private String defaultNamespace() {
+        Validate.validState(configuration.getNamespace() != null, "namespace must be configured");
+        return configuration.getNamespace();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // keep flushing, an exception would cancel the scheduled runs
+            LOG.warn("Failed to flush metrics", e);
+        }
+    }
+
+    private void post(List<MetricDataDetails> metricData) {
+        final PostMetricDataResponseDetails details;
+        try {
+            details =
+                    monitoringClient
+                            .postMetricData(
+                                    PostMetricDataRequest.builder()
+                                            .postMetricDataDetails(
+                                                    PostMetricDataDetails.builder()
+                                                            .metricData(metricData)
+                                                            .batchAtomicity(
+                                                                    configuration
+                                                                            .getBatchAtomicity())
+                                                            .build())
+                                            .build())
+                            .getPostMetricDataResponseDetails();
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to post {} metric streams, dropping them", metricData.size(), e);
+            return;
+        }
+        if (details != null && details.getFailedMetrics() != null) {
+            for (FailedMetricRecord failure : details.getFailedMetrics()) {
+                LOG.warn(
+                        "Metric {} was rejected: {}",
+                        failure.getMetricData() != null ? failure.getMetricData().getName() : null,
+                        failure.getMessage());
+            }
+        }
+    }
+
+    @Value
+    private static class MetricKey {
+        private final String namespace;
+        private final String name;
+        private final Map<String, String> dimensions;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.PostMetricDataDetails;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * MetricRecorderConfiguration controls where and how often a {@link MetricRecorder} posts its metrics.
+ */
+@Getter
+@ToString
+public class MetricRecorderConfiguration {
+    private static final int DEFAULT_FLUSH_INTERVAL_MILLIS = 60000;
+
+    /**
+     * The OCID of the compartment to post the metrics to.  Required.
+     */
+    private final String compartmentId;
+    /**
+     * The namespace of metrics registered without a namespace, optional.
+     */
+    private final String namespace;
+    /**
+     * The resource group of all metrics, optional.
+     */
+    private final String resourceGroup;
+    /**
+     * Interval in milliseconds in which the metrics are posted, default 60,000.
+     */
+    private final int flushIntervalMillis;
+    /**
+     * The batch atomicity of the PostMetricData requests, default
+     * {@link PostMetricDataDetails.BatchAtomicity#NonAtomic}, so metrics that pass validation are stored even
+     * if others in the same request fail it.
+     */
+    private final PostMetricDataDetails.BatchAtomicity batchAtomicity;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private MetricRecorderConfiguration(
+            @NonNull String compartmentId,
+            String namespace,
+            String resourceGroup,
+            Integer flushIntervalMillis,
+            PostMetricDataDetails.BatchAtomicity batchAtomicity) {
+        this.compartmentId = compartmentId;
+        this.namespace = namespace;
+        this.resourceGroup = resourceGroup;
+        this.flushIntervalMillis =
+                getOrDefault(flushIntervalMillis, DEFAULT_FLUSH_INTERVAL_MILLIS);
+        this.batchAtomicity =
+                getOrDefault(batchAtomicity, PostMetricDataDetails.BatchAtomicity.NonAtomic);
+
+        Validate.isTrue(
+                this.flushIntervalMillis >= 1,
+                String.format(
+                        "flushIntervalMillis [%s] must be greater than or equal to %s",
+                        this.flushIntervalMillis,
+                        1));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A metric aggregated in memory by a {@link MetricRecorder}.
+ */
+abstract class RecordedMetric {
+    /**
+     * Takes the data points aggregated since the previous call.  Only called by the flushing thread.
+     *
+     * @param timestamp the timestamp of the data points
+     * @return the data points, empty if there is nothing to post
+     */
+    abstract List<Datapoint> drain(Date timestamp);
+}
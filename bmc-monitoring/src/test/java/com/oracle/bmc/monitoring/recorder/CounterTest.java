@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CounterTest {
+    @Test
+    public void drain_sumSincePreviousDrain() {
+        Counter counter = new Counter();
+        counter.increment();
+        counter.add(4);
+        assertEquals(5L, drain(counter));
+        assertTrue(counter.drain(new Date()).isEmpty());
+
+        counter.add(3);
+        assertEquals(3L, drain(counter));
+    }
+
+    @Test
+    public void drain_concurrentAddsNotLost() throws Exception {
+        final Counter counter = new Counter();
+        final int threads = 4;
+        final int perThread = 100000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < perThread; i++) {
+                                        counter.increment();
+                                    }
+                                }));
+            }
+            long drained = 0;
+            for (Future<?> future : futures) {
+                while (!future.isDone()) {
+                    drained += drain(counter);
+                }
+                future.get();
+            }
+            drained += drain(counter);
+
+            assertEquals((long) threads * perThread, drained);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long drain(Counter counter) {
+        final List<Datapoint> datapoints = counter.drain(new Date());
+        assertTrue(datapoints.size() <= 1);
+        return datapoints.isEmpty() ? 0L : datapoints.get(0).getValue().longValue();
+    }
+}
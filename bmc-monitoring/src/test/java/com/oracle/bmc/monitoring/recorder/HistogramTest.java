@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+    @Test
+    public void bucketValue_within25Percent() {
+        for (double value = 1e-6; value < 1e13; value *= 1.07) {
+            final double bucketValue = Histogram.bucketValue(Histogram.bucket(value));
+            assertTrue(value + " -> " + bucketValue, Math.abs(bucketValue - value) <= 0.25 * value);
+        }
+    }
+
+    @Test
+    public void bucket_zeroNegativeAndNaN() {
+        assertEquals(0, Histogram.bucket(0.0));
+        assertEquals(0, Histogram.bucket(-1.0));
+        assertEquals(0, Histogram.bucket(Double.NaN));
+        assertEquals(0.0, Histogram.bucketValue(0), 0.0);
+    }
+
+    @Test
+    public void drain_countsPerBucketSincePreviousDrain() {
+        Histogram histogram = new Histogram();
+        histogram.record(10.0);
+        histogram.record(10.1);
+        histogram.record(1000.0);
+
+        List<Datapoint> datapoints = histogram.drain(new Date());
+        assertEquals(2, datapoints.size());
+        assertEquals(Integer.valueOf(2), datapoints.get(0).getCount());
+        assertEquals(Integer.valueOf(1), datapoints.get(1).getCount());
+        assertTrue(histogram.drain(new Date()).isEmpty());
+    }
+}
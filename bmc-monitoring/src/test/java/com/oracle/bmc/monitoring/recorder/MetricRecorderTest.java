@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.monitoring.recorder;
+
+import com.oracle.bmc.monitoring.Monitoring;
+import com.oracle.bmc.monitoring.model.MetricDataDetails;
+import com.oracle.bmc.monitoring.requests.PostMetricDataRequest;
+import com.oracle.bmc.monitoring.responses.PostMetricDataResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricRecorderTest {
+    private static final Map<String, String> DIMENSIONS =
+            Collections.singletonMap("host", "hostA");
+
+    @Mock private Monitoring monitoringClient;
+    private MetricRecorder recorder;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(monitoringClient.postMetricData(any(PostMetricDataRequest.class)))
+                .thenReturn(PostMetricDataResponse.builder().build());
+        recorder =
+                new MetricRecorder(
+                        monitoringClient,
+                        MetricRecorderConfiguration.builder()
+                                .compartmentId("ocid1.compartment.oc1..compartment")
+                                .namespace("namespace")
+                                .flushIntervalMillis(60000)
+                                .build());
+    }
+
+    @After
+    public void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    public void flush_postsOnlyChangedStreams() {
+        recorder.counter("requests", DIMENSIONS).add(3);
+        recorder.counter("errors", DIMENSIONS);
+        recorder.flush();
+        recorder.flush();
+
+        final List<MetricDataDetails> metricData = metricData(requests(1).get(0));
+        assertEquals(1, metricData.size());
+        assertEquals("requests", metricData.get(0).getName());
+        assertEquals(3.0, metricData.get(0).getDatapoints().get(0).getValue(), 0.0);
+    }
+
+    @Test
+    public void flush_batchesStreams() {
+        final int streams = 2 * MetricRecorder.MAX_METRIC_STREAMS_PER_REQUEST + 1;
+        for (int i = 0; i < streams; i++) {
+            recorder.counter("metric-" + i, DIMENSIONS).increment();
+        }
+        recorder.flush();
+
+        final List<PostMetricDataRequest> requests = requests(3);
+        assertEquals(
+                MetricRecorder.MAX_METRIC_STREAMS_PER_REQUEST, metricData(requests.get(0)).size());
+        assertEquals(
+                MetricRecorder.MAX_METRIC_STREAMS_PER_REQUEST, metricData(requests.get(1)).size());
+        assertEquals(1, metricData(requests.get(2)).size());
+    }
+
+    @Test
+    public void register_sameStreamReturnsSameInstance() {
+        assertSame(
+                recorder.counter("requests", DIMENSIONS),
+                recorder.counter("namespace", "requests", DIMENSIONS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void register_otherType() {
+        recorder.counter("requests", DIMENSIONS);
+        recorder.gauge("requests", DIMENSIONS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void register_noDimensions() {
+        recorder.counter("requests", Collections.<String, String>emptyMap());
+    }
+
+    @Test
+    public void close_postsRecordedValues() {
+        recorder.gauge("temperature", DIMENSIONS).set(21.5);
+        recorder.close();
+
+        assertEquals(
+                21.5, metricData(requests(1).get(0)).get(0).getDatapoints().get(0).getValue(), 0.0);
+    }
+
+    private List<PostMetricDataRequest> requests(int count) {
+        final ArgumentCaptor<PostMetricDataRequest> requests =
+                ArgumentCaptor.forClass(PostMetricDataRequest.class);
+        verify(monitoringClient, times(count)).postMetricData(requests.capture());
+        return requests.getAllValues();
+    }
+
+    private static List<MetricDataDetails> metricData(PostMetricDataRequest request) {
+        return request.getPostMetricDataDetails().getMetricData();
+    }
+}
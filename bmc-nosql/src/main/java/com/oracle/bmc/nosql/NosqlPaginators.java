@@ -24,11 +24,37 @@ import com.oracle.bmc.nosql.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190828")
-@lombok.RequiredArgsConstructor
 public class NosqlPaginators {
     private final Nosql client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public NosqlPaginators(Nosql client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public NosqlPaginators(
+            Nosql client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listIndexes operation. This iterable
@@ -76,7 +102,8 @@ public class NosqlPaginators {
                     public ListIndexesResponse apply(ListIndexesRequest request) {
                         return client.listIndexes(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class NosqlPaginators {
                             ListIndexesResponse response) {
                         return response.getIndexCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -187,7 +215,8 @@ public class NosqlPaginators {
                     public ListTableUsageResponse apply(ListTableUsageRequest request) {
                         return client.listTableUsage(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -249,7 +278,8 @@ public class NosqlPaginators {
                             ListTableUsageResponse response) {
                         return response.getTableUsageCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -298,7 +328,8 @@ public class NosqlPaginators {
                     public ListTablesResponse apply(ListTablesRequest request) {
                         return client.listTables(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -359,7 +390,8 @@ public class NosqlPaginators {
                             ListTablesResponse response) {
                         return response.getTableCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -411,7 +443,8 @@ public class NosqlPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -474,7 +507,8 @@ public class NosqlPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getWorkRequestErrorCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -525,7 +559,8 @@ public class NosqlPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -587,7 +622,8 @@ public class NosqlPaginators {
                             ListWorkRequestLogsResponse response) {
                         return response.getWorkRequestLogEntryCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -637,7 +673,8 @@ public class NosqlPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -699,6 +736,7 @@ public class NosqlPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getWorkRequestCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -0,0 +1,507 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.nosql.Nosql;
+import com.oracle.bmc.nosql.dataaccess.internal.PreparedStatementCache;
+import com.oracle.bmc.nosql.model.PreparedStatement;
+import com.oracle.bmc.nosql.model.QueryDetails;
+import com.oracle.bmc.nosql.model.RequestUsage;
+import com.oracle.bmc.nosql.model.TableLimits;
+import com.oracle.bmc.nosql.model.TableUsageSummary;
+import com.oracle.bmc.nosql.model.UpdateRowDetails;
+import com.oracle.bmc.nosql.model.UpdateRowResult;
+import com.oracle.bmc.nosql.requests.GetTableRequest;
+import com.oracle.bmc.nosql.requests.ListTableUsageRequest;
+import com.oracle.bmc.nosql.requests.PrepareStatementRequest;
+import com.oracle.bmc.nosql.requests.QueryRequest;
+import com.oracle.bmc.nosql.requests.UpdateRowRequest;
+import com.oracle.bmc.nosql.responses.QueryResponse;
+import com.oracle.bmc.retrier.DefaultRetryCondition;
+import com.oracle.bmc.retrier.RetryCondition;
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * NosqlDataAccess runs parameterized queries with cached prepared statements, and writes many rows
+ * concurrently.
+ * <p>
+ * Statements are prepared once per compartment and statement text, and kept in a least recently
+ * used cache, see {@link NosqlDataAccessConfiguration#getPreparedStatementCacheSize()}, so repeated
+ * queries are not parsed again by the service.
+ * <p>
+ * Rows are written with one UpdateRow request each, since the service has no request to write
+ * several rows.  The rows are split into batches, which are written by a bounded number of
+ * concurrent writers.  The writes are paced so that they use no more than the read and write units
+ * of the table that are not already used, according to the table limits and its latest usage.
+ * <p>
+ * The data access must be closed after use, which stops its worker threads.
+ */
+@Slf4j
+public class NosqlDataAccess implements AutoCloseable {
+    private static final int BAD_REQUEST = 400;
+    // the share of the table limits writes may always use, even if others use the table
+    private static final double MIN_THROUGHPUT_FRACTION = 0.1;
+
+    private static final RetryCondition RETRY_CONDITION = new DefaultRetryCondition();
+
+    private final Nosql nosqlClient;
+    private final NosqlDataAccessConfiguration configuration;
+    // null if the cache is disabled
+    private final PreparedStatementCache preparedStatements;
+    private final ExecutorService workers;
+    // fetches the next page of each query stream, apart from the writers, so that the prefetch of a
+    // query, which sleeps while its pages are paced, neither waits for nor holds up row writes
+    private final ExecutorService queryFetchers;
+
+    /**
+     * Creates a new NosqlDataAccess with the default configuration.
+     *
+     * @param nosqlClient The client used to call the service.
+     */
+    public NosqlDataAccess(@NonNull Nosql nosqlClient) {
+        this(nosqlClient, NosqlDataAccessConfiguration.builder().build());
+    }
+
+    /**
+     * Creates a new NosqlDataAccess.
+     *
+     * @param nosqlClient The client used to call the service.
+     * @param configuration The data access configuration.
+     */
+    public NosqlDataAccess(
+            @NonNull Nosql nosqlClient, @NonNull NosqlDataAccessConfiguration configuration) {
+        this.nosqlClient = nosqlClient;
+        this.configuration = configuration;
+        this.preparedStatements =
+                (configuration.getPreparedStatementCacheSize() > 0)
+                        ? new PreparedStatementCache(configuration.getPreparedStatementCacheSize())
+                        : null;
+        this.workers =
+                Executors.newFixedThreadPool(
+                        configuration.getMaxConcurrentWrites(),
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("nosql-data-access-%d")
+                                .setDaemon(true)
+                                .build());
+        this.queryFetchers =
+                Executors.newCachedThreadPool(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("nosql-data-access-query-%d")
+                                .setDaemon(true)
+                                .build());
+    }
+
+    /**
+     * Gets the prepared statement from the cache, preparing it if it is not cached.
+     *
+     * @param compartmentId The OCID of the compartment of the table the statement uses.
+     * @param statement The statement text.
+     * @return the prepared statement
+     */
+    public PreparedStatement prepareStatement(
+            @NonNull String compartmentId, @NonNull String statement) {
+        if (preparedStatements == null) {
+            return prepare(compartmentId, statement);
+        }
+        return preparedStatements.get(compartmentId, statement, this::prepare);
+    }
+
+    /**
+     * Runs a query with the prepared statement of the statement text, and returns one page of
+     * results.
+     * <p>
+     * If the service rejects the prepared statement, for example because the schema of the table
+     * changed, the statement is prepared again and the query is sent once more.
+     *
+     * @param compartmentId The OCID of the compartment of the table the statement uses.
+     * @param statement The statement text.
+     * @param variables The values of the variables declared in the statement, by name, or null.
+     * @param page The page token of the previous page, or null for the first page.
+     * @return the response
+     */
+    public QueryResponse query(
+            @NonNull String compartmentId,
+            @NonNull String statement,
+            Map<String, Object> variables,
+            String page) {
+        return query(compartmentId, statement, variables, null, page);
+    }
+
+    QueryResponse query(
+            String compartmentId,
+            String statement,
+            Map<String, Object> variables,
+            Integer maxReadInKBs,
+            String page) {
+        final PreparedStatement prepared = prepareStatement(compartmentId, statement);
+        try {
+            return nosqlClient.query(
+                    queryRequest(compartmentId, prepared, variables, maxReadInKBs, page));
+        } catch (BmcException e) {
+            if (preparedStatements == null || e.getStatusCode() != BAD_REQUEST) {
+                throw e;
+            }
+            LOG.debug("Query with cached prepared statement failed, preparing it again", e);
+            preparedStatements.invalidate(compartmentId, statement);
+            return nosqlClient.query(
+                    queryRequest(
+                            compartmentId,
+                            prepareStatement(compartmentId, statement),
+                            variables,
+                            maxReadInKBs,
+                            page));
+        }
+    }
+
+    /**
+     * Runs a query with the prepared statement of the statement text, and returns its rows across
+     * all pages.  The stream is lazy: the first page is fetched when the first row is needed, and
+     * each following page is fetched in the background while the rows of the previous page are
+     * processed.
+     * <p>
+     * If {@link NosqlDataAccessConfiguration#getQueryTargetRowsPerSecond()} is set, the rows are
+     * fetched at about that rate, in pages sized with {@code maxReadInKBs} from the read units the
+     * previous pages consumed, so scans of large tables read at a steady rate instead of being
+     * throttled.  Throttled requests are retried with a smaller {@code maxReadInKBs}.
+     * <p>
+     * Pages are fetched by threads of their own, one page at a time per stream, which do not count
+     * against {@link NosqlDataAccessConfiguration#getMaxConcurrentWrites()}.  Streams that are not
+     * consumed to the end should be closed, to stop fetching the next page.
+     *
+     * @param compartmentId The OCID of the compartment of the table the statement uses.
+     * @param statement The statement text.
+     * @param variables The values of the variables declared in the statement, by name, or null.
+     * @return the rows, each a map of column names to values
+     */
+    public Stream<Map<String, Object>> queryStream(
+            @NonNull String compartmentId,
+            @NonNull String statement,
+            Map<String, Object> variables) {
+        final QueryPageIterator rows =
+                new QueryPageIterator(
+                        this,
+                        queryFetchers,
+                        compartmentId,
+                        statement,
+                        variables,
+                        configuration.getQueryTargetRowsPerSecond());
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(
+                                rows, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Writes rows into a table, replacing rows with the same primary key, and waits until all rows
+     * have been written or have failed.
+     * <p>
+     * UpdateRow requests that fail with an error that can be retried, for example because they were
+     * throttled, are retried, see {@link NosqlDataAccessConfiguration#getMaxRetries()}.  Rows that
+     * still fail do not stop the other rows from being written, and are reported in the result.
+     *
+     * @param compartmentId The OCID of the compartment of the table.
+     * @param tableNameOrId The name or OCID of the table.
+     * @param rows The rows, each a map of column names to values.
+     * @return the result of each row
+     */
+    public UpsertRowsResult upsertRows(
+            @NonNull String compartmentId,
+            @NonNull String tableNameOrId,
+            @NonNull List<Map<String, Object>> rows) {
+        final AtomicReferenceArray<UpdateRowResult> results =
+                new AtomicReferenceArray<>(rows.size());
+        final Map<Integer, Exception> failures = new ConcurrentSkipListMap<>();
+        if (rows.isEmpty()) {
+            return new UpsertRowsResult(new ArrayList<>(), failures, 0, 0);
+        }
+
+        final Throughput throughput = getThroughput(compartmentId, tableNameOrId);
+        final List<Future<?>> batches = new ArrayList<>();
+        for (int start = 0; start < rows.size(); start += configuration.getWriteBatchSize()) {
+            final int from = start;
+            final int to = Math.min(start + configuration.getWriteBatchSize(), rows.size());
+            batches.add(
+                    workers.submit(
+                            () ->
+                                    writeBatch(
+                                            compartmentId,
+                                            tableNameOrId,
+                                            rows,
+                                            from,
+                                            to,
+                                            throughput,
+                                            results,
+                                            failures)));
+        }
+
+        try {
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            for (Future<?> batch : batches) {
+                batch.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            for (int i = 0; i < rows.size(); i++) {
+                if (results.get(i) == null) {
+                    failures.putIfAbsent(i, e);
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Failed to write rows", e.getCause());
+        }
+
+        final List<UpdateRowResult> resultList = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            resultList.add(results.get(i));
+        }
+        return new UpsertRowsResult(
+                resultList,
+                failures,
+                throughput.readUnitsConsumed.sum(),
+                throughput.writeUnitsConsumed.sum());
+    }
+
+    /**
+     * Stops the worker threads, and clears the prepared statement cache.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        queryFetchers.shutdown();
+        if (preparedStatements != null) {
+            preparedStatements.clear();
+        }
+    }
+
+    private PreparedStatement prepare(String compartmentId, String statement) {
+        return nosqlClient
+                .prepareStatement(
+                        PrepareStatementRequest.builder()
+                                .compartmentId(compartmentId)
+                                .statement(statement)
+                                .build())
+                .getPreparedStatement();
+    }
+
+    private static QueryRequest queryRequest(
+            String compartmentId,
+            PreparedStatement prepared,
+            Map<String, Object> variables,
+            Integer maxReadInKBs,
+            String page) {
+        return QueryRequest.builder()
+                .queryDetails(
+                        QueryDetails.builder()
+                                .compartmentId(compartmentId)
+                                .statement(prepared.getStatement())
+                                .isPrepared(true)
+                                .variables(variables)
+                                .maxReadInKBs(maxReadInKBs)
+                                .build())
+                .page(page)
+                .build();
+    }
+
+    private void writeBatch(
+            String compartmentId,
+            String tableNameOrId,
+            List<Map<String, Object>> rows,
+            int from,
+            int to,
+            Throughput throughput,
+            AtomicReferenceArray<UpdateRowResult> results,
+            Map<Integer, Exception> failures) {
+        for (int i = from; i < to; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                for (int j = i; j < to; j++) {
+                    failures.put(j, new InterruptedException("Interrupted while writing rows"));
+                }
+                return;
+            }
+            try {
+                results.set(i, writeRow(compartmentId, tableNameOrId, rows.get(i), throughput));
+            } catch (RuntimeException e) {
+                LOG.debug("Failed to write row {} into table {}", i, tableNameOrId, e);
+                failures.put(i, e);
+            }
+        }
+    }
+
+    private UpdateRowResult writeRow(
+            String compartmentId,
+            String tableNameOrId,
+            Map<String, Object> row,
+            Throughput throughput) {
+        final UpdateRowRequest request =
+                UpdateRowRequest.builder()
+                        .tableNameOrId(tableNameOrId)
+                        .updateRowDetails(
+                                UpdateRowDetails.builder()
+                                        .compartmentId(compartmentId)
+                                        .value(row)
+                                        .build())
+                        .build();
+
+        final long startTime = System.currentTimeMillis();
+        for (int attempt = 0; ; attempt++) {
+            final int acquiredWriteUnits = throughput.beforeWrite();
+            try {
+                final UpdateRowResult result = nosqlClient.updateRow(request).getUpdateRowResult();
+                throughput.afterWrite(acquiredWriteUnits, result.getUsage());
+                return result;
+            } catch (BmcException e) {
+                if (!shouldRetry(e, attempt) || !backOff(startTime, attempt + 1)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    boolean shouldRetry(BmcException e, int attempt) {
+        return attempt < configuration.getMaxRetries() && RETRY_CONDITION.shouldBeRetried(e);
+    }
+
+    boolean backOff(long startTime, int attemptsMade) {
+        final long backoffMillis =
+                configuration
+                        .getRetryDelayStrategy()
+                        .nextDelay(new WaitContext(startTime, attemptsMade));
+        try {
+            Thread.sleep(backoffMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Throughput getThroughput(String compartmentId, String tableNameOrId) {
+        final TableLimits limits =
+                nosqlClient
+                        .getTable(
+                                GetTableRequest.builder()
+                                        .compartmentId(compartmentId)
+                                        .tableNameOrId(tableNameOrId)
+                                        .build())
+                        .getTable()
+                        .getTableLimits();
+
+        TableUsageSummary usage = null;
+        try {
+            final List<TableUsageSummary> items =
+                    nosqlClient
+                            .listTableUsage(
+                                    ListTableUsageRequest.builder()
+                                            .compartmentId(compartmentId)
+                                            .tableNameOrId(tableNameOrId)
+                                            .limit(1)
+                                            .build())
+                            .getTableUsageCollection()
+                            .getItems();
+            if (items != null && !items.isEmpty()) {
+                usage = items.get(items.size() - 1);
+            }
+        } catch (BmcException e) {
+            LOG.debug(
+                    "Unable to get the usage of table {}, assuming it is unused", tableNameOrId, e);
+        }
+
+        return new Throughput(
+                createRateLimiter(
+                        (limits == null) ? null : limits.getMaxReadUnits(),
+                        (usage == null) ? null : usage.getReadUnits()),
+                createRateLimiter(
+                        (limits == null) ? null : limits.getMaxWriteUnits(),
+                        (usage == null) ? null : usage.getWriteUnits()));
+    }
+
+    // returns null if the table has no limit
+    private RateLimiter createRateLimiter(Integer maxUnits, Integer usedUnits) {
+        if (maxUnits == null || maxUnits <= 0) {
+            return null;
+        }
+        final double available = maxUnits - ((usedUnits == null) ? 0 : usedUnits);
+        final double unitsPerSecond =
+                Math.max(
+                        available * configuration.getMaxThroughputUtilization(),
+                        maxUnits * MIN_THROUGHPUT_FRACTION);
+        LOG.debug("Limiting row writes to {} of {} units per second", unitsPerSecond, maxUnits);
+        return RateLimiter.create(unitsPerSecond);
+    }
+
+    /**
+     * Paces the writes of one call to {@link #upsertRows}.  Each write acquires the write units the
+     * previous write consumed before it is sent, and the difference and the read units afterwards,
+     * so the next writes wait if a write consumed more than expected.
+     */
+    private static final class Throughput {
+        private final RateLimiter readUnits;
+        private final RateLimiter writeUnits;
+        private final LongAdder readUnitsConsumed = new LongAdder();
+        private final LongAdder writeUnitsConsumed = new LongAdder();
+        private volatile int expectedWriteUnits = 1;
+
+        private Throughput(RateLimiter readUnits, RateLimiter writeUnits) {
+            this.readUnits = readUnits;
+            this.writeUnits = writeUnits;
+        }
+
+        private int beforeWrite() {
+            final int units = expectedWriteUnits;
+            if (writeUnits != null) {
+                writeUnits.acquire(units);
+            }
+            return units;
+        }
+
+        private void afterWrite(int acquiredWriteUnits, RequestUsage usage) {
+            if (usage == null) {
+                return;
+            }
+            final int read = toInt(usage.getReadUnitsConsumed());
+            final int write = toInt(usage.getWriteUnitsConsumed());
+            readUnitsConsumed.add(read);
+            writeUnitsConsumed.add(write);
+            if (readUnits != null && read > 0) {
+                readUnits.acquire(read);
+            }
+            if (writeUnits != null && write > acquiredWriteUnits) {
+                writeUnits.acquire(write - acquiredWriteUnits);
+            }
+            if (write > 0) {
+                expectedWriteUnits = write;
+            }
+        }
+
+        private static int toInt(Integer value) {
+            return (value == null) ? 0 : value;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess;
+
+import com.oracle.bmc.waiter.DelayStrategy;
+import com.oracle.bmc.waiter.ExponentialBackoffDelayStrategyWithJitter;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * NosqlDataAccessConfiguration controls how the {@link NosqlDataAccess} caches prepared statements,
+ * writes rows and fetches query results.
+ */
+@Getter
+@ToString
+public class NosqlDataAccessConfiguration {
+    private static final int DEFAULT_PREPARED_STATEMENT_CACHE_SIZE = 256;
+    private static final int DEFAULT_MAX_CONCURRENT_WRITES = 4;
+    private static final int DEFAULT_WRITE_BATCH_SIZE = 100;
+    private static final double DEFAULT_MAX_THROUGHPUT_UTILIZATION = 0.9;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final DelayStrategy DEFAULT_RETRY_DELAY_STRATEGY =
+            new ExponentialBackoffDelayStrategyWithJitter(100, 10000);
+
+    /**
+     * Max number of prepared statements kept, default 256.  The least recently used statement is evicted
+     * when the cache is full.  0 disables the cache, and statements are prepared for every query.
+     */
+    private final int preparedStatementCacheSize;
+    /**
+     * Max number of UpdateRow requests in flight at the same time, default 4.
+     */
+    private final int maxConcurrentWrites;
+    /**
+     * Number of rows written one after the other by one of the concurrent writers, default 100.
+     */
+    private final int writeBatchSize;
+    /**
+     * Fraction of the read and write units of a table that are not already used by others which row
+     * writes may use, default 0.9.
+     */
+    private final double maxThroughputUtilization;
+    /**
+     * Number of times an UpdateRow request, or a Query request of {@link NosqlDataAccess#queryStream},
+     * that failed with an error that can be retried, for example because it was throttled, is sent
+     * again, default 3.
+     */
+    private final int maxRetries;
+    /**
+     * Delay before a request that failed is sent again, default 100 milliseconds, doubling with every
+     * retry up to 10 seconds, less a random jitter.  The attempts made are the requests for the row or
+     * the page that failed.
+     */
+    private final DelayStrategy retryDelayStrategy;
+    /**
+     * Number of rows per second {@link NosqlDataAccess#queryStream} fetches, default 0, which fetches the
+     * pages as fast as they are consumed.
+     */
+    private final int queryTargetRowsPerSecond;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private NosqlDataAccessConfiguration(
+            Integer preparedStatementCacheSize,
+            Integer maxConcurrentWrites,
+            Integer writeBatchSize,
+            Double maxThroughputUtilization,
+            Integer maxRetries,
+            DelayStrategy retryDelayStrategy,
+            Integer queryTargetRowsPerSecond) {
+        this.preparedStatementCacheSize =
+                getOrDefault(preparedStatementCacheSize, DEFAULT_PREPARED_STATEMENT_CACHE_SIZE);
+        this.maxConcurrentWrites =
+                getOrDefault(maxConcurrentWrites, DEFAULT_MAX_CONCURRENT_WRITES);
+        this.writeBatchSize = getOrDefault(writeBatchSize, DEFAULT_WRITE_BATCH_SIZE);
+        this.maxThroughputUtilization =
+                getOrDefault(maxThroughputUtilization, DEFAULT_MAX_THROUGHPUT_UTILIZATION);
+        this.maxRetries = getOrDefault(maxRetries, DEFAULT_MAX_RETRIES);
+        this.retryDelayStrategy = getOrDefault(retryDelayStrategy, DEFAULT_RETRY_DELAY_STRATEGY);
+        this.queryTargetRowsPerSecond = getOrDefault(queryTargetRowsPerSecond, 0);
+
+        validateAtLeast("preparedStatementCacheSize", this.preparedStatementCacheSize, 0);
+        validateAtLeast("maxConcurrentWrites", this.maxConcurrentWrites, 1);
+        validateAtLeast("writeBatchSize", this.writeBatchSize, 1);
+        Validate.isTrue(
+                this.maxThroughputUtilization > 0 && this.maxThroughputUtilization <= 1,
+                String.format(
+                        "maxThroughputUtilization [%s] must be greater than 0 and at most 1",
+                        this.maxThroughputUtilization));
+        validateAtLeast("maxRetries", this.maxRetries, 0);
+        validateAtLeast("queryTargetRowsPerSecond", this.queryTargetRowsPerSecond, 0);
+    }
+
+    private static void validateAtLeast(String name, int value, int minimum) {
+        Validate.isTrue(
+                value >= minimum,
+                String.format(
+                        "%s [%s] must be greater than or equal to %s", name, value, minimum));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.nosql.model.QueryResultCollection;
+import com.oracle.bmc.nosql.responses.QueryResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterates over the rows of a query, fetching the next page in the background while the caller
+ * processes the current one.
+ * <p>
+ * If {@link NosqlDataAccessConfiguration#getQueryTargetRowsPerSecond()} is set, the pages are paced to
+ * that many rows per second, and {@code maxReadInKBs} is set so that a page holds about one second
+ * of rows, estimated from the rows per read unit of the previous pages.  Throttled requests halve
+ * {@code maxReadInKBs} before they are retried, and it grows back by doubling on later pages.  Pages
+ * are fetched one at a time, so only the fetching thread changes the pacing state.
+ */
+@Slf4j
+class QueryPageIterator implements Iterator<Map<String, Object>>, AutoCloseable {
+    // the service reads at most this much per query request if maxReadInKBs is not set
+    static final int SERVICE_MAX_READ_IN_KBS = 2048;
+    private static final int TOO_MANY_REQUESTS = 429;
+    // weight of the latest page in the estimate of rows per read unit
+    private static final double ROWS_PER_KB_SMOOTHING = 0.5;
+
+    private final NosqlDataAccess dataAccess;
+    private final ExecutorService executor;
+    private final String compartmentId;
+    private final String statement;
+    private final Map<String, Object> variables;
+    private final int targetRowsPerSecond;
+    private final RateLimiter rows;
+
+    private Iterator<Map<String, Object>> currentRows = Collections.emptyIterator();
+    private Future<QueryResponse> nextPage;
+    private boolean started;
+    private boolean closed;
+
+    // only accessed by the fetch of a page; fetches are ordered by the future of the previous page
+    private Integer maxReadInKBs;
+    private double rowsPerKB;
+
+    QueryPageIterator(
+            NosqlDataAccess dataAccess,
+            ExecutorService executor,
+            String compartmentId,
+            String statement,
+            Map<String, Object> variables,
+            int targetRowsPerSecond) {
+        this.dataAccess = dataAccess;
+        this.executor = executor;
+        this.compartmentId = compartmentId;
+        this.statement = statement;
+        this.variables = variables;
+        this.targetRowsPerSecond = targetRowsPerSecond;
+        this.rows = (targetRowsPerSecond > 0) ? RateLimiter.create(targetRowsPerSecond) : null;
+        // until the size of the rows is known, assume about 1 KB per row
+        this.maxReadInKBs =
+                (targetRowsPerSecond > 0)
+                        ? Math.min(SERVICE_MAX_READ_IN_KBS, targetRowsPerSecond)
+                        : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentRows.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                nextPage = executor.submit(() -> fetch(null));
+            }
+            if (nextPage == null) {
+                return false;
+            }
+            final QueryResponse response = takeNextPage();
+            final String nextPageToken = response.getOpcNextPage();
+            nextPage = (nextPageToken != null) ? executor.submit(() -> fetch(nextPageToken)) : null;
+            final QueryResultCollection collection = response.getQueryResultCollection();
+            if (collection != null && collection.getItems() != null) {
+                currentRows = collection.getItems().iterator();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more rows available to this iterator");
+        }
+        return currentRows.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    /**
+     * Stops fetching pages.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        currentRows = Collections.emptyIterator();
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+    }
+
+    private QueryResponse takeNextPage() {
+        try {
+            return nextPage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next page", e);
+        } catch (ExecutionException e) {
+            nextPage = null;
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to fetch the next page", cause);
+        }
+    }
+
+    private QueryResponse fetch(String page) {
+        final long startTime = System.currentTimeMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                final QueryResponse response =
+                        dataAccess.query(compartmentId, statement, variables, maxReadInKBs, page);
+                adapt(response.getQueryResultCollection());
+                return response;
+            } catch (BmcException e) {
+                if (!dataAccess.shouldRetry(e, attempt)) {
+                    throw e;
+                }
+                if (e.getStatusCode() == TOO_MANY_REQUESTS) {
+                    final int current =
+                            (maxReadInKBs == null) ? SERVICE_MAX_READ_IN_KBS : maxReadInKBs;
+                    maxReadInKBs = Math.max(1, current / 2);
+                    LOG.debug("Query was throttled, reducing maxReadInKBs to {}", maxReadInKBs);
+                }
+                if (!dataAccess.backOff(startTime, attempt + 1)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void adapt(QueryResultCollection collection) {
+        final List<Map<String, Object>> items = (collection == null) ? null : collection.getItems();
+        final int rowCount = (items == null) ? 0 : items.size();
+        final Integer readUnits =
+                (collection == null || collection.getUsage() == null)
+                        ? null
+                        : collection.getUsage().getReadUnitsConsumed();
+        if (rowCount > 0 && readUnits != null && readUnits > 0) {
+            final double pageRowsPerKB = (double) rowCount / readUnits;
+            rowsPerKB =
+                    (rowsPerKB == 0)
+                            ? pageRowsPerKB
+                            : ROWS_PER_KB_SMOOTHING * pageRowsPerKB
+                                    + (1 - ROWS_PER_KB_SMOOTHING) * rowsPerKB;
+        }
+
+        Integer target = null;
+        if (rows != null && rowsPerKB > 0) {
+            // about one second of rows per page
+            target =
+                    (int)
+                            Math.max(
+                                    1,
+                                    Math.min(
+                                            SERVICE_MAX_READ_IN_KBS,
+                                            Math.round(targetRowsPerSecond / rowsPerKB)));
+        }
+        if (maxReadInKBs != null) {
+            // grow back after a throttled request, instead of jumping to the target
+            final int grown = Math.min(SERVICE_MAX_READ_IN_KBS, maxReadInKBs * 2);
+            maxReadInKBs = (target == null) ? grown : Math.min(grown, target);
+            if (target == null && maxReadInKBs == SERVICE_MAX_READ_IN_KBS) {
+                maxReadInKBs = null;
+            }
+        } else {
+            maxReadInKBs = target;
+        }
+
+        // pay for the rows of this page, which delays the pages after it if they come too fast
+        if (rows != null && rowCount > 0) {
+            rows.acquire(rowCount);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess;
+
+import com.oracle.bmc.nosql.model.UpdateRowResult;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of {@link NosqlDataAccess#upsertRows}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class UpsertRowsResult {
+    /**
+     * The result of each row, in the order of the rows, or null if the row was not written.
+     */
+    private final List<UpdateRowResult> results;
+    /**
+     * The error of each row that was not written, by the index of the row.
+     */
+    private final Map<Integer, Exception> failures;
+    /**
+     * The read units consumed by the rows that were written.
+     */
+    private final long readUnitsConsumed;
+    /**
+     * The write units consumed by the rows that were written.
+     */
+    private final long writeUnitsConsumed;
+
+    /**
+     * @return true if all rows were written
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
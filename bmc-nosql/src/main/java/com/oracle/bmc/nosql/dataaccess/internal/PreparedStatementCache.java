@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess.internal;
+
+import com.oracle.bmc.nosql.model.PreparedStatement;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Least recently used cache of prepared statements, keyed by compartment and statement text.
+ * <p>
+ * The lock is not held while a statement is prepared, so concurrent callers may prepare the same
+ * statement more than once; the last one prepared is kept.
+ */
+public class PreparedStatementCache {
+    // guarded by itself
+    private final StatementMap statements;
+
+    public PreparedStatementCache(final int maxSize) {
+        this.statements = new StatementMap(maxSize);
+    }
+
+    /**
+     * Gets the prepared statement, preparing it if it is not cached.
+     *
+     * @param compartmentId The compartment of the table the statement uses.
+     * @param statement The statement text.
+     * @param preparer Prepares a statement, given the compartment and the statement text.
+     * @return the prepared statement
+     */
+    public PreparedStatement get(
+            String compartmentId,
+            String statement,
+            BiFunction<String, String, PreparedStatement> preparer) {
+        final Key key = new Key(compartmentId, statement);
+        synchronized (statements) {
+            final PreparedStatement cached = statements.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final PreparedStatement prepared = preparer.apply(compartmentId, statement);
+        synchronized (statements) {
+            statements.put(key, prepared);
+        }
+        return prepared;
+    }
+
+    /**
+     * Removes the prepared statement, if it is cached.
+     *
+     * @param compartmentId The compartment of the table the statement uses.
+     * @param statement The statement text.
+     */
+    public void invalidate(String compartmentId, String statement) {
+        synchronized (statements) {
+            statements.remove(new Key(compartmentId, statement));
+        }
+    }
+
+    /**
+     * @return the number of cached prepared statements
+     */
+    public int size() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    /*
+     * The prepared statements, in access order.  Evicts the least recently used statement when the
+     * map grows beyond the max size.
+     */
+    private static final class StatementMap extends LinkedHashMap<Key, PreparedStatement> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private StatementMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    @Value
+    private static class Key {
+        String compartmentId;
+        String statement;
+    }
+}
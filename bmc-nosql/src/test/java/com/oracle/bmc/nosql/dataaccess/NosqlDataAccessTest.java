@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.nosql.Nosql;
+import com.oracle.bmc.nosql.model.PreparedStatement;
+import com.oracle.bmc.nosql.model.QueryResultCollection;
+import com.oracle.bmc.nosql.model.Table;
+import com.oracle.bmc.nosql.model.UpdateRowResult;
+import com.oracle.bmc.nosql.requests.GetTableRequest;
+import com.oracle.bmc.nosql.requests.ListTableUsageRequest;
+import com.oracle.bmc.nosql.requests.PrepareStatementRequest;
+import com.oracle.bmc.nosql.requests.QueryRequest;
+import com.oracle.bmc.nosql.requests.UpdateRowRequest;
+import com.oracle.bmc.nosql.responses.GetTableResponse;
+import com.oracle.bmc.nosql.responses.PrepareStatementResponse;
+import com.oracle.bmc.nosql.responses.QueryResponse;
+import com.oracle.bmc.nosql.responses.UpdateRowResponse;
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NosqlDataAccessTest {
+    private static final String COMPARTMENT_ID = "ocid1.compartment.oc1..compartment";
+    private static final String TABLE = "table";
+    private static final String STATEMENT = "SELECT * FROM table";
+
+    private static final Answer<UpdateRowResponse> WRITTEN =
+            invocation -> written(updateRowRequest(invocation));
+
+    @Mock private Nosql nosqlClient;
+    private final List<Integer> attemptsMade = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(nosqlClient.prepareStatement(any(PrepareStatementRequest.class)))
+                .thenAnswer(
+                        invocation ->
+                                prepared(
+                                        invocation.getArgumentAt(
+                                                0, PrepareStatementRequest.class)));
+        when(nosqlClient.query(any(QueryRequest.class))).thenReturn(page(null, row(1)));
+        when(nosqlClient.updateRow(any(UpdateRowRequest.class))).thenAnswer(WRITTEN);
+        when(nosqlClient.getTable(any(GetTableRequest.class)))
+                .thenReturn(GetTableResponse.builder().table(Table.builder().build()).build());
+        when(nosqlClient.listTableUsage(any(ListTableUsageRequest.class)))
+                .thenThrow(new BmcException(404, "NotAuthorizedOrNotFound", "not found", null));
+    }
+
+    @Test
+    public void prepareStatement_cached() {
+        try (NosqlDataAccess dataAccess = newDataAccess(configuration())) {
+            final PreparedStatement first = dataAccess.prepareStatement(COMPARTMENT_ID, STATEMENT);
+            dataAccess.prepareStatement(COMPARTMENT_ID, STATEMENT);
+
+            assertEquals("prepared " + STATEMENT, first.getStatement());
+            assertEquals(Collections.singletonList(STATEMENT), preparedStatements());
+        }
+    }
+
+    @Test
+    public void prepareStatement_notCachedWhenDisabled() {
+        try (NosqlDataAccess dataAccess =
+                newDataAccess(configuration().preparedStatementCacheSize(0))) {
+            dataAccess.prepareStatement(COMPARTMENT_ID, STATEMENT);
+            dataAccess.prepareStatement(COMPARTMENT_ID, STATEMENT);
+
+            assertEquals(Arrays.asList(STATEMENT, STATEMENT), preparedStatements());
+        }
+    }
+
+    @Test
+    public void query_preparesAgainWhenRejected() {
+        doThrow(new BmcException(400, "InvalidParameter", "stale statement", null))
+                .doReturn(page(null, row(1)))
+                .when(nosqlClient)
+                .query(any(QueryRequest.class));
+        try (NosqlDataAccess dataAccess = newDataAccess(configuration())) {
+            dataAccess.prepareStatement(COMPARTMENT_ID, STATEMENT);
+
+            final QueryResponse response = dataAccess.query(COMPARTMENT_ID, STATEMENT, null, null);
+
+            assertEquals(1, response.getQueryResultCollection().getItems().size());
+            assertEquals(Arrays.asList(STATEMENT, STATEMENT), preparedStatements());
+            final ArgumentCaptor<QueryRequest> requests =
+                    ArgumentCaptor.forClass(QueryRequest.class);
+            verify(nosqlClient, times(2)).query(requests.capture());
+            assertTrue(requests.getAllValues().get(1).getQueryDetails().getIsPrepared());
+        }
+    }
+
+    @Test
+    public void upsertRows_allRowsWrittenInBatches() {
+        final List<Map<String, Object>> rows = rows(250);
+        final UpsertRowsResult result;
+        try (NosqlDataAccess dataAccess =
+                newDataAccess(configuration().writeBatchSize(100).maxConcurrentWrites(2))) {
+            result = dataAccess.upsertRows(COMPARTMENT_ID, TABLE, rows);
+        }
+
+        assertTrue(result.isSuccessful());
+        assertEquals(250, result.getResults().size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals("version-" + i, result.getResults().get(i).getVersion());
+        }
+        assertEquals(250, writtenIds().size());
+    }
+
+    @Test
+    public void upsertRows_retriesWithDelayStrategy() {
+        doThrow(new BmcException(429, "TooManyRequests", "throttled", null))
+                .doThrow(new BmcException(429, "TooManyRequests", "throttled", null))
+                .doAnswer(WRITTEN)
+                .when(nosqlClient)
+                .updateRow(any(UpdateRowRequest.class));
+        final UpsertRowsResult result;
+        try (NosqlDataAccess dataAccess = newDataAccess(recordingConfiguration())) {
+            result = dataAccess.upsertRows(COMPARTMENT_ID, TABLE, rows(1));
+        }
+
+        assertTrue(result.isSuccessful());
+        verify(nosqlClient, times(3)).updateRow(any(UpdateRowRequest.class));
+        assertEquals(Arrays.asList(1, 2), attemptsMade);
+    }
+
+    @Test
+    public void upsertRows_rowFailsAfterMaxRetries() {
+        final BmcException error = new BmcException(503, "ServiceUnavailable", "unavailable", null);
+        doAnswer(
+                        invocation -> {
+                            if (id(updateRowRequest(invocation)).equals(1)) {
+                                throw error;
+                            }
+                            return WRITTEN.answer(invocation);
+                        })
+                .when(nosqlClient)
+                .updateRow(any(UpdateRowRequest.class));
+        final UpsertRowsResult result;
+        try (NosqlDataAccess dataAccess = newDataAccess(recordingConfiguration().maxRetries(2))) {
+            result = dataAccess.upsertRows(COMPARTMENT_ID, TABLE, rows(3));
+        }
+
+        assertEquals(Collections.singletonMap(1, error), result.getFailures());
+        assertNotNull(result.getResults().get(0));
+        assertEquals(null, result.getResults().get(1));
+        assertNotNull(result.getResults().get(2));
+        assertEquals(Arrays.asList(0, 1, 1, 1, 2), writtenIds());
+        assertEquals(Arrays.asList(1, 2), attemptsMade);
+    }
+
+    @Test
+    public void upsertRows_clientErrorNotRetried() {
+        doThrow(new BmcException(400, "InvalidParameter", "invalid", null))
+                .when(nosqlClient)
+                .updateRow(any(UpdateRowRequest.class));
+        final UpsertRowsResult result;
+        try (NosqlDataAccess dataAccess = newDataAccess(recordingConfiguration())) {
+            result = dataAccess.upsertRows(COMPARTMENT_ID, TABLE, rows(1));
+        }
+
+        assertEquals(1, result.getFailures().size());
+        verify(nosqlClient, times(1)).updateRow(any(UpdateRowRequest.class));
+        assertEquals(Collections.emptyList(), attemptsMade);
+    }
+
+    @Test
+    public void queryStream_rowsOfAllPagesAndRetriedPage() {
+        doReturn(page("2", row(1), row(2)))
+                .doThrow(new BmcException(500, "InternalServerError", "failed", null))
+                .doReturn(page(null, row(3)))
+                .when(nosqlClient)
+                .query(any(QueryRequest.class));
+        final List<Object> ids;
+        try (NosqlDataAccess dataAccess = newDataAccess(recordingConfiguration());
+                Stream<Map<String, Object>> rows =
+                        dataAccess.queryStream(COMPARTMENT_ID, STATEMENT, null)) {
+            ids = rows.map(row -> row.get("id")).collect(Collectors.toList());
+        }
+
+        assertEquals(Arrays.asList(1, 2, 3), ids);
+        final ArgumentCaptor<QueryRequest> queries = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(nosqlClient, times(3)).query(queries.capture());
+        assertEquals(null, queries.getAllValues().get(0).getPage());
+        assertEquals("2", queries.getAllValues().get(1).getPage());
+        assertEquals("2", queries.getAllValues().get(2).getPage());
+        assertEquals(Collections.singletonList(1), attemptsMade);
+    }
+
+    @Test(timeout = 10000)
+    public void queryStream_notHeldUpByWrites() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch releaseWrites = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            writing.countDown();
+                            releaseWrites.await();
+                            return WRITTEN.answer(invocation);
+                        })
+                .when(nosqlClient)
+                .updateRow(any(UpdateRowRequest.class));
+        doReturn(page("2", row(1)))
+                .doReturn(page(null, row(1)))
+                .when(nosqlClient)
+                .query(any(QueryRequest.class));
+        final ExecutorService caller = Executors.newSingleThreadExecutor();
+        try (NosqlDataAccess dataAccess =
+                newDataAccess(configuration().maxConcurrentWrites(1).writeBatchSize(1))) {
+            final Future<UpsertRowsResult> upsert =
+                    caller.submit(() -> dataAccess.upsertRows(COMPARTMENT_ID, TABLE, rows(2)));
+            writing.await();
+
+            // the only writer is busy, the pages are still fetched
+            try (Stream<Map<String, Object>> rows =
+                    dataAccess.queryStream(COMPARTMENT_ID, STATEMENT, null)) {
+                assertEquals(2, rows.count());
+            }
+
+            releaseWrites.countDown();
+            assertTrue(upsert.get().isSuccessful());
+        } finally {
+            releaseWrites.countDown();
+            caller.shutdown();
+        }
+    }
+
+    private NosqlDataAccess newDataAccess(
+            NosqlDataAccessConfiguration.NosqlDataAccessConfigurationBuilder builder) {
+        return new NosqlDataAccess(nosqlClient, builder.build());
+    }
+
+    private NosqlDataAccessConfiguration.NosqlDataAccessConfigurationBuilder
+            recordingConfiguration() {
+        return configuration()
+                .retryDelayStrategy(
+                        context -> {
+                            attemptsMade.add(context.getAttemptsMade());
+                            return 0;
+                        });
+    }
+
+    private static NosqlDataAccessConfiguration.NosqlDataAccessConfigurationBuilder
+            configuration() {
+        return NosqlDataAccessConfiguration.builder()
+                .retryDelayStrategy(new FixedTimeDelayStrategy(0));
+    }
+
+    private List<String> preparedStatements() {
+        final ArgumentCaptor<PrepareStatementRequest> requests =
+                ArgumentCaptor.forClass(PrepareStatementRequest.class);
+        verify(nosqlClient, atLeastOnce()).prepareStatement(requests.capture());
+        final List<String> statements = new ArrayList<>();
+        for (PrepareStatementRequest request : requests.getAllValues()) {
+            statements.add(request.getStatement());
+        }
+        return statements;
+    }
+
+    private List<Object> writtenIds() {
+        final ArgumentCaptor<UpdateRowRequest> requests =
+                ArgumentCaptor.forClass(UpdateRowRequest.class);
+        verify(nosqlClient, atLeastOnce()).updateRow(requests.capture());
+        final List<Object> ids = new ArrayList<>();
+        for (UpdateRowRequest request : requests.getAllValues()) {
+            ids.add(id(request));
+        }
+        return ids;
+    }
+
+    private static PrepareStatementResponse prepared(PrepareStatementRequest request) {
+        return PrepareStatementResponse.builder()
+                .preparedStatement(
+                        PreparedStatement.builder()
+                                .statement("prepared " + request.getStatement())
+                                .build())
+                .build();
+    }
+
+    private static UpdateRowRequest updateRowRequest(InvocationOnMock invocation) {
+        return invocation.getArgumentAt(0, UpdateRowRequest.class);
+    }
+
+    private static UpdateRowResponse written(UpdateRowRequest request) {
+        return UpdateRowResponse.builder()
+                .updateRowResult(
+                        UpdateRowResult.builder()
+                                .version("version-" + id(request))
+                                .build())
+                .build();
+    }
+
+    private static Object id(UpdateRowRequest request) {
+        return request.getUpdateRowDetails().getValue().get("id");
+    }
+
+    @SafeVarargs
+    private static QueryResponse page(String nextPage, Map<String, Object>... rows) {
+        return QueryResponse.builder()
+                .queryResultCollection(
+                        QueryResultCollection.builder().items(Arrays.asList(rows)).build())
+                .opcNextPage(nextPage)
+                .build();
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(row(i));
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> row(int id) {
+        return Collections.singletonMap("id", id);
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.nosql.Nosql;
+import com.oracle.bmc.nosql.model.PreparedStatement;
+import com.oracle.bmc.nosql.model.QueryResultCollection;
+import com.oracle.bmc.nosql.model.RequestUsage;
+import com.oracle.bmc.nosql.requests.PrepareStatementRequest;
+import com.oracle.bmc.nosql.requests.QueryRequest;
+import com.oracle.bmc.nosql.responses.PrepareStatementResponse;
+import com.oracle.bmc.nosql.responses.QueryResponse;
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Stubber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueryPageIteratorTest {
+    private static final String COMPARTMENT_ID = "ocid1.compartment.oc1..compartment";
+    private static final String STATEMENT = "SELECT * FROM table";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    @Mock private Nosql nosqlClient;
+    private NosqlDataAccess dataAccess;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(nosqlClient.prepareStatement(any(PrepareStatementRequest.class)))
+                .thenReturn(
+                        PrepareStatementResponse.builder()
+                                .preparedStatement(
+                                        PreparedStatement.builder().statement(STATEMENT).build())
+                                .build());
+        dataAccess =
+                new NosqlDataAccess(
+                        nosqlClient,
+                        NosqlDataAccessConfiguration.builder()
+                                .retryDelayStrategy(new FixedTimeDelayStrategy(0))
+                                .build());
+    }
+
+    @After
+    public void tearDown() {
+        dataAccess.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void pagesPacedToTargetRowsPerSecond() {
+        // 5 pages of 100 rows at 1000 rows per second; the first page is not delayed
+        givenPages(5, 100, 100);
+        final long start = System.nanoTime();
+
+        assertEquals(500, count(iterator(1000)));
+
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("pages were not paced, took " + elapsedMillis + " ms", elapsedMillis >= 350);
+        verify(nosqlClient, times(5)).query(any(QueryRequest.class));
+    }
+
+    @Test
+    public void maxReadInKBs_sizedFromReadUnitsConsumed() {
+        // 2 rows per KB, then 1 row per KB
+        doReturn(page("1", 100, 50))
+                .doReturn(page("2", 100, 100))
+                .doReturn(page(null, 100, 100))
+                .when(nosqlClient)
+                .query(any(QueryRequest.class));
+
+        assertEquals(300, count(iterator(1000)));
+
+        // until the size of the rows is known 1 KB per row, then one second of rows per page at the
+        // smoothed rows per KB, 2 and then 1.5
+        assertEquals(Arrays.asList(1000, 500, 667), maxReadInKBs());
+    }
+
+    @Test
+    public void throttledQuery_retriedWithHalfTheMaxReadInKBs() {
+        doThrow(new BmcException(429, "TooManyRequests", "throttled", null))
+                .doReturn(page("2", 10, null))
+                .doReturn(page(null, 10, null))
+                .when(nosqlClient)
+                .query(any(QueryRequest.class));
+
+        assertEquals(20, count(iterator(1000)));
+
+        // grows back by doubling on the next page
+        assertEquals(Arrays.asList(1000, 500, 1000), maxReadInKBs());
+    }
+
+    @Test
+    public void noTarget_maxReadInKBsLeftToService() {
+        givenPages(3, 10, 10);
+
+        assertEquals(30, count(iterator(0)));
+
+        assertEquals(Arrays.asList(null, null, null), maxReadInKBs());
+    }
+
+    @Test(timeout = 10000)
+    public void nextPage_prefetchedWhileCurrentPageIsConsumed() throws Exception {
+        final CountDownLatch pagesRequested = new CountDownLatch(2);
+        doAnswer(
+                        invocation -> {
+                            pagesRequested.countDown();
+                            return page("1", 10, 10);
+                        })
+                .doAnswer(
+                        invocation -> {
+                            pagesRequested.countDown();
+                            return page(null, 10, 10);
+                        })
+                .when(nosqlClient)
+                .query(any(QueryRequest.class));
+        final QueryPageIterator rows = iterator(0);
+
+        assertTrue(rows.hasNext());
+        pagesRequested.await();
+        rows.close();
+
+        assertFalse(rows.hasNext());
+    }
+
+    private QueryPageIterator iterator(int targetRowsPerSecond) {
+        return new QueryPageIterator(
+                dataAccess, executor, COMPARTMENT_ID, STATEMENT, null, targetRowsPerSecond);
+    }
+
+    private List<Integer> maxReadInKBs() {
+        final ArgumentCaptor<QueryRequest> queries = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(nosqlClient, atLeastOnce()).query(queries.capture());
+        final List<Integer> maxReadInKBs = new ArrayList<>();
+        for (QueryRequest query : queries.getAllValues()) {
+            maxReadInKBs.add(query.getQueryDetails().getMaxReadInKBs());
+        }
+        return maxReadInKBs;
+    }
+
+    private void givenPages(int count, int rows, int readUnits) {
+        Stubber stubber = doReturn(page((count > 1) ? "1" : null, rows, readUnits));
+        for (int page = 2; page <= count; page++) {
+            stubber =
+                    stubber.doReturn(
+                            page((page < count) ? String.valueOf(page) : null, rows, readUnits));
+        }
+        stubber.when(nosqlClient).query(any(QueryRequest.class));
+    }
+
+    private static QueryResponse page(String nextPage, int rows, Integer readUnits) {
+        final List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            items.add(Collections.singletonMap("id", i));
+        }
+        return QueryResponse.builder()
+                .queryResultCollection(
+                        QueryResultCollection.builder()
+                                .items(items)
+                                .usage(
+                                        (readUnits == null)
+                                                ? null
+                                                : RequestUsage.builder()
+                                                        .readUnitsConsumed(readUnits)
+                                                        .build())
+                                .build())
+                .opcNextPage(nextPage)
+                .build();
+    }
+
+    private static int count(QueryPageIterator rows) {
+        int count = 0;
+        while (rows.hasNext()) {
+            rows.next();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.nosql.dataaccess.internal;
+
+import com.oracle.bmc.nosql.model.PreparedStatement;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PreparedStatementCacheTest {
+    private static final String COMPARTMENT_ID = "ocid1.compartment.oc1..compartment";
+
+    private final List<String> prepared = new ArrayList<>();
+
+    @Test
+    public void get_cachedByCompartmentAndStatement() {
+        final PreparedStatementCache cache = new PreparedStatementCache(10);
+
+        final PreparedStatement first = get(cache, COMPARTMENT_ID, "a");
+        assertSame(first, get(cache, COMPARTMENT_ID, "a"));
+        get(cache, "ocid1.compartment.oc1..other", "a");
+
+        assertEquals(Arrays.asList("a", "a"), prepared);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_leastRecentlyUsedEvicted() {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+
+        get(cache, COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "b");
+        get(cache, COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "c");
+        get(cache, COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "b");
+
+        assertEquals(Arrays.asList("a", "b", "c", "b"), prepared);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void invalidate_preparesAgain() {
+        final PreparedStatementCache cache = new PreparedStatementCache(10);
+        get(cache, COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "b");
+
+        cache.invalidate(COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "b");
+
+        assertEquals(Arrays.asList("a", "b", "a"), prepared);
+    }
+
+    @Test
+    public void clear_removesAllStatements() {
+        final PreparedStatementCache cache = new PreparedStatementCache(10);
+        get(cache, COMPARTMENT_ID, "a");
+        get(cache, COMPARTMENT_ID, "b");
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        get(cache, COMPARTMENT_ID, "a");
+        assertEquals(Arrays.asList("a", "b", "a"), prepared);
+    }
+
+    private PreparedStatement get(PreparedStatementCache cache, String compartmentId, String text) {
+        return cache.get(
+                compartmentId,
+                text,
+                (compartment, statement) -> {
+                    prepared.add(statement);
+                    return PreparedStatement.builder().statement("prepared " + statement).build();
+                });
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The configuration for the {@code DownloadManager}.
+ */
+@Getter
+@ToString
+public class DownloadConfiguration {
+    private static final int DEFAULT_MIN_LENGTH_FOR_PARALLEL_DOWNLOAD = 128;
+    private static final int DEFAULT_LENGTH_PER_DOWNLOAD_PART = 64;
+    private static final int DEFAULT_MAX_PARALLEL_DOWNLOADS = 4;
+
+    /**
+     * Minimum length in MiB before a download is performed using parallel ranged GetObject requests, default 128.
+     * <p>
+     * Note: Accepted values: 0 or greater.
+     */
+    private final long minimumLengthForParallelDownload;
+    /**
+     * Length in MiB of each byte range requested in a parallel download (except the last), default 64.
+     * <p>
+     * Note: Accepted values: 1 or greater.
+     */
+    private final long lengthPerDownloadPart;
+    /**
+     * Maximum number of byte ranges that are fetched at the same time when the {@code DownloadManager}
+     * creates its own executor, default 4.  Ignored if the caller provides an executor on the request.
+     * <p>
+     * Note: Accepted values: 1 or greater.
+     */
+    private final int maxParallelDownloads;
+    /**
+     * Flag to indicate that objects can be downloaded using parallel ranged GetObject requests.  Default is true.
+     */
+    private final boolean allowParallelDownloads;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private DownloadConfiguration(
+            Integer minimumLengthForParallelDownload,
+            Integer lengthPerDownloadPart,
+            Integer maxParallelDownloads,
+            Boolean allowParallelDownloads) {
+        this.minimumLengthForParallelDownload =
+                getOrDefault(
+                        minimumLengthForParallelDownload, DEFAULT_MIN_LENGTH_FOR_PARALLEL_DOWNLOAD);
+        this.lengthPerDownloadPart =
+                getOrDefault(lengthPerDownloadPart, DEFAULT_LENGTH_PER_DOWNLOAD_PART);
+        this.maxParallelDownloads =
+                getOrDefault(maxParallelDownloads, DEFAULT_MAX_PARALLEL_DOWNLOADS);
+        this.allowParallelDownloads = getOrDefault(allowParallelDownloads, true);
+
+        Validate.isTrue(
+                this.minimumLengthForParallelDownload >= 0L,
+                String.format(
+                        "minimumLengthForParallelDownload [%s] must be greater than or equal to %s",
+                        this.minimumLengthForParallelDownload,
+                        0L));
+        Validate.isTrue(
+                this.lengthPerDownloadPart >= 1L,
+                String.format(
+                        "lengthPerDownloadPart [%s] must be greater than or equal to %s",
+                        this.lengthPerDownloadPart,
+                        1L));
+        Validate.isTrue(
+                this.maxParallelDownloads >= 1,
+                String.format(
+                        "maxParallelDownloads [%s] must be greater than or equal to %s",
+                        this.maxParallelDownloads,
+                        1));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
@@ -0,0 +1,385 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.model.Range;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.requests.HeadObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+import com.oracle.bmc.objectstorage.responses.HeadObjectResponse;
+import com.oracle.bmc.objectstorage.transfer.internal.MultipartUtils;
+import com.oracle.bmc.retrier.BmcGenericRetrier;
+import com.oracle.bmc.retrier.RetryConfiguration;
+import com.oracle.bmc.util.StreamUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DownloadManager simplifies downloading large objects from the Object Storage service.  Depending on
+ * the configuration parameters, DownloadManager may choose to do a single GetObject request, or size the
+ * object with a HeadObject request and then fetch byte ranges of the object in parallel.
+ * <p>
+ * Byte ranges are written directly into the destination file at their offsets, and every range is
+ * retried on its own.  All requests are made with an if-match condition on the ETag returned by the
+ * HeadObject request, so the download fails instead of mixing ranges from different versions of the
+ * object if it is overwritten while being downloaded.
+ * <p>
+ * Callers still have full control over how the DownloadManager decides to perform the download using
+ * {@link DownloadConfiguration}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class DownloadManager {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // retries are done per part by the download manager, the client itself must not retry
+    private static final RetryConfiguration NO_RETRY_CONFIGURATION =
+            RetryConfiguration.builder().build();
+
+    private final ObjectStorage objectStorage;
+    private final DownloadConfiguration downloadConfiguration;
+
+    /**
+     * Downloads an object into a file.  The download manager will decide whether to use
+     * a single GetObject call or parallel ranged GetObject calls depending on the
+     * {@link DownloadConfiguration} specified.
+     * <p>
+     * The destination file is created if it does not exist, and truncated if it does.  If the
+     * download fails, the contents of the destination file are undefined.
+     *
+     * @param downloadRequest The download request.
+     * @return The response.
+     * @throws BmcException if the download fails for any reason.
+     */
+    public DownloadResponse download(@NonNull DownloadRequest downloadRequest) {
+        GetObjectRequest request = downloadRequest.getObjectRequest;
+        if (request.getRange() != null) {
+            throw new IllegalArgumentException(
+                    "Range requests are not supported by the DownloadManager");
+        }
+        RetryConfiguration retryConfiguration =
+                request.getRetryConfiguration() != null
+                        ? request.getRetryConfiguration()
+                        : UploadManager.RETRY_CONFIGURATION;
+
+        HeadObjectResponse headResponse = headObject(request, retryConfiguration);
+        long contentLength = headResponse.getContentLength();
+        String eTag = headResponse.getETag();
+
+        try (FileChannel channel =
+                FileChannel.open(
+                        downloadRequest.file.toPath(),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (shouldUseParallelDownload(contentLength)) {
+                parallelDownload(
+                        downloadRequest, retryConfiguration, eTag, contentLength, channel);
+            } else {
+                downloadPart(request, retryConfiguration, eTag, null, contentLength, channel);
+            }
+        } catch (IOException e) {
+            throw new BmcException(
+                    false,
+                    "Failed to write object to " + downloadRequest.file,
+                    e,
+                    headResponse.getOpcRequestId());
+        }
+
+        return new DownloadResponse(
+                eTag,
+                contentLength,
+                headResponse.getContentMd5(),
+                headResponse.getOpcMultipartMd5(),
+                headResponse.getOpcRequestId(),
+                headResponse.getOpcClientRequestId());
+    }
+
+    private boolean shouldUseParallelDownload(long contentLength) {
+        return downloadConfiguration.isAllowParallelDownloads()
+                && contentLength > 0
+                && contentLength
+                        >= downloadConfiguration.getMinimumLengthForParallelDownload()
+                                * MultipartUtils.MiB;
+    }
+
+    private HeadObjectResponse headObject(
+            GetObjectRequest request, RetryConfiguration retryConfiguration) {
+        HeadObjectRequest headRequest =
+                HeadObjectRequest.builder()
+                        .namespaceName(request.getNamespaceName())
+                        .bucketName(request.getBucketName())
+                        .objectName(request.getObjectName())
+                        .versionId(request.getVersionId())
+                        .ifMatch(request.getIfMatch())
+                        .opcClientRequestId(request.getOpcClientRequestId())
+                        .opcSseCustomerAlgorithm(request.getOpcSseCustomerAlgorithm())
+                        .opcSseCustomerKey(request.getOpcSseCustomerKey())
+                        .opcSseCustomerKeySha256(request.getOpcSseCustomerKeySha256())
+                        .invocationCallback(request.getInvocationCallback())
+                        .retryConfiguration(retryConfiguration)
+                        .build();
+        return objectStorage.headObject(headRequest);
+    }
+
+    private void parallelDownload(
+            DownloadRequest downloadRequest,
+            RetryConfiguration retryConfiguration,
+            String eTag,
+            long contentLength,
+            FileChannel channel) {
+        final long sizePerPart =
+                downloadConfiguration.getLengthPerDownloadPart() * MultipartUtils.MiB;
+
+        final ExecutorService executorServiceToUse;
+        final boolean shutdownExecutor;
+        if (downloadRequest.parallelDownloadExecutorService != null) {
+            executorServiceToUse = downloadRequest.parallelDownloadExecutorService;
+            shutdownExecutor = false;
+        } else {
+            executorServiceToUse = buildDefaultParallelExecutor();
+            shutdownExecutor = true;
+        }
+
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (long start = 0; start < contentLength; start += sizePerPart) {
+                // subtract to avoid overflow
+                final long end =
+                        (contentLength - sizePerPart > start)
+                                ? start + sizePerPart - 1
+                                : contentLength - 1;
+                final Range range = new Range(start, end);
+                LOG.trace("Creating part {}", range);
+                futures.add(
+                        executorServiceToUse.submit(
+                                new Callable<Void>() {
+                                    @Override
+                                    public Void call() throws Exception {
+                                        downloadPart(
+                                                downloadRequest.getObjectRequest,
+                                                retryConfiguration,
+                                                eTag,
+                                                range,
+                                                end - range.getStartByte() + 1,
+                                                channel);
+                                        return null;
+                                    }
+                                }));
+            }
+            LOG.debug("Created {} parts", futures.size());
+
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BmcException(false, "Interrupted while downloading object", e, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BmcException) {
+                throw (BmcException) e.getCause();
+            }
+            throw new BmcException(
+                    false, "Failed to download object using ranged requests", e.getCause(), null);
+        } finally {
+            // no-op for parts that already completed
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            if (shutdownExecutor) {
+                executorServiceToUse.shutdownNow();
+            }
+        }
+    }
+
+    private void downloadPart(
+            GetObjectRequest request,
+            RetryConfiguration retryConfiguration,
+            final String eTag,
+            Range range,
+            final long expectedLength,
+            final FileChannel channel) {
+        final long position = (range == null) ? 0L : range.getStartByte();
+        GetObjectRequest partRequest =
+                GetObjectRequest.builder()
+                        .copy(request)
+                        .ifMatch(eTag)
+                        .range(range)
+                        .retryConfiguration(NO_RETRY_CONFIGURATION)
+                        .build();
+
+        new BmcGenericRetrier(retryConfiguration)
+                .execute(
+                        partRequest,
+                        r -> {
+                            GetObjectResponse response = objectStorage.getObject(r);
+                            InputStream stream = response.getInputStream();
+                            try {
+                                if (!eTag.equals(response.getETag())) {
+                                    throw new BmcException(
+                                            412,
+                                            "ETagMismatch",
+                                            "Object changed while being downloaded, expected ETag "
+                                                    + eTag
+                                                    + " but got "
+                                                    + response.getETag(),
+                                            response.getOpcRequestId());
+                                }
+                                long bytesWritten = writeToChannel(stream, channel, position);
+                                if (bytesWritten != expectedLength) {
+                                    throw new BmcException(
+                                            false,
+                                            "Failed to read all bytes of range "
+                                                    + range
+                                                    + ": "
+                                                    + bytesWritten
+                                                    + ", "
+                                                    + expectedLength,
+                                            null,
+                                            response.getOpcRequestId());
+                                }
+                            } catch (IOException e) {
+                                throw new BmcException(
+                                        false,
+                                        "Failed to download range " + range,
+                                        e,
+                                        response.getOpcRequestId());
+                            } finally {
+                                StreamUtils.closeQuietly(stream);
+                            }
+                            return response;
+                        });
+    }
+
+    private static long writeToChannel(InputStream stream, FileChannel channel, long position)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long bytesWritten = 0;
+        int bytesRead;
+        while (-1 != (bytesRead = stream.read(buffer))) {
+            byteBuffer.clear().limit(bytesRead);
+            while (byteBuffer.hasRemaining()) {
+                bytesWritten += channel.write(byteBuffer, position + bytesWritten);
+            }
+        }
+        return bytesWritten;
+    }
+
+    private ExecutorService buildDefaultParallelExecutor() {
+        return Executors.newFixedThreadPool(
+                downloadConfiguration.getMaxParallelDownloads(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("parallel-download-" + System.currentTimeMillis() + "-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    @RequiredArgsConstructor
+    public static class DownloadRequest {
+        private final GetObjectRequest getObjectRequest;
+        private final File file;
+        private final ExecutorService parallelDownloadExecutorService;
+
+        /**
+         * Creates a new {@link DownloadRequestBuilder} that downloads into the given file.
+         *
+         * @param file The file the object should be written to.
+         * @return a new DownloadRequestBuilder instance.
+         */
+        public static DownloadRequestBuilder builder(@NonNull File file) {
+            return new DownloadRequestBuilder(file);
+        }
+
+        @RequiredArgsConstructor
+        public static class DownloadRequestBuilder {
+            private final File file;
+
+            private ExecutorService parallelDownloadExecutorService;
+
+            /**
+             * Sets the executor service that should be used if the download being made uses parallel ranged requests.
+             * If none is provided, the DownloadManager will create a new Executor <i>per download request</i>.
+             * If the caller prefers to have a shared executor, one can be created by the caller and set
+             * on every DownloadRequest through this method.
+             *
+             * @param parallelDownloadExecutorService The executor to use.
+             * @return This builder instance
+             */
+            public DownloadRequestBuilder parallelDownloadExecutorService(
+                    ExecutorService parallelDownloadExecutorService) {
+                this.parallelDownloadExecutorService = parallelDownloadExecutorService;
+                return this;
+            }
+
+            /**
+             * Builds a new DownloadRequest instance.
+             *
+             * @param request The request identifying the object, must not have a range set.
+             * @return A new request instance.
+             */
+            public DownloadRequest build(@NonNull GetObjectRequest request) {
+                return new DownloadRequest(request, file, parallelDownloadExecutorService);
+            }
+        }
+    }
+
+    /**
+     * The result referencing the downloaded object.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    @ToString
+    public static class DownloadResponse {
+        /**
+         * The etag of the object downloaded.
+         */
+        private final String eTag;
+        /**
+         * The number of bytes written to the file.
+         */
+        private final long contentLength;
+        /**
+         * The MD5 of the object downloaded.
+         * <p>
+         * Will be null if the object was uploaded using multi-part.  See {@link #getMultipartMd5()} instead.
+         */
+        private final String contentMd5;
+        /**
+         * The multipart MD5 of the object downloaded.
+         * <p>
+         * Will be null if the object was uploaded using standard put-object.  See {@link #getContentMd5()} instead.
+         */
+        private final String multipartMd5;
+        /**
+         * The opc-request-id associated with the HeadObject call used to size the object.
+         */
+        private final String opcRequestId;
+        /**
+         * The opc-client-request-id sent with every request, if provided.
+         */
+        private final String opcClientRequestId;
+    }
+}
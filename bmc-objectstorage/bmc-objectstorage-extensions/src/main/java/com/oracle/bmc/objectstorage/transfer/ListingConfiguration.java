@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The configuration for the {@code ListingManager}.
+ */
+@Getter
+@ToString
+public class ListingConfiguration {
+    private static final int DEFAULT_MAX_PARALLEL_LISTINGS = 8;
+    private static final int DEFAULT_MAX_BUFFERED_PAGES_PER_SHARD = 4;
+
+    /**
+     * Maximum number of key ranges that are listed, or hold pages that have not been consumed yet, at
+     * the same time, and the number of threads when the {@code ListingManager} creates its own
+     * executor, default 8.  Further key ranges, e.g. of the split points of a request, are listed
+     * once earlier ones have been consumed; ranges are only split while none are waiting.
+     * <p>
+     * Note: Accepted values: 1 or greater.
+     */
+    private final int maxParallelListings;
+    /**
+     * Maximum number of pages of a key range that are listed but not yet consumed, default 4.  Listing
+     * of the range pauses until the caller consumes its pages.
+     * <p>
+     * Note: Accepted values: 1 or greater.
+     */
+    private final int maxBufferedPagesPerShard;
+    /**
+     * Flag to indicate that key ranges which have more pages are split in two while listing, until
+     * {@link #getMaxParallelListings()} ranges are listed at the same time.  Default is true.
+     */
+    private final boolean allowRangeSplitting;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private ListingConfiguration(
+            Integer maxParallelListings,
+            Integer maxBufferedPagesPerShard,
+            Boolean allowRangeSplitting) {
+        this.maxParallelListings =
+                getOrDefault(maxParallelListings, DEFAULT_MAX_PARALLEL_LISTINGS);
+        this.maxBufferedPagesPerShard =
+                getOrDefault(maxBufferedPagesPerShard, DEFAULT_MAX_BUFFERED_PAGES_PER_SHARD);
+        this.allowRangeSplitting = getOrDefault(allowRangeSplitting, true);
+
+        Validate.isTrue(
+                this.maxParallelListings >= 1,
+                String.format(
+                        "maxParallelListings [%s] must be greater than or equal to %s",
+                        this.maxParallelListings,
+                        1));
+        Validate.isTrue(
+                this.maxBufferedPagesPerShard >= 1,
+                String.format(
+                        "maxBufferedPagesPerShard [%s] must be greater than or equal to %s",
+                        this.maxBufferedPagesPerShard,
+                        1));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
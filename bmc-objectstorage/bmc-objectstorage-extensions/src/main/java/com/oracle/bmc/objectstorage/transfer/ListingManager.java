@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+import com.oracle.bmc.objectstorage.requests.ListObjectsRequest;
+import com.oracle.bmc.objectstorage.transfer.internal.KeyRanges;
+import com.oracle.bmc.objectstorage.transfer.internal.ShardedListing;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ListingManager lists the objects of large buckets faster than a single chain of ListObjects
+ * requests, which is limited by the latency of every page.
+ * <p>
+ * The key space of the listing is split into consecutive ranges of object names, using the ListObjects
+ * start and end parameters.  The ranges are listed in parallel, and ranges with more pages are split
+ * again while listing, until {@link ListingConfiguration#getMaxParallelListings()} ranges are listed at
+ * the same time.  Initial ranges can be given as split points, or discovered with a delimiter, e.g. one
+ * range per top-level "directory" of the bucket.
+ * <p>
+ * The objects of all ranges are merged into one stream, either in key order, or in the order in which
+ * the pages were received.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ListingManager {
+    private final ObjectStorage objectStorage;
+    private final ListingConfiguration listingConfiguration;
+
+    /**
+     * Lists the objects matching a ListObjects request.
+     * <p>
+     * The stream lists the objects in the background while it is consumed.  It should be closed if it
+     * is not consumed completely, to stop listing.
+     *
+     * @param listingRequest The listing request.
+     * @return The objects.
+     * @throws com.oracle.bmc.model.BmcException from the terminal operation of the stream if listing
+     * fails for any reason.
+     */
+    public Stream<ObjectSummary> listObjects(@NonNull ListingRequest listingRequest) {
+        ListObjectsRequest request = listingRequest.listObjectsRequest;
+        if (request.getDelimiter() != null) {
+            throw new IllegalArgumentException(
+                    "Requests with a delimiter are not supported by the ListingManager");
+        }
+        if (request.getStartAfter() != null) {
+            throw new IllegalArgumentException(
+                    "Requests with startAfter are not supported by the ListingManager, use start");
+        }
+
+        List<String> splitPoints = new ArrayList<>(listingRequest.splitPoints);
+        if (listingRequest.shardingDelimiter != null) {
+            splitPoints.addAll(listPrefixes(request, listingRequest.shardingDelimiter));
+        }
+        List<String> rangeStarts =
+                KeyRanges.rangeStarts(request.getStart(), request.getEnd(), splitPoints);
+
+        final ExecutorService executorServiceToUse;
+        final boolean shutdownExecutor;
+        if (listingRequest.parallelListingExecutorService != null) {
+            executorServiceToUse = listingRequest.parallelListingExecutorService;
+            shutdownExecutor = false;
+        } else {
+            executorServiceToUse = buildDefaultParallelExecutor();
+            shutdownExecutor = true;
+        }
+
+        final ShardedListing listing =
+                new ShardedListing(
+                        objectStorage,
+                        request,
+                        rangeStarts,
+                        executorServiceToUse,
+                        shutdownExecutor,
+                        listingConfiguration,
+                        listingRequest.ordered,
+                        listingRequest.deduplicate);
+        listing.start();
+
+        int characteristics = Spliterator.NONNULL;
+        if (listingRequest.ordered) {
+            characteristics |= Spliterator.ORDERED;
+        }
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(listing, characteristics), false)
+                .onClose(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                listing.close();
+                            }
+                        });
+    }
+
+    private List<String> listPrefixes(ListObjectsRequest request, String delimiter) {
+        List<String> prefixes = new ArrayList<>();
+        String start = request.getStart();
+        do {
+            ListObjects listObjects =
+                    objectStorage
+                            .listObjects(
+                                    ListObjectsRequest.builder()
+                                            .copy(request)
+                                            .start(start)
+                                            .delimiter(delimiter)
+                                            .fields("name")
+                                            .build())
+                            .getListObjects();
+            if (listObjects.getPrefixes() != null) {
+                prefixes.addAll(listObjects.getPrefixes());
+            }
+            start = listObjects.getNextStartWith();
+        } while (start != null);
+        LOG.debug("Found {} prefixes to split the listing at", prefixes.size());
+        return prefixes;
+    }
+
+    private ExecutorService buildDefaultParallelExecutor() {
+        return Executors.newFixedThreadPool(
+                listingConfiguration.getMaxParallelListings(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("parallel-listing-" + System.currentTimeMillis() + "-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    @RequiredArgsConstructor
+    public static class ListingRequest {
+        private final ListObjectsRequest listObjectsRequest;
+        private final List<String> splitPoints;
+        private final String shardingDelimiter;
+        private final boolean ordered;
+        private final boolean deduplicate;
+        private final ExecutorService parallelListingExecutorService;
+
+        /**
+         * Creates a new {@link ListingRequestBuilder}.
+         *
+         * @return a new ListingRequestBuilder instance.
+         */
+        public static ListingRequestBuilder builder() {
+            return new ListingRequestBuilder();
+        }
+
+        public static class ListingRequestBuilder {
+            private List<String> splitPoints = Collections.emptyList();
+            private String shardingDelimiter;
+            private boolean ordered = true;
+            private boolean deduplicate;
+            private ExecutorService parallelListingExecutorService;
+
+            ListingRequestBuilder() {}
+
+            /**
+             * Sets object names at which the key space is split into initial ranges, e.g. names evenly
+             * spread over the keys of the bucket.  Split points outside of the start and end of the
+             * request are ignored.
+             *
+             * @param splitPoints The object names to split at.
+             * @return This builder instance
+             */
+            public ListingRequestBuilder splitPoints(@NonNull Collection<String> splitPoints) {
+                this.splitPoints = new ArrayList<>(splitPoints);
+                return this;
+            }
+
+            /**
+             * Sets a delimiter to discover the initial ranges with.  Before listing, the prefixes up to
+             * the first delimiter after the prefix of the request are listed, and every prefix starts a
+             * new range.  For example, the delimiter "/" creates one range per top-level "directory".
+             *
+             * @param shardingDelimiter The delimiter, only "/" is supported by the service.
+             * @return This builder instance
+             */
+            public ListingRequestBuilder shardingDelimiter(String shardingDelimiter) {
+                this.shardingDelimiter = shardingDelimiter;
+                return this;
+            }
+
+            /**
+             * Sets whether the objects are returned in key order, default true.  Unordered listings
+             * return the objects of every page as soon as it is received, and buffer fewer pages.
+             *
+             * @param ordered Whether to return the objects in key order.
+             * @return This builder instance
+             */
+            public ListingRequestBuilder ordered(boolean ordered) {
+                this.ordered = ordered;
+                return this;
+            }
+
+            /**
+             * Sets whether objects with the same name are only returned once, default false.  Ordered
+             * listings only compare with the previous name, unordered listings keep all names in memory.
+             *
+             * @param deduplicate Whether to drop objects whose name was already returned.
+             * @return This builder instance
+             */
+            public ListingRequestBuilder deduplicate(boolean deduplicate) {
+                this.deduplicate = deduplicate;
+                return this;
+            }
+
+            /**
+             * Sets the executor service that lists the pages.  If none is provided, the ListingManager
+             * will create a new Executor <i>per listing request</i>, and shut it down when the listing
+             * ends.
+             *
+             * @param parallelListingExecutorService The executor to use.
+             * @return This builder instance
+             */
+            public ListingRequestBuilder parallelListingExecutorService(
+                    ExecutorService parallelListingExecutorService) {
+                this.parallelListingExecutorService = parallelListingExecutorService;
+                return this;
+            }
+
+            /**
+             * Builds a new ListingRequest instance.
+             *
+             * @param request The request identifying the bucket, prefix, bounds and fields to list, must
+             * not have a delimiter or startAfter set.
+             * @return A new request instance.
+             */
+            public ListingRequest build(@NonNull ListObjectsRequest request) {
+                return new ListingRequest(
+                        request,
+                        splitPoints,
+                        shardingDelimiter,
+                        ordered,
+                        deduplicate,
+                        parallelListingExecutorService);
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.oracle.bmc.objectstorage.responses.ListMultipartUploadPartsResponse;
 import com.oracle.bmc.objectstorage.responses.ListMultipartUploadsResponse;
 import com.oracle.bmc.objectstorage.transfer.internal.MultipartManifestImpl;
 import com.oracle.bmc.objectstorage.transfer.internal.MultipartTransferManager;
+import com.oracle.bmc.objectstorage.transfer.internal.UploadJournal;
 import com.oracle.bmc.retrier.RetryConfiguration;
 import com.oracle.bmc.util.StreamUtils;
 import com.oracle.bmc.util.internal.Consumer;
@@ -249,8 +250,22 @@ public class MultipartObjectAssembler {
      * @return The part number assigned to this part
      */
     public int addPart(InputStream stream, long contentLength, String md5) {
+        return addPart(stream, contentLength, md5, null);
+    }
+
+    /**
+     * Add the next part to the upload, and run the given callback once its upload completed,
+     * successfully or not.
+     *
+     * @param stream The stream to upload as the next part
+     * @param contentLength The content length of the part
+     * @param md5 The MD5 checksum, optional
+     * @param onCompletion The callback, optional
+     * @return The part number assigned to this part
+     */
+    int addPart(InputStream stream, long contentLength, String md5, Runnable onCompletion) {
         int nextPartNumber = manifest.nextPartNumber();
-        return doUploadPart(stream, contentLength, md5, nextPartNumber);
+        return doUploadPart(stream, contentLength, md5, nextPartNumber, onCompletion);
     }
 
     /**
@@ -286,10 +301,15 @@ public class MultipartObjectAssembler {
      * @param partNum The part number to to assign to the part
      */
     public void setPart(InputStream stream, long contentLength, String md5, int partNum) {
-        doUploadPart(stream, contentLength, md5, partNum);
+        doUploadPart(stream, contentLength, md5, partNum, null);
     }
 
-    private int doUploadPart(InputStream stream, long contentLength, String md5, int partNumber) {
+    private int doUploadPart(
+            InputStream stream,
+            long contentLength,
+            String md5,
+            int partNumber,
+            Runnable onCompletion) {
         validateState();
         UploadPartRequest request =
                 UploadPartRequest.builder()
@@ -307,7 +327,7 @@ public class MultipartObjectAssembler {
 
         request.setRetryConfiguration(this.retryConfiguration);
 
-        transferManager.startTransfer(request);
+        transferManager.startTransfer(request, onCompletion);
         return partNumber;
     }
 
@@ -392,6 +412,16 @@ public class MultipartObjectAssembler {
         return null;
     }
 
+    /**
+     * Records every part that is uploaded successfully from now on in the given journal.
+     *
+     * @param uploadJournal The journal of this upload.
+     */
+    synchronized void setUploadJournal(UploadJournal uploadJournal) {
+        validateState();
+        transferManager.setUploadJournal(uploadJournal);
+    }
+
     private synchronized void validateState(boolean allowAborted) {
         if (manifest == null) {
             throw new IllegalStateException(
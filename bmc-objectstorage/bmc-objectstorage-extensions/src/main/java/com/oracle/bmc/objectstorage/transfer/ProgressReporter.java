@@ -12,7 +12,8 @@ public interface ProgressReporter {
      * of the upload to to be retried.
      *
      * @param completed The number of bytes that have been already been uploaded for this operation.
-     * @param total The total number of bytes to upload for this operation.
+     * @param total The total number of bytes to upload for this operation, or -1 if the length of the
+     *              content is not known in advance.
      */
     void onProgress(final long completed, final long total);
 }
@@ -22,7 +22,8 @@ class ProgressTracker {
 
     void onBytesRead(final long bytesRead) {
         totalBytesRead += bytesRead;
-        if (totalBytesRead < 0 || totalBytesRead > totalBytes) {
+        // a negative total means the total is unknown
+        if (totalBytesRead < 0 || (totalBytes >= 0 && totalBytesRead > totalBytes)) {
             throw new IllegalStateException(
                     String.format(
                             "IllegalState - bytes read %d causes total bytes read(%d) > total bytes(%d)",
@@ -30,6 +30,7 @@ public class UploadConfiguration {
 
     private static final int DEFAULT_MIN_LENGTH_FOR_MULTI_PART_UPLOAD = 128;
     private static final int DEFAULT_LENGTH_PER_UPLOAD_PART = 128;
+    private static final int DEFAULT_STREAMING_BUFFER_POOL_SIZE = 4;
 
     /**
      * Minimum length in MiB before an upload is performed using multi-part upload, default 128.
@@ -80,6 +81,32 @@ public class UploadConfiguration {
      * failed uploads themselves).  Default is false.
      */
     private final boolean disableAutoAbort;
+    /**
+     * Number of part buffers used to upload streams of unknown length, default 4.  Parts are read into
+     * these buffers and uploaded while the next buffer is filled, so at most
+     * {@code streamingBufferPoolSize * lengthPerUploadPart} bytes are held in memory per upload.  To
+     * upload parts in parallel, this should be larger than the number of upload threads.
+     * <p>
+     * Note: Accepted values: 1 or more.
+     */
+    private final int streamingBufferPoolSize;
+    /**
+     * Flag to indicate that the part buffers for streams of unknown length should be allocated as direct
+     * buffers, outside of the Java heap.  Default is false.
+     * <p>
+     * Note, direct buffers are only freed once they are garbage collected.
+     */
+    private final boolean useDirectStreamingBuffers;
+    /**
+     * Flag to indicate that objects uploaded from a {@link java.io.File} should be read through a
+     * {@link java.nio.channels.FileChannel}.  Every part is memory-mapped, and its MD5 is calculated from
+     * the mapping instead of being copied through a heap buffer.  The part is then sent by reading the same
+     * mapped pages.  Default is false.
+     * <p>
+     * Note, the file must not be truncated while it is being uploaded, and mappings are only released once
+     * they are garbage collected.
+     */
+    private final boolean useFileChannelUploads;
 
     @Deprecated
     public long getMinimumLengthPerUploadPart() {
@@ -95,7 +122,10 @@ public class UploadConfiguration {
             Boolean enforceMd5BeforeMultipartUpload,
             Boolean allowMultipartUploads,
             Boolean allowParallelUploads,
-            Boolean disableAutoAbort) {
+            Boolean disableAutoAbort,
+            Integer streamingBufferPoolSize,
+            Boolean useDirectStreamingBuffers,
+            Boolean useFileChannelUploads) {
         this.minimumLengthForMultipartUpload =
                 getOrDefault(
                         minimumLengthForMultipartUpload, DEFAULT_MIN_LENGTH_FOR_MULTI_PART_UPLOAD);
@@ -107,6 +137,10 @@ public class UploadConfiguration {
         this.allowMultipartUploads = getOrDefault(allowMultipartUploads, true);
         this.allowParallelUploads = getOrDefault(allowParallelUploads, true);
         this.disableAutoAbort = getOrDefault(disableAutoAbort, false);
+        this.streamingBufferPoolSize =
+                getOrDefault(streamingBufferPoolSize, DEFAULT_STREAMING_BUFFER_POOL_SIZE);
+        this.useDirectStreamingBuffers = getOrDefault(useDirectStreamingBuffers, false);
+        this.useFileChannelUploads = getOrDefault(useFileChannelUploads, false);
 
         Validate.isTrue(
                 this.minimumLengthForMultipartUpload >= 0L,
@@ -123,6 +157,12 @@ public class UploadConfiguration {
                         this.lengthPerUploadPart,
                         MINIMUM_ALLOWED_LENGTH_PER_PART_MB,
                         MAXIMUM_ALLOWED_LENGTH_PER_PART_MB));
+        Validate.isTrue(
+                this.streamingBufferPoolSize >= 1,
+                String.format(
+                        "streamingBufferPoolSize [%s] must be greater than or equal to %s",
+                        this.streamingBufferPoolSize,
+                        1));
     }
 
     public static class UploadConfigurationBuilder {
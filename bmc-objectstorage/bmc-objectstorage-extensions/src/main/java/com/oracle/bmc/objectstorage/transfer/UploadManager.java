@@ -7,15 +7,21 @@ package com.oracle.bmc.objectstorage.transfer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.oracle.bmc.io.DuplicatableInputStream;
+import com.oracle.bmc.io.internal.FileRegionInputStream;
+import com.oracle.bmc.io.internal.WrappedFileInputStream;
 import com.oracle.bmc.model.BmcException;
 import com.oracle.bmc.objectstorage.ObjectStorage;
 import com.oracle.bmc.objectstorage.internal.ObjectStorageUtils;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadPartDetails;
 import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
 import com.oracle.bmc.objectstorage.responses.CommitMultipartUploadResponse;
 import com.oracle.bmc.objectstorage.responses.PutObjectResponse;
+import com.oracle.bmc.objectstorage.transfer.internal.BufferPool;
+import com.oracle.bmc.objectstorage.transfer.internal.ByteBufferInputStream;
 import com.oracle.bmc.objectstorage.transfer.internal.MultipartUtils;
 import com.oracle.bmc.objectstorage.transfer.internal.StreamChunkCreator;
 import com.oracle.bmc.objectstorage.transfer.internal.StreamHelper;
+import com.oracle.bmc.objectstorage.transfer.internal.UploadJournal;
 import com.oracle.bmc.retrier.DefaultRetryCondition;
 import com.oracle.bmc.retrier.RetryCondition;
 import com.oracle.bmc.retrier.RetryConfiguration;
@@ -33,7 +39,18 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -48,6 +65,13 @@ import java.util.concurrent.Executors;
  * Callers still have full control over how the UploadManager decides to perform the upload using {@link UploadConfiguration}.
  * Callers who want even more control, or need to combine multiple files should look at using {@link MultipartObjectAssembler}
  * directly.
+ * <p>
+ * Multi-part uploads can be made resumable by setting a journal file on the {@link UploadRequest}, see
+ * {@link UploadRequest.UploadRequestBuilder#journalFile(File)}.
+ * <p>
+ * Objects uploaded from a {@link File} can be read through a memory-mapped {@link FileChannel} instead of a
+ * stream, see {@link UploadConfiguration#isUseFileChannelUploads()}.  Without a {@link ProgressReporter}, the
+ * mapped parts are then written to the connection without being copied through the heap.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -85,13 +109,17 @@ public class UploadManager {
      * <p>
      * Note, if multi-part is used, no MD5 will be returned in the response.  Also, if a multi-part
      * upload attempt fails, the UploadManager will attempt to abort the upload to avoid leaving
-     * partially complete uploads and parts (unless explicitly disabled via UploadConfiguration).
+     * partially complete uploads and parts (unless explicitly disabled via UploadConfiguration, or
+     * the upload is resumable).
      *
      * @param uploadDetails The upload request.
      * @return The response.
      * @throws BmcException if the upload fails for any reason.
      */
     public UploadResponse upload(UploadRequest uploadDetails) {
+        if (uploadDetails.putObjectRequest.getContentLength() == null) {
+            return streamingUpload(uploadDetails);
+        }
         if (MultipartUtils.shouldUseMultipart(
                 uploadConfiguration, uploadDetails.putObjectRequest.getContentLength())) {
             return multipartUpload(uploadDetails);
@@ -105,6 +133,29 @@ public class UploadManager {
                 ProgressTrackerFactory.createSingleUploadProgressTrackerFactory(
                         uploadRequest.progressReporter, contentLength);
         PutObjectRequest putObjectRequest = uploadRequest.putObjectRequest;
+        final FileChannel fileChannel = openFileChannel(putObjectRequest.getPutObjectBody());
+        try {
+            if (fileChannel != null) {
+                putObjectRequest =
+                        PutObjectRequest.builder()
+                                .copy(putObjectRequest)
+                                .putObjectBody(
+                                        new FileRegionInputStream(fileChannel, 0, contentLength))
+                                .build();
+            }
+            return singleUpload(uploadRequest, putObjectRequest, progressTrackerFactory);
+        } finally {
+            if (fileChannel != null) {
+                closeQuietly(fileChannel);
+                StreamUtils.closeQuietly(uploadRequest.putObjectRequest.getPutObjectBody());
+            }
+        }
+    }
+
+    private UploadResponse singleUpload(
+            UploadRequest uploadRequest,
+            PutObjectRequest putObjectRequest,
+            ProgressTrackerFactory progressTrackerFactory) {
         if (MultipartUtils.shouldCalculateMd5(uploadConfiguration, putObjectRequest)) {
             MD5Calculation md5Calculation =
                     calculateMd5(
@@ -151,13 +202,18 @@ public class UploadManager {
 
         long sizePerPart =
                 MultipartUtils.calculatePartSize(uploadConfiguration, request.getContentLength());
-        StreamChunkCreator chunkCreator =
-                new StreamChunkCreator(
-                        request.getPutObjectBody(), request.getContentLength(), sizePerPart);
+        // parts of files are mapped from a shared channel if enabled, or read from the stream
+        final FileChannel fileChannel = openFileChannel(request.getPutObjectBody());
+        final StreamChunkCreator chunkCreator =
+                fileChannel == null
+                        ? new StreamChunkCreator(
+                                request.getPutObjectBody(), request.getContentLength(), sizePerPart)
+                        : null;
 
         final ExecutorService executorServiceToUse;
         final boolean shutdownExecutor;
-        if (uploadConfiguration.isAllowParallelUploads() && chunkCreator.supportsParallelReads()) {
+        if (uploadConfiguration.isAllowParallelUploads()
+                && (fileChannel != null || chunkCreator.supportsParallelReads())) {
             if (uploadRequest.parallelUploadExecutorService != null) {
                 executorServiceToUse = uploadRequest.parallelUploadExecutorService;
                 shutdownExecutor = false;
@@ -175,35 +231,96 @@ public class UploadManager {
         MultipartObjectAssembler assembler =
                 createAssembler(request, uploadRequest, executorServiceToUse);
         MultipartManifest manifest = null;
+        UploadJournal journal = null;
         try {
-            manifest =
-                    assembler.newRequest(
-                            request.getContentType(),
-                            request.getContentLanguage(),
-                            request.getContentEncoding(),
-                            request.getOpcMeta());
+            Set<Integer> existingParts = Collections.emptySet();
+            final String fingerprint =
+                    (uploadRequest.journalFile != null) ? fingerprint(request) : null;
+            if (uploadRequest.journalFile != null) {
+                journal =
+                        loadJournal(
+                                uploadRequest.journalFile,
+                                fingerprint,
+                                request.getContentLength(),
+                                sizePerPart);
+            }
+            if (journal != null) {
+                manifest = resumeUpload(assembler, journal);
+                if (manifest != null) {
+                    existingParts = reconcileParts(manifest, journal);
+                } else {
+                    journal.close();
+                    journal = null;
+                }
+            }
+            if (manifest == null) {
+                manifest =
+                        assembler.newRequest(
+                                request.getContentType(),
+                                request.getContentLanguage(),
+                                request.getContentEncoding(),
+                                request.getOpcMeta());
+                if (uploadRequest.journalFile != null) {
+                    journal =
+                            UploadJournal.create(
+                                    uploadRequest.journalFile,
+                                    manifest.getUploadId(),
+                                    fingerprint,
+                                    request.getContentLength(),
+                                    sizePerPart);
+                }
+            }
+            if (journal != null) {
+                assembler.setUploadJournal(journal);
+            }
+
             int partCount = 0;
-            while (chunkCreator.hasMore()) {
-                LOG.trace("Creating part {}", ++partCount);
-                StreamChunkCreator.SubRangeInputStream chunk = chunkCreator.next();
+            long offset = 0;
+            while (offset < request.getContentLength()) {
+                final InputStream chunk;
+                final long chunkLength;
+                if (fileChannel != null) {
+                    chunkLength = Math.min(sizePerPart, request.getContentLength() - offset);
+                    chunk = new FileRegionInputStream(fileChannel, offset, chunkLength);
+                } else {
+                    StreamChunkCreator.SubRangeInputStream subRange = chunkCreator.next();
+                    chunk = subRange;
+                    chunkLength = subRange.length();
+                }
+                offset += chunkLength;
+                if (existingParts.contains(++partCount)) {
+                    LOG.trace("Skipping part {}, already uploaded", partCount);
+                    skipPart(chunk, chunkLength, progressTrackerFactory);
+                    continue;
+                }
+                LOG.trace("Creating part {}", partCount);
+                final InputStream partStream;
+                final String md5;
                 if (uploadConfiguration.isEnforceMd5BeforeMultipartUpload()) {
-                    MD5Calculation md5Calculation = calculateMd5(chunk, chunk.length());
-                    assembler.addPart(
+                    MD5Calculation md5Calculation = calculateMd5(chunk, chunkLength);
+                    partStream =
                             ProgressTrackingInputStreamFactory.create(
                                     md5Calculation.streamToUse,
-                                    progressTrackerFactory.getProgressTracker()),
-                            chunk.length(),
-                            md5Calculation.md5);
+                                    progressTrackerFactory.getProgressTracker());
+                    md5 = md5Calculation.md5;
                 } else {
-                    assembler.addPart(
+                    partStream =
                             ProgressTrackingInputStreamFactory.create(
-                                    chunk, progressTrackerFactory.getProgressTracker()),
-                            chunk.length(),
-                            null);
+                                    chunk, progressTrackerFactory.getProgressTracker());
+                    md5 = null;
+                }
+                if (journal != null) {
+                    // part numbers must match the journal, even if earlier parts were skipped
+                    assembler.setPart(partStream, chunkLength, md5, partCount);
+                } else {
+                    assembler.addPart(partStream, chunkLength, md5);
                 }
             }
             LOG.debug("Created {} parts", partCount);
             CommitMultipartUploadResponse response = assembler.commit();
+            if (journal != null) {
+                journal.delete();
+            }
             return new UploadResponse(
                     response.getETag(),
                     null,
@@ -211,37 +328,351 @@ public class UploadManager {
                     response.getOpcRequestId(),
                     response.getOpcClientRequestId());
         } catch (Exception e) {
-            if (manifest != null) {
-                LOG.error(
-                        "Failed to upload object using multi-part uploads.  Failed part numbers = '{}'.  Successful parts = '{}'",
-                        manifest.listFailedParts(),
-                        manifest.listCompletedParts());
-
-                // try to abort uploads that failed to avoid creating lots of lingering uploads and parts.
-                if (uploadConfiguration.isDisableAutoAbort()) {
-                    LOG.info(
-                            "Not aborting failed multipart upload {} per configuration, client must manually abort it",
-                            manifest.getUploadId());
-                } else {
-                    try {
-                        assembler.abort();
-                    } catch (Exception e2) {
-                        LOG.warn(
-                                "Failed to abort multipart upload {} after failure to upload object",
-                                manifest.getUploadId(),
-                                e2);
-                    }
+            throw handleMultipartUploadFailure(
+                    e, assembler, manifest, journal != null ? uploadRequest.journalFile : null);
+        } finally {
+            // always close the source stream at this point
+            StreamUtils.closeQuietly(uploadRequest.putObjectRequest.getPutObjectBody());
+            if (journal != null) {
+                journal.close();
+            }
+
+            if (shutdownExecutor) {
+                executorServiceToUse.shutdownNow();
+            }
+            if (fileChannel != null) {
+                closeQuietly(fileChannel);
+            }
+        }
+    }
+
+    /**
+     * Opens a channel to read the object from, if enabled and the object is uploaded from a file.
+     *
+     * @return The channel, or null if the object should be read from the stream.
+     */
+    private FileChannel openFileChannel(InputStream body) {
+        if (!uploadConfiguration.isUseFileChannelUploads()
+                || !(body instanceof WrappedFileInputStream)) {
+            return null;
+        }
+        File file = ((WrappedFileInputStream) body).getSourceFile();
+        try {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            LOG.warn("Failed to open channel for {}, reading from the stream instead", file, e);
+            return null;
+        }
+    }
+
+    private static void closeQuietly(FileChannel fileChannel) {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close file channel", e);
+        }
+    }
+
+    /**
+     * Aborts a failed multi-part upload, unless disabled.
+     *
+     * @param journalFile The journal the upload can be resumed with, if it is resumable.
+     * @return The exception to throw.
+     */
+    private BmcException handleMultipartUploadFailure(
+            Exception e,
+            MultipartObjectAssembler assembler,
+            MultipartManifest manifest,
+            File journalFile) {
+        if (manifest != null) {
+            LOG.error(
+                    "Failed to upload object using multi-part uploads.  Failed part numbers = '{}'.  Successful parts = '{}'",
+                    manifest.listFailedParts(),
+                    manifest.listCompletedParts());
+
+            // try to abort uploads that failed to avoid creating lots of lingering uploads and parts.
+            if (journalFile != null) {
+                LOG.info(
+                        "Not aborting failed multipart upload {}, it can be resumed using journal {}",
+                        manifest.getUploadId(),
+                        journalFile);
+            } else if (uploadConfiguration.isDisableAutoAbort()) {
+                LOG.info(
+                        "Not aborting failed multipart upload {} per configuration, client must manually abort it",
+                        manifest.getUploadId());
+            } else {
+                try {
+                    assembler.abort();
+                } catch (Exception e2) {
+                    LOG.warn(
+                            "Failed to abort multipart upload {} after failure to upload object",
+                            manifest.getUploadId(),
+                            e2);
                 }
             }
+        }
 
-            if (e instanceof BmcException) {
-                throw e;
+        if (e instanceof BmcException) {
+            return (BmcException) e;
+        }
+        return new BmcException(false, "Failed to upload object using multi-part uploads", e, null);
+    }
+
+    /**
+     * Identifies the source and target of an upload: the namespace, bucket and name of the object,
+     * and the path, size and modification time of the file the object is uploaded from.  A stream
+     * that is not read from a file can only be identified by its length.
+     *
+     * @return The fingerprint, a single line.
+     */
+    @VisibleForTesting
+    static String fingerprint(PutObjectRequest request) {
+        StringBuilder fingerprint =
+                new StringBuilder()
+                        .append("namespace=")
+                        .append(encode(request.getNamespaceName()))
+                        .append("&bucket=")
+                        .append(encode(request.getBucketName()))
+                        .append("&object=")
+                        .append(encode(request.getObjectName()));
+        if (request.getPutObjectBody() instanceof WrappedFileInputStream) {
+            File file = ((WrappedFileInputStream) request.getPutObjectBody()).getSourceFile();
+            fingerprint
+                    .append("&file=")
+                    .append(encode(file.getAbsolutePath()))
+                    .append("&size=")
+                    .append(file.length())
+                    .append("&lastModified=")
+                    .append(file.lastModified());
+        }
+        return fingerprint.toString();
+    }
+
+    private static String encode(String value) {
+        if (value == null) {
+            return "";
+        }
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is not supported", e);
+        }
+    }
+
+    /**
+     * Loads the journal of a previous attempt of this upload.
+     *
+     * @return The journal, or null if there is none or it belongs to a different upload.
+     */
+    private static UploadJournal loadJournal(
+            File journalFile, String fingerprint, long contentLength, long partSize)
+            throws IOException {
+        UploadJournal journal = UploadJournal.load(journalFile);
+        if (journal == null) {
+            return null;
+        }
+        if (!journal.getFingerprint().equals(fingerprint)) {
+            LOG.info(
+                    "Upload journal {} is for {}, not {}, starting a new upload",
+                    journalFile,
+                    journal.getFingerprint(),
+                    fingerprint);
+            journal.close();
+            return null;
+        }
+        if (journal.getContentLength() != contentLength || journal.getPartSize() != partSize) {
+            LOG.info(
+                    "Upload journal {} is for content length {} and part size {}, not {} and {}, starting a new upload",
+                    journalFile,
+                    journal.getContentLength(),
+                    journal.getPartSize(),
+                    contentLength,
+                    partSize);
+            journal.close();
+            return null;
+        }
+        return journal;
+    }
+
+    /**
+     * Resumes the upload recorded in the journal.
+     *
+     * @return The manifest of the upload, or null if the upload no longer exists.
+     */
+    private static MultipartManifest resumeUpload(
+            MultipartObjectAssembler assembler, UploadJournal journal) {
+        try {
+            return assembler.resumeRequest(journal.getUploadId());
+        } catch (IllegalArgumentException e) {
+            LOG.info(
+                    "Multipart upload {} no longer exists, starting a new upload",
+                    journal.getUploadId());
+            return null;
+        }
+    }
+
+    /**
+     * Determines the parts of a resumed upload that do not have to be uploaded again.  The parts
+     * listed by the service are authoritative (a part may have been uploaded just before the
+     * journal could record it), unless the journal recorded a different ETag for the part.
+     *
+     * @return The part numbers of the parts that were already uploaded.
+     */
+    private static Set<Integer> reconcileParts(
+            MultipartManifest manifest, UploadJournal journal) {
+        Map<Integer, String> journaledETags = journal.getPartETags();
+        Set<Integer> existingParts = new HashSet<>();
+        for (CommitMultipartUploadPartDetails part : manifest.listCompletedParts()) {
+            String journaledETag = journaledETags.get(part.getPartNum());
+            if (journaledETag != null && !journaledETag.equals(part.getEtag())) {
+                LOG.warn(
+                        "Part {} of multipart upload {} changed since it was recorded, uploading it again",
+                        part.getPartNum(),
+                        manifest.getUploadId());
+            } else {
+                existingParts.add(part.getPartNum());
+            }
+        }
+        LOG.info(
+                "Resuming multipart upload {}, {} parts already uploaded",
+                manifest.getUploadId(),
+                existingParts.size());
+        return existingParts;
+    }
+
+    private static void skipPart(
+            InputStream chunk, long chunkLength, ProgressTrackerFactory progressTrackerFactory)
+            throws IOException {
+        try {
+            if (!(chunk instanceof DuplicatableInputStream)) {
+                // chunks of a stream that cannot be duplicated must be read in order
+                StreamHelper.copy(chunk, new StreamHelper.NullOutputStream());
             }
-            throw new BmcException(
-                    false, "Failed to upload object using multi-part uploads", e, null);
+        } finally {
+            chunk.close();
+        }
+        progressTrackerFactory.getProgressTracker().onBytesRead(chunkLength);
+    }
+
+    /**
+     * Uploads a stream of unknown length.  The stream is read into a bounded pool of part buffers,
+     * and full buffers are uploaded as parts while the next one is filled.  A stream that fits
+     * into a single part is uploaded with a single PutObject call.
+     */
+    private UploadResponse streamingUpload(UploadRequest uploadRequest) {
+        PutObjectRequest request = uploadRequest.putObjectRequest;
+        final int partSize = MultipartUtils.calculateStreamingPartSize(uploadConfiguration);
+        final BufferPool bufferPool =
+                new BufferPool(
+                        uploadConfiguration.getStreamingBufferPoolSize(),
+                        partSize,
+                        uploadConfiguration.isUseDirectStreamingBuffers());
+        final boolean calculateMd5 = uploadConfiguration.isEnforceMd5BeforeMultipartUpload();
+        final InputStream source = request.getPutObjectBody();
+
+        ExecutorService executorServiceToUse = null;
+        boolean shutdownExecutor = false;
+        MultipartObjectAssembler assembler = null;
+        MultipartManifest manifest = null;
+        try {
+            ByteBuffer part = acquireBuffer(bufferPool);
+            String md5 = fillPart(source, part, calculateMd5);
+            if (part.remaining() < partSize) {
+                // the whole stream fits into a single part
+                LOG.debug("Stream ended after {} bytes, using single upload", part.remaining());
+                return singleUpload(
+                        new UploadRequest(
+                                PutObjectRequest.builder()
+                                        .copy(request)
+                                        .putObjectBody(new ByteBufferInputStream(part))
+                                        .contentLength((long) part.remaining())
+                                        .build(),
+                                uploadRequest.parallelUploadExecutorService,
+                                uploadRequest.allowOverwrite,
+                                uploadRequest.progressReporter),
+                        part.remaining());
+            }
+            if (!uploadConfiguration.isAllowMultipartUploads()) {
+                throw new BmcException(
+                        false,
+                        "Streams of unknown length that are larger than one part ("
+                                + partSize
+                                + " bytes) can only be uploaded using multi-part uploads",
+                        null,
+                        null);
+            }
+
+            if (!uploadConfiguration.isAllowParallelUploads()) {
+                executorServiceToUse = Executors.newSingleThreadExecutor();
+                shutdownExecutor = true;
+            } else if (uploadRequest.parallelUploadExecutorService != null) {
+                executorServiceToUse = uploadRequest.parallelUploadExecutorService;
+            } else {
+                executorServiceToUse = buildDefaultParallelExecutor();
+                shutdownExecutor = true;
+            }
+            final ProgressTrackerFactory progressTrackerFactory =
+                    ProgressTrackerFactory.createMultiPartUploadProgressTrackerFactory(
+                            uploadRequest.progressReporter, -1L);
+
+            assembler = createAssembler(request, uploadRequest, executorServiceToUse);
+            manifest =
+                    assembler.newRequest(
+                            request.getContentType(),
+                            request.getContentLanguage(),
+                            request.getContentEncoding(),
+                            request.getOpcMeta());
+            int partCount = 0;
+            while (part.hasRemaining()) {
+                if (++partCount > UploadConfiguration.MAXIMUM_NUM_ALLOWED_PARTS) {
+                    throw new BmcException(
+                            false,
+                            "Stream is larger than "
+                                    + UploadConfiguration.MAXIMUM_NUM_ALLOWED_PARTS
+                                    + " parts of "
+                                    + partSize
+                                    + " bytes, increase lengthPerUploadPart",
+                            null,
+                            null);
+                }
+                LOG.trace("Creating part {}", partCount);
+                final ByteBuffer partToRelease = part;
+                final int partLength = part.remaining();
+                boolean started = false;
+                try {
+                    assembler.addPart(
+                            ProgressTrackingInputStreamFactory.create(
+                                    new ByteBufferInputStream(part),
+                                    progressTrackerFactory.getProgressTracker()),
+                            partLength,
+                            md5,
+                            () -> bufferPool.release(partToRelease));
+                    started = true;
+                } finally {
+                    if (!started) {
+                        bufferPool.release(partToRelease);
+                    }
+                }
+                if (partLength < partSize) {
+                    break;
+                }
+                // blocks until an uploaded part returned its buffer
+                part = acquireBuffer(bufferPool);
+                md5 = fillPart(source, part, calculateMd5);
+            }
+            LOG.debug("Created {} parts", partCount);
+            CommitMultipartUploadResponse response = assembler.commit();
+            return new UploadResponse(
+                    response.getETag(),
+                    null,
+                    response.getOpcMultipartMd5(),
+                    response.getOpcRequestId(),
+                    response.getOpcClientRequestId());
+        } catch (Exception e) {
+            throw handleMultipartUploadFailure(e, assembler, manifest, null);
         } finally {
             // always close the source stream at this point
-            StreamUtils.closeQuietly(uploadRequest.putObjectRequest.getPutObjectBody());
+            StreamUtils.closeQuietly(source);
 
             if (shutdownExecutor) {
                 executorServiceToUse.shutdownNow();
@@ -249,6 +680,25 @@ public class UploadManager {
         }
     }
 
+    private static ByteBuffer acquireBuffer(BufferPool bufferPool) {
+        try {
+            return bufferPool.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BmcException(false, "Interrupted while waiting for a part buffer", e, null);
+        }
+    }
+
+    private static String fillPart(InputStream source, ByteBuffer part, boolean calculateMd5) {
+        MessageDigest digest = calculateMd5 ? StreamHelper.createMd5Digest() : null;
+        try {
+            StreamHelper.fill(source, part, digest);
+        } catch (IOException e) {
+            throw new BmcException(false, "Failed to read stream to upload", e, null);
+        }
+        return digest != null ? StreamHelper.base64Encode(digest) : null;
+    }
+
     /**
      * Determines the first non-null RetryConfiguration
      *    1 -> RetryConfiguration set on UploadConfiguration
@@ -302,7 +752,10 @@ public class UploadManager {
         String md5 = null;
         InputStream streamToReturn = null;
 
-        if (stream instanceof DuplicatableInputStream) {
+        if (stream instanceof FileRegionInputStream) {
+            md5 = calculateMd5((FileRegionInputStream) stream);
+            streamToReturn = stream;
+        } else if (stream instanceof DuplicatableInputStream) {
             md5 =
                     performMd5Calculation(
                             ((DuplicatableInputStream) stream).duplicate(),
@@ -336,6 +789,26 @@ public class UploadManager {
         return new MD5Calculation(streamToReturn, md5);
     }
 
+    /**
+     * Calculates the MD5 of a file region from its mapping, which is then also used to send it.
+     */
+    private static String calculateMd5(FileRegionInputStream region) {
+        final ByteBuffer mappedRegion;
+        try {
+            mappedRegion = region.getMappedRegion();
+        } catch (IOException e) {
+            throw new BmcException(false, "Unable to calculate MD5", e, null);
+        }
+        if (mappedRegion == null) {
+            // too large to be mapped
+            return performMd5Calculation(
+                    region.duplicate(), new StreamHelper.NullOutputStream(), region.length());
+        }
+        MessageDigest digest = StreamHelper.createMd5Digest();
+        digest.update(mappedRegion);
+        return StreamHelper.base64Encode(digest);
+    }
+
     private static String performMd5Calculation(
             InputStream stream, OutputStream outputStream, long contentLength) {
         DigestOutputStream digestOutputStream =
@@ -365,6 +838,20 @@ public class UploadManager {
         private final ExecutorService parallelUploadExecutorService;
         private final boolean allowOverwrite;
         private final ProgressReporter progressReporter;
+        private final File journalFile;
+
+        public UploadRequest(
+                PutObjectRequest putObjectRequest,
+                ExecutorService parallelUploadExecutorService,
+                boolean allowOverwrite,
+                ProgressReporter progressReporter) {
+            this(
+                    putObjectRequest,
+                    parallelUploadExecutorService,
+                    allowOverwrite,
+                    progressReporter,
+                    null);
+        }
 
         /**
          * Creates a new {@link UploadRequestBuilder} using the given stream and content length.  The stream and length will
@@ -381,6 +868,23 @@ public class UploadManager {
             return new UploadRequestBuilder(stream, contentLength);
         }
 
+        /**
+         * Creates a new {@link UploadRequestBuilder} using the given stream of unknown length, e.g. a pipe
+         * or the output of a compressor.
+         * <p>
+         * The stream is read into a pool of part buffers and uploaded using multi-part uploads, while the
+         * next parts are read.  At most {@link UploadConfiguration#getStreamingBufferPoolSize()} parts of
+         * {@link UploadConfiguration#getLengthPerUploadPart()} are held in memory, so the object can be at
+         * most {@link UploadConfiguration#MAXIMUM_NUM_ALLOWED_PARTS} times the part size.  If the stream ends
+         * within the first part, it is uploaded using a single PutObject request instead.
+         *
+         * @param stream The stream that should be uploaded.
+         * @return a new UploadRequestBuilder instance.
+         */
+        public static UploadRequestBuilder builder(InputStream stream) {
+            return new UploadRequestBuilder(stream, null);
+        }
+
         /**
          * Creates a new {@link UploadRequestBuilder} using the given file.  The file and length (derived from {@link File#length()})
          * will be used to create the final put object request.
@@ -401,12 +905,13 @@ public class UploadManager {
         @RequiredArgsConstructor
         public static class UploadRequestBuilder {
             private final InputStream inputStream;
-            private final long contentLength;
+            private final Long contentLength;
 
             // always allow objects to be overwritten unless explicitly disabled
             private boolean allowOverwrite = true;
             private ExecutorService parallelUploadExecutorService;
             private ProgressReporter progressReporter;
+            private File journalFile;
 
             /**
              * Configures whether or not the if-none-match header will be used to prevent
@@ -450,6 +955,29 @@ public class UploadManager {
                 return this;
             }
 
+            /**
+             * Makes a multi-part upload resumable by recording its progress in the given journal file.
+             * <p>
+             * The upload ID, part size and every uploaded part are written to the journal.  If the upload
+             * fails, or the process stops, it is not aborted; uploading the same content with the same
+             * journal file and {@link UploadConfiguration} again resumes it, and only the parts that are
+             * missing from the upload (as listed by the service) are uploaded.  The journal is deleted once
+             * the upload is committed.  Has no effect if the object is uploaded with a single PutObject call,
+             * or if the content length is not known in advance.
+             * <p>
+             * The journal is only resumed by an upload to the same object, with the same content length
+             * and part size.  If the object is uploaded from a file, the path, size and modification time
+             * of the file must not have changed either.  The content of a stream that is not read from a
+             * file cannot be checked, it must not change between attempts.
+             *
+             * @param journalFile The journal file, created if it does not exist.
+             * @return This builder instance
+             */
+            public UploadRequestBuilder journalFile(File journalFile) {
+                this.journalFile = journalFile;
+                return this;
+            }
+
             /**
              * Builds a new UploadRequest instance.  The body and content length will be set on the given
              * request based on the original values provided when creating the builder.
@@ -468,7 +996,8 @@ public class UploadManager {
                                 .build(),
                         parallelUploadExecutorService,
                         allowOverwrite,
-                        progressReporter);
+                        progressReporter,
+                        journalFile);
             }
         }
     }
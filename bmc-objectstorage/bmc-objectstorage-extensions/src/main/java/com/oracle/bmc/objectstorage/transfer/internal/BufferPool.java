@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import org.apache.commons.lang3.Validate;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * BufferPool is a fixed-size pool of reusable buffers of the same size.  At most {@code poolSize}
+ * buffers are ever allocated, so the memory used is bounded by {@code poolSize * bufferSize}.
+ * <p>
+ * Buffers are allocated lazily, the first time they are needed.  Once all buffers are in use,
+ * {@link #acquire()} blocks until one is released.
+ */
+public class BufferPool {
+    private final int poolSize;
+    private final int bufferSize;
+    private final boolean direct;
+    private final BlockingQueue<ByteBuffer> available;
+
+    private int allocated = 0;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param poolSize The max number of buffers.
+     * @param bufferSize The capacity of every buffer, in bytes.
+     * @param direct Whether to allocate direct buffers (outside of the Java heap).
+     */
+    public BufferPool(int poolSize, int bufferSize, boolean direct) {
+        Validate.isTrue(poolSize > 0, "poolSize must be greater than 0");
+        Validate.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+        this.poolSize = poolSize;
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.available = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * Takes a buffer from the pool, waiting until one is available.
+     *
+     * @return An empty buffer, ready to be filled.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    public ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = available.poll();
+        if (buffer == null) {
+            buffer = allocateIfPossible();
+        }
+        if (buffer == null) {
+            buffer = available.take();
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool.
+     *
+     * @param buffer A buffer that was taken from this pool, and is no longer used.
+     */
+    public void release(ByteBuffer buffer) {
+        if (!available.offer(buffer)) {
+            throw new IllegalStateException("Buffer was not taken from this pool");
+        }
+    }
+
+    private synchronized ByteBuffer allocateIfPossible() {
+        if (allocated >= poolSize) {
+            return null;
+        }
+        allocated++;
+        return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import com.oracle.bmc.io.DuplicatableInputStream;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An InputStream that reads the remaining bytes of a {@link ByteBuffer}, which may be a direct
+ * buffer.  The position of the given buffer is not changed.
+ * <p>
+ * The stream can be duplicated (e.g. for retries), every duplicate reads the same bytes from the
+ * start.
+ */
+public class ByteBufferInputStream extends InputStream implements DuplicatableInputStream {
+    private final ByteBuffer source;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param source The buffer to read, from its position to its limit.
+     */
+    public ByteBufferInputStream(ByteBuffer source) {
+        this.source = source.duplicate();
+        this.buffer = source.duplicate();
+    }
+
+    @Override
+    public int read() {
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int bytesToRead = Math.min(len, buffer.remaining());
+        buffer.get(b, off, bytesToRead);
+        return bytesToRead;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int bytesToSkip = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + bytesToSkip);
+        return bytesToSkip;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        buffer.mark();
+    }
+
+    @Override
+    public synchronized void reset() {
+        buffer.reset();
+    }
+
+    @Override
+    public InputStream duplicate() {
+        return new ByteBufferInputStream(source);
+    }
+}
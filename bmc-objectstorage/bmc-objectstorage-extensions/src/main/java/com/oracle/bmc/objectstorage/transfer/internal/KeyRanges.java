@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Helpers to split the key space of a bucket into ranges of object names.
+ * <p>
+ * Ranges use the semantics of the ListObjects request: the start is inclusive, the end is exclusive,
+ * and null means unbounded.
+ */
+public final class KeyRanges {
+    // most object names are ASCII, so unbounded ranges are split within ASCII first
+    private static final int ASCII_END = 0x7f;
+    private static final int CHAR_END = 0x10000;
+
+    private KeyRanges() {}
+
+    /**
+     * Returns a name strictly between the two bounds, which can be used to split the range into two.
+     * <p>
+     * The split is only a heuristic for balancing, based on the characters that differ between the
+     * bounds.  If both names share the prefix that is listed, the returned name shares it, too.
+     *
+     * @param lower The inclusive lower bound, not null.
+     * @param upper The exclusive upper bound, or null if unbounded.
+     * @param prefix The prefix that all listed names share, or null.
+     * @return The name to split at, or null if there is no name between the bounds.
+     */
+    public static String midpoint(String lower, String upper, String prefix) {
+        int index = 0;
+        boolean bounded = upper != null;
+        if (prefix != null
+                && lower.startsWith(prefix)
+                && (upper == null || !upper.startsWith(prefix))) {
+            // every name with the prefix is smaller than an upper bound without it
+            index = prefix.length();
+            bounded = false;
+        } else if (bounded) {
+            while (index < lower.length()
+                    && index < upper.length()
+                    && lower.charAt(index) == upper.charAt(index)) {
+                index++;
+            }
+        }
+
+        StringBuilder midpoint = new StringBuilder(lower.substring(0, index));
+        while (true) {
+            int low = index < lower.length() ? lower.charAt(index) : -1;
+            int high;
+            if (bounded) {
+                if (index >= upper.length()) {
+                    // upper is a prefix of lower, so it is not greater than lower
+                    return null;
+                }
+                high = upper.charAt(index);
+            } else {
+                high = low < ASCII_END ? ASCII_END : CHAR_END;
+            }
+
+            if (high - low >= 2) {
+                return midpoint.append((char) ((low + high) / 2)).toString();
+            }
+            if (low < 0) {
+                // lower ended, and upper continues with the smallest character
+                return null;
+            }
+            midpoint.append((char) low);
+            if (low < high) {
+                bounded = false;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Creates the start names of consecutive ranges covering [start, end), using every split point
+     * that lies strictly within the bounds.
+     *
+     * @param start The inclusive start of the key space, or null if unbounded.
+     * @param end The exclusive end of the key space, or null if unbounded.
+     * @param splitPoints The names to split the key space at, in any order.
+     * @return The start names of the ranges in order, the first is the start (and may be null).  The
+     * end of every range is the start of the following range, and the end of the last range is the
+     * given end.
+     */
+    public static List<String> rangeStarts(
+            String start, String end, Collection<String> splitPoints) {
+        List<String> starts = new ArrayList<>();
+        starts.add(start);
+        for (String splitPoint : new TreeSet<>(splitPoints)) {
+            if ((start == null || splitPoint.compareTo(start) > 0)
+                    && (end == null || splitPoint.compareTo(end) < 0)) {
+                starts.add(splitPoint);
+            }
+        }
+        return starts;
+    }
+}
@@ -45,6 +45,10 @@ public class MultipartManifestImpl implements MultipartManifest {
         if (partAndStatus == null) {
             partAndStatus = new PartAndStatus();
             parts.put(partNumber, partAndStatus);
+        } else {
+            // the part is being uploaded again, the previous upload must not be committed
+            partAndStatus.details = null;
+            partAndStatus.complete = false;
         }
     }
 
@@ -18,6 +18,7 @@ import com.oracle.bmc.objectstorage.requests.UploadPartRequest;
 import com.oracle.bmc.objectstorage.responses.UploadPartResponse;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -35,7 +36,24 @@ public class MultipartTransferManager {
 
     private final List<Future<Void>> responses = new ArrayList<>();
 
+    /**
+     * The journal successful parts are recorded in, if the upload is resumable.
+     */
+    @Setter private volatile UploadJournal uploadJournal;
+
     public synchronized void startTransfer(final UploadPartRequest request) {
+        startTransfer(request, null);
+    }
+
+    /**
+     * Starts the transfer of a part.
+     *
+     * @param request The request to upload the part.
+     * @param onCompletion Run once the transfer completed, successfully or not, optional.  Not run
+     *                     if the transfer could not be started.
+     */
+    public synchronized void startTransfer(
+            final UploadPartRequest request, final Runnable onCompletion) {
         if (executor.isShutdown()) {
             throw new CancellationException("Executor used for transfers has been shutdown");
         }
@@ -54,11 +72,19 @@ public class MultipartTransferManager {
                                                     MAX_RANDOM_SLEEP_BEFORE_UPLOAD_START_MS));
                                     UploadPartResponse response = client.uploadPart(request);
                                     manifest.registerSuccess(request.getUploadPartNum(), response);
+                                    UploadJournal journal = uploadJournal;
+                                    if (journal != null) {
+                                        journal.recordPart(request.getUploadPartNum(), response);
+                                    }
                                 } catch (Exception e) {
                                     LOG.error(
                                             "Failed to upload part " + request.getUploadPartNum(),
                                             e);
                                     manifest.registerFailure(request.getUploadPartNum());
+                                } finally {
+                                    if (onCompletion != null) {
+                                        onCompletion.run();
+                                    }
                                 }
                                 return null;
                             }
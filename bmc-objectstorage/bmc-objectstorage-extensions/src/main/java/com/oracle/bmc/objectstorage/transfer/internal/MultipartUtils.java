@@ -57,6 +57,24 @@ public final class MultipartUtils {
                 : fetchSizePerPartBasedOnMaxAllowed(contentLength, configuredSizePerPart);
     }
 
+    /**
+     * Calculate the part size, in bytes, that should be used per multi-part upload part when uploading
+     * a stream of unknown length.  Every part is buffered in memory, so the part size cannot be larger
+     * than the max size of a buffer.
+     *
+     * @param config The configuration to use.
+     * @return The part size to use.
+     */
+    public static int calculateStreamingPartSize(@NonNull UploadConfiguration config) {
+        final long configuredSizePerPart = config.getLengthPerUploadPart() * MiB;
+        Validate.isTrue(
+                configuredSizePerPart <= Integer.MAX_VALUE,
+                String.format(
+                        "lengthPerUploadPart [%s MiB] must be less than 2048 MiB to upload streams of unknown length",
+                        config.getLengthPerUploadPart()));
+        return (int) configuredSizePerPart;
+    }
+
     /**
      * Test whether or not the MD5 value should be calculated for the given request when issuing a single
      * upload (non-multipart) request.
@@ -0,0 +1,405 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+import com.oracle.bmc.objectstorage.requests.ListObjectsRequest;
+import com.oracle.bmc.objectstorage.transfer.ListingConfiguration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Lists the objects of consecutive key ranges ("shards") in parallel, and merges them into one
+ * iterator.
+ * <p>
+ * Every task lists one page of a shard, and then resubmits itself for the next page, so no thread
+ * waits for the caller.  At most {@link ListingConfiguration#getMaxParallelListings()} shards are
+ * open, i.e. being listed or holding pages the caller has not consumed yet; the other shards are
+ * started in key order as open shards are closed.  If enabled, and no shard is waiting to be
+ * started, a shard with more pages splits its remaining range in two, and the upper half is listed
+ * as a new shard right after it.  Shards pause once they have buffered
+ * {@link ListingConfiguration#getMaxBufferedPagesPerShard()} pages the caller has not consumed yet.
+ * <p>
+ * In ordered mode, the shards are consumed one after another in key order, otherwise pages are
+ * consumed in the order they were received.
+ */
+@Slf4j
+public class ShardedListing implements Iterator<ObjectSummary> {
+    private final Object lock = new Object();
+
+    private final ObjectStorage objectStorage;
+    private final ListObjectsRequest request;
+    private final ExecutorService executorService;
+    private final boolean shutdownExecutor;
+    private final ListingConfiguration listingConfiguration;
+    private final boolean ordered;
+    private final Set<String> listedNames;
+    private final boolean deduplicate;
+
+    // guarded by lock
+    private Shard currentShard;
+    private final Queue<Page> pages = new ArrayDeque<>();
+    // the first shard that has not been started, all shards after it have not been started either
+    private Shard nextShardToStart;
+    // shards that are not done
+    private int activeShards;
+    // shards that have been started, and are not done or have buffered pages
+    private int openShards;
+    private Throwable failure;
+    private boolean finished;
+
+    // only used by the caller
+    private Iterator<ObjectSummary> currentPage = Collections.emptyIterator();
+    private ObjectSummary nextObject;
+    private String lastName;
+
+    /**
+     * Creates a new listing.  Listing starts with {@link #start()}.
+     *
+     * @param objectStorage The client used to list the objects.
+     * @param request The request for the whole listing, its start and end are the bounds of the key space.
+     * @param rangeStarts The start names of the initial shards in order, see {@link KeyRanges#rangeStarts}.
+     * @param executorService The executor that lists the pages.
+     * @param shutdownExecutor Whether the executor should be shut down when the listing ends.
+     * @param listingConfiguration The configuration.
+     * @param ordered Whether objects should be returned in key order.
+     * @param deduplicate Whether objects with the same name should only be returned once.
+     */
+    public ShardedListing(
+            ObjectStorage objectStorage,
+            ListObjectsRequest request,
+            List<String> rangeStarts,
+            ExecutorService executorService,
+            boolean shutdownExecutor,
+            ListingConfiguration listingConfiguration,
+            boolean ordered,
+            boolean deduplicate) {
+        this.objectStorage = objectStorage;
+        this.request = request;
+        this.executorService = executorService;
+        this.shutdownExecutor = shutdownExecutor;
+        this.listingConfiguration = listingConfiguration;
+        this.ordered = ordered;
+        this.deduplicate = deduplicate;
+        // ordered listings only need to compare with the last name
+        this.listedNames = (deduplicate && !ordered) ? new HashSet<String>() : null;
+
+        Shard next = null;
+        for (int i = rangeStarts.size() - 1; i >= 0; i--) {
+            Shard shard =
+                    new Shard(rangeStarts.get(i), next != null ? next.start : request.getEnd());
+            shard.next = next;
+            next = shard;
+        }
+        this.currentShard = next;
+        this.nextShardToStart = next;
+    }
+
+    /**
+     * Starts listing all shards.
+     */
+    public void start() {
+        List<Shard> shards;
+        synchronized (lock) {
+            for (Shard shard = currentShard; shard != null; shard = shard.next) {
+                activeShards++;
+            }
+            shards = startShards();
+        }
+        LOG.debug("Listing {} key ranges, {} at a time", activeShards, shards.size());
+        submit(shards);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextObject == null) {
+            while (!currentPage.hasNext()) {
+                List<ObjectSummary> page = takePage();
+                if (page == null) {
+                    return false;
+                }
+                currentPage = page.iterator();
+            }
+            ObjectSummary object = currentPage.next();
+            if (isNew(object.getName())) {
+                nextObject = object;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ObjectSummary next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(
+                    "There are no more elements available to this iterator");
+        }
+        ObjectSummary object = nextObject;
+        nextObject = null;
+        return object;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    /**
+     * Stops listing.  Pages that are being listed are discarded.
+     */
+    public void close() {
+        synchronized (lock) {
+            finish();
+        }
+    }
+
+    private boolean isNew(String name) {
+        if (!deduplicate) {
+            return true;
+        }
+        if (listedNames != null) {
+            return listedNames.add(name);
+        }
+        if (lastName != null && name.compareTo(lastName) <= 0) {
+            return false;
+        }
+        lastName = name;
+        return true;
+    }
+
+    private List<ObjectSummary> takePage() {
+        List<Shard> toSubmit = Collections.emptyList();
+        List<ObjectSummary> items;
+        synchronized (lock) {
+            Page page;
+            while ((page = pollPage()) == null) {
+                if (failure != null) {
+                    finish();
+                    if (failure instanceof BmcException) {
+                        throw (BmcException) failure;
+                    }
+                    throw new BmcException(false, "Failed to list objects", failure, null);
+                }
+                if (finished || (ordered ? currentShard == null : activeShards == 0)) {
+                    finish();
+                    return null;
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    finish();
+                    throw new BmcException(false, "Interrupted while listing objects", e, null);
+                }
+            }
+            items = page.items;
+            Shard shard = page.shard;
+            shard.bufferedPages--;
+            if (shard.paused) {
+                shard.paused = false;
+                toSubmit = Collections.singletonList(shard);
+            } else if (shard.done && shard.bufferedPages == 0) {
+                openShards--;
+                toSubmit = startShards();
+            }
+        }
+        submit(toSubmit);
+        return items;
+    }
+
+    private Page pollPage() {
+        if (!ordered) {
+            return pages.poll();
+        }
+        while (currentShard != null) {
+            Page page = currentShard.pages.poll();
+            if (page != null || !currentShard.done) {
+                return page;
+            }
+            currentShard = currentShard.next;
+        }
+        return null;
+    }
+
+    private void listPage(Shard shard) {
+        ListObjectsRequest pageRequest;
+        synchronized (lock) {
+            if (finished || failure != null) {
+                return;
+            }
+            pageRequest =
+                    ListObjectsRequest.builder()
+                            .copy(request)
+                            .start(shard.start)
+                            .end(shard.end)
+                            .build();
+        }
+
+        ListObjects listObjects;
+        try {
+            listObjects = objectStorage.listObjects(pageRequest).getListObjects();
+        } catch (Throwable t) {
+            synchronized (lock) {
+                if (failure == null) {
+                    failure = t;
+                }
+                lock.notifyAll();
+            }
+            return;
+        }
+
+        List<Shard> toSubmit = new ArrayList<>(2);
+        synchronized (lock) {
+            if (finished) {
+                return;
+            }
+            List<ObjectSummary> objects = listObjects.getObjects();
+            if (objects != null && !objects.isEmpty()) {
+                Page page = new Page(shard, objects);
+                if (ordered) {
+                    shard.pages.add(page);
+                } else {
+                    pages.add(page);
+                }
+                shard.bufferedPages++;
+            }
+
+            String nextStartWith = listObjects.getNextStartWith();
+            if (nextStartWith == null) {
+                shard.done = true;
+                activeShards--;
+                if (shard.bufferedPages == 0) {
+                    openShards--;
+                    toSubmit.addAll(startShards());
+                }
+            } else {
+                shard.start = nextStartWith;
+                if (listingConfiguration.isAllowRangeSplitting()
+                        && nextShardToStart == null
+                        && openShards < listingConfiguration.getMaxParallelListings()) {
+                    Shard upper = split(shard);
+                    if (upper != null) {
+                        toSubmit.add(upper);
+                    }
+                }
+                if (shard.bufferedPages >= listingConfiguration.getMaxBufferedPagesPerShard()) {
+                    shard.paused = true;
+                } else {
+                    toSubmit.add(shard);
+                }
+            }
+            lock.notifyAll();
+        }
+        submit(toSubmit);
+    }
+
+    private Shard split(Shard shard) {
+        String midpoint = KeyRanges.midpoint(shard.start, shard.end, request.getPrefix());
+        if (midpoint == null) {
+            return null;
+        }
+        LOG.trace("Splitting key range [{}, {}) at {}", shard.start, shard.end, midpoint);
+        Shard upper = new Shard(midpoint, shard.end);
+        upper.next = shard.next;
+        shard.next = upper;
+        shard.end = midpoint;
+        activeShards++;
+        openShards++;
+        return upper;
+    }
+
+    /**
+     * Starts the next shards in key order, as long as fewer than the max number of shards are open.
+     *
+     * @return The shards to submit.
+     */
+    // must hold lock
+    private List<Shard> startShards() {
+        List<Shard> started = new ArrayList<>();
+        while (nextShardToStart != null
+                && openShards < listingConfiguration.getMaxParallelListings()) {
+            started.add(nextShardToStart);
+            nextShardToStart = nextShardToStart.next;
+            openShards++;
+        }
+        return started;
+    }
+
+    private void submit(List<Shard> shards) {
+        for (final Shard shard : shards) {
+            try {
+                executorService.execute(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                listPage(shard);
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                synchronized (lock) {
+                    if (!finished && failure == null) {
+                        failure = e;
+                    }
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    // must hold lock
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        pages.clear();
+        for (Shard shard = currentShard; shard != null; shard = shard.next) {
+            shard.pages.clear();
+        }
+        if (shutdownExecutor) {
+            executorService.shutdownNow();
+        }
+        lock.notifyAll();
+    }
+
+    private static final class Shard {
+        private final Queue<Page> pages = new ArrayDeque<>();
+        private String start;
+        private String end;
+        private Shard next;
+        private int bufferedPages;
+        private boolean paused;
+        private boolean done;
+
+        private Shard(String start, String end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Page {
+        private final Shard shard;
+        private final List<ObjectSummary> items;
+
+        private Page(Shard shard, List<ObjectSummary> items) {
+            this.shard = shard;
+            this.items = items;
+        }
+    }
+}
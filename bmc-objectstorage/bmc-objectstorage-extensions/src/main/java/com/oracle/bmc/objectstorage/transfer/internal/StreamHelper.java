@@ -7,6 +7,9 @@ package com.oracle.bmc.objectstorage.transfer.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 
@@ -50,6 +53,66 @@ public class StreamHelper {
         }
     }
 
+    /**
+     * Fills the buffer from the input stream, until the buffer is full or the stream ends.  The
+     * buffer is flipped afterwards, so it is ready to be read.
+     *
+     * @param in
+     *            The stream to read.  It is not closed.
+     * @param buffer
+     *            The buffer to fill, from its position to its limit.
+     * @param messageDigest
+     *            The digest to update with the bytes read, optional.
+     * @return the number of bytes read, less than the space in the buffer only if the stream ended.
+     * @throws IOException
+     *             if there were any issues
+     */
+    public static int fill(InputStream in, ByteBuffer buffer, MessageDigest messageDigest)
+            throws IOException {
+        final int start = buffer.position();
+        if (buffer.hasArray()) {
+            // read directly into the backing array, avoids an intermediate copy
+            byte[] array = buffer.array();
+            while (buffer.hasRemaining()) {
+                int offset = buffer.arrayOffset() + buffer.position();
+                int bytesRead = in.read(array, offset, buffer.remaining());
+                if (bytesRead == -1) {
+                    break;
+                }
+                if (messageDigest != null) {
+                    messageDigest.update(array, offset, bytesRead);
+                }
+                buffer.position(buffer.position() + bytesRead);
+            }
+        } else {
+            ReadableByteChannel channel = Channels.newChannel(in);
+            while (buffer.hasRemaining()) {
+                int position = buffer.position();
+                int bytesRead = channel.read(buffer);
+                if (bytesRead == -1) {
+                    break;
+                }
+                if (messageDigest != null) {
+                    ByteBuffer bytes = buffer.duplicate();
+                    bytes.position(position);
+                    bytes.limit(position + bytesRead);
+                    messageDigest.update(bytes);
+                }
+            }
+        }
+        buffer.flip();
+        buffer.position(start);
+        return buffer.remaining();
+    }
+
+    /**
+     * Creates a new MD5 digest.
+     * @return The digest
+     */
+    public static MessageDigest createMd5Digest() {
+        return DigestUtils.getDigest(MessageDigestAlgorithms.MD5);
+    }
+
     /**
      * Base64 encodes the given byte array after computing its MD5 digest.
      * @param buffer The buffer to encode
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import com.oracle.bmc.objectstorage.responses.UploadPartResponse;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * UploadJournal checkpoints the progress of a multi-part upload to a local file, so that the
+ * upload can be resumed after the process restarts.
+ * <p>
+ * The journal records the upload ID, a fingerprint of the source and target of the upload, the
+ * content length and part size of the upload, and the part number, ETag and MD5 of every part once
+ * it has been uploaded.  Every entry is one line, and
+ * is flushed to disk before {@link #recordPart(int, UploadPartResponse)} returns, so a crash can at
+ * most leave an incomplete last line, which is ignored when the journal is loaded.
+ */
+@Slf4j
+public class UploadJournal implements Closeable {
+    private static final String HEADER = "oci-multipart-upload-journal 1";
+    private static final String UPLOAD_ID = "uploadId";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String CONTENT_LENGTH = "contentLength";
+    private static final String PART_SIZE = "partSize";
+    private static final String PART = "part";
+    private static final String NO_MD5 = "-";
+
+    private final File file;
+    private final FileOutputStream outputStream;
+    private final Writer writer;
+
+    /**
+     * The upload ID of the multi-part upload.
+     */
+    @Getter private final String uploadId;
+    /**
+     * Identifies the source and target of the upload, a journal only resumes an upload with the
+     * same fingerprint.
+     */
+    @Getter private final String fingerprint;
+    /**
+     * The content length of the object being uploaded.
+     */
+    @Getter private final long contentLength;
+    /**
+     * The size of every part except the last.
+     */
+    @Getter private final long partSize;
+
+    private final Map<Integer, String> partETags;
+
+    private UploadJournal(
+            File file,
+            boolean append,
+            String uploadId,
+            String fingerprint,
+            long contentLength,
+            long partSize,
+            Map<Integer, String> partETags)
+            throws IOException {
+        this.file = file;
+        this.outputStream = new FileOutputStream(file, append);
+        this.writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.uploadId = uploadId;
+        this.fingerprint = fingerprint;
+        this.contentLength = contentLength;
+        this.partSize = partSize;
+        this.partETags = partETags;
+    }
+
+    /**
+     * Creates a new journal for the given upload, replacing any existing journal file.
+     *
+     * @param file The journal file.
+     * @param uploadId The upload ID.
+     * @param fingerprint Identifies the source and target of the upload, must be a single line.
+     * @param contentLength The content length of the object.
+     * @param partSize The size of every part except the last.
+     * @return The new journal.
+     * @throws IOException if the journal could not be written.
+     */
+    public static UploadJournal create(
+            @NonNull File file,
+            @NonNull String uploadId,
+            @NonNull String fingerprint,
+            long contentLength,
+            long partSize)
+            throws IOException {
+        if (fingerprint.indexOf('\n') >= 0 || fingerprint.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("The fingerprint must be a single line");
+        }
+        UploadJournal journal =
+                new UploadJournal(
+                        file,
+                        false,
+                        uploadId,
+                        fingerprint,
+                        contentLength,
+                        partSize,
+                        new HashMap<>());
+        try {
+            journal.writeLines(
+                    HEADER,
+                    UPLOAD_ID + "=" + uploadId,
+                    FINGERPRINT + "=" + fingerprint,
+                    CONTENT_LENGTH + "=" + contentLength,
+                    PART_SIZE + "=" + partSize);
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Loads an existing journal.  Parts recorded later are appended to the same file.
+     *
+     * @param file The journal file.
+     * @return The journal, or null if the file does not exist or is not a valid journal.
+     * @throws IOException if the journal could not be read or opened for writing.
+     */
+    public static UploadJournal load(@NonNull File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        String uploadId = null;
+        String fingerprint = null;
+        Long contentLength = null;
+        Long partSize = null;
+        Map<Integer, String> partETags = new HashMap<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            if (!HEADER.equals(reader.readLine())) {
+                LOG.warn("Ignoring upload journal {}, unknown format", file);
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    continue;
+                }
+                String key = line.substring(0, separator);
+                String value = line.substring(separator + 1);
+                try {
+                    if (UPLOAD_ID.equals(key)) {
+                        uploadId = value;
+                    } else if (FINGERPRINT.equals(key)) {
+                        fingerprint = value;
+                    } else if (CONTENT_LENGTH.equals(key)) {
+                        contentLength = Long.parseLong(value);
+                    } else if (PART_SIZE.equals(key)) {
+                        partSize = Long.parseLong(value);
+                    } else if (PART.equals(key)) {
+                        String[] fields = value.split("\t");
+                        if (fields.length == 3) {
+                            partETags.put(Integer.parseInt(fields[0]), fields[1]);
+                        }
+                    }
+                } catch (NumberFormatException e) {
+                    // incomplete line, written while the process stopped
+                    LOG.debug("Ignoring invalid line in upload journal {}", file);
+                }
+            }
+        }
+        if (uploadId == null || fingerprint == null || contentLength == null || partSize == null) {
+            LOG.warn("Ignoring upload journal {}, upload details are missing", file);
+            return null;
+        }
+        UploadJournal journal =
+                new UploadJournal(
+                        file, true, uploadId, fingerprint, contentLength, partSize, partETags);
+        try {
+            // terminate an incomplete last line, so it does not corrupt the next entry
+            journal.writeLines("");
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Records a part that has been uploaded successfully.
+     * <p>
+     * Failing to write the journal does not fail the upload, the part will be found when the
+     * upload is reconciled with the service.
+     *
+     * @param partNumber The part number.
+     * @param response The response of the part upload.
+     */
+    public synchronized void recordPart(int partNumber, UploadPartResponse response) {
+        String md5 = response.getOpcContentMd5() != null ? response.getOpcContentMd5() : NO_MD5;
+        try {
+            writeLines(PART + "=" + partNumber + "\t" + response.getETag() + "\t" + md5);
+            partETags.put(partNumber, response.getETag());
+        } catch (IOException e) {
+            LOG.warn("Failed to record part {} in upload journal {}", partNumber, file, e);
+        }
+    }
+
+    /**
+     * Gets the ETags of all parts recorded so far, keyed by part number.
+     *
+     * @return The ETags of the recorded parts.
+     */
+    public synchronized Map<Integer, String> getPartETags() {
+        return new HashMap<>(partETags);
+    }
+
+    /**
+     * Closes and deletes the journal file, once the upload is committed.
+     */
+    public void delete() {
+        close();
+        if (!file.delete()) {
+            LOG.warn("Failed to delete upload journal {}", file);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close upload journal {}", file, e);
+        }
+    }
+
+    private void writeLines(String... lines) throws IOException {
+        for (String line : lines) {
+            writer.write(line);
+            writer.write('\n');
+        }
+        writer.flush();
+        outputStream.getFD().sync();
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.model.Range;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.requests.HeadObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+import com.oracle.bmc.objectstorage.responses.HeadObjectResponse;
+import com.oracle.bmc.objectstorage.transfer.DownloadManager.DownloadRequest;
+import com.oracle.bmc.objectstorage.transfer.DownloadManager.DownloadResponse;
+import com.oracle.bmc.objectstorage.transfer.internal.MultipartUtils;
+import com.oracle.bmc.util.StreamUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DownloadManagerTest {
+    private static final String NAMESPACE = "namespace";
+    private static final String BUCKET = "bucket";
+    private static final String OBJECT = "object";
+    private static final String ETAG = "etag";
+    private static final byte[] CONTENT = new byte[(int) (3 * MultipartUtils.MiB + 17)];
+
+    static {
+        new Random(42).nextBytes(CONTENT);
+    }
+
+    @Mock private ObjectStorage objectStorage;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("download-manager", ".bin");
+        when(objectStorage.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(
+                        HeadObjectResponse.builder()
+                                .eTag(ETAG)
+                                .contentLength((long) CONTENT.length)
+                                .contentMd5("md5")
+                                .opcRequestId("reqId")
+                                .build());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void download_parallel() throws Exception {
+        DownloadManager downloadManager =
+                new DownloadManager(
+                        objectStorage,
+                        DownloadConfiguration.builder()
+                                .minimumLengthForParallelDownload(0)
+                                .lengthPerDownloadPart(1)
+                                .build());
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        when(objectStorage.getObject(captor.capture())).thenAnswer(new RangeAnswer(ETAG));
+
+        DownloadResponse response = downloadManager.download(createDownloadRequest());
+
+        assertEquals(ETAG, response.getETag());
+        assertEquals(CONTENT.length, response.getContentLength());
+        assertEquals("md5", response.getContentMd5());
+        assertArrayEquals(CONTENT, Files.readAllBytes(file.toPath()));
+
+        List<GetObjectRequest> requests = captor.getAllValues();
+        assertEquals(4, requests.size());
+        for (GetObjectRequest request : requests) {
+            assertEquals(ETAG, request.getIfMatch());
+        }
+    }
+
+    @Test
+    public void download_single() throws Exception {
+        DownloadManager downloadManager =
+                new DownloadManager(
+                        objectStorage,
+                        DownloadConfiguration.builder().allowParallelDownloads(false).build());
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        when(objectStorage.getObject(captor.capture())).thenAnswer(new RangeAnswer(ETAG));
+
+        downloadManager.download(createDownloadRequest());
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(file.toPath()));
+        assertNull(captor.getValue().getRange());
+    }
+
+    @Test
+    public void download_retriesFailedPart() throws Exception {
+        DownloadManager downloadManager =
+                new DownloadManager(
+                        objectStorage,
+                        DownloadConfiguration.builder()
+                                .minimumLengthForParallelDownload(0)
+                                .lengthPerDownloadPart(1)
+                                .build());
+        final RangeAnswer rangeAnswer = new RangeAnswer(ETAG);
+        final AtomicInteger calls = new AtomicInteger();
+        when(objectStorage.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(
+                        new Answer<GetObjectResponse>() {
+                            @Override
+                            public GetObjectResponse answer(InvocationOnMock invocation)
+                                    throws Throwable {
+                                if (calls.getAndIncrement() == 0) {
+                                    throw new BmcException(500, "InternalServerError", "boom", "");
+                                }
+                                return rangeAnswer.answer(invocation);
+                            }
+                        });
+
+        downloadManager.download(createDownloadRequest());
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(file.toPath()));
+        verify(objectStorage, times(5)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    public void download_failsIfETagChanges() {
+        DownloadManager downloadManager =
+                new DownloadManager(
+                        objectStorage,
+                        DownloadConfiguration.builder()
+                                .minimumLengthForParallelDownload(0)
+                                .lengthPerDownloadPart(1)
+                                .build());
+        when(objectStorage.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(new RangeAnswer("otherEtag"));
+
+        try {
+            downloadManager.download(createDownloadRequest());
+            fail("Should have thrown");
+        } catch (BmcException e) {
+            assertEquals(412, e.getStatusCode());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void download_rangeNotAllowed() {
+        DownloadManager downloadManager =
+                new DownloadManager(objectStorage, DownloadConfiguration.builder().build());
+        downloadManager.download(
+                DownloadRequest.builder(file)
+                        .build(
+                                GetObjectRequest.builder()
+                                        .namespaceName(NAMESPACE)
+                                        .bucketName(BUCKET)
+                                        .objectName(OBJECT)
+                                        .range(new Range(0L, 10L))
+                                        .build()));
+    }
+
+    private DownloadRequest createDownloadRequest() {
+        return DownloadRequest.builder(file)
+                .build(
+                        GetObjectRequest.builder()
+                                .namespaceName(NAMESPACE)
+                                .bucketName(BUCKET)
+                                .objectName(OBJECT)
+                                .build());
+    }
+
+    private static class RangeAnswer implements Answer<GetObjectResponse> {
+        private final String eTag;
+
+        private RangeAnswer(String eTag) {
+            this.eTag = eTag;
+        }
+
+        @Override
+        public GetObjectResponse answer(InvocationOnMock invocation) throws Throwable {
+            GetObjectRequest request = (GetObjectRequest) invocation.getArguments()[0];
+            Range range = request.getRange();
+            int start = range == null ? 0 : range.getStartByte().intValue();
+            int end = range == null ? CONTENT.length : range.getEndByte().intValue() + 1;
+            return GetObjectResponse.builder()
+                    .eTag(eTag)
+                    .contentLength((long) (end - start))
+                    .inputStream(
+                            StreamUtils.createByteArrayInputStream(
+                                    Arrays.copyOfRange(CONTENT, start, end)))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+import com.oracle.bmc.objectstorage.requests.ListObjectsRequest;
+import com.oracle.bmc.objectstorage.responses.ListObjectsResponse;
+import com.oracle.bmc.objectstorage.transfer.ListingManager.ListingRequest;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ListingManagerTest {
+    private static final String NAMESPACE = "namespace";
+    private static final String BUCKET = "bucket";
+    private static final int PAGE_SIZE = 10;
+
+    @Mock private ObjectStorage objectStorage;
+
+    private final TreeSet<String> bucket = new TreeSet<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<ListObjectsRequest> delimiterRequests =
+            Collections.synchronizedList(new ArrayList<ListObjectsRequest>());
+    private volatile String failingStart;
+
+    private ListingManager listingManager;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 500; i++) {
+            bucket.add(String.format("dir%d/object%04d", i % 5, i));
+        }
+        for (int i = 0; i < 20; i++) {
+            bucket.add(String.format("top%02d", i));
+        }
+        when(objectStorage.listObjects(any(ListObjectsRequest.class)))
+                .thenAnswer(invocation -> list((ListObjectsRequest) invocation.getArguments()[0]));
+        listingManager =
+                new ListingManager(
+                        objectStorage,
+                        ListingConfiguration.builder().maxParallelListings(4).build());
+    }
+
+    @Test
+    public void listObjects_ordered() {
+        List<String> names =
+                names(listingManager.listObjects(ListingRequest.builder().build(request())));
+
+        assertEquals(new ArrayList<>(bucket), names);
+        assertTrue("ranges were not listed in parallel", maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void listObjects_unordered() {
+        List<String> names =
+                names(
+                        listingManager.listObjects(
+                                ListingRequest.builder().ordered(false).build(request())));
+
+        assertEquals(bucket.size(), names.size());
+        assertEquals(bucket, new TreeSet<>(names));
+    }
+
+    @Test
+    public void listObjects_withPrefixAndBounds() {
+        ListObjectsRequest request =
+                ListObjectsRequest.builder()
+                        .namespaceName(NAMESPACE)
+                        .bucketName(BUCKET)
+                        .prefix("dir3/")
+                        .start("dir3/object0100")
+                        .end("dir3/object0400")
+                        .limit(PAGE_SIZE)
+                        .build();
+
+        List<String> names =
+                names(listingManager.listObjects(ListingRequest.builder().build(request)));
+
+        assertEquals(
+                new ArrayList<>(bucket.subSet("dir3/object0100", "dir3/object0400")), names);
+    }
+
+    @Test
+    public void listObjects_splitByDelimiter() {
+        List<String> names =
+                names(
+                        listingManager.listObjects(
+                                ListingRequest.builder()
+                                        .shardingDelimiter("/")
+                                        .splitPoints(Arrays.asList("dir2/object0300", "zzz"))
+                                        .build(request())));
+
+        assertEquals(new ArrayList<>(bucket), names);
+        // 5 prefixes and 20 top-level objects, listed in pages of 10
+        assertEquals(3, delimiterRequests.size());
+        for (ListObjectsRequest request : delimiterRequests) {
+            assertEquals("name", request.getFields());
+        }
+    }
+
+    @Test
+    public void listObjects_splitPointsWithoutRangeSplitting() {
+        listingManager =
+                new ListingManager(
+                        objectStorage,
+                        ListingConfiguration.builder()
+                                .maxParallelListings(2)
+                                .maxBufferedPagesPerShard(1)
+                                .allowRangeSplitting(false)
+                                .build());
+
+        List<String> names =
+                names(
+                        listingManager.listObjects(
+                                ListingRequest.builder()
+                                        .splitPoints(Arrays.asList("dir1", "dir3", "top"))
+                                        .deduplicate(true)
+                                        .build(request())));
+
+        assertEquals(new ArrayList<>(bucket), names);
+        assertEquals(bucket.size() / PAGE_SIZE, requests.get());
+    }
+
+    @Test
+    public void listObjects_limitsOpenRanges() throws InterruptedException {
+        listingManager =
+                new ListingManager(
+                        objectStorage,
+                        ListingConfiguration.builder().maxParallelListings(2).build());
+        List<String> expected = new ArrayList<>(bucket);
+        // ranges of one page each
+        List<String> splitPoints = new ArrayList<>();
+        for (int i = PAGE_SIZE; i < expected.size(); i += PAGE_SIZE) {
+            splitPoints.add(expected.get(i));
+        }
+
+        try (Stream<ObjectSummary> objects =
+                listingManager.listObjects(
+                        ListingRequest.builder().splitPoints(splitPoints).build(request()))) {
+            Iterator<ObjectSummary> iterator = objects.iterator();
+            List<String> names = new ArrayList<>();
+            names.add(iterator.next().getName());
+            Thread.sleep(200);
+            // the first range was consumed and closed, the second and third range are open
+            assertEquals(3, requests.get());
+
+            iterator.forEachRemaining(object -> names.add(object.getName()));
+            assertEquals(expected, names);
+            assertEquals(splitPoints.size() + 1, requests.get());
+        }
+    }
+
+    @Test
+    public void listObjects_deduplicateUnordered() {
+        bucket.clear();
+        bucket.addAll(Arrays.asList("a", "b", "c"));
+
+        List<String> names =
+                names(
+                        listingManager.listObjects(
+                                ListingRequest.builder()
+                                        .ordered(false)
+                                        .deduplicate(true)
+                                        .splitPoints(Arrays.asList("b"))
+                                        .build(request())));
+
+        assertEquals(new HashSet<>(bucket), new HashSet<>(names));
+        assertEquals(3, names.size());
+    }
+
+    @Test
+    public void listObjects_failure() {
+        failingStart = "dir4";
+
+        try (Stream<ObjectSummary> objects =
+                listingManager.listObjects(
+                        ListingRequest.builder()
+                                .splitPoints(Arrays.asList("dir4"))
+                                .build(request()))) {
+            objects.count();
+            fail("Should have thrown");
+        } catch (BmcException e) {
+            assertEquals(500, e.getStatusCode());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void listObjects_delimiterNotSupported() {
+        ListObjectsRequest request =
+                ListObjectsRequest.builder().copy(request()).delimiter("/").build();
+
+        listingManager.listObjects(ListingRequest.builder().build(request));
+    }
+
+    private static ListObjectsRequest request() {
+        return ListObjectsRequest.builder()
+                .namespaceName(NAMESPACE)
+                .bucketName(BUCKET)
+                .limit(PAGE_SIZE)
+                .build();
+    }
+
+    private static List<String> names(Stream<ObjectSummary> objects) {
+        try (Stream<ObjectSummary> stream = objects) {
+            return stream.map(ObjectSummary::getName).collect(Collectors.toList());
+        }
+    }
+
+    private ListObjectsResponse list(ListObjectsRequest request) throws InterruptedException {
+        requests.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(2);
+            if (request.getDelimiter() != null) {
+                delimiterRequests.add(request);
+            }
+            if (failingStart != null
+                    && request.getStart() != null
+                    && request.getStart().startsWith(failingStart)) {
+                throw new BmcException(500, "InternalError", "failed", "reqId");
+            }
+
+            String prefix = request.getPrefix() != null ? request.getPrefix() : "";
+            List<ObjectSummary> objects = new ArrayList<>();
+            TreeSet<String> prefixes = new TreeSet<>();
+            String nextStartWith = null;
+            String start = request.getStart() != null ? request.getStart() : "";
+            for (String name : bucket.tailSet(start)) {
+                if (request.getEnd() != null && name.compareTo(request.getEnd()) >= 0) {
+                    break;
+                }
+                if (!name.startsWith(prefix)) {
+                    continue;
+                }
+                if (objects.size() + prefixes.size() == request.getLimit()) {
+                    nextStartWith = name;
+                    break;
+                }
+                int delimiter =
+                        request.getDelimiter() != null
+                                ? name.indexOf(request.getDelimiter(), prefix.length())
+                                : -1;
+                if (delimiter >= 0) {
+                    prefixes.add(name.substring(0, delimiter + 1));
+                } else {
+                    objects.add(ObjectSummary.builder().name(name).build());
+                }
+            }
+            return ListObjectsResponse.builder()
+                    .listObjects(
+                            ListObjects.builder()
+                                    .objects(objects)
+                                    .prefixes(new ArrayList<>(prefixes))
+                                    .nextStartWith(nextStartWith)
+                                    .build())
+                    .build();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
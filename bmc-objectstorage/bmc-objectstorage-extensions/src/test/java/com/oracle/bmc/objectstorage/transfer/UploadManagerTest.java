@@ -18,6 +18,7 @@ import com.oracle.bmc.http.internal.WrappedWebTarget;
 import com.oracle.bmc.http.signing.RequestSigner;
 import com.oracle.bmc.http.signing.RequestSignerFactory;
 import com.oracle.bmc.http.signing.SigningStrategy;
+import com.oracle.bmc.io.internal.FileRegionInputStream;
 import com.oracle.bmc.model.BmcException;
 import com.oracle.bmc.objectstorage.ObjectStorage;
 import com.oracle.bmc.objectstorage.ObjectStorageClient;
@@ -25,6 +26,7 @@ import com.oracle.bmc.objectstorage.internal.http.CommitMultipartUploadConverter
 import com.oracle.bmc.objectstorage.internal.http.CreateMultipartUploadConverter;
 import com.oracle.bmc.objectstorage.internal.http.UploadPartConverter;
 import com.oracle.bmc.objectstorage.model.MultipartUpload;
+import com.oracle.bmc.objectstorage.model.MultipartUploadPartSummary;
 import com.oracle.bmc.objectstorage.requests.AbortMultipartUploadRequest;
 import com.oracle.bmc.objectstorage.requests.CommitMultipartUploadRequest;
 import com.oracle.bmc.objectstorage.requests.CreateMultipartUploadRequest;
@@ -38,6 +40,7 @@ import com.oracle.bmc.objectstorage.transfer.UploadManager.UploadRequest;
 import com.oracle.bmc.objectstorage.transfer.UploadManager.UploadResponse;
 import com.oracle.bmc.objectstorage.transfer.internal.MultipartManifestImpl;
 import com.oracle.bmc.objectstorage.transfer.internal.MultipartUtils;
+import com.oracle.bmc.objectstorage.transfer.internal.UploadJournal;
 import com.oracle.bmc.retrier.DefaultRetryCondition;
 import com.oracle.bmc.retrier.RetryConfiguration;
 import com.oracle.bmc.util.StreamUtils;
@@ -55,8 +58,14 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -66,19 +75,24 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.AdditionalMatchers.and;
 import static org.mockito.AdditionalMatchers.gt;
 import static org.mockito.AdditionalMatchers.leq;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -414,6 +428,233 @@ public class UploadManagerTest {
         }
     }
 
+    @Test
+    public void upload_multipartUpload_resumeFromJournal() throws IOException {
+        // results in 2 parts
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .minimumLengthForMultipartUpload(10)
+                        .lengthPerUploadPart(10)
+                        .build();
+        UploadManager uploadManager =
+                new UploadManager(objectStorage, uploadConfiguration) {
+                    @Override
+                    protected MultipartObjectAssembler createAssembler(
+                            PutObjectRequest request,
+                            UploadRequest uploadRequest,
+                            ExecutorService executorService) {
+                        return assembler;
+                    }
+                };
+
+        File journalFile = File.createTempFile("upload", ".journal");
+        UploadJournal.create(
+                        journalFile,
+                        UPLOAD_ID,
+                        UploadManager.fingerprint(createPutObjectRequest()),
+                        CONTENT_LENGTH,
+                        MultipartUtils.calculatePartSize(uploadConfiguration, CONTENT_LENGTH))
+                .close();
+
+        // part 1 was uploaded before the previous attempt stopped
+        MultipartManifestImpl manifest = new MultipartManifestImpl(UPLOAD_ID);
+        manifest.registerExisting(
+                MultipartUploadPartSummary.builder().partNumber(1).etag("etag1").build());
+        when(assembler.resumeRequest(UPLOAD_ID)).thenReturn(manifest);
+        when(assembler.commit())
+                .thenReturn(
+                        CommitMultipartUploadResponse.builder()
+                                .eTag("finalEtag")
+                                .opcRequestId(REQ_ID)
+                                .opcClientRequestId(CLIENT_REQ_ID)
+                                .opcMultipartMd5("multipartMd5")
+                                .build());
+
+        UploadRequest request = createUploadRequest(journalFile);
+        UploadResponse uploadResponse = uploadManager.upload(request);
+        validateUploadResponseForMultipart(uploadResponse);
+
+        verify(assembler, never())
+                .newRequest(anyString(), anyString(), anyString(), any(Map.class));
+        verify(assembler).setUploadJournal(any(UploadJournal.class));
+        verify(assembler).setPart(any(InputStream.class), eq(CONTENT_LENGTH / 2), eq(null), eq(2));
+        verify(assembler, times(1))
+                .setPart(any(InputStream.class), anyLong(), any(String.class), anyInt());
+        assertFalse(journalFile.exists());
+    }
+
+    @Test
+    public void upload_multipartUpload_journalOfOtherObjectIgnored() throws IOException {
+        // results in 2 parts
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .minimumLengthForMultipartUpload(10)
+                        .lengthPerUploadPart(10)
+                        .build();
+        UploadManager uploadManager =
+                new UploadManager(objectStorage, uploadConfiguration) {
+                    @Override
+                    protected MultipartObjectAssembler createAssembler(
+                            PutObjectRequest request,
+                            UploadRequest uploadRequest,
+                            ExecutorService executorService) {
+                        return assembler;
+                    }
+                };
+
+        File journalFile = File.createTempFile("upload", ".journal");
+        UploadJournal.create(
+                        journalFile,
+                        "otherUploadId",
+                        UploadManager.fingerprint(
+                                PutObjectRequest.builder()
+                                        .namespaceName(NAMESPACE_NAME)
+                                        .bucketName(BUCKET_NAME)
+                                        .objectName("otherObject")
+                                        .build()),
+                        CONTENT_LENGTH,
+                        MultipartUtils.calculatePartSize(uploadConfiguration, CONTENT_LENGTH))
+                .close();
+
+        MultipartManifestImpl manifest = new MultipartManifestImpl(UPLOAD_ID);
+        when(assembler.newRequest(anyString(), anyString(), anyString(), any(Map.class)))
+                .thenReturn(manifest);
+        when(assembler.commit())
+                .thenReturn(
+                        CommitMultipartUploadResponse.builder()
+                                .eTag("finalEtag")
+                                .opcRequestId(REQ_ID)
+                                .opcClientRequestId(CLIENT_REQ_ID)
+                                .opcMultipartMd5("multipartMd5")
+                                .build());
+
+        UploadResponse uploadResponse = uploadManager.upload(createUploadRequest(journalFile));
+        validateUploadResponseForMultipart(uploadResponse);
+
+        verify(assembler, never()).resumeRequest(anyString());
+        verify(assembler, times(2))
+                .setPart(any(InputStream.class), anyLong(), any(String.class), anyInt());
+        assertFalse(journalFile.exists());
+    }
+
+    @Test(expected = BmcException.class)
+    public void upload_multipartUpload_exception_withJournal() throws IOException {
+        // results in 2 parts
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .minimumLengthForMultipartUpload(10)
+                        .lengthPerUploadPart(10)
+                        .allowParallelUploads(false)
+                        .build();
+        UploadManager uploadManager =
+                new UploadManager(objectStorage, uploadConfiguration) {
+                    @Override
+                    protected MultipartObjectAssembler createAssembler(
+                            PutObjectRequest request,
+                            UploadRequest uploadRequest,
+                            ExecutorService executorService) {
+                        return assembler;
+                    }
+                };
+
+        File journalFile = File.createTempFile("upload", ".journal");
+        journalFile.delete();
+        UploadRequest request = createUploadRequest(journalFile);
+        when(assembler.newRequest(CONTENT_TYPE, CONTENT_LANG, CONTENT_ENCODING, METADATA))
+                .thenReturn(new MultipartManifestImpl("uploadId"));
+        when(assembler.commit()).thenThrow(new BmcException(false, "test", null, null));
+
+        try {
+            uploadManager.upload(request);
+        } catch (Exception e) {
+            // resumable uploads are not aborted, the journal is kept
+            verify(assembler, times(0)).abort();
+            UploadJournal journal = UploadJournal.load(journalFile);
+            assertEquals("uploadId", journal.getUploadId());
+            journal.delete();
+            throw e;
+        }
+    }
+
+    @Test
+    public void upload_unknownLength_multipartUpload() {
+        // 1 MiB parts, but only 2 buffers for 3 parts
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .lengthPerUploadPart(1)
+                        .streamingBufferPoolSize(2)
+                        .enforceMd5(true)
+                        .build();
+        UploadManager uploadManager =
+                new UploadManager(objectStorage, uploadConfiguration) {
+                    @Override
+                    protected MultipartObjectAssembler createAssembler(
+                            PutObjectRequest request,
+                            UploadRequest uploadRequest,
+                            ExecutorService executorService) {
+                        return assembler;
+                    }
+                };
+
+        final List<Long> partLengths = new ArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            partLengths.add((Long) invocation.getArguments()[1]);
+                            assertNotNull(invocation.getArguments()[2]);
+                            // part uploaded, return the buffer
+                            ((Runnable) invocation.getArguments()[3]).run();
+                            return partLengths.size();
+                        })
+                .when(assembler)
+                .addPart(any(InputStream.class), anyLong(), anyString(), any(Runnable.class));
+        when(assembler.commit())
+                .thenReturn(
+                        CommitMultipartUploadResponse.builder()
+                                .eTag("finalEtag")
+                                .opcRequestId(REQ_ID)
+                                .opcClientRequestId(CLIENT_REQ_ID)
+                                .opcMultipartMd5("multipartMd5")
+                                .build());
+
+        // 2.5 MiB, in a stream that cannot be duplicated
+        InputStream stream =
+                new ByteArrayInputStream(new byte[(int) (2 * MultipartUtils.MiB + 1024)]);
+        UploadRequest request = UploadRequest.builder(stream).build(createPutObjectRequest());
+
+        UploadResponse uploadResponse = uploadManager.upload(request);
+        validateUploadResponseForMultipart(uploadResponse);
+
+        verify(assembler).newRequest(CONTENT_TYPE, CONTENT_LANG, CONTENT_ENCODING, METADATA);
+        assertEquals(
+                Arrays.asList(MultipartUtils.MiB, MultipartUtils.MiB, 1024L), partLengths);
+    }
+
+    @Test
+    public void upload_unknownLength_singleUpload() {
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder().lengthPerUploadPart(1).build();
+        UploadManager uploadManager = new UploadManager(objectStorage, uploadConfiguration);
+
+        ArgumentCaptor<PutObjectRequest> putRequestCaptor =
+                ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(objectStorage.putObject(putRequestCaptor.capture()))
+                .thenReturn(
+                        PutObjectResponse.builder()
+                                .eTag("etag")
+                                .opcRequestId(REQ_ID)
+                                .opcClientRequestId(CLIENT_REQ_ID)
+                                .build());
+
+        InputStream stream = new ByteArrayInputStream(CONTENT.substring(0, 1000).getBytes());
+        UploadRequest request = UploadRequest.builder(stream).build(createPutObjectRequest());
+
+        UploadResponse uploadResponse = uploadManager.upload(request);
+        assertEquals("etag", uploadResponse.getETag());
+        assertEquals(1000L, putRequestCaptor.getValue().getContentLength().longValue());
+        verify(objectStorage, never())
+                .createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
     @Test
     public void singleUpload_progressReporter() {
         final UploadConfiguration uploadConfiguration =
@@ -696,6 +937,162 @@ public class UploadManagerTest {
         }
     }
 
+    @Test
+    public void upload_singleUpload_fileChannel_enforceMd5() throws IOException {
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .allowMultipartUploads(false)
+                        .enforceMd5(true)
+                        .useFileChannelUploads(true)
+                        .build();
+        UploadManager uploadManager = new UploadManager(objectStorage, uploadConfiguration);
+
+        // the channel is closed once the upload returns, so the body is read while it is sent
+        final List<String> sentContent = new ArrayList<>();
+        ArgumentCaptor<PutObjectRequest> putRequestCaptor =
+                ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(objectStorage.putObject(putRequestCaptor.capture()))
+                .thenAnswer(
+                        invocation -> {
+                            PutObjectRequest putRequest =
+                                    (PutObjectRequest) invocation.getArguments()[0];
+                            sentContent.add(read(putRequest.getPutObjectBody(), CONTENT_LENGTH));
+                            return PutObjectResponse.builder().build();
+                        });
+
+        UploadResponse uploadResponse = uploadManager.upload(createFileUploadRequest());
+
+        assertNotNull(uploadResponse);
+        PutObjectRequest putRequest = putRequestCaptor.getValue();
+        assertTrue(putRequest.getPutObjectBody() instanceof FileRegionInputStream);
+        assertEquals(Collections.singletonList(CONTENT), sentContent);
+        assertEquals(CONTENT_LENGTH, putRequest.getContentLength().longValue());
+        assertEquals(
+                "U2yw5mJhFHg/U4cBMrrFyw==", putRequest.getContentMD5()); // 'a' times content-length
+    }
+
+    @Test
+    public void upload_singleUpload_fileChannel_closedOnFailure() throws IOException {
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .allowMultipartUploads(false)
+                        .useFileChannelUploads(true)
+                        .build();
+        UploadManager uploadManager = new UploadManager(objectStorage, uploadConfiguration);
+
+        ArgumentCaptor<PutObjectRequest> putRequestCaptor =
+                ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(objectStorage.putObject(putRequestCaptor.capture()))
+                .thenThrow(new BmcException(500, "InternalServerError", "test", REQ_ID));
+
+        try {
+            uploadManager.upload(createFileUploadRequest());
+            fail("Expected the upload to fail");
+        } catch (BmcException expected) {
+        }
+
+        // the region was not mapped yet, so reading it needs the channel
+        try {
+            putRequestCaptor.getValue().getPutObjectBody().read();
+            fail("Expected the file channel to be closed");
+        } catch (ClosedChannelException expected) {
+        }
+    }
+
+    @Test
+    public void upload_multipartUpload_fileChannel_enforceMd5() throws IOException {
+        // results in 2 parts
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .minimumLengthForMultipartUpload(10)
+                        .lengthPerUploadPart(10)
+                        .enforceMd5(true)
+                        .useFileChannelUploads(true)
+                        .build();
+        UploadManager uploadManager =
+                new UploadManager(objectStorage, uploadConfiguration) {
+                    @Override
+                    protected MultipartObjectAssembler createAssembler(
+                            PutObjectRequest request,
+                            UploadRequest uploadRequest,
+                            ExecutorService executorService) {
+                        return assembler;
+                    }
+                };
+
+        final List<String> sentContent = new ArrayList<>();
+        ArgumentCaptor<InputStream> partCaptor = ArgumentCaptor.forClass(InputStream.class);
+        when(assembler.addPart(partCaptor.capture(), eq(CONTENT_LENGTH / 2), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            InputStream part = (InputStream) invocation.getArguments()[0];
+                            sentContent.add(read(part, CONTENT_LENGTH / 2));
+                            return sentContent.size();
+                        });
+        when(assembler.commit())
+                .thenReturn(
+                        CommitMultipartUploadResponse.builder()
+                                .eTag("finalEtag")
+                                .opcRequestId(REQ_ID)
+                                .opcClientRequestId(CLIENT_REQ_ID)
+                                .opcMultipartMd5("multipartMd5")
+                                .build());
+
+        UploadResponse uploadResponse = uploadManager.upload(createFileUploadRequest());
+        validateUploadResponseForMultipart(uploadResponse);
+
+        verify(assembler, times(2))
+                .addPart(
+                        any(InputStream.class),
+                        eq(CONTENT_LENGTH / 2), // 10 MiB
+                        eq("5W4QR5ShjfX0H20th7TMZw==")); // 'a' times content-length
+        for (InputStream part : partCaptor.getAllValues()) {
+            assertTrue(part instanceof FileRegionInputStream);
+        }
+        String half = CONTENT.substring(0, (int) CONTENT_LENGTH / 2);
+        assertEquals(Arrays.asList(half, half), sentContent);
+    }
+
+    @Test
+    public void upload_multipartUpload_fileChannel_closedOnFailure() throws IOException {
+        UploadConfiguration uploadConfiguration =
+                UploadConfiguration.builder()
+                        .minimumLengthForMultipartUpload(10)
+                        .lengthPerUploadPart(10)
+                        .useFileChannelUploads(true)
+                        .build();
+        UploadManager uploadManager =
+                new UploadManager(objectStorage, uploadConfiguration) {
+                    @Override
+                    protected MultipartObjectAssembler createAssembler(
+                            PutObjectRequest request,
+                            UploadRequest uploadRequest,
+                            ExecutorService executorService) {
+                        return assembler;
+                    }
+                };
+
+        ArgumentCaptor<InputStream> partCaptor = ArgumentCaptor.forClass(InputStream.class);
+        when(assembler.newRequest(CONTENT_TYPE, CONTENT_LANG, CONTENT_ENCODING, METADATA))
+                .thenReturn(new MultipartManifestImpl("uploadId"));
+        when(assembler.addPart(partCaptor.capture(), anyLong(), anyString())).thenReturn(1);
+        when(assembler.commit()).thenThrow(new BmcException(false, "test", null, null));
+
+        try {
+            uploadManager.upload(createFileUploadRequest());
+            fail("Expected the upload to fail");
+        } catch (BmcException expected) {
+            verify(assembler).abort();
+        }
+
+        assertEquals(2, partCaptor.getAllValues().size());
+        try {
+            partCaptor.getValue().read();
+            fail("Expected the file channel to be closed");
+        } catch (ClosedChannelException expected) {
+        }
+    }
+
     private static UploadConfiguration getMultipartUploadConfiguration() {
         return UploadConfiguration.builder()
                 .minimumLengthForMultipartUpload(10)
@@ -722,6 +1119,38 @@ public class UploadManagerTest {
                 .build(request);
     }
 
+    private UploadRequest createUploadRequest(File journalFile) {
+        return UploadRequest.builder(body, CONTENT_LENGTH)
+                .journalFile(journalFile)
+                .build(createPutObjectRequest());
+    }
+
+    private UploadRequest createFileUploadRequest() throws IOException {
+        File file = File.createTempFile("upload", ".content");
+        file.deleteOnExit();
+        Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+        return UploadRequest.builder(file).build(createPutObjectRequest());
+    }
+
+    private static String read(InputStream stream, long length) throws IOException {
+        byte[] buffer = new byte[(int) length];
+        assertEquals(length, stream.read(buffer));
+        return new String(buffer, StandardCharsets.UTF_8);
+    }
+
+    private static PutObjectRequest createPutObjectRequest() {
+        return PutObjectRequest.builder()
+                .opcMeta(METADATA)
+                .opcClientRequestId(CLIENT_REQ_ID)
+                .contentLanguage(CONTENT_LANG)
+                .contentType(CONTENT_TYPE)
+                .contentEncoding(CONTENT_ENCODING)
+                .namespaceName(NAMESPACE_NAME)
+                .bucketName(BUCKET_NAME)
+                .objectName(OBJECT_NAME)
+                .build();
+    }
+
     private UploadRequest createUploadRequest(ProgressReporter progressReporter) {
         return createUploadRequest(progressReporter, null);
     }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BufferPoolTest {
+
+    @Test
+    public void buffersAreReused() throws Exception {
+        BufferPool pool = new BufferPool(2, 16, true);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        assertTrue(first.isDirect());
+        assertEquals(16, first.capacity());
+
+        first.put((byte) 1);
+        pool.release(first);
+        ByteBuffer third = pool.acquire();
+        assertSame(first, third);
+        assertEquals(0, third.position());
+        assertEquals(16, third.remaining());
+        pool.release(second);
+        pool.release(third);
+    }
+
+    @Test
+    public void acquireBlocksUntilReleased() throws Exception {
+        final BufferPool pool = new BufferPool(1, 16, false);
+        ByteBuffer buffer = pool.acquire();
+
+        CompletableFuture<ByteBuffer> waiting =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return pool.acquire();
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        try {
+            waiting.get(200, TimeUnit.MILLISECONDS);
+            fail("Should have waited");
+        } catch (TimeoutException e) {
+            // expected
+        }
+
+        pool.release(buffer);
+        assertSame(buffer, waiting.get(5, TimeUnit.SECONDS));
+    }
+}
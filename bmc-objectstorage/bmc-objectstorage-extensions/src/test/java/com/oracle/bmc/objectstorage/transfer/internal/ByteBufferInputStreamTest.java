@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ByteBufferInputStreamTest {
+
+    @Test
+    public void readAndDuplicate() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.put("abcdefgh".getBytes()).flip();
+        buffer.position(2);
+
+        ByteBufferInputStream stream = new ByteBufferInputStream(buffer);
+        byte[] bytes = new byte[10];
+        assertEquals(6, stream.read(bytes));
+        assertEquals("cdefgh", new String(bytes, 0, 6));
+        assertEquals(-1, stream.read());
+
+        // duplicates read from the start, the source buffer is not changed
+        InputStream duplicate = stream.duplicate();
+        assertEquals('c', duplicate.read());
+        assertEquals(2, buffer.position());
+        assertFalse(stream.available() > 0);
+    }
+}
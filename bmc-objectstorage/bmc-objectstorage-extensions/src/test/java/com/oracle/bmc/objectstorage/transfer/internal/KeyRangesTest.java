@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class KeyRangesTest {
+
+    @Test
+    public void midpoint_betweenBounds() {
+        assertBetween("a", "c", KeyRanges.midpoint("a", "c", null));
+        assertEquals("logs/m", KeyRanges.midpoint("logs/a", "logs/z", null));
+        assertBetween("abc", "abd", KeyRanges.midpoint("abc", "abd", null));
+        assertBetween("ab", "ab\u0001", KeyRanges.midpoint("ab", "ab\u0001", null));
+    }
+
+    @Test
+    public void midpoint_unbounded() {
+        String midpoint = KeyRanges.midpoint("a", null, null);
+        assertTrue(midpoint.compareTo("a") > 0);
+        assertTrue(midpoint.charAt(0) < 0x7f);
+
+        assertBetween("\u007f", null, KeyRanges.midpoint("\u007f", null, null));
+        assertBetween("\uffff", null, KeyRanges.midpoint("\uffff", null, null));
+    }
+
+    @Test
+    public void midpoint_keepsPrefix() {
+        String midpoint = KeyRanges.midpoint("logs/2020", null, "logs/");
+        assertTrue(midpoint, midpoint.startsWith("logs/"));
+        assertTrue(midpoint.compareTo("logs/2020") > 0);
+
+        midpoint = KeyRanges.midpoint("logs/2020", "metrics/", "logs/");
+        assertTrue(midpoint, midpoint.startsWith("logs/"));
+        assertTrue(midpoint.compareTo("logs/2020") > 0);
+    }
+
+    @Test
+    public void midpoint_noNameBetween() {
+        assertNull(KeyRanges.midpoint("ab", "ab\u0000", null));
+    }
+
+    @Test
+    public void rangeStarts() {
+        assertEquals(
+                Arrays.asList(null, "b", "d"),
+                KeyRanges.rangeStarts(null, null, Arrays.asList("d", "b", "d")));
+        assertEquals(
+                Arrays.asList("b", "c"),
+                KeyRanges.rangeStarts("b", "d", Arrays.asList("a", "b", "c", "d", "e")));
+    }
+
+    private static void assertBetween(String lower, String upper, String midpoint) {
+        assertTrue(midpoint + " <= " + lower, midpoint.compareTo(lower) > 0);
+        if (upper != null) {
+            assertTrue(midpoint + " >= " + upper, midpoint.compareTo(upper) < 0);
+        }
+    }
+}
@@ -5,11 +5,14 @@
 package com.oracle.bmc.objectstorage.transfer.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 
 import org.junit.Test;
 
@@ -49,4 +52,38 @@ public class StreamHelperTest {
                 "w/zT12GS5AB9+0lsymfhOw==",
                 StreamHelper.base64EncodeMd5Digest(TEST_STR.getBytes()));
     }
+
+    @Test
+    public void fill_heapBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        MessageDigest digest = StreamHelper.createMd5Digest();
+        ByteArrayInputStream in = new ByteArrayInputStream(TEST_STR.getBytes());
+
+        assertEquals(10, StreamHelper.fill(in, buffer, digest));
+        assertEquals("abcdefghij", toString(buffer));
+        assertEquals(
+                StreamHelper.base64EncodeMd5Digest("abcdefghij".getBytes()),
+                StreamHelper.base64Encode(digest));
+    }
+
+    @Test
+    public void fill_directBuffer_streamEnds() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+        MessageDigest digest = StreamHelper.createMd5Digest();
+        ByteArrayInputStream in = new ByteArrayInputStream(TEST_STR.getBytes());
+
+        assertEquals(26, StreamHelper.fill(in, buffer, digest));
+        assertEquals(TEST_STR, toString(buffer));
+        assertEquals("w/zT12GS5AB9+0lsymfhOw==", StreamHelper.base64Encode(digest));
+
+        buffer.clear();
+        assertEquals(0, StreamHelper.fill(in, buffer, null));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes);
+    }
 }
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.objectstorage.transfer.internal;
+
+import com.oracle.bmc.objectstorage.responses.UploadPartResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class UploadJournalTest {
+    private static final String FINGERPRINT = "namespace=ns&bucket=bucket&object=object";
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("upload", ".journal");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void recordAndLoad() throws IOException {
+        UploadJournal journal = UploadJournal.create(file, "uploadId", FINGERPRINT, 1000L, 100L);
+        journal.recordPart(1, UploadPartResponse.builder().eTag("etag1").build());
+        journal.recordPart(
+                3, UploadPartResponse.builder().eTag("etag3").opcContentMd5("md5").build());
+        journal.close();
+
+        UploadJournal loaded = UploadJournal.load(file);
+        assertEquals("uploadId", loaded.getUploadId());
+        assertEquals(FINGERPRINT, loaded.getFingerprint());
+        assertEquals(1000L, loaded.getContentLength());
+        assertEquals(100L, loaded.getPartSize());
+        assertEquals(2, loaded.getPartETags().size());
+        assertEquals("etag1", loaded.getPartETags().get(1));
+        assertEquals("etag3", loaded.getPartETags().get(3));
+
+        // parts recorded after loading are appended
+        loaded.recordPart(2, UploadPartResponse.builder().eTag("etag2").build());
+        loaded.close();
+        assertEquals("etag2", UploadJournal.load(file).getPartETags().get(2));
+    }
+
+    @Test
+    public void incompleteLastLineIgnored() throws IOException {
+        UploadJournal journal = UploadJournal.create(file, "uploadId", FINGERPRINT, 1000L, 100L);
+        journal.recordPart(1, UploadPartResponse.builder().eTag("etag1").build());
+        journal.close();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("part=2\tet".getBytes(StandardCharsets.UTF_8));
+        }
+
+        UploadJournal loaded = UploadJournal.load(file);
+        assertEquals(1, loaded.getPartETags().size());
+        assertEquals("etag1", loaded.getPartETags().get(1));
+
+        // the incomplete line does not corrupt parts recorded later
+        loaded.recordPart(2, UploadPartResponse.builder().eTag("etag2").build());
+        loaded.close();
+        assertEquals("etag2", UploadJournal.load(file).getPartETags().get(2));
+    }
+
+    @Test
+    public void missingOrInvalidJournal() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("something else\n".getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(UploadJournal.load(file));
+
+        file.delete();
+        assertNull(UploadJournal.load(file));
+    }
+
+    @Test
+    public void journalWithoutFingerprintIgnored() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            String journal =
+                    "oci-multipart-upload-journal 1\n"
+                            + "uploadId=uploadId\n"
+                            + "contentLength=1000\n"
+                            + "partSize=100\n";
+            out.write(journal.getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(UploadJournal.load(file));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void multiLineFingerprintRejected() throws IOException {
+        UploadJournal.create(file, "uploadId", "object=a\nuploadId=other", 1000L, 100L);
+    }
+
+    @Test
+    public void delete() throws IOException {
+        UploadJournal.create(file, "uploadId", FINGERPRINT, 1000L, 100L).delete();
+        assertFalse(file.exists());
+    }
+}
@@ -1347,6 +1347,44 @@ public class ObjectStorageClient implements ObjectStorage {
                 });
     }
 
+    /**
+     * Calls listObjects, and returns the object summaries of the response as a stream that is parsed
+     * one summary at a time, instead of reading them into a list.  Used by {@link ObjectStoragePaginators#listObjectsRecordStream}.
+     */
+    com.oracle.bmc.http.internal.WithHeaders<
+                    com.oracle.bmc.http.internal.JsonRecordIterator<
+                            com.oracle.bmc.objectstorage.model.ObjectSummary>>
+            listObjectsRecordStream(ListObjectsRequest request) {
+        LOG.trace("Called listObjectsRecordStream");
+        final ListObjectsRequest interceptedRequest =
+                ListObjectsConverter.interceptRequest(request);
+        com.oracle.bmc.http.internal.WrappedInvocationBuilder ib =
+                ListObjectsConverter.fromRequest(client, interceptedRequest);
+        com.google.common.base.Function<
+                        javax.ws.rs.core.Response,
+                        com.oracle.bmc.http.internal.WithHeaders<
+                                com.oracle.bmc.http.internal.JsonRecordIterator<
+                                        com.oracle.bmc.objectstorage.model.ObjectSummary>>>
+                transformer = ListObjectsConverter.fromResponseAsRecordStream();
+
+        final com.oracle.bmc.retrier.BmcGenericRetrier retrier =
+                com.oracle.bmc.retrier.Retriers.createPreferredRetrier(
+                        interceptedRequest.getRetryConfiguration(), retryConfiguration);
+        return retrier.execute(
+                interceptedRequest,
+                retryRequest -> {
+                    final com.oracle.bmc.retrier.TokenRefreshRetrier tokenRefreshRetrier =
+                            new com.oracle.bmc.retrier.TokenRefreshRetrier(
+                                    authenticationDetailsProvider);
+                    return tokenRefreshRetrier.execute(
+                            retryRequest,
+                            retriedRequest -> {
+                                javax.ws.rs.core.Response response = client.get(ib, retriedRequest);
+                                return transformer.apply(response);
+                            });
+                });
+    }
+
     @Override
     public ListPreauthenticatedRequestsResponse listPreauthenticatedRequests(
             ListPreauthenticatedRequestsRequest request) {
@@ -24,11 +24,37 @@ import com.oracle.bmc.objectstorage.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20160918")
-@lombok.RequiredArgsConstructor
 public class ObjectStoragePaginators {
     private final ObjectStorage client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public ObjectStoragePaginators(ObjectStorage client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public ObjectStoragePaginators(
+            ObjectStorage client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listBuckets operation. This iterable
@@ -76,7 +102,8 @@ public class ObjectStoragePaginators {
                     public ListBucketsResponse apply(ListBucketsRequest request) {
                         return client.listBuckets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class ObjectStoragePaginators {
                             ListBucketsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -189,7 +217,8 @@ public class ObjectStoragePaginators {
                             ListMultipartUploadPartsRequest request) {
                         return client.listMultipartUploadParts(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -255,7 +284,8 @@ public class ObjectStoragePaginators {
                             apply(ListMultipartUploadPartsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -306,7 +336,8 @@ public class ObjectStoragePaginators {
                     public ListMultipartUploadsResponse apply(ListMultipartUploadsRequest request) {
                         return client.listMultipartUploads(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -368,7 +399,8 @@ public class ObjectStoragePaginators {
                             ListMultipartUploadsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -419,7 +451,8 @@ public class ObjectStoragePaginators {
                     public ListObjectVersionsResponse apply(ListObjectVersionsRequest request) {
                         return client.listObjectVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -482,7 +515,8 @@ public class ObjectStoragePaginators {
                             apply(ListObjectVersionsResponse response) {
                         return response.getObjectVersionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -531,7 +565,8 @@ public class ObjectStoragePaginators {
                     public ListObjectsResponse apply(ListObjectsRequest request) {
                         return client.listObjects(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -592,6 +627,92 @@ public class ObjectStoragePaginators {
                             ListObjectsResponse response) {
                         return response.getListObjects().getObjects();
                     }
+                },
+                prefetchConfiguration);
+    }
+
+    /**
+     * Creates a new iterable which will iterate over the {@link com.oracle.bmc.objectstorage.model.ObjectSummary} objects
+     * contained in responses from the listObjects operation, parsing each summary from the response when the caller
+     * needs it instead of reading whole pages into memory, so memory use stays constant however many objects
+     * there are. Pages are fetched when the caller needs them; the prefetch configuration is not used. The prefixes
+     * of the responses are not returned.
+     * <p>
+     * Iterators that are not iterated to the end must be closed to release the connection of the current page,
+     * for example with try-with-resources. If the client is not an {@link ObjectStorageClient}, the iterable returns the
+     * same records as {@link #listObjectsRecordIterator(ListObjectsRequest)}, and closing its iterators has no effect.
+     *
+     * @param request a request which can be sent to the service operation
+     * @return a {@link com.oracle.bmc.paginator.CloseableRecordIterable} which can be used to iterate over the
+     * {@link com.oracle.bmc.objectstorage.model.ObjectSummary} objects contained in responses received from the service.
+     */
+    public com.oracle.bmc.paginator.CloseableRecordIterable<com.oracle.bmc.objectstorage.model.ObjectSummary>
+            listObjectsRecordStream(final ListObjectsRequest request) {
+        if (!(client instanceof ObjectStorageClient)) {
+            return com.oracle.bmc.paginator.CloseableRecordIterable.of(
+                    listObjectsRecordIterator(request));
+        }
+        final ObjectStorageClient objectStorageClient = (ObjectStorageClient) client;
+        return new com.oracle.bmc.paginator.internal.StreamingRecordIterable<
+                ListObjectsRequest.Builder, ListObjectsRequest,
+                com.oracle.bmc.objectstorage.model.ObjectSummary>(
+                new com.google.common.base.Supplier<ListObjectsRequest.Builder>() {
+                    @Override
+                    public ListObjectsRequest.Builder get() {
+                        return ListObjectsRequest.builder().copy(request);
+                    }
+                },
+                new com.google.common.base.Function<
+                        com.oracle.bmc.http.internal.WithHeaders<
+                                com.oracle.bmc.http.internal.JsonRecordIterator<
+                                        com.oracle.bmc.objectstorage.model.ObjectSummary>>,
+                        String>() {
+                    @Override
+                    public String apply(
+                            com.oracle.bmc.http.internal.WithHeaders<
+                                            com.oracle.bmc.http.internal.JsonRecordIterator<
+                                                    com.oracle.bmc.objectstorage.model
+                                                            .ObjectSummary>>
+                                    page) {
+                        // nextStartWith follows the objects in the body, it is read once the
+                        // objects have been consumed
+                        com.fasterxml.jackson.databind.JsonNode nextStartWith =
+                                page.getItem().getField("nextStartWith");
+                        return (nextStartWith == null || nextStartWith.isNull())
+                                ? null
+                                : nextStartWith.asText();
+                    }
+                },
+                new com.google.common.base.Function<
+                        com.oracle.bmc.paginator.internal.RequestBuilderAndToken<
+                                ListObjectsRequest.Builder>,
+                        ListObjectsRequest>() {
+                    @Override
+                    public ListObjectsRequest apply(
+                            com.oracle.bmc.paginator.internal.RequestBuilderAndToken<
+                                            ListObjectsRequest.Builder>
+                                    input) {
+                        if (input.getToken() == null) {
+                            return input.getRequestBuilder().build();
+                        } else {
+                            return input.getRequestBuilder()
+                                    .start(input.getToken().orNull())
+                                    .build();
+                        }
+                    }
+                },
+                new com.google.common.base.Function<
+                        ListObjectsRequest,
+                        com.oracle.bmc.http.internal.WithHeaders<
+                                com.oracle.bmc.http.internal.JsonRecordIterator<
+                                        com.oracle.bmc.objectstorage.model.ObjectSummary>>>() {
+                    @Override
+                    public com.oracle.bmc.http.internal.WithHeaders<
+                                    com.oracle.bmc.http.internal.JsonRecordIterator<
+                                            com.oracle.bmc.objectstorage.model.ObjectSummary>>
+                            apply(ListObjectsRequest request) {
+                        return objectStorageClient.listObjectsRecordStream(request);
+                    }
                 });
     }
 
@@ -647,7 +768,8 @@ public class ObjectStoragePaginators {
                             ListPreauthenticatedRequestsRequest request) {
                         return client.listPreauthenticatedRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -718,7 +840,8 @@ public class ObjectStoragePaginators {
                             apply(ListPreauthenticatedRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -770,7 +893,8 @@ public class ObjectStoragePaginators {
                             ListReplicationPoliciesRequest request) {
                         return client.listReplicationPolicies(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -836,7 +960,8 @@ public class ObjectStoragePaginators {
                             apply(ListReplicationPoliciesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -888,7 +1013,8 @@ public class ObjectStoragePaginators {
                             ListReplicationSourcesRequest request) {
                         return client.listReplicationSources(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -952,7 +1078,8 @@ public class ObjectStoragePaginators {
                             apply(ListReplicationSourcesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1003,7 +1130,8 @@ public class ObjectStoragePaginators {
                     public ListRetentionRulesResponse apply(ListRetentionRulesRequest request) {
                         return client.listRetentionRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1066,7 +1194,8 @@ public class ObjectStoragePaginators {
                             apply(ListRetentionRulesResponse response) {
                         return response.getRetentionRuleCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1118,7 +1247,8 @@ public class ObjectStoragePaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1181,7 +1311,8 @@ public class ObjectStoragePaginators {
                             apply(ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1232,7 +1363,8 @@ public class ObjectStoragePaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1295,7 +1427,8 @@ public class ObjectStoragePaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1345,7 +1478,8 @@ public class ObjectStoragePaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1407,6 +1541,7 @@ public class ObjectStoragePaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
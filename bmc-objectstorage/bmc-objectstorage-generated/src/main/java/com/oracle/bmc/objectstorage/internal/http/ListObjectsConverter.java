@@ -179,4 +179,30 @@ public class ListObjectsConverter {
                         };
         return transformer;
     }
+
+    /**
+     * Creates a transformer which returns the object summaries of the response as a stream,
+     * parsed one summary at a time, instead of reading them into a list.  The prefixes and the
+     * next start are read once the summaries have been consumed.
+     */
+    public static com.google.common.base.Function<
+                    javax.ws.rs.core.Response,
+                    com.oracle.bmc.http.internal.WithHeaders<
+                            com.oracle.bmc.http.internal.JsonRecordIterator<ObjectSummary>>>
+            fromResponseAsRecordStream() {
+        return new com.google.common.base.Function<
+                javax.ws.rs.core.Response,
+                com.oracle.bmc.http.internal.WithHeaders<
+                        com.oracle.bmc.http.internal.JsonRecordIterator<ObjectSummary>>>() {
+            @Override
+            public com.oracle.bmc.http.internal.WithHeaders<
+                            com.oracle.bmc.http.internal.JsonRecordIterator<ObjectSummary>>
+                    apply(javax.ws.rs.core.Response rawResponse) {
+                LOG.trace("Record stream transform function invoked for ObjectSummary");
+                ResponseHelper.throwIfNotSuccessful(rawResponse);
+                return com.oracle.bmc.http.internal.JsonRecordIterator.fromResponse(
+                        rawResponse, ObjectSummary.class, "objects");
+            }
+        };
+    }
 }
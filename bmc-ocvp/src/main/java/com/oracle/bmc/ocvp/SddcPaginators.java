@@ -24,11 +24,37 @@ import com.oracle.bmc.ocvp.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20200501")
-@lombok.RequiredArgsConstructor
 public class SddcPaginators {
     private final Sddc client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public SddcPaginators(Sddc client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public SddcPaginators(
+            Sddc client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listSddcs operation. This iterable
@@ -75,7 +101,8 @@ public class SddcPaginators {
                     public ListSddcsResponse apply(ListSddcsRequest request) {
                         return client.listSddcs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -136,7 +163,8 @@ public class SddcPaginators {
                             ListSddcsResponse response) {
                         return response.getSddcCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -193,7 +221,8 @@ public class SddcPaginators {
                             ListSupportedVmwareSoftwareVersionsRequest request) {
                         return client.listSupportedVmwareSoftwareVersions(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -265,6 +294,7 @@ public class SddcPaginators {
                             apply(ListSupportedVmwareSoftwareVersionsResponse response) {
                         return response.getSupportedVmwareSoftwareVersionCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.osmanagement.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20190801")
-@lombok.RequiredArgsConstructor
 public class OsManagementPaginators {
     private final OsManagement client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public OsManagementPaginators(OsManagement client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public OsManagementPaginators(
+            OsManagement client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAvailablePackagesForManagedInstance operation. This iterable
@@ -85,7 +111,8 @@ public class OsManagementPaginators {
                             ListAvailablePackagesForManagedInstanceRequest request) {
                         return client.listAvailablePackagesForManagedInstance(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -157,7 +184,8 @@ public class OsManagementPaginators {
                             apply(ListAvailablePackagesForManagedInstanceResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -217,7 +245,8 @@ public class OsManagementPaginators {
                             ListAvailableSoftwareSourcesForManagedInstanceRequest request) {
                         return client.listAvailableSoftwareSourcesForManagedInstance(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -293,7 +322,8 @@ public class OsManagementPaginators {
                             apply(ListAvailableSoftwareSourcesForManagedInstanceResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -351,7 +381,8 @@ public class OsManagementPaginators {
                             ListAvailableUpdatesForManagedInstanceRequest request) {
                         return client.listAvailableUpdatesForManagedInstance(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -422,7 +453,8 @@ public class OsManagementPaginators {
                             apply(ListAvailableUpdatesForManagedInstanceResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -482,7 +514,8 @@ public class OsManagementPaginators {
                             ListAvailableWindowsUpdatesForManagedInstanceRequest request) {
                         return client.listAvailableWindowsUpdatesForManagedInstance(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -557,7 +590,8 @@ public class OsManagementPaginators {
                             apply(ListAvailableWindowsUpdatesForManagedInstanceResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -609,7 +643,8 @@ public class OsManagementPaginators {
                             ListManagedInstanceGroupsRequest request) {
                         return client.listManagedInstanceGroups(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -676,7 +711,8 @@ public class OsManagementPaginators {
                             apply(ListManagedInstanceGroupsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -727,7 +763,8 @@ public class OsManagementPaginators {
                     public ListManagedInstancesResponse apply(ListManagedInstancesRequest request) {
                         return client.listManagedInstances(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -791,7 +828,8 @@ public class OsManagementPaginators {
                             apply(ListManagedInstancesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -849,7 +887,8 @@ public class OsManagementPaginators {
                             ListPackagesInstalledOnManagedInstanceRequest request) {
                         return client.listPackagesInstalledOnManagedInstance(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -920,7 +959,8 @@ public class OsManagementPaginators {
                             apply(ListPackagesInstalledOnManagedInstanceResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -971,7 +1011,8 @@ public class OsManagementPaginators {
                     public ListScheduledJobsResponse apply(ListScheduledJobsRequest request) {
                         return client.listScheduledJobs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1033,7 +1074,8 @@ public class OsManagementPaginators {
                             apply(ListScheduledJobsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1085,7 +1127,8 @@ public class OsManagementPaginators {
                             ListSoftwareSourcePackagesRequest request) {
                         return client.listSoftwareSourcePackages(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1151,7 +1194,8 @@ public class OsManagementPaginators {
                             apply(ListSoftwareSourcePackagesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1202,7 +1246,8 @@ public class OsManagementPaginators {
                     public ListSoftwareSourcesResponse apply(ListSoftwareSourcesRequest request) {
                         return client.listSoftwareSources(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1265,7 +1310,8 @@ public class OsManagementPaginators {
                             apply(ListSoftwareSourcesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1317,7 +1363,8 @@ public class OsManagementPaginators {
                             ListUpcomingScheduledJobsRequest request) {
                         return client.listUpcomingScheduledJobs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1382,7 +1429,8 @@ public class OsManagementPaginators {
                             apply(ListUpcomingScheduledJobsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1433,7 +1481,8 @@ public class OsManagementPaginators {
                     public ListWindowsUpdatesResponse apply(ListWindowsUpdatesRequest request) {
                         return client.listWindowsUpdates(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1495,7 +1544,8 @@ public class OsManagementPaginators {
                             apply(ListWindowsUpdatesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1555,7 +1605,8 @@ public class OsManagementPaginators {
                             ListWindowsUpdatesInstalledOnManagedInstanceRequest request) {
                         return client.listWindowsUpdatesInstalledOnManagedInstance(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1630,7 +1681,8 @@ public class OsManagementPaginators {
                             apply(ListWindowsUpdatesInstalledOnManagedInstanceResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1682,7 +1734,8 @@ public class OsManagementPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1745,7 +1798,8 @@ public class OsManagementPaginators {
                             ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1796,7 +1850,8 @@ public class OsManagementPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1858,7 +1913,8 @@ public class OsManagementPaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1908,7 +1964,8 @@ public class OsManagementPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1970,7 +2027,8 @@ public class OsManagementPaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2022,7 +2080,8 @@ public class OsManagementPaginators {
                             SearchSoftwarePackagesRequest request) {
                         return client.searchSoftwarePackages(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2088,6 +2147,7 @@ public class OsManagementPaginators {
                             apply(SearchSoftwarePackagesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -24,11 +24,37 @@ import com.oracle.bmc.resourcemanager.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20180917")
-@lombok.RequiredArgsConstructor
 public class ResourceManagerPaginators {
     private final ResourceManager client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public ResourceManagerPaginators(ResourceManager client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public ResourceManagerPaginators(
+            ResourceManager client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the getJobLogs operation. This iterable
@@ -76,7 +102,8 @@ public class ResourceManagerPaginators {
                     public GetJobLogsResponse apply(GetJobLogsRequest request) {
                         return client.getJobLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -137,7 +164,8 @@ public class ResourceManagerPaginators {
                             GetJobLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -193,7 +221,8 @@ public class ResourceManagerPaginators {
                             ListConfigurationSourceProvidersRequest request) {
                         return client.listConfigurationSourceProviders(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -265,7 +294,8 @@ public class ResourceManagerPaginators {
                             apply(ListConfigurationSourceProvidersResponse response) {
                         return response.getConfigurationSourceProviderCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -313,7 +343,8 @@ public class ResourceManagerPaginators {
                     public ListJobsResponse apply(ListJobsRequest request) {
                         return client.listJobs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -374,7 +405,8 @@ public class ResourceManagerPaginators {
                             ListJobsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -430,7 +462,8 @@ public class ResourceManagerPaginators {
                             ListStackResourceDriftDetailsRequest request) {
                         return client.listStackResourceDriftDetails(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -500,7 +533,8 @@ public class ResourceManagerPaginators {
                             apply(ListStackResourceDriftDetailsResponse response) {
                         return response.getStackResourceDriftCollection().getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -549,7 +583,8 @@ public class ResourceManagerPaginators {
                     public ListStacksResponse apply(ListStacksRequest request) {
                         return client.listStacks(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -610,7 +645,8 @@ public class ResourceManagerPaginators {
                             ListStacksResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -662,7 +698,8 @@ public class ResourceManagerPaginators {
                             ListWorkRequestErrorsRequest request) {
                         return client.listWorkRequestErrors(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -726,7 +763,8 @@ public class ResourceManagerPaginators {
                             apply(ListWorkRequestErrorsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -777,7 +815,8 @@ public class ResourceManagerPaginators {
                     public ListWorkRequestLogsResponse apply(ListWorkRequestLogsRequest request) {
                         return client.listWorkRequestLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -841,7 +880,8 @@ public class ResourceManagerPaginators {
                             apply(ListWorkRequestLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -891,7 +931,8 @@ public class ResourceManagerPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -953,6 +994,7 @@ public class ResourceManagerPaginators {
                             apply(ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.consumer;
+
+import com.oracle.bmc.streaming.model.Message;
+
+/**
+ * Processes the messages consumed by a {@link StreamConsumer}.
+ */
+public interface MessageHandler {
+    /**
+     * Processes a message.  Called by the worker threads of the consumer, in order for the messages of the
+     * same partition, and concurrently for messages of different partitions.
+     *
+     * @param message the message
+     * @throws Exception if the message could not be processed, which stops the consumer.  The message and
+     * all messages after it are not committed, and are consumed again by the group.
+     */
+    void handle(Message message) throws Exception;
+}
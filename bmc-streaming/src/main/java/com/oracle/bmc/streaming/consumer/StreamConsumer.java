@@ -0,0 +1,477 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.consumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.retrier.DefaultRetryCondition;
+import com.oracle.bmc.retrier.RetryCondition;
+import com.oracle.bmc.streaming.Stream;
+import com.oracle.bmc.streaming.model.CreateGroupCursorDetails;
+import com.oracle.bmc.streaming.model.Message;
+import com.oracle.bmc.streaming.requests.ConsumerCommitRequest;
+import com.oracle.bmc.streaming.requests.ConsumerHeartbeatRequest;
+import com.oracle.bmc.streaming.requests.CreateGroupCursorRequest;
+import com.oracle.bmc.streaming.requests.GetMessagesRequest;
+import com.oracle.bmc.streaming.responses.GetMessagesResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StreamConsumer consumes a stream as an instance of a consumer group.
+ * <p>
+ * A fetch thread gets the next batch of messages while the messages of the previous batches are processed,
+ * up to {@link StreamConsumerConfiguration#getMaxPrefetchedBatches()} batches ahead.  Messages are passed to
+ * the {@link MessageHandler} on a pool of worker threads, in order for the messages of the same partition.
+ * Once all messages of a batch, and of all batches before it, have been processed, the offsets are committed
+ * in the background.  A heartbeat keeps the partitions reserved while messages are processed.
+ * <p>
+ * Messages are delivered at least once: messages that have been processed but not committed yet when the
+ * consumer stops, for example because a message could not be processed, are consumed again by the group.
+ * <p>
+ * The stream client must be configured with the messages endpoint of the stream.
+ */
+@Slf4j
+public class StreamConsumer implements AutoCloseable {
+    private static final RetryCondition RETRY_CONDITION = new DefaultRetryCondition();
+
+    private final Stream streamClient;
+    private final String streamId;
+    private final StreamConsumerConfiguration configuration;
+    private final MessageHandler handler;
+    private final ExecutorService workerExecutorService;
+    private final boolean shutdownWorkerExecutorService;
+    private final ScheduledExecutorService scheduler;
+    private final Semaphore unprocessedBatches;
+    private final Map<String, PartitionWorker> partitionWorkers = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final Object lock = new Object();
+    // batches that have been dispatched but not committed yet, in order, guarded by lock
+    private final Deque<Batch> uncommittedBatches = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private volatile String cursor;
+    private volatile Throwable failure;
+    private Thread fetchThread;
+
+    /**
+     * Creates a new StreamConsumer.  The consumer creates its own worker threads, and shuts them down when it
+     * is closed.
+     *
+     * @param streamClient The client used to consume, configured with the messages endpoint of the stream.
+     * @param streamId The OCID of the stream.
+     * @param configuration The consumer configuration.
+     * @param handler The handler processing the messages.
+     */
+    public StreamConsumer(
+            Stream streamClient,
+            String streamId,
+            StreamConsumerConfiguration configuration,
+            MessageHandler handler) {
+        this(streamClient, streamId, configuration, handler, null);
+    }
+
+    /**
+     * Creates a new StreamConsumer.
+     *
+     * @param streamClient The client used to consume, configured with the messages endpoint of the stream.
+     * @param streamId The OCID of the stream.
+     * @param configuration The consumer configuration.
+     * @param handler The handler processing the messages.
+     * @param workerExecutorService The executor processing the messages, or null to let the consumer create its
+     *                              own worker threads.  It is not shut down when the consumer is closed.
+     */
+    public StreamConsumer(
+            @NonNull Stream streamClient,
+            @NonNull String streamId,
+            @NonNull StreamConsumerConfiguration configuration,
+            @NonNull MessageHandler handler,
+            ExecutorService workerExecutorService) {
+        this.streamClient = streamClient;
+        this.streamId = streamId;
+        this.configuration = configuration;
+        this.handler = handler;
+        if (workerExecutorService != null) {
+            this.workerExecutorService = workerExecutorService;
+            this.shutdownWorkerExecutorService = false;
+        } else {
+            this.workerExecutorService =
+                    Executors.newFixedThreadPool(
+                            configuration.getWorkerThreads(),
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("stream-consumer-worker-%d")
+                                    .setDaemon(true)
+                                    .build());
+            this.shutdownWorkerExecutorService = true;
+        }
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("stream-consumer-scheduler-%d")
+                                .setDaemon(true)
+                                .build());
+        this.unprocessedBatches = new Semaphore(configuration.getMaxPrefetchedBatches() + 1);
+    }
+
+    /**
+     * Joins the consumer group and starts consuming.
+     *
+     * @throws BmcException if the group cursor could not be created.
+     * @throws IllegalStateException if the consumer has already been started, or has been closed.
+     */
+    public void start() {
+        Validate.validState(!closed.get(), "StreamConsumer is closed");
+        Validate.validState(started.compareAndSet(false, true), "StreamConsumer already started");
+
+        cursor =
+                streamClient
+                        .createGroupCursor(
+                                CreateGroupCursorRequest.builder()
+                                        .streamId(streamId)
+                                        .createGroupCursorDetails(
+                                                CreateGroupCursorDetails.builder()
+                                                        .groupName(configuration.getGroupName())
+                                                        .instanceName(
+                                                                configuration.getInstanceName())
+                                                        .type(configuration.getCursorType())
+                                                        .time(configuration.getTime())
+                                                        .timeoutInMs(configuration.getTimeoutInMs())
+                                                        .commitOnGet(false)
+                                                        .build())
+                                        .build())
+                        .getCursor()
+                        .getValue();
+        running = true;
+
+        scheduler.scheduleWithFixedDelay(
+                this::heartbeat,
+                configuration.getHeartbeatIntervalMillis(),
+                configuration.getHeartbeatIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+        fetchThread =
+                new ThreadFactoryBuilder()
+                        .setNameFormat("stream-consumer-fetcher-%d")
+                        .setDaemon(true)
+                        .build()
+                        .newThread(this::fetchLoop);
+        fetchThread.start();
+    }
+
+    /**
+     * Whether the consumer has been started, and has neither been closed nor stopped because of a failure.
+     *
+     * @return true if the consumer is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the failure that stopped the consumer, if any.
+     *
+     * @return the exception or error thrown by the handler, the exception of a request that could not be
+     * retried, or the exception of the worker executor if it rejected the processing of messages, or null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops consuming.  Waits until the messages that have already been fetched have been processed, and
+     * commits them.  Closing a consumer that has already been closed does nothing.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        running = false;
+        if (fetchThread != null) {
+            fetchThread.interrupt();
+            joinUninterruptibly(fetchThread);
+        }
+
+        synchronized (lock) {
+            while (failure == null && hasUnprocessedBatches()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        scheduler.execute(this::commitProcessedBatches);
+        scheduler.shutdown();
+        if (shutdownWorkerExecutorService) {
+            workerExecutorService.shutdown();
+        }
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fetchLoop() {
+        while (running) {
+            try {
+                unprocessedBatches.acquire();
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            final GetMessagesResponse response;
+            try {
+                response =
+                        streamClient.getMessages(
+                                GetMessagesRequest.builder()
+                                        .streamId(streamId)
+                                        .cursor(cursor)
+                                        .limit(configuration.getFetchLimit())
+                                        .build());
+            } catch (BmcException e) {
+                unprocessedBatches.release();
+                if (!running) {
+                    // interrupted by close
+                    break;
+                }
+                if (!RETRY_CONDITION.shouldBeRetried(e)) {
+                    stop(e);
+                    break;
+                }
+                LOG.warn("GetMessages failed, retrying", e);
+                if (!backOff()) {
+                    break;
+                }
+                continue;
+            } catch (RuntimeException e) {
+                unprocessedBatches.release();
+                if (running) {
+                    stop(e);
+                }
+                break;
+            }
+
+            final List<Message> messages = response.getItems();
+            if (!running) {
+                // not dispatched, so not committed; the group delivers them again
+                unprocessedBatches.release();
+                break;
+            }
+            cursor = response.getOpcNextCursor();
+            if (messages == null || messages.isEmpty()) {
+                unprocessedBatches.release();
+                if (!backOff()) {
+                    break;
+                }
+                continue;
+            }
+            dispatch(new Batch(response.getOpcNextCursor(), messages.size()), messages);
+        }
+    }
+
+    private boolean backOff() {
+        try {
+            Thread.sleep(configuration.getPollBackoffMillis());
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private void dispatch(final Batch batch, List<Message> messages) {
+        synchronized (lock) {
+            uncommittedBatches.add(batch);
+        }
+        for (final Message message : messages) {
+            PartitionWorker worker = partitionWorkers.get(message.getPartition());
+            if (worker == null) {
+                partitionWorkers.putIfAbsent(message.getPartition(), new PartitionWorker());
+                worker = partitionWorkers.get(message.getPartition());
+            }
+            worker.execute(() -> process(batch, message));
+        }
+    }
+
+    private void process(Batch batch, Message message) {
+        if (failure != null) {
+            // the batch will not be committed anyway
+            return;
+        }
+        try {
+            handler.handle(message);
+        } catch (Throwable t) {
+            LOG.error(
+                    "Failed to process message at offset {} of partition {}, stopping consumer",
+                    message.getOffset(),
+                    message.getPartition(),
+                    t);
+            // recorded before an error is rethrown, so that close does not wait for the batch
+            stop(t);
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            return;
+        }
+        if (batch.unprocessedMessages.decrementAndGet() == 0) {
+            unprocessedBatches.release();
+            synchronized (lock) {
+                batch.processed = true;
+                lock.notifyAll();
+            }
+            scheduler.execute(this::commitProcessedBatches);
+        }
+    }
+
+    /*
+     * Commits the cursor of the last batch that has been processed, if all batches before it have been
+     * processed too.  Only runs on the scheduler thread, so commits are sent in order.
+     */
+    private void commitProcessedBatches() {
+        String commitCursor = null;
+        synchronized (lock) {
+            while (!uncommittedBatches.isEmpty() && uncommittedBatches.peek().processed) {
+                commitCursor = uncommittedBatches.poll().nextCursor;
+            }
+        }
+        if (commitCursor == null) {
+            return;
+        }
+        try {
+            streamClient.consumerCommit(
+                    ConsumerCommitRequest.builder()
+                            .streamId(streamId)
+                            .cursor(commitCursor)
+                            .build());
+        } catch (RuntimeException e) {
+            // the next commit includes these offsets
+            LOG.warn("Failed to commit offsets", e);
+        }
+    }
+
+    private void heartbeat() {
+        if (!running) {
+            return;
+        }
+        try {
+            streamClient.consumerHeartbeat(
+                    ConsumerHeartbeatRequest.builder().streamId(streamId).cursor(cursor).build());
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to send heartbeat", e);
+        }
+    }
+
+    private void stop(Throwable t) {
+        synchronized (lock) {
+            if (failure == null) {
+                failure = t;
+            }
+            running = false;
+            lock.notifyAll();
+        }
+        if (fetchThread != null && Thread.currentThread() != fetchThread) {
+            fetchThread.interrupt();
+        }
+    }
+
+    // must hold lock
+    private boolean hasUnprocessedBatches() {
+        for (Batch batch : uncommittedBatches) {
+            if (!batch.processed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Batch {
+        private final String nextCursor;
+        private final AtomicInteger unprocessedMessages;
+        // guarded by lock
+        private boolean processed;
+
+        private Batch(String nextCursor, int messageCount) {
+            this.nextCursor = nextCursor;
+            this.unprocessedMessages = new AtomicInteger(messageCount);
+        }
+    }
+
+    /*
+     * Runs the messages of one partition one after the other on the worker executor.
+     */
+    private final class PartitionWorker {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void execute(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    workerExecutorService.execute(this::runTasks);
+                } catch (RejectedExecutionException e) {
+                    // batches of dropped messages are not committed, the group delivers them again
+                    tasks.clear();
+                    scheduled.set(false);
+                    if (failure == null) {
+                        LOG.error("Worker executor rejected messages, stopping consumer", e);
+                    }
+                    stop(e);
+                }
+            }
+        }
+
+        private void runTasks() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+            } finally {
+                scheduled.set(false);
+                // a task may have been added after the queue was found empty
+                schedule();
+            }
+        }
+    }
+}
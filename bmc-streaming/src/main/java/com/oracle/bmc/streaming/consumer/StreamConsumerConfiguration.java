@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.consumer;
+
+import com.oracle.bmc.streaming.model.CreateGroupCursorDetails;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Date;
+
+/**
+ * StreamConsumerConfiguration controls the consumer group a {@link StreamConsumer} joins, and how it
+ * fetches and processes messages.
+ */
+@Getter
+@ToString
+public class StreamConsumerConfiguration {
+    private static final int DEFAULT_MAX_PREFETCHED_BATCHES = 1;
+    private static final int DEFAULT_WORKER_THREADS = 4;
+    private static final int DEFAULT_HEARTBEAT_INTERVAL_MILLIS = 10000;
+    private static final int DEFAULT_POLL_BACKOFF_MILLIS = 500;
+
+    /**
+     * Name of the consumer group.  Required.
+     */
+    private final String groupName;
+    /**
+     * Name of the consumer instance in the group, or null to let the service generate one.
+     */
+    private final String instanceName;
+    /**
+     * Where the group starts to consume if it does not exist yet, default TRIM_HORIZON.
+     */
+    private final CreateGroupCursorDetails.Type cursorType;
+    /**
+     * The time to start consuming from if the cursor type is AT_TIME.
+     */
+    private final Date time;
+    /**
+     * Time in milliseconds without requests after which the partitions reserved by this instance are released,
+     * or null to use the service default.
+     */
+    private final Integer timeoutInMs;
+    /**
+     * Max number of messages per GetMessages request, or null to let the service return as many as possible.
+     * <p>
+     * Note: Accepted values: 1 - 10000.
+     */
+    private final Integer fetchLimit;
+    /**
+     * Number of batches fetched ahead while messages of earlier batches are processed, default 1.
+     */
+    private final int maxPrefetchedBatches;
+    /**
+     * Number of threads processing messages, default 4.  Only used if the consumer creates its own worker
+     * threads.
+     */
+    private final int workerThreads;
+    /**
+     * Interval in milliseconds of the heartbeats that keep the partitions reserved while messages are
+     * processed, default 10,000.  Should be well below the timeout of the group.
+     */
+    private final int heartbeatIntervalMillis;
+    /**
+     * Time in milliseconds to wait before the next GetMessages request after one that returned no messages
+     * or failed with an error that can be retried, default 500.
+     */
+    private final int pollBackoffMillis;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private StreamConsumerConfiguration(
+            @NonNull String groupName,
+            String instanceName,
+            CreateGroupCursorDetails.Type cursorType,
+            Date time,
+            Integer timeoutInMs,
+            Integer fetchLimit,
+            Integer maxPrefetchedBatches,
+            Integer workerThreads,
+            Integer heartbeatIntervalMillis,
+            Integer pollBackoffMillis) {
+        this.groupName = groupName;
+        this.instanceName = instanceName;
+        this.cursorType = getOrDefault(cursorType, CreateGroupCursorDetails.Type.TrimHorizon);
+        this.time = time;
+        this.timeoutInMs = timeoutInMs;
+        this.fetchLimit = fetchLimit;
+        this.maxPrefetchedBatches =
+                getOrDefault(maxPrefetchedBatches, DEFAULT_MAX_PREFETCHED_BATCHES);
+        this.workerThreads = getOrDefault(workerThreads, DEFAULT_WORKER_THREADS);
+        this.heartbeatIntervalMillis =
+                getOrDefault(heartbeatIntervalMillis, DEFAULT_HEARTBEAT_INTERVAL_MILLIS);
+        this.pollBackoffMillis = getOrDefault(pollBackoffMillis, DEFAULT_POLL_BACKOFF_MILLIS);
+
+        Validate.isTrue(
+                (this.cursorType == CreateGroupCursorDetails.Type.AtTime) == (this.time != null),
+                "time must be set if and only if cursorType is AT_TIME");
+        if (this.fetchLimit != null) {
+            Validate.inclusiveBetween(
+                    1,
+                    10000,
+                    this.fetchLimit.intValue(),
+                    String.format(
+                            "fetchLimit [%s] must be between %s-%s (inclusive)",
+                            this.fetchLimit,
+                            1,
+                            10000));
+        }
+        validateAtLeast("maxPrefetchedBatches", this.maxPrefetchedBatches, 0);
+        validateAtLeast("workerThreads", this.workerThreads, 1);
+        validateAtLeast("heartbeatIntervalMillis", this.heartbeatIntervalMillis, 1);
+        validateAtLeast("pollBackoffMillis", this.pollBackoffMillis, 0);
+    }
+
+    private static void validateAtLeast(String name, int value, int minimum) {
+        Validate.isTrue(
+                value >= minimum,
+                String.format(
+                        "%s [%s] must be greater than or equal to %s", name, value, minimum));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
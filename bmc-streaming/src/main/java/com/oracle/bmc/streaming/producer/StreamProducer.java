@@ -0,0 +1,453 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.producer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.retrier.DefaultRetryCondition;
+import com.oracle.bmc.retrier.RetryCondition;
+import com.oracle.bmc.streaming.Stream;
+import com.oracle.bmc.streaming.model.PutMessagesDetails;
+import com.oracle.bmc.streaming.model.PutMessagesDetailsEntry;
+import com.oracle.bmc.streaming.model.PutMessagesResultEntry;
+import com.oracle.bmc.streaming.requests.PutMessagesRequest;
+import com.oracle.bmc.streaming.responses.PutMessagesResponse;
+import com.oracle.bmc.waiter.WaiterConfiguration.WaitContext;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StreamProducer puts messages into a stream in batches.
+ * <p>
+ * Messages can be sent from many threads.  They are collected into batches, and every batch is sent
+ * with one PutMessages request, see {@link StreamProducerConfiguration} for when batches are sent.  Up to
+ * {@link StreamProducerConfiguration#getMaxInFlightBatches()} batches are sent in parallel.  If some
+ * messages of a batch fail, only those messages are sent again.  If the whole request fails with an error
+ * that can be retried, all its messages are sent again.
+ * <p>
+ * Messages that share a key are stored on the same partition, but since batches are sent in parallel and
+ * retried, they may be stored in a different order than they were sent.  Use
+ * {@code maxInFlightBatches(1)} and {@code maxRetries(0)} if the order matters.
+ * <p>
+ * The stream client must be configured with the messages endpoint of the stream.  The producer must be
+ * closed after use, which sends all messages that have been accepted.
+ */
+@Slf4j
+public class StreamProducer implements AutoCloseable {
+    // {"messages":[]}
+    private static final int REQUEST_OVERHEAD_IN_BYTES = 16;
+    // {"key":"","value":""},
+    private static final int MESSAGE_OVERHEAD_IN_BYTES = 23;
+
+    private static final RetryCondition RETRY_CONDITION = new DefaultRetryCondition();
+
+    private final Stream streamClient;
+    private final String streamId;
+    private final StreamProducerConfiguration configuration;
+    private final ExecutorService executorService;
+    private final boolean shutdownExecutorService;
+    private final ScheduledExecutorService scheduler;
+    private final Semaphore bufferedMessages;
+    private final Semaphore inFlightBatches;
+    private final Deque<Batch> readyBatches = new ConcurrentLinkedDeque<>();
+    private final Set<Message> unfinishedMessages = ConcurrentHashMap.newKeySet();
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private Batch openBatch;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new StreamProducer with the default configuration.
+     *
+     * @param streamClient The client used to put messages, configured with the messages endpoint of the stream.
+     * @param streamId The OCID of the stream.
+     */
+    public StreamProducer(Stream streamClient, String streamId) {
+        this(streamClient, streamId, StreamProducerConfiguration.builder().build());
+    }
+
+    /**
+     * Creates a new StreamProducer.  The producer creates its own threads to send batches, and shuts them
+     * down when it is closed.
+     *
+     * @param streamClient The client used to put messages, configured with the messages endpoint of the stream.
+     * @param streamId The OCID of the stream.
+     * @param configuration The producer configuration.
+     */
+    public StreamProducer(
+            Stream streamClient, String streamId, StreamProducerConfiguration configuration) {
+        this(streamClient, streamId, configuration, null);
+    }
+
+    /**
+     * Creates a new StreamProducer.
+     *
+     * @param streamClient The client used to put messages, configured with the messages endpoint of the stream.
+     * @param streamId The OCID of the stream.
+     * @param configuration The producer configuration.
+     * @param executorService The executor used to send batches, or null to let the producer create its own
+     *                        threads.  It is not shut down when the producer is closed.
+     */
+    public StreamProducer(
+            @NonNull Stream streamClient,
+            @NonNull String streamId,
+            @NonNull StreamProducerConfiguration configuration,
+            ExecutorService executorService) {
+        this.streamClient = streamClient;
+        this.streamId = streamId;
+        this.configuration = configuration;
+        if (executorService != null) {
+            this.executorService = executorService;
+            this.shutdownExecutorService = false;
+        } else {
+            this.executorService =
+                    Executors.newFixedThreadPool(
+                            configuration.getMaxInFlightBatches(),
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("stream-producer-sender-%d")
+                                    .setDaemon(true)
+                                    .build());
+            this.shutdownExecutorService = true;
+        }
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("stream-producer-scheduler-%d")
+                                .setDaemon(true)
+                                .build());
+        this.bufferedMessages = new Semaphore(configuration.getMaxBufferedMessages());
+        this.inFlightBatches = new Semaphore(configuration.getMaxInFlightBatches());
+    }
+
+    /**
+     * Sends a message.  Returns once the message has been added to a batch, which blocks while
+     * {@link StreamProducerConfiguration#getMaxBufferedMessages()} messages are waiting to be sent.
+     *
+     * @param key The key of the message, or null to let the service generate one.
+     * @param value The value of the message.
+     * @return a future that completes with the partition and offset of the message once it has been stored,
+     * or exceptionally with a {@link BmcException} if it could not be stored.
+     * @throws IllegalArgumentException if the message is larger than the max batch size.
+     * @throws IllegalStateException if the producer is closed.
+     */
+    public CompletableFuture<PutMessagesResultEntry> send(byte[] key, @NonNull byte[] value) {
+        Validate.validState(!closed, "StreamProducer is closed");
+        final Message message = new Message(key, value);
+        Validate.isTrue(
+                REQUEST_OVERHEAD_IN_BYTES + message.sizeInBytes
+                        <= configuration.getMaxBatchSizeInBytes(),
+                "Message of %s bytes (base64-encoded) is larger than the max batch size of %s bytes",
+                message.sizeInBytes,
+                configuration.getMaxBatchSizeInBytes());
+
+        try {
+            bufferedMessages.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message.future.completeExceptionally(e);
+            return message.future;
+        }
+
+        final List<Batch> sealedBatches = new ArrayList<>(2);
+        synchronized (lock) {
+            if (closed) {
+                bufferedMessages.release();
+                throw new IllegalStateException("StreamProducer is closed");
+            }
+            unfinishedMessages.add(message);
+            if (openBatch != null && !openBatch.fits(message)) {
+                sealedBatches.add(sealOpenBatch());
+            }
+            if (openBatch == null) {
+                final Batch batch = new Batch();
+                batch.lingerTask =
+                        scheduler.schedule(
+                                () -> sealIfOpen(batch),
+                                configuration.getLingerMillis(),
+                                TimeUnit.MILLISECONDS);
+                openBatch = batch;
+            }
+            openBatch.add(message);
+            if (openBatch.messages.size() >= configuration.getMaxBatchMessages()) {
+                sealedBatches.add(sealOpenBatch());
+            }
+        }
+        readyBatches.addAll(sealedBatches);
+        dispatch();
+        return message.future;
+    }
+
+    /**
+     * Sends all messages that have been accepted without waiting for their batches to fill up, and waits
+     * until they have been stored or have failed.
+     */
+    public void flush() {
+        final Batch batch;
+        synchronized (lock) {
+            batch = openBatch != null ? sealOpenBatch() : null;
+        }
+        if (batch != null) {
+            readyBatches.add(batch);
+            dispatch();
+        }
+
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Message message : unfinishedMessages) {
+            futures.add(message.future.exceptionally(t -> null));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Closes the producer.  Sends all messages that have been accepted, and waits until they have been
+     * stored or have failed.  No more messages can be sent afterwards.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            flush();
+        } finally {
+            scheduler.shutdown();
+            if (shutdownExecutorService) {
+                executorService.shutdown();
+            }
+        }
+    }
+
+    // must hold lock
+    private Batch sealOpenBatch() {
+        final Batch batch = openBatch;
+        openBatch = null;
+        batch.lingerTask.cancel(false);
+        return batch;
+    }
+
+    private void sealIfOpen(Batch batch) {
+        synchronized (lock) {
+            if (openBatch != batch) {
+                // already sealed because it was full, or by a flush
+                return;
+            }
+            openBatch = null;
+        }
+        readyBatches.add(batch);
+        dispatch();
+    }
+
+    /*
+     * Starts sending ready batches while fewer than maxInFlightBatches are in flight.  Called after every
+     * batch that became ready and every batch that completed, so no ready batch is left behind.
+     */
+    private void dispatch() {
+        while (!readyBatches.isEmpty() && inFlightBatches.tryAcquire()) {
+            final Batch batch = readyBatches.poll();
+            if (batch == null) {
+                inFlightBatches.release();
+                continue;
+            }
+            try {
+                executorService.execute(() -> sendBatch(batch));
+            } catch (RuntimeException e) {
+                inFlightBatches.release();
+                failAll(batch.messages, e);
+            }
+        }
+    }
+
+    private void sendBatch(Batch batch) {
+        try {
+            final List<PutMessagesDetailsEntry> entries = new ArrayList<>(batch.messages.size());
+            for (Message message : batch.messages) {
+                entries.add(
+                        PutMessagesDetailsEntry.builder()
+                                .key(message.key)
+                                .value(message.value)
+                                .build());
+            }
+
+            final PutMessagesResponse response;
+            try {
+                response =
+                        streamClient.putMessages(
+                                PutMessagesRequest.builder()
+                                        .streamId(streamId)
+                                        .putMessagesDetails(
+                                                PutMessagesDetails.builder()
+                                                        .messages(entries)
+                                                        .build())
+                                        .build());
+            } catch (BmcException e) {
+                if (RETRY_CONDITION.shouldBeRetried(e)) {
+                    LOG.debug("PutMessages of {} messages failed", batch.messages.size(), e);
+                    final Map<Message, BmcException> failures = new LinkedHashMap<>();
+                    for (Message message : batch.messages) {
+                        failures.put(message, e);
+                    }
+                    retryOrFail(failures);
+                } else {
+                    failAll(batch.messages, e);
+                }
+                return;
+            }
+
+            handleResults(batch.messages, response);
+        } catch (RuntimeException e) {
+            failAll(batch.messages, e);
+        } finally {
+            inFlightBatches.release();
+            dispatch();
+        }
+    }
+
+    private void handleResults(List<Message> messages, PutMessagesResponse response) {
+        final List<PutMessagesResultEntry> results = response.getPutMessagesResult().getEntries();
+        final Map<Message, BmcException> failures = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            final Message message = messages.get(i);
+            if (results == null || i >= results.size()) {
+                fail(
+                        message,
+                        new BmcException(
+                                false,
+                                "PutMessages returned no result for the message",
+                                null,
+                                response.getOpcRequestId()));
+                continue;
+            }
+            final PutMessagesResultEntry result = results.get(i);
+            if (result.getError() == null) {
+                complete(message, result);
+            } else {
+                failures.put(
+                        message,
+                        new BmcException(
+                                -1,
+                                result.getError(),
+                                result.getErrorMessage(),
+                                response.getOpcRequestId()));
+            }
+        }
+        if (!failures.isEmpty()) {
+            LOG.debug("{} of {} messages failed", failures.size(), messages.size());
+            retryOrFail(failures);
+        }
+    }
+
+    /*
+     * Sends the failed messages again after a delay, or fails them with their own error once they have
+     * been retried maxRetries times.
+     */
+    private void retryOrFail(Map<Message, BmcException> failures) {
+        final Batch retryBatch = new Batch();
+        int maxAttempts = 0;
+        for (Map.Entry<Message, BmcException> failure : failures.entrySet()) {
+            final Message message = failure.getKey();
+            if (message.retries < configuration.getMaxRetries()) {
+                message.retries++;
+                maxAttempts = Math.max(maxAttempts, message.retries);
+                retryBatch.add(message);
+            } else {
+                fail(message, failure.getValue());
+            }
+        }
+        if (retryBatch.messages.isEmpty()) {
+            return;
+        }
+
+        final long backoffMillis =
+                configuration
+                        .getRetryDelayStrategy()
+                        .nextDelay(new WaitContext(System.currentTimeMillis(), maxAttempts));
+        scheduler.schedule(
+                () -> {
+                    // retried messages go first, they have waited the longest
+                    readyBatches.addFirst(retryBatch);
+                    dispatch();
+                },
+                backoffMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void failAll(List<Message> messages, Exception e) {
+        for (Message message : messages) {
+            fail(message, e);
+        }
+    }
+
+    private void complete(Message message, PutMessagesResultEntry result) {
+        finish(message);
+        message.future.complete(result);
+    }
+
+    private void fail(Message message, Exception e) {
+        finish(message);
+        message.future.completeExceptionally(e);
+    }
+
+    private void finish(Message message) {
+        if (unfinishedMessages.remove(message)) {
+            bufferedMessages.release();
+        }
+    }
+
+    private static int base64Length(byte[] bytes) {
+        return bytes == null ? 0 : 4 * ((bytes.length + 2) / 3);
+    }
+
+    private static final class Message {
+        private final byte[] key;
+        private final byte[] value;
+        private final int sizeInBytes;
+        private final CompletableFuture<PutMessagesResultEntry> future = new CompletableFuture<>();
+        // only changed by the thread handling the batch of the message
+        private volatile int retries;
+
+        private Message(byte[] key, byte[] value) {
+            this.key = key;
+            this.value = value;
+            this.sizeInBytes = MESSAGE_OVERHEAD_IN_BYTES + base64Length(key) + base64Length(value);
+        }
+    }
+
+    private final class Batch {
+        private final List<Message> messages = new ArrayList<>();
+        private int sizeInBytes = REQUEST_OVERHEAD_IN_BYTES;
+        private ScheduledFuture<?> lingerTask;
+
+        private boolean fits(Message message) {
+            return messages.size() < configuration.getMaxBatchMessages()
+                    && sizeInBytes + message.sizeInBytes <= configuration.getMaxBatchSizeInBytes();
+        }
+
+        private void add(Message message) {
+            messages.add(message);
+            sizeInBytes += message.sizeInBytes;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.producer;
+
+import com.oracle.bmc.waiter.DelayStrategy;
+import com.oracle.bmc.waiter.ExponentialBackoffDelayStrategyWithJitter;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * StreamProducerConfiguration controls how the {@link StreamProducer} batches and sends messages.
+ * <p>
+ * A batch is sent when it holds {@link #maxBatchMessages} messages, when the next message would make it
+ * larger than {@link #maxBatchSizeInBytes}, or when its first message has waited for {@link #lingerMillis}.
+ */
+@Getter
+@ToString
+public class StreamProducerConfiguration {
+    /*
+     * The total size of a message or request must be 1 MiB or less, see
+     * https://docs.cloud.oracle.com/iaas/Content/Streaming/Concepts/streamingoverview.htm
+     */
+    public static final int MAXIMUM_ALLOWED_BATCH_SIZE_IN_BYTES = 1024 * 1024;
+
+    private static final int DEFAULT_MAX_BATCH_MESSAGES = 1000;
+    private static final int DEFAULT_LINGER_MILLIS = 10;
+    private static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 4;
+    private static final int DEFAULT_MAX_BUFFERED_MESSAGES = 10000;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final DelayStrategy DEFAULT_RETRY_DELAY_STRATEGY =
+            new ExponentialBackoffDelayStrategyWithJitter(100, 10000);
+
+    /**
+     * Max number of messages per PutMessages request, default 1000.
+     */
+    private final int maxBatchMessages;
+    /**
+     * Max size in bytes of a PutMessages request, default 1 MiB (the max allowed by the Streaming Service).
+     * Keys and values are counted base64-encoded, as they are sent.
+     * <p>
+     * Note: Accepted values: 1 - 1048576.
+     */
+    private final int maxBatchSizeInBytes;
+    /**
+     * Time in milliseconds a message waits for more messages to join its batch, default 10.  0 sends
+     * batches as soon as a sender is available.
+     */
+    private final int lingerMillis;
+    /**
+     * Max number of PutMessages requests in flight, default 4.
+     */
+    private final int maxInFlightBatches;
+    /**
+     * Max number of messages that have been accepted but not yet sent, default 10,000.  Once reached,
+     * {@link StreamProducer#send(byte[], byte[])} blocks until messages have been sent.
+     */
+    private final int maxBufferedMessages;
+    /**
+     * Number of times a message that failed is sent again, default 3.  Only the messages that failed
+     * are retried, not the whole batch.
+     */
+    private final int maxRetries;
+    /**
+     * Delay before a message that failed is sent again, default 100 milliseconds, doubling with every
+     * retry up to 10 seconds, less a random jitter.  The attempts made are the sends of the message that
+     * failed.
+     */
+    private final DelayStrategy retryDelayStrategy;
+
+    // Explicit @Builder on constructor so we can enforce default values.
+    @Builder
+    private StreamProducerConfiguration(
+            Integer maxBatchMessages,
+            Integer maxBatchSizeInBytes,
+            Integer lingerMillis,
+            Integer maxInFlightBatches,
+            Integer maxBufferedMessages,
+            Integer maxRetries,
+            DelayStrategy retryDelayStrategy) {
+        this.maxBatchMessages = getOrDefault(maxBatchMessages, DEFAULT_MAX_BATCH_MESSAGES);
+        this.maxBatchSizeInBytes =
+                getOrDefault(maxBatchSizeInBytes, MAXIMUM_ALLOWED_BATCH_SIZE_IN_BYTES);
+        this.lingerMillis = getOrDefault(lingerMillis, DEFAULT_LINGER_MILLIS);
+        this.maxInFlightBatches = getOrDefault(maxInFlightBatches, DEFAULT_MAX_IN_FLIGHT_BATCHES);
+        this.maxBufferedMessages =
+                getOrDefault(maxBufferedMessages, DEFAULT_MAX_BUFFERED_MESSAGES);
+        this.maxRetries = getOrDefault(maxRetries, DEFAULT_MAX_RETRIES);
+        this.retryDelayStrategy = getOrDefault(retryDelayStrategy, DEFAULT_RETRY_DELAY_STRATEGY);
+
+        validateAtLeast("maxBatchMessages", this.maxBatchMessages, 1);
+        Validate.inclusiveBetween(
+                1,
+                MAXIMUM_ALLOWED_BATCH_SIZE_IN_BYTES,
+                this.maxBatchSizeInBytes,
+                String.format(
+                        "maxBatchSizeInBytes [%s] must be between %s-%s (inclusive)",
+                        this.maxBatchSizeInBytes,
+                        1,
+                        MAXIMUM_ALLOWED_BATCH_SIZE_IN_BYTES));
+        validateAtLeast("lingerMillis", this.lingerMillis, 0);
+        validateAtLeast("maxInFlightBatches", this.maxInFlightBatches, 1);
+        validateAtLeast("maxBufferedMessages", this.maxBufferedMessages, 1);
+        validateAtLeast("maxRetries", this.maxRetries, 0);
+    }
+
+    private static void validateAtLeast(String name, int value, int minimum) {
+        Validate.isTrue(
+                value >= minimum,
+                String.format(
+                        "%s [%s] must be greater than or equal to %s", name, value, minimum));
+    }
+
+    private static <T> T getOrDefault(T value, T defaultValue) {
+        return (value == null) ? defaultValue : value;
+    }
+}
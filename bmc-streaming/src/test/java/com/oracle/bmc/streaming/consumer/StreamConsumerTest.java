@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.consumer;
+
+import com.oracle.bmc.streaming.Stream;
+import com.oracle.bmc.streaming.model.CreateGroupCursorDetails;
+import com.oracle.bmc.streaming.model.Cursor;
+import com.oracle.bmc.streaming.model.Message;
+import com.oracle.bmc.streaming.requests.ConsumerCommitRequest;
+import com.oracle.bmc.streaming.requests.CreateGroupCursorRequest;
+import com.oracle.bmc.streaming.requests.GetMessagesRequest;
+import com.oracle.bmc.streaming.responses.CreateGroupCursorResponse;
+import com.oracle.bmc.streaming.responses.GetMessagesResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Stubber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamConsumerTest {
+    private static final String STREAM_ID = "ocid1.stream.oc1..stream";
+    private static final StreamConsumerConfiguration CONFIGURATION =
+            StreamConsumerConfiguration.builder()
+                    .groupName("group")
+                    .instanceName("instance")
+                    .cursorType(CreateGroupCursorDetails.Type.TrimHorizon)
+                    .maxPrefetchedBatches(2)
+                    .pollBackoffMillis(10)
+                    .build();
+
+    private static final GetMessagesResponse NO_MESSAGES =
+            GetMessagesResponse.builder()
+                    .items(Collections.<Message>emptyList())
+                    .opcNextCursor("cursor-end")
+                    .build();
+
+    @Mock private Stream streamClient;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(streamClient.createGroupCursor(any(CreateGroupCursorRequest.class)))
+                .thenReturn(
+                        CreateGroupCursorResponse.builder()
+                                .cursor(Cursor.builder().value("cursor-0").build())
+                                .build());
+        givenBatches();
+    }
+
+    @Test
+    public void consume_inOrderPerPartitionAndCommitted() throws Exception {
+        givenBatches(
+                batch("cursor-1", message("0", 0), message("1", 0), message("0", 1)),
+                batch("cursor-2", message("1", 1), message("0", 2), message("1", 2)));
+        final Queue<Message> partition0 = new ConcurrentLinkedQueue<>();
+        final Queue<Message> partition1 = new ConcurrentLinkedQueue<>();
+        final CountDownLatch processed = new CountDownLatch(6);
+
+        final StreamConsumer consumer =
+                new StreamConsumer(
+                        streamClient,
+                        STREAM_ID,
+                        CONFIGURATION,
+                        message -> {
+                            (message.getPartition().equals("0") ? partition0 : partition1)
+                                    .add(message);
+                            processed.countDown();
+                        });
+        consumer.start();
+        assertTrue(processed.await(5, TimeUnit.SECONDS));
+        consumer.close();
+
+        assertEquals(Arrays.asList(0L, 1L, 2L), offsets(partition0));
+        assertEquals(Arrays.asList(0L, 1L, 2L), offsets(partition1));
+        final List<String> commits = committedCursors();
+        assertEquals("cursor-2", commits.get(commits.size() - 1));
+        assertFalse(consumer.isRunning());
+        assertEquals(null, consumer.getFailure());
+    }
+
+    @Test
+    public void close_idempotent() {
+        final StreamConsumer consumer =
+                new StreamConsumer(streamClient, STREAM_ID, CONFIGURATION, message -> {});
+        consumer.start();
+        consumer.close();
+        final int commitCount = committedCursors().size();
+        consumer.close();
+
+        assertEquals(commitCount, committedCursors().size());
+        assertFalse(consumer.isRunning());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void start_afterClose() {
+        final StreamConsumer consumer =
+                new StreamConsumer(streamClient, STREAM_ID, CONFIGURATION, message -> {});
+        consumer.close();
+        consumer.start();
+    }
+
+    @Test(timeout = 10000)
+    public void handlerException_stopsConsumerWithoutCommit() {
+        final IllegalArgumentException exception = new IllegalArgumentException("bad message");
+        givenBatches(batch("cursor-1", message("0", 0), message("0", 1)));
+        final StreamConsumer consumer =
+                new StreamConsumer(
+                        streamClient,
+                        STREAM_ID,
+                        CONFIGURATION,
+                        message -> {
+                            if (message.getOffset() == 1) {
+                                throw exception;
+                            }
+                        });
+        consumer.start();
+        waitUntilStopped(consumer);
+        consumer.close();
+
+        assertSame(exception, consumer.getFailure());
+        assertFalse(committedCursors().contains("cursor-1"));
+    }
+
+    @Test(timeout = 10000)
+    public void handlerError_stopsConsumerAndCloseReturns() {
+        final AssertionError error = new AssertionError("handler failed");
+        givenBatches(batch("cursor-1", message("0", 0), message("0", 1)));
+        final StreamConsumer consumer =
+                new StreamConsumer(
+                        streamClient,
+                        STREAM_ID,
+                        CONFIGURATION,
+                        message -> {
+                            throw error;
+                        });
+        consumer.start();
+        waitUntilStopped(consumer);
+        consumer.close();
+
+        assertSame(error, consumer.getFailure());
+        assertFalse(committedCursors().contains("cursor-1"));
+    }
+
+    @Test(timeout = 10000)
+    public void workerExecutorRejects_stopsConsumerAndCloseReturns() {
+        final ExecutorService workers = Executors.newSingleThreadExecutor();
+        workers.shutdown();
+        givenBatches(batch("cursor-1", message("0", 0)));
+        final StreamConsumer consumer =
+                new StreamConsumer(streamClient, STREAM_ID, CONFIGURATION, message -> {}, workers);
+        consumer.start();
+        waitUntilStopped(consumer);
+        consumer.close();
+
+        assertTrue(consumer.getFailure() instanceof RejectedExecutionException);
+        assertFalse(committedCursors().contains("cursor-1"));
+    }
+
+    private void givenBatches(GetMessagesResponse... batches) {
+        // the batches are returned in order, then no more messages
+        Stubber stubber = null;
+        for (GetMessagesResponse batch : batches) {
+            stubber = (stubber == null) ? doReturn(batch) : stubber.doReturn(batch);
+        }
+        stubber = (stubber == null) ? doReturn(NO_MESSAGES) : stubber.doReturn(NO_MESSAGES);
+        stubber.when(streamClient).getMessages(any(GetMessagesRequest.class));
+    }
+
+    private List<String> committedCursors() {
+        final ArgumentCaptor<ConsumerCommitRequest> commits =
+                ArgumentCaptor.forClass(ConsumerCommitRequest.class);
+        verify(streamClient, atLeast(0)).consumerCommit(commits.capture());
+        final List<String> cursors = new ArrayList<>();
+        for (ConsumerCommitRequest commit : commits.getAllValues()) {
+            cursors.add(commit.getCursor());
+        }
+        return cursors;
+    }
+
+    private static void waitUntilStopped(StreamConsumer consumer) {
+        while (consumer.isRunning()) {
+            Thread.yield();
+        }
+    }
+
+    private static GetMessagesResponse batch(String nextCursor, Message... messages) {
+        return GetMessagesResponse.builder()
+                .items(Arrays.asList(messages))
+                .opcNextCursor(nextCursor)
+                .build();
+    }
+
+    private static Message message(String partition, long offset) {
+        return Message.builder()
+                .stream(STREAM_ID)
+                .partition(partition)
+                .offset(offset)
+                .value(new byte[] {(byte) offset})
+                .build();
+    }
+
+    private static List<Long> offsets(Queue<Message> messages) {
+        final List<Long> offsets = new ArrayList<>();
+        for (Message message : messages) {
+            offsets.add(message.getOffset());
+        }
+        return offsets;
+    }
+}
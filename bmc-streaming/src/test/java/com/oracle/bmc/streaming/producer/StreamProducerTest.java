@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2016, 2020, Oracle and/or its affiliates.  All rights reserved.
+ * This software is dual-licensed to you under the Universal Permissive License (UPL) 1.0 as shown at https://oss.oracle.com/licenses/upl or Apache License 2.0 as shown at http://www.apache.org/licenses/LICENSE-2.0. You may choose either license.
+ */
+package com.oracle.bmc.streaming.producer;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.streaming.Stream;
+import com.oracle.bmc.streaming.model.PutMessagesDetailsEntry;
+import com.oracle.bmc.streaming.model.PutMessagesResult;
+import com.oracle.bmc.streaming.model.PutMessagesResultEntry;
+import com.oracle.bmc.streaming.requests.PutMessagesRequest;
+import com.oracle.bmc.streaming.responses.PutMessagesResponse;
+import com.oracle.bmc.waiter.FixedTimeDelayStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamProducerTest {
+    private static final String STREAM_ID = "ocid1.stream.oc1..stream";
+    private static final Answer<PutMessagesResponse> SUCCESS =
+            invocation -> response(values(invocation), null, null);
+
+    @Mock private Stream streamClient;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(streamClient.putMessages(any(PutMessagesRequest.class))).thenAnswer(SUCCESS);
+    }
+
+    @Test
+    public void send_fullBatches() throws Exception {
+        final List<CompletableFuture<PutMessagesResultEntry>> futures;
+        try (StreamProducer producer =
+                newProducer(
+                        StreamProducerConfiguration.builder()
+                                .maxBatchMessages(3)
+                                .lingerMillis(60000)
+                                .maxInFlightBatches(1))) {
+            futures = sendAll(producer, "a", "b", "c", "d", "e", "f");
+            for (CompletableFuture<PutMessagesResultEntry> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(Arrays.asList(values("a", "b", "c"), values("d", "e", "f")), requests());
+        assertEquals(Long.valueOf(2), futures.get(2).get().getOffset());
+    }
+
+    @Test
+    public void send_batchSealedAfterLinger() throws Exception {
+        try (StreamProducer producer =
+                newProducer(StreamProducerConfiguration.builder().lingerMillis(10))) {
+            sendAll(producer, "a", "b").get(1).get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Collections.singletonList(values("a", "b")), requests());
+    }
+
+    @Test
+    public void send_batchSizeLimit() throws Exception {
+        // {"messages":[]} plus 2 messages of {"key":"","value":"YWFh"},
+        final int twoMessages = 16 + 2 * (23 + 4);
+        try (StreamProducer producer =
+                newProducer(
+                        StreamProducerConfiguration.builder()
+                                .maxBatchSizeInBytes(twoMessages)
+                                .lingerMillis(60000)
+                                .maxInFlightBatches(1))) {
+            sendAll(producer, "aaa", "bbb", "ccc");
+            producer.flush();
+        }
+
+        assertEquals(Arrays.asList(values("aaa", "bbb"), values("ccc")), requests());
+    }
+
+    @Test
+    public void flush_sendsOpenBatch() throws Exception {
+        try (StreamProducer producer =
+                newProducer(StreamProducerConfiguration.builder().lingerMillis(60000))) {
+            final List<CompletableFuture<PutMessagesResultEntry>> futures =
+                    sendAll(producer, "a", "b");
+            producer.flush();
+
+            assertTrue(futures.get(0).isDone());
+            assertTrue(futures.get(1).isDone());
+            assertEquals(Collections.singletonList(values("a", "b")), requests());
+        }
+    }
+
+    @Test
+    public void send_inOrderWithOneBatchInFlight() throws Exception {
+        final List<String> sent = new ArrayList<>();
+        try (StreamProducer producer =
+                newProducer(
+                        StreamProducerConfiguration.builder()
+                                .maxBatchMessages(2)
+                                .lingerMillis(0)
+                                .maxInFlightBatches(1))) {
+            for (int i = 0; i < 20; i++) {
+                sent.add(String.valueOf(i));
+                producer.send(null, bytes(String.valueOf(i)));
+            }
+        }
+
+        final List<String> received = new ArrayList<>();
+        for (List<String> request : requests()) {
+            received.addAll(request);
+        }
+        assertEquals(sent, received);
+    }
+
+    @Test
+    public void send_retriesOnlyFailedMessages() throws Exception {
+        doAnswer(invocation -> response(values(invocation), "b", "InternalServerError"))
+                .doAnswer(SUCCESS)
+                .when(streamClient)
+                .putMessages(any(PutMessagesRequest.class));
+
+        final List<CompletableFuture<PutMessagesResultEntry>> futures;
+        try (StreamProducer producer =
+                newProducer(StreamProducerConfiguration.builder().lingerMillis(60000))) {
+            futures = sendAll(producer, "a", "b", "c");
+        }
+
+        assertEquals(Arrays.asList(values("a", "b", "c"), values("b")), requests());
+        for (CompletableFuture<PutMessagesResultEntry> future : futures) {
+            assertEquals(null, future.get().getError());
+        }
+    }
+
+    @Test
+    public void send_failedMessagesKeepTheirOwnError() throws Exception {
+        doAnswer(
+                        invocation -> {
+                            final List<PutMessagesResultEntry> entries = new ArrayList<>();
+                            for (String value : values(invocation)) {
+                                entries.add(
+                                        value.equals("ok")
+                                                ? PutMessagesResultEntry.builder()
+                                                        .offset(0L)
+                                                        .build()
+                                                : PutMessagesResultEntry.builder()
+                                                        .error("Error-" + value)
+                                                        .errorMessage("failed " + value)
+                                                        .build());
+                            }
+                            return response(entries);
+                        })
+                .when(streamClient)
+                .putMessages(any(PutMessagesRequest.class));
+
+        final List<CompletableFuture<PutMessagesResultEntry>> futures;
+        try (StreamProducer producer =
+                newProducer(
+                        StreamProducerConfiguration.builder().lingerMillis(60000).maxRetries(1))) {
+            futures = sendAll(producer, "a", "ok", "b");
+        }
+
+        assertEquals(Arrays.asList(values("a", "ok", "b"), values("a", "b")), requests());
+        assertEquals("Error-a", failure(futures.get(0)).getServiceCode());
+        assertEquals(Long.valueOf(0), futures.get(1).get().getOffset());
+        assertEquals("Error-b", failure(futures.get(2)).getServiceCode());
+    }
+
+    @Test
+    public void send_retriesFailedRequest() throws Exception {
+        doThrow(new BmcException(503, "ServiceUnavailable", "unavailable", null))
+                .doAnswer(SUCCESS)
+                .when(streamClient)
+                .putMessages(any(PutMessagesRequest.class));
+
+        final List<CompletableFuture<PutMessagesResultEntry>> futures;
+        try (StreamProducer producer =
+                newProducer(StreamProducerConfiguration.builder().lingerMillis(60000))) {
+            futures = sendAll(producer, "a", "b");
+        }
+
+        assertEquals(Arrays.asList(values("a", "b"), values("a", "b")), requests());
+        assertEquals(Long.valueOf(1), futures.get(1).get().getOffset());
+    }
+
+    @Test
+    public void send_doesNotRetryClientError() throws Exception {
+        doThrow(new BmcException(400, "InvalidParameter", "invalid", null))
+                .when(streamClient)
+                .putMessages(any(PutMessagesRequest.class));
+
+        final List<CompletableFuture<PutMessagesResultEntry>> futures;
+        try (StreamProducer producer =
+                newProducer(StreamProducerConfiguration.builder().lingerMillis(60000))) {
+            futures = sendAll(producer, "a");
+        }
+
+        verify(streamClient, times(1)).putMessages(any(PutMessagesRequest.class));
+        assertEquals(400, failure(futures.get(0)).getStatusCode());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void send_afterClose() {
+        final StreamProducer producer = newProducer(StreamProducerConfiguration.builder());
+        producer.close();
+        producer.send(null, bytes("a"));
+    }
+
+    private StreamProducer newProducer(
+            StreamProducerConfiguration.StreamProducerConfigurationBuilder builder) {
+        return new StreamProducer(
+                streamClient,
+                STREAM_ID,
+                builder.retryDelayStrategy(new FixedTimeDelayStrategy(0)).build());
+    }
+
+    private static List<CompletableFuture<PutMessagesResultEntry>> sendAll(
+            StreamProducer producer, String... values) {
+        final List<CompletableFuture<PutMessagesResultEntry>> futures = new ArrayList<>();
+        for (String value : values) {
+            futures.add(producer.send(null, bytes(value)));
+        }
+        return futures;
+    }
+
+    private static BmcException failure(CompletableFuture<PutMessagesResultEntry> future)
+            throws InterruptedException {
+        try {
+            future.get();
+            fail("Expected the message to fail");
+            return null;
+        } catch (ExecutionException e) {
+            return (BmcException) e.getCause();
+        }
+    }
+
+    private List<List<String>> requests() {
+        final ArgumentCaptor<PutMessagesRequest> requests =
+                ArgumentCaptor.forClass(PutMessagesRequest.class);
+        verify(streamClient, atLeastOnce()).putMessages(requests.capture());
+        final List<List<String>> values = new ArrayList<>();
+        for (PutMessagesRequest request : requests.getAllValues()) {
+            values.add(values(request));
+        }
+        return values;
+    }
+
+    private static List<String> values(InvocationOnMock invocation) {
+        return values(invocation.getArgumentAt(0, PutMessagesRequest.class));
+    }
+
+    private static List<String> values(PutMessagesRequest request) {
+        final List<String> values = new ArrayList<>();
+        for (PutMessagesDetailsEntry entry : request.getPutMessagesDetails().getMessages()) {
+            values.add(new String(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static PutMessagesResponse response(
+            List<String> values, String failedValue, String error) {
+        final List<PutMessagesResultEntry> entries = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            entries.add(
+                    values.get(i).equals(failedValue)
+                            ? PutMessagesResultEntry.builder().error(error).build()
+                            : PutMessagesResultEntry.builder()
+                                    .partition("0")
+                                    .offset((long) i)
+                                    .build());
+        }
+        return response(entries);
+    }
+
+    private static PutMessagesResponse response(List<PutMessagesResultEntry> entries) {
+        int failures = 0;
+        for (PutMessagesResultEntry entry : entries) {
+            failures += (entry.getError() != null) ? 1 : 0;
+        }
+        return PutMessagesResponse.builder()
+                .opcRequestId("opcRequestId")
+                .putMessagesResult(
+                        PutMessagesResult.builder().failures(failures).entries(entries).build())
+                .build();
+    }
+
+    private static List<String> values(String... values) {
+        return Arrays.asList(values);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -24,11 +24,37 @@ import com.oracle.bmc.waas.responses.*;
  * ResponseIterator method would iterate over the ListUsersResponse objects returned by each ListUsers call, whereas the {@link java.lang.Iterable}
  * returned by calling a RecordIterator method would iterate over the User records and we don't have to deal with ListUsersResponse objects at all.
  * In either case, pagination will be automatically handled so we can iterate until there are no more responses or no more resources/records available.
+ *
+ * When created with a {@link com.oracle.bmc.paginator.PrefetchConfiguration}, the iterables request the next page as soon as its page token
+ * is known, while the caller processes the current page. The {@link java.lang.Iterable#spliterator()} of the iterables splits one page at a
+ * time, so {@code java.util.stream.StreamSupport.stream(iterable.spliterator(), true)} processes the pages in parallel.
  */
 @javax.annotation.Generated(value = "OracleSDKGenerator", comments = "API Version: 20181116")
-@lombok.RequiredArgsConstructor
 public class WaasPaginators {
     private final Waas client;
+    private final com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration;
+
+    /**
+     * Creates paginators which fetch each page when the caller needs it.
+     *
+     * @param client the client used to call the list operations
+     */
+    public WaasPaginators(Waas client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates paginators which fetch pages ahead of the caller.
+     *
+     * @param client the client used to call the list operations
+     * @param prefetchConfiguration the prefetch configuration, or null to fetch each page when the caller needs it
+     */
+    public WaasPaginators(
+            Waas client,
+            com.oracle.bmc.paginator.PrefetchConfiguration prefetchConfiguration) {
+        this.client = client;
+        this.prefetchConfiguration = prefetchConfiguration;
+    }
 
     /**
      * Creates a new iterable which will iterate over the responses received from the listAccessRules operation. This iterable
@@ -77,7 +103,8 @@ public class WaasPaginators {
                     public ListAccessRulesResponse apply(ListAccessRulesRequest request) {
                         return client.listAccessRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -139,7 +166,8 @@ public class WaasPaginators {
                             ListAccessRulesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -189,7 +217,8 @@ public class WaasPaginators {
                     public ListAddressListsResponse apply(ListAddressListsRequest request) {
                         return client.listAddressLists(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -251,7 +280,8 @@ public class WaasPaginators {
                             ListAddressListsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -301,7 +331,8 @@ public class WaasPaginators {
                     public ListCachingRulesResponse apply(ListCachingRulesRequest request) {
                         return client.listCachingRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -363,7 +394,8 @@ public class WaasPaginators {
                             ListCachingRulesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -412,7 +444,8 @@ public class WaasPaginators {
                     public ListCaptchasResponse apply(ListCaptchasRequest request) {
                         return client.listCaptchas(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -472,7 +505,8 @@ public class WaasPaginators {
                             ListCaptchasResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -522,7 +556,8 @@ public class WaasPaginators {
                     public ListCertificatesResponse apply(ListCertificatesRequest request) {
                         return client.listCertificates(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -584,7 +619,8 @@ public class WaasPaginators {
                             ListCertificatesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -636,7 +672,8 @@ public class WaasPaginators {
                             ListCustomProtectionRulesRequest request) {
                         return client.listCustomProtectionRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -701,7 +738,8 @@ public class WaasPaginators {
                             apply(ListCustomProtectionRulesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -751,7 +789,8 @@ public class WaasPaginators {
                     public ListEdgeSubnetsResponse apply(ListEdgeSubnetsRequest request) {
                         return client.listEdgeSubnets(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -813,7 +852,8 @@ public class WaasPaginators {
                             ListEdgeSubnetsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -862,7 +902,8 @@ public class WaasPaginators {
                     public ListGoodBotsResponse apply(ListGoodBotsRequest request) {
                         return client.listGoodBots(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -922,7 +963,8 @@ public class WaasPaginators {
                             ListGoodBotsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -973,7 +1015,8 @@ public class WaasPaginators {
                     public ListProtectionRulesResponse apply(ListProtectionRulesRequest request) {
                         return client.listProtectionRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1035,7 +1078,8 @@ public class WaasPaginators {
                             ListProtectionRulesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1086,7 +1130,8 @@ public class WaasPaginators {
                     public ListRecommendationsResponse apply(ListRecommendationsRequest request) {
                         return client.listRecommendations(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1148,7 +1193,8 @@ public class WaasPaginators {
                             ListRecommendationsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1198,7 +1244,8 @@ public class WaasPaginators {
                     public ListThreatFeedsResponse apply(ListThreatFeedsRequest request) {
                         return client.listThreatFeeds(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1260,7 +1307,8 @@ public class WaasPaginators {
                             ListThreatFeedsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1310,7 +1358,8 @@ public class WaasPaginators {
                     public ListWaasPoliciesResponse apply(ListWaasPoliciesRequest request) {
                         return client.listWaasPolicies(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1372,7 +1421,8 @@ public class WaasPaginators {
                             ListWaasPoliciesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1429,7 +1479,8 @@ public class WaasPaginators {
                             ListWaasPolicyCustomProtectionRulesRequest request) {
                         return client.listWaasPolicyCustomProtectionRules(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1501,7 +1552,8 @@ public class WaasPaginators {
                             apply(ListWaasPolicyCustomProtectionRulesResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1553,7 +1605,8 @@ public class WaasPaginators {
                             ListWafBlockedRequestsRequest request) {
                         return client.listWafBlockedRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1616,7 +1669,8 @@ public class WaasPaginators {
                             ListWafBlockedRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1665,7 +1719,8 @@ public class WaasPaginators {
                     public ListWafLogsResponse apply(ListWafLogsRequest request) {
                         return client.listWafLogs(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1725,7 +1780,8 @@ public class WaasPaginators {
                             ListWafLogsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1775,7 +1831,8 @@ public class WaasPaginators {
                     public ListWafRequestsResponse apply(ListWafRequestsRequest request) {
                         return client.listWafRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1837,7 +1894,8 @@ public class WaasPaginators {
                             ListWafRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1887,7 +1945,8 @@ public class WaasPaginators {
                     public ListWafTrafficResponse apply(ListWafTrafficRequest request) {
                         return client.listWafTraffic(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1949,7 +2008,8 @@ public class WaasPaginators {
                             ListWafTrafficResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -1999,7 +2059,8 @@ public class WaasPaginators {
                     public ListWhitelistsResponse apply(ListWhitelistsRequest request) {
                         return client.listWhitelists(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2061,7 +2122,8 @@ public class WaasPaginators {
                             ListWhitelistsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2111,7 +2173,8 @@ public class WaasPaginators {
                     public ListWorkRequestsResponse apply(ListWorkRequestsRequest request) {
                         return client.listWorkRequests(request);
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 
     /**
@@ -2173,6 +2236,7 @@ public class WaasPaginators {
                             ListWorkRequestsResponse response) {
                         return response.getItems();
                     }
-                });
+                },
+                prefetchConfiguration);
     }
 }